@@ -0,0 +1,110 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.io.File;
+
+import de.pohl.petrinets.control.AbstractPetrinetController;
+import de.pohl.petrinets.control.implementations.usecases.PNMLFileLoader;
+import de.pohl.petrinets.logging.LogLevel;
+import de.pohl.petrinets.logging.LogManager;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
+import de.pohl.petrinets.view.PetrinetStatusView;
+import de.pohl.petrinets.view.PetrinetView;
+import de.pohl.petrinets.view.gui.components.PetrinetPanel;
+import de.pohl.petrinets.view.gui.components.RGraphPanel;
+
+/**
+ * Ein {@link AbstractPetrinetController} ohne Ausgabe für die Benchmarks.
+ * <p>
+ * Er lädt eine PNML-Datei wie die Stapelverarbeitung mit einem
+ * {@link PNMLFileLoader} und macht die Modelle und das Analyseergebnis für die
+ * Benchmarks zugänglich.
+ */
+final class BenchmarkController extends AbstractPetrinetController {
+    static {
+        // Die Meldungen jeder Simulation würden die Messung verfälschen.
+        LogManager.setLevel(LogLevel.WARN);
+    }
+
+    /**
+     * Erstellt einen neuen {@link BenchmarkController} und lädt die angegebene
+     * PNML-Datei.
+     *
+     * @param pnmlFile die PNML-Datei als {@link File}.
+     */
+    BenchmarkController(File pnmlFile) {
+        super(new PetrinetView() {
+            @Override
+            public void printInMessageView(String message, boolean clearArea) {
+            }
+
+            @Override
+            public void setPetrinetView(PetrinetPanel petrinetView) {
+            }
+
+            @Override
+            public void setRGraphView(RGraphPanel reachabilitygraphView) {
+            }
+        }, new PetrinetStatusView() {
+            @Override
+            public void setModifiedLabel(String text) {
+            }
+
+            @Override
+            public void setStatusbarFilename(String fileName) {
+            }
+        });
+        // Treffer im Zwischenspeicher würden die Beschränktheitsanalyse nicht messen.
+        setAnalysisResultCache(null);
+        new PNMLFileLoader(pnmlFile).load(this);
+    }
+
+    /**
+     * Schaltet eine {@link de.pohl.petrinets.model.petrinet.Transition} wie beim
+     * manuellen Schalten und fügt den Schaltvorgang in den
+     * {@link AbstractReachabilitygraph} ein.
+     *
+     * @param transitionID die ID der Transition.
+     * @return die ID der Kante im {@link AbstractReachabilitygraph}.
+     */
+    String fire(String transitionID) {
+        return toggleTransition(transitionID, true);
+    }
+
+    /**
+     * Liefert das geladene {@link AbstractPetrinet}.
+     *
+     * @return das {@link AbstractPetrinet}.
+     */
+    AbstractPetrinet getPetrinetModel() {
+        return petrinetModel;
+    }
+
+    /**
+     * Liefert das Ergebnis der letzten Simulation.
+     *
+     * @return der {@link SingleAnalysisResultPresenter}.
+     */
+    SingleAnalysisResultPresenter getResultPresenter() {
+        return resultPresenter;
+    }
+
+    /**
+     * Liefert den {@link AbstractReachabilitygraph}.
+     *
+     * @return der {@link AbstractReachabilitygraph}.
+     */
+    AbstractReachabilitygraph getRGraphModel() {
+        return rGraphModel;
+    }
+
+    @Override
+    public void run() {
+        runSimulation(null);
+    }
+
+    @Override
+    public void select() {
+    }
+}
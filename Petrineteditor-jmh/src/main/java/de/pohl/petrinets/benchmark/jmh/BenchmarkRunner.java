@@ -0,0 +1,56 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Programmeinstiegspunkt der Benchmarks.
+ * <p>
+ * Nimmt dieselben Optionen wie {@link Main} entgegen. Ohne die Optionen
+ * {@code -rf} und {@code -rff} werden die Ergebnisse zusätzlich im JSON-Format
+ * in die Datei {@code jmh-result-<Zeitstempel>.json} im aktuellen Verzeichnis
+ * geschrieben, sodass sie über die Zeit verglichen werden können.
+ * <p>
+ * Beispiele:
+ * <ul>
+ * <li>{@code java -jar target/benchmarks.jar} - alle Benchmarks.</li>
+ * <li>{@code java -jar target/benchmarks.jar RGraphBFS -p netSize=LARGE} - nur
+ * die Pfadsuche auf großen Netzen.</li>
+ * <li>{@code java -jar target/benchmarks.jar -l} - Liste der Benchmarks.</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * Startet die Benchmarks.
+     *
+     * @param args die Optionen von JMH.
+     * @throws Exception wenn die Optionen ungültig sind oder ein Benchmark
+     *                   fehlschlägt.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+                || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListProfilers()
+                || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result("jmh-result-" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + ".json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,37 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pohl.petrinets.control.implementations.usecases.BoundednessAnalyser;
+
+/**
+ * Misst eine einzelne Beschränktheitsanalyse mit einem
+ * {@link BoundednessAnalyser} ab dem am weitesten entfernten Knoten eines
+ * vollständig aufgebauten Erreichbarkeitsgraphen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundednessCheckBenchmark {
+    /**
+     * Führt die Beschränktheitsanalyse durch.
+     *
+     * @param state der {@link ExploredRGraphState}.
+     * @return der Pfad von m nach m' oder <code>null</code>.
+     */
+    @Benchmark
+    public ArrayList<String> run(ExploredRGraphState state) {
+        return new BoundednessAnalyser(state.getRGraph()).run(state.getFarthestNodeID());
+    }
+}
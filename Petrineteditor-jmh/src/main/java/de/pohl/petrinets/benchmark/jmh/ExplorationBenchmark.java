@@ -0,0 +1,74 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pohl.petrinets.control.AbstractPetrinetController;
+import de.pohl.petrinets.control.BoundednessEngine;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
+
+/**
+ * Misst die vollständige Simulation eines Petrinetzes mit
+ * {@link AbstractPetrinetController#runSimulation} einschließlich der
+ * Beschränktheitsanalyse.
+ * <p>
+ * Da die Simulation den Erreichbarkeitsgraphen aufbaut, wird das Petrinetz vor
+ * jedem Aufruf neu geladen. Das Laden ist nicht Teil der Messung.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExplorationBenchmark {
+    @Param
+    public NetShape netShape;
+    @Param
+    public NetSize netSize;
+    @Param
+    public BoundednessEngine boundednessEngine;
+    private BenchmarkController controller;
+    private File pnmlFile;
+
+    /**
+     * Erzeugt die PNML-Datei.
+     */
+    @Setup(Level.Trial)
+    public void createPNMLFile() {
+        pnmlFile = PNMLWriter.createPNMLFile(netShape, netSize);
+    }
+
+    /**
+     * Lädt das Petrinetz mit einem leeren Erreichbarkeitsgraphen.
+     */
+    @Setup(Level.Invocation)
+    public void loadPetrinet() {
+        controller = new BenchmarkController(pnmlFile);
+        controller.setBoundednessEngine(boundednessEngine);
+    }
+
+    /**
+     * Simuliert das Petrinetz.
+     *
+     * @return das Ergebnis der Simulation.
+     */
+    @Benchmark
+    public SingleAnalysisResultPresenter runSimulation() {
+        controller.runSimulation(null);
+        return controller.getResultPresenter();
+    }
+}
@@ -0,0 +1,73 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+
+/**
+ * Ein JMH-Zustand mit dem vollständig aufgebauten Erreichbarkeitsgraphen eines
+ * synthetischen Petrinetzes.
+ * <p>
+ * Als Zielknoten dient der Knoten, der vom Wurzelknoten aus am weitesten
+ * entfernt ist. Da alle verwendeten Netze beschränkt sind, durchsucht die
+ * Beschränktheitsanalyse ab diesem Knoten alle seine Vorgänger.
+ */
+@State(Scope.Benchmark)
+public class ExploredRGraphState {
+    @Param
+    public NetShape netShape;
+    @Param
+    public NetSize netSize;
+    private AbstractReachabilitygraph rGraph;
+    private String farthestNodeID;
+
+    /**
+     * Simuliert das Petrinetz und bestimmt den Zielknoten.
+     */
+    @Setup
+    public void explore() {
+        BenchmarkController controller = new BenchmarkController(PNMLWriter.createPNMLFile(netShape, netSize));
+        controller.runSimulation(null);
+        if (controller.getResultPresenter().isIncomplete()) {
+            throw new IllegalStateException("Die Simulation von " + netShape + " " + netSize + " ist unvollständig.");
+        }
+        rGraph = controller.getRGraphModel();
+        HashSet<String> visitedNodeIDs = new HashSet<>();
+        ArrayDeque<String> queue = new ArrayDeque<>();
+        queue.add(rGraph.getInitialNodeID());
+        visitedNodeIDs.add(rGraph.getInitialNodeID());
+        while (!queue.isEmpty()) {
+            farthestNodeID = queue.poll();
+            for (String edgeID : rGraph.getNodeOutboundEdges(farthestNodeID)) {
+                String targetNodeID = rGraph.getEdgeTargetID(edgeID);
+                if (visitedNodeIDs.add(targetNodeID)) {
+                    queue.add(targetNodeID);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert die ID des vom Wurzelknoten am weitesten entfernten Knotens.
+     *
+     * @return die ID des Knotens.
+     */
+    String getFarthestNodeID() {
+        return farthestNodeID;
+    }
+
+    /**
+     * Liefert den Erreichbarkeitsgraphen.
+     *
+     * @return der {@link AbstractReachabilitygraph}.
+     */
+    AbstractReachabilitygraph getRGraph() {
+        return rGraph;
+    }
+}
@@ -0,0 +1,86 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
+
+/**
+ * Misst das Schalten einzelner Transitionen.
+ * <p>
+ * Geschaltet wird reihum eine der aktiven Transitionen der aktuellen
+ * Markierung. Gibt es keine aktive Transition mehr, wird das Petrinetz auf die
+ * initiale Markierung zurückgesetzt. {@link #toggleTransition()} misst nur das
+ * Schalten im {@link AbstractPetrinet}, {@link #toggleTransitionWithRGraph()}
+ * zusätzlich das Einfügen und Hervorheben im Erreichbarkeitsgraphen wie beim
+ * manuellen Schalten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiringBenchmark {
+    @Param
+    public NetShape netShape;
+    @Param
+    public NetSize netSize;
+    private BenchmarkController controller;
+    private AbstractPetrinet petrinetModel;
+    private int step;
+
+    /**
+     * Lädt das Petrinetz.
+     */
+    @Setup
+    public void loadPetrinet() {
+        controller = new BenchmarkController(PNMLWriter.createPNMLFile(netShape, netSize));
+        petrinetModel = controller.getPetrinetModel();
+    }
+
+    /**
+     * Schaltet eine aktive Transition im {@link AbstractPetrinet}.
+     *
+     * @return die neue Markierung.
+     */
+    @Benchmark
+    public Marking toggleTransition() {
+        String transitionID = nextTransitionID();
+        return transitionID == null ? null : petrinetModel.toggleTransition(transitionID);
+    }
+
+    /**
+     * Schaltet eine aktive Transition und fügt den Schaltvorgang in den
+     * Erreichbarkeitsgraphen ein.
+     *
+     * @return die ID der Kante im Erreichbarkeitsgraphen.
+     */
+    @Benchmark
+    public String toggleTransitionWithRGraph() {
+        String transitionID = nextTransitionID();
+        return transitionID == null ? null : controller.fire(transitionID);
+    }
+
+    private String nextTransitionID() {
+        ArrayList<String> activeTransitionIDs = petrinetModel.getActiveTransitionIDs();
+        if (activeTransitionIDs.isEmpty()) {
+            petrinetModel.resetToInitialMarking();
+            return null;
+        }
+        return activeTransitionIDs.get(step++ % activeTransitionIDs.size());
+    }
+}
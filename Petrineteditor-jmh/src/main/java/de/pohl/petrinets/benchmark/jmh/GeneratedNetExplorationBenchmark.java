@@ -0,0 +1,88 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pohl.petrinets.control.implementations.usecases.StateSpaceExplorer;
+import de.pohl.petrinets.generator.NetFamily;
+import de.pohl.petrinets.generator.NetOracle;
+import de.pohl.petrinets.generator.PetrinetGenerator;
+import de.pohl.petrinets.model.petrinet.Petrinet;
+import de.pohl.petrinets.model.reachabilitygraph.Reachabilitygraph;
+
+/**
+ * Misst die Erkundung des Zustandsraumes mit Beschränktheitsanalyse pro Knoten
+ * für Petrinetze, die ein {@link PetrinetGenerator} ohne PNML-Datei direkt im
+ * Speicher erzeugt.
+ * <p>
+ * Nach jedem Aufruf wird das Ergebnis mit dem {@link NetOracle} verglichen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratedNetExplorationBenchmark {
+    @Param({ "PHILOSOPHERS", "BOUNDED_BUFFER", "TOKEN_RING", "FREE_CHOICE" })
+    public NetFamily netFamily;
+    @Param({ "6", "12" })
+    public int size;
+    @Param({ "3" })
+    public int tokens;
+    private NetOracle oracle;
+    private Reachabilitygraph rGraph;
+    private StateSpaceExplorer explorer;
+
+    /**
+     * Erzeugt das Petrinetz mit einem leeren Erreichbarkeitsgraphen.
+     */
+    @Setup(Level.Invocation)
+    public void generatePetrinet() {
+        PetrinetGenerator generator = new PetrinetGenerator(netFamily, size);
+        generator.setTokens(tokens);
+        Petrinet petrinet = new Petrinet(new File(generator.getNetName() + ".pnml"));
+        rGraph = new Reachabilitygraph();
+        oracle = generator.generate(petrinet, rGraph);
+        explorer = new StateSpaceExplorer(petrinet.getCompiledPetrinet(), rGraph);
+        explorer.setBoundednessCheck(true);
+    }
+
+    /**
+     * Erkundet den Zustandsraum.
+     *
+     * @return der {@link StateSpaceExplorer.Status} der Erkundung.
+     */
+    @Benchmark
+    public StateSpaceExplorer.Status explore() {
+        return explorer.run();
+    }
+
+    /**
+     * Vergleicht den Erreichbarkeitsgraphen mit dem {@link NetOracle}.
+     *
+     * @throws IllegalStateException wenn die Anzahl der Knoten oder Kanten
+     *                               abweicht.
+     */
+    @TearDown(Level.Invocation)
+    public void checkOracle() {
+        if (rGraph.countNodes() != oracle.getStates() || rGraph.countEdges() != oracle.getEdges()) {
+            throw new IllegalStateException("Erwartet: " + oracle + ", gefunden: " + rGraph.countNodes() + " Knoten, "
+                    + rGraph.countEdges() + " Kanten.");
+        }
+    }
+}
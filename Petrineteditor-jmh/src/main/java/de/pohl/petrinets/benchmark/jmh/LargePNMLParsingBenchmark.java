@@ -0,0 +1,56 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+
+/**
+ * Misst das Einlesen großer PNML-Dateien von mehreren Megabyte. Eingelesen wird
+ * eine {@link NetShape#CHAIN} mit der angegebenen Anzahl an Stellen.
+ *
+ * @see PNMLParsingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LargePNMLParsingBenchmark {
+    @Param({ "5000", "20000" })
+    public int chainLength;
+    @Param
+    public PNMLParsingBenchmark.Parser parser;
+    private File pnmlFile;
+
+    /**
+     * Erzeugt die PNML-Datei.
+     */
+    @Setup
+    public void createPNMLFile() {
+        pnmlFile = PNMLWriter.createPNMLFile(NetShape.CHAIN, chainLength);
+    }
+
+    /**
+     * Liest die PNML-Datei ein.
+     *
+     * @return das eingelesene {@link AbstractPetrinet}.
+     */
+    @Benchmark
+    public AbstractPetrinet parse() {
+        return PNMLParsingBenchmark.parse(pnmlFile, parser);
+    }
+}
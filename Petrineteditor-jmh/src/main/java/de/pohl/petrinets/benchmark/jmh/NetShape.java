@@ -0,0 +1,130 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+/**
+ * Die Formen der synthetischen Petrinetze, mit denen die Benchmarks
+ * parametrisiert werden.
+ * <p>
+ * Jede Form legt für die drei {@link NetSize} fest, wie groß der Parameter n
+ * des erzeugten Netzes ist. Die Werte sind so gewählt, dass die Erkundung des
+ * vollständigen Zustandsraumes mit Beschränktheitsanalyse pro Knoten auch für
+ * {@link NetSize#LARGE} in wenigen Sekunden abgeschlossen ist.
+ */
+public enum NetShape {
+    /**
+     * Eine Kette aus n Stellen mit einer Marke. Der Erreichbarkeitsgraph ist ein
+     * Pfad mit n Knoten.
+     */
+    CHAIN(50, 200, 800),
+    /**
+     * Eine Transition verteilt eine Marke auf n parallele Zweige aus je einer
+     * Transition, eine weitere Transition führt die Zweige wieder zusammen. Der
+     * Erreichbarkeitsgraph besitzt 2^n + 1 Knoten.
+     */
+    FORK_JOIN(4, 7, 10),
+    /**
+     * Das Problem der n speisenden Philosophen mit n Gabeln.
+     */
+    PHILOSOPHERS(4, 8, 12),
+    /**
+     * Ein Erzeuger und ein Verbraucher, die über einen Puffer mit n Plätzen
+     * verbunden sind. Der Erreichbarkeitsgraph besitzt 4 * (n + 1) Knoten.
+     */
+    PRODUCER_CONSUMER(4, 32, 256);
+
+    private final int[] sizes;
+
+    private NetShape(int small, int medium, int large) {
+        this.sizes = new int[] { small, medium, large };
+    }
+
+    /**
+     * Liefert den Parameter n des Netzes für die angegebene Größe.
+     *
+     * @param netSize die {@link NetSize}.
+     * @return der Parameter n.
+     */
+    public int getN(NetSize netSize) {
+        return sizes[netSize.ordinal()];
+    }
+
+    /**
+     * Erzeugt die Stellen, Transitionen und Kanten eines Netzes dieser Form.
+     *
+     * @param pnmlWriter der {@link PNMLWriter}, der das Netz aufnimmt.
+     * @param n          der Parameter n des Netzes.
+     */
+    void write(PNMLWriter pnmlWriter, int n) {
+        switch (this) {
+        case CHAIN:
+            for (int i = 0; i < n; i++) {
+                pnmlWriter.place("p" + i, i == 0 ? 1 : 0);
+            }
+            for (int i = 0; i + 1 < n; i++) {
+                pnmlWriter.transition("t" + i);
+                pnmlWriter.arc("p" + i, "t" + i);
+                pnmlWriter.arc("t" + i, "p" + (i + 1));
+            }
+            break;
+        case FORK_JOIN:
+            pnmlWriter.place("start", 1);
+            pnmlWriter.transition("fork");
+            pnmlWriter.transition("join");
+            pnmlWriter.arc("start", "fork");
+            pnmlWriter.arc("join", "start");
+            for (int i = 0; i < n; i++) {
+                pnmlWriter.place("a" + i, 0);
+                pnmlWriter.place("b" + i, 0);
+                pnmlWriter.transition("t" + i);
+                pnmlWriter.arc("fork", "a" + i);
+                pnmlWriter.arc("a" + i, "t" + i);
+                pnmlWriter.arc("t" + i, "b" + i);
+                pnmlWriter.arc("b" + i, "join");
+            }
+            break;
+        case PHILOSOPHERS:
+            for (int i = 0; i < n; i++) {
+                pnmlWriter.place("fork" + i, 1);
+                pnmlWriter.place("think" + i, 1);
+                pnmlWriter.place("eat" + i, 0);
+            }
+            for (int i = 0; i < n; i++) {
+                String rightFork = "fork" + (i + 1) % n;
+                pnmlWriter.transition("take" + i);
+                pnmlWriter.transition("release" + i);
+                pnmlWriter.arc("think" + i, "take" + i);
+                pnmlWriter.arc("fork" + i, "take" + i);
+                pnmlWriter.arc(rightFork, "take" + i);
+                pnmlWriter.arc("take" + i, "eat" + i);
+                pnmlWriter.arc("eat" + i, "release" + i);
+                pnmlWriter.arc("release" + i, "think" + i);
+                pnmlWriter.arc("release" + i, "fork" + i);
+                pnmlWriter.arc("release" + i, rightFork);
+            }
+            break;
+        case PRODUCER_CONSUMER:
+            pnmlWriter.place("producerReady", 1);
+            pnmlWriter.place("producerFull", 0);
+            pnmlWriter.place("consumerReady", 1);
+            pnmlWriter.place("consumerFull", 0);
+            pnmlWriter.place("buffer", 0);
+            pnmlWriter.place("free", n);
+            pnmlWriter.transition("produce");
+            pnmlWriter.transition("deliver");
+            pnmlWriter.transition("remove");
+            pnmlWriter.transition("consume");
+            pnmlWriter.arc("producerReady", "produce");
+            pnmlWriter.arc("produce", "producerFull");
+            pnmlWriter.arc("producerFull", "deliver");
+            pnmlWriter.arc("free", "deliver");
+            pnmlWriter.arc("deliver", "buffer");
+            pnmlWriter.arc("deliver", "producerReady");
+            pnmlWriter.arc("consumerReady", "remove");
+            pnmlWriter.arc("buffer", "remove");
+            pnmlWriter.arc("remove", "free");
+            pnmlWriter.arc("remove", "consumerFull");
+            pnmlWriter.arc("consumerFull", "consume");
+            pnmlWriter.arc("consume", "consumerReady");
+            break;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+/**
+ * Die Größenstufen der synthetischen Petrinetze.
+ *
+ * @see NetShape#getN(NetSize)
+ */
+public enum NetSize {
+    /**
+     * Kleine Netze.
+     */
+    SMALL,
+    /**
+     * Mittlere Netze.
+     */
+    MEDIUM,
+    /**
+     * Große Netze.
+     */
+    LARGE
+}
@@ -0,0 +1,112 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.pohl.petrinets.control.implementations.usecases.PNMLFileCache;
+import de.pohl.petrinets.control.implementations.usecases.PNMLFileParser;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.Petrinet;
+import de.pohl.petrinets.model.reachabilitygraph.Reachabilitygraph;
+
+/**
+ * Misst das Einlesen einer PNML-Datei einschließlich des Aufbaus des
+ * {@link Petrinet} und des initialen {@link Reachabilitygraph}.
+ * <p>
+ * Verglichen werden der {@link PNMLFileParser} mit und ohne
+ * {@link PNMLFileCache} und das frühere Einlesen über den PNMLWopedParser.
+ *
+ * @see LargePNMLParsingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PNMLParsingBenchmark {
+    private static final PNMLFileCache CACHE = new PNMLFileCache(
+            new File(System.getProperty("java.io.tmpdir"), "petrineteditor-jmh-cache"),
+            PNMLFileCache.DEFAULT_MAX_ENTRIES);
+    @Param
+    public NetShape netShape;
+    @Param
+    public NetSize netSize;
+    @Param
+    public Parser parser;
+    private File pnmlFile;
+
+    /**
+     * Die verglichenen Verfahren zum Einlesen.
+     */
+    public enum Parser {
+        /**
+         * Der {@link PNMLFileParser}.
+         */
+        STREAMING,
+        /**
+         * Der {@link PNMLFileParser} mit {@link PNMLFileCache}. Der Eintrag wird
+         * beim ersten Aufruf angelegt.
+         */
+        CACHED,
+        /**
+         * Der PNMLWopedParser mit Rückrufmethoden je Element.
+         */
+        WOPED
+    }
+
+    /**
+     * Erzeugt die PNML-Datei.
+     */
+    @Setup
+    public void createPNMLFile() {
+        pnmlFile = PNMLWriter.createPNMLFile(netShape, netSize);
+    }
+
+    /**
+     * Liest die PNML-Datei ein.
+     *
+     * @return das eingelesene {@link AbstractPetrinet}.
+     */
+    @Benchmark
+    public AbstractPetrinet parse() {
+        return parse(pnmlFile, parser);
+    }
+
+    /**
+     * Liest eine PNML-Datei mit dem angegebenen Verfahren ein.
+     *
+     * @param pnmlFile die PNML-Datei.
+     * @param parser   der {@link Parser}.
+     * @return das eingelesene {@link AbstractPetrinet}.
+     */
+    static AbstractPetrinet parse(File pnmlFile, Parser parser) {
+        Petrinet petrinet = new Petrinet(pnmlFile);
+        switch (parser) {
+        case STREAMING:
+            new PNMLFileParser(petrinet, new Reachabilitygraph()).run();
+            break;
+        case CACHED:
+            PNMLFileParser pnmlFileParser = new PNMLFileParser(petrinet, new Reachabilitygraph());
+            pnmlFileParser.setCache(CACHE);
+            pnmlFileParser.run();
+            break;
+        default:
+            new WopedPNMLFileParser(petrinet, new Reachabilitygraph()).run();
+            break;
+        }
+        return petrinet;
+    }
+}
@@ -0,0 +1,105 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Schreibt synthetische Petrinetze einer {@link NetShape} als PNML-Datei im
+ * Format, das von {@code PNMLFileParser} gelesen wird.
+ * <p>
+ * Die Knoten werden zeilenweise in einem Raster positioniert, alle Kanten haben
+ * das Gewicht 1.
+ */
+final class PNMLWriter {
+    private static final int COLUMNS = 20;
+    private static final int GRID = 60;
+    private int arcCount;
+    private int nodeCount;
+    private final StringBuilder pnml = new StringBuilder();
+
+    private PNMLWriter() {
+    }
+
+    /**
+     * Erzeugt eine temporäre PNML-Datei mit einem Netz der angegebenen Form und
+     * Größe. Die Datei wird beim Beenden der JVM gelöscht.
+     *
+     * @param netShape die {@link NetShape}.
+     * @param netSize  die {@link NetSize}.
+     * @return die PNML-Datei als {@link File}.
+     */
+    static File createPNMLFile(NetShape netShape, NetSize netSize) {
+        return createPNMLFile(netShape, netShape.getN(netSize));
+    }
+
+    /**
+     * Erzeugt eine temporäre PNML-Datei mit einem Netz der angegebenen Form und
+     * dem Parameter n. Die Datei wird beim Beenden der JVM gelöscht.
+     *
+     * @param netShape die {@link NetShape}.
+     * @param n        der Parameter n des Netzes.
+     * @return die PNML-Datei als {@link File}.
+     */
+    static File createPNMLFile(NetShape netShape, int n) {
+        String netName = netShape.name().toLowerCase() + "_" + n;
+        PNMLWriter pnmlWriter = new PNMLWriter();
+        pnmlWriter.pnml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<pnml>\n<net id=\"").append(netName)
+                .append("\" type=\"http://www.informatik.hu-berlin.de/top/pntd/ptNetb\">\n");
+        netShape.write(pnmlWriter, n);
+        pnmlWriter.pnml.append("</net>\n</pnml>\n");
+        try {
+            File pnmlFile = File.createTempFile(netName + "_", ".pnml");
+            pnmlFile.deleteOnExit();
+            Files.writeString(pnmlFile.toPath(), pnmlWriter.pnml, StandardCharsets.UTF_8);
+            return pnmlFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fügt eine Kante mit dem Gewicht 1 hinzu.
+     *
+     * @param sourceID die ID des Quellknotens.
+     * @param targetID die ID des Zielknotens.
+     */
+    void arc(String sourceID, String targetID) {
+        pnml.append("<arc id=\"a").append(arcCount++).append("\" source=\"").append(sourceID)
+                .append("\" target=\"").append(targetID)
+                .append("\"><inscription><text>1</text></inscription></arc>\n");
+    }
+
+    /**
+     * Fügt eine Stelle hinzu.
+     *
+     * @param placeID die ID der Stelle.
+     * @param tokens  die Anzahl der initialen Marken.
+     */
+    void place(String placeID, int tokens) {
+        pnml.append("<place id=\"").append(placeID).append("\">");
+        appendNameAndPosition(placeID);
+        pnml.append("<initialMarking><text>").append(tokens).append("</text></initialMarking></place>\n");
+    }
+
+    /**
+     * Fügt eine Transition hinzu.
+     *
+     * @param transitionID die ID der Transition.
+     */
+    void transition(String transitionID) {
+        pnml.append("<transition id=\"").append(transitionID).append("\">");
+        appendNameAndPosition(transitionID);
+        pnml.append("</transition>\n");
+    }
+
+    private void appendNameAndPosition(String nodeID) {
+        int x = GRID * (1 + nodeCount % COLUMNS);
+        int y = GRID * (1 + nodeCount / COLUMNS);
+        nodeCount++;
+        pnml.append("<name><text>").append(nodeID).append("</text></name><graphics><position x=\"").append(x)
+                .append("\" y=\"").append(y).append("\"/></graphics>");
+    }
+}
@@ -0,0 +1,69 @@
+package de.pohl.petrinets.benchmark.jmh;
+
+import de.pohl.petrinets.control.implementations.usecases.PNMLFileParser;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import propra.pnml.PNMLWopedParser;
+
+/**
+ * Liest eine PNML-Datei wie der frühere {@link PNMLFileParser} über die
+ * Rückrufmethoden des {@link PNMLWopedParser} ein. Dient in den Benchmarks als
+ * Vergleich zum Einlesen mit dem {@link PNMLFileParser}.
+ */
+final class WopedPNMLFileParser extends PNMLWopedParser {
+    private final AbstractPetrinet petrinetModel;
+    private final AbstractReachabilitygraph rGraphModel;
+
+    /**
+     * Erstellt einen neuen {@link WopedPNMLFileParser}.
+     *
+     * @param petrinetModel ein {@link AbstractPetrinet}.
+     * @param rGraphModel   ein {@link AbstractReachabilitygraph}.
+     */
+    WopedPNMLFileParser(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
+        super(petrinetModel.getPNMLFile());
+        this.petrinetModel = petrinetModel;
+        this.rGraphModel = rGraphModel;
+    }
+
+    @Override
+    public void newArc(String id, String source, String target) {
+        petrinetModel.addArc(id, source, target);
+    }
+
+    @Override
+    public void newPlace(String id) {
+        petrinetModel.addPlace(id);
+    }
+
+    @Override
+    public void newTransition(String id) {
+        petrinetModel.addTransition(id);
+    }
+
+    /**
+     * Liest die PNML-Datei ein und initiiert den Erreichbarkeitsgraphen.
+     */
+    void run() {
+        initParser();
+        parse();
+        petrinetModel.getCompiledPetrinet();
+        petrinetModel.checkAllTransitionstate();
+        rGraphModel.addInitialMarking(petrinetModel.getInitialMarking(), petrinetModel.getActiveTransitionIDs());
+    }
+
+    @Override
+    public void setName(String id, String name) {
+        petrinetModel.setPetrinetNodeName(id, name);
+    }
+
+    @Override
+    public void setPosition(String id, String x, String y) {
+        petrinetModel.setPetrinetNodePosition(id, Integer.parseInt(x), Integer.parseInt(y));
+    }
+
+    @Override
+    public void setTokens(String id, String tokens) {
+        petrinetModel.initPlaceTokens(id, Integer.parseInt(tokens));
+    }
+}
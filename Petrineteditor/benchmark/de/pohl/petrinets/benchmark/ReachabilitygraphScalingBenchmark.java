@@ -0,0 +1,81 @@
+package de.pohl.petrinets.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.reachabilitygraph.Reachabilitygraph;
+
+/**
+ * Einfacher Skalierungs-Benchmark für den Aufbau eines
+ * {@link Reachabilitygraph}.
+ * <p>
+ * Es wird ein synthetischer Zustandsraum in Form eines quadratischen Gitters
+ * aufgebaut. Jede Markierung {@code (i|j)} besitzt zwei Nachfolger
+ * {@code (i+1|j)} und {@code (i|j+1)}, sodass jede innere Markierung über zwei
+ * Kanten erreicht wird und dabei sowohl neue als auch bereits existierende
+ * Knoten nachgeschlagen werden müssen. Nach jedem Schaltvorgang wird außerdem
+ * die Hervorhebung des letzten Schaltvorganges umgeschaltet, wie es auch bei
+ * der interaktiven Bedienung geschieht.
+ * <p>
+ * Ausgegeben wird je Gittergröße die benötigte Zeit insgesamt und je Knoten.
+ * Bei linearem Wachstum bleibt die Zeit je Knoten annähernd konstant.
+ */
+public class ReachabilitygraphScalingBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * Startet den Benchmark.
+     *
+     * @param args optional die Kantenlängen der Gitter, z.B. {@code 32 64 128}.
+     */
+    public static void main(String[] args) {
+        int[] sides = { 32, 64, 128, 256 };
+        if (args.length > 0) {
+            sides = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        }
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            buildGrid(sides[0]);
+        }
+        System.out.printf("%10s %10s %12s %14s%n", "Knoten", "Kanten", "Zeit [ms]", "ns/Knoten");
+        for (int side : sides) {
+            long start = System.nanoTime();
+            Reachabilitygraph rGraph = buildGrid(side);
+            long duration = System.nanoTime() - start;
+            System.out.printf("%10d %10d %12.1f %14.1f%n", rGraph.countNodes(), rGraph.countEdges(),
+                    duration / 1_000_000.0, (double) duration / rGraph.countNodes());
+        }
+    }
+
+    /**
+     * Baut einen {@link Reachabilitygraph} mit {@code side * side} Knoten auf.
+     *
+     * @param side die Kantenlänge des Gitters.
+     * @return der aufgebaute {@link Reachabilitygraph}.
+     */
+    private static Reachabilitygraph buildGrid(int side) {
+        Reachabilitygraph rGraph = new Reachabilitygraph();
+        ArrayList<String> activeTransitionIDs = new ArrayList<>(Arrays.asList("t1", "t2"));
+        rGraph.addInitialMarking(marking(0, 0), activeTransitionIDs);
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                Marking oldMarking = marking(i, j);
+                if (i + 1 < side) {
+                    Marking newMarking = marking(i + 1, j);
+                    rGraph.addMarking("t1", "t1", oldMarking, newMarking, activeTransitionIDs, false);
+                    rGraph.highlightTransition("t1", oldMarking, newMarking);
+                }
+                if (j + 1 < side) {
+                    Marking newMarking = marking(i, j + 1);
+                    rGraph.addMarking("t2", "t2", oldMarking, newMarking, activeTransitionIDs, false);
+                    rGraph.highlightTransition("t2", oldMarking, newMarking);
+                }
+            }
+        }
+        return rGraph;
+    }
+
+    private static Marking marking(int i, int j) {
+        return Marking.of(i, j);
+    }
+}
@@ -0,0 +1,274 @@
+package de.pohl.petrinets;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import de.pohl.petrinets.control.BoundednessEngine;
+import de.pohl.petrinets.control.implementations.MultiPetrinetController;
+import de.pohl.petrinets.control.implementations.usecases.AnalysisResultCache;
+import de.pohl.petrinets.control.implementations.usecases.BitstateExplorer;
+import de.pohl.petrinets.control.implementations.usecases.StateSpaceExplorer;
+import de.pohl.petrinets.logging.AsyncRingBufferAppender;
+import de.pohl.petrinets.logging.ConsoleAppender;
+import de.pohl.petrinets.logging.LogLevel;
+import de.pohl.petrinets.logging.LogManager;
+import de.pohl.petrinets.presenter.MultiAnalysisResultPresenter;
+import de.pohl.petrinets.presenter.ResultFormat;
+import de.pohl.petrinets.view.PetrinetStatusView;
+import de.pohl.petrinets.view.PetrinetView;
+import de.pohl.petrinets.view.gui.components.PetrinetPanel;
+import de.pohl.petrinets.view.gui.components.RGraphPanel;
+
+/**
+ * Programmeinstiegspunkt für die Beschränktheitsanalyse ohne graphische
+ * Oberfläche.
+ * <p>
+ * Die übergebenen PNML-Dateien und alle PNML-Dateien in übergebenen
+ * Verzeichnissen werden mit einem {@link MultiPetrinetController} analysiert.
+ * Es werden weder Swing-Komponenten noch GraphStream-Modelle erzeugt. Das
+ * Gesamtergebnis wird im gewählten {@link ResultFormat} auf der
+ * Standardausgabe ausgegeben, Protokollmeldungen und Zeitmessungen auf der
+ * Standardfehlerausgabe.
+ * <p>
+ * Rückgabewerte:
+ * <ul>
+ * <li>0 - alle Petrinetze sind beschränkt.</li>
+ * <li>1 - mindestens ein Petrinetz ist unbeschränkt.</li>
+ * <li>2 - fehlerhafter Aufruf oder mindestens eine Analyse ohne Ergebnis.</li>
+ * </ul>
+ */
+public class PetrinetBatchAnalyser {
+    /**
+     * Rückgabewert, wenn alle Petrinetze beschränkt sind.
+     */
+    public static final int EXIT_BOUNDED = 0;
+    /**
+     * Rückgabewert, wenn mindestens ein Petrinetz unbeschränkt ist.
+     */
+    public static final int EXIT_UNBOUNDED = 1;
+    /**
+     * Rückgabewert bei einem Fehler oder einer Analyse ohne Ergebnis.
+     */
+    public static final int EXIT_ERROR = 2;
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Aufruf: PetrinetBatchAnalyser [Optionen] <Datei|Verzeichnis>...",
+            "  --format text|csv|json                      Ausgabeformat (Standard: text)",
+            "  --threads <n>                               Anzahl gleichzeitig analysierter Dateien",
+            "  --timeout <ms>                              Zeitgrenze pro Datei",
+            "  --engine reachability|coverability|bitstate Verfahren der Beschränktheitsanalyse",
+            "  --mode dfs|bfs                              Reihenfolge der Erkundung",
+            "  --max-depth <n>                             größte Schalttiefe",
+            "  --max-states <n>                            größte Anzahl an Markierungen",
+            "  --bitstate-bits <n>                         Bitfeld mit 2^n Bits für bitstate (Standard: 28)",
+            "  --bitstate-hashes <k>                       Bits pro Markierung für bitstate (Standard: 3)",
+            "  --no-cache                                  frühere Analyseergebnisse nicht verwenden",
+            "  --state-store <dir>                         Erreichbarkeitsgraphen in Dateien im Verzeichnis ablegen",
+            "  --verbose                                   Meldungen der Analyse ausgeben",
+            "  --trace                                     jeden Analyseschritt protokollieren");
+
+    /**
+     * Methode zum Starten der Analyse.
+     *
+     * @param args die Optionen und die PNML-Dateien bzw. Verzeichnisse.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Führt die Analyse aus.
+     *
+     * @param args die Optionen und die PNML-Dateien bzw. Verzeichnisse.
+     * @param out  der {@link PrintStream} für das Gesamtergebnis.
+     * @param err  der {@link PrintStream} für Meldungen und Zeitmessungen.
+     * @return der Rückgabewert des Programms.
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        long startupTime = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        ResultFormat resultFormat = ResultFormat.TEXT;
+        ArrayList<File> pnmlFiles = new ArrayList<>();
+        boolean verbose = false;
+        boolean trace = false;
+        boolean cache = true;
+        File stateStoreDirectory = null;
+        int threads = 0;
+        long timeout = 0;
+        int maxDepth = 0;
+        int maxStates = 0;
+        int bitstateLog2Bits = BitstateExplorer.DEFAULT_LOG2_BITS;
+        int bitstateHashCount = BitstateExplorer.DEFAULT_HASH_COUNT;
+        BoundednessEngine engine = BoundednessEngine.REACHABILITY;
+        StateSpaceExplorer.Mode mode = StateSpaceExplorer.Mode.DFS;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--format":
+                    resultFormat = ResultFormat.valueOf(optionValue(args, ++i).toUpperCase(Locale.ROOT));
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--timeout":
+                    timeout = Long.parseLong(optionValue(args, ++i));
+                    break;
+                case "--engine":
+                    engine = BoundednessEngine.valueOf(optionValue(args, ++i).toUpperCase(Locale.ROOT));
+                    break;
+                case "--mode":
+                    mode = StateSpaceExplorer.Mode.valueOf(optionValue(args, ++i).toUpperCase(Locale.ROOT));
+                    break;
+                case "--max-depth":
+                    maxDepth = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--max-states":
+                    maxStates = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--bitstate-bits":
+                    bitstateLog2Bits = Integer.parseInt(optionValue(args, ++i));
+                    if (bitstateLog2Bits < BitstateExplorer.MIN_LOG2_BITS
+                            || bitstateLog2Bits > BitstateExplorer.MAX_LOG2_BITS) {
+                        throw new IllegalArgumentException("Ungültige Größe des Bitfeldes: " + bitstateLog2Bits);
+                    }
+                    break;
+                case "--bitstate-hashes":
+                    bitstateHashCount = Integer.parseInt(optionValue(args, ++i));
+                    if (bitstateHashCount < 1 || bitstateHashCount > BitstateExplorer.MAX_HASH_COUNT) {
+                        throw new IllegalArgumentException("Ungültige Anzahl an Bits pro Markierung: "
+                                + bitstateHashCount);
+                    }
+                    break;
+                case "--no-cache":
+                    cache = false;
+                    break;
+                case "--state-store":
+                    stateStoreDirectory = new File(optionValue(args, ++i));
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                case "--trace":
+                    trace = true;
+                    break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+                    collectPNMLFiles(new File(args[i]), pnmlFiles);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_ERROR;
+        }
+        if (pnmlFiles.isEmpty()) {
+            err.println("Es wurden keine PNML-Dateien angegeben.");
+            err.println(USAGE);
+            return EXIT_ERROR;
+        }
+        File[] files = pnmlFiles.toArray(new File[0]);
+        Arrays.sort(files);
+        MultiPetrinetController controller = new MultiPetrinetController(files, createMessageView(err, verbose),
+                createStatusView());
+        controller.setBoundednessEngine(engine);
+        controller.setExplorationMode(mode);
+        controller.setExplorationLimits(maxDepth, maxStates);
+        controller.setExplorationTimeout(timeout);
+        controller.setBitstateParameters(bitstateLog2Bits, bitstateHashCount);
+        if (cache) {
+            controller.setAnalysisResultCache(AnalysisResultCache.getDefault());
+        }
+        controller.setStateStoreDirectory(stateStoreDirectory);
+        if (threads > 0) {
+            controller.setParallelism(threads);
+        }
+        // Die Standardausgabe bleibt dem Gesamtergebnis vorbehalten.
+        LogManager.setAppender(new AsyncRingBufferAppender(new ConsoleAppender(err), 8192));
+        LogManager.setLevel(trace ? LogLevel.TRACE : verbose ? LogLevel.INFO : LogLevel.WARN);
+        long analysisStart = System.nanoTime();
+        controller.run();
+        long analysisTime = (System.nanoTime() - analysisStart) / 1_000_000L;
+        LogManager.flush();
+        MultiAnalysisResultPresenter results = controller.getMultiAnalysisResultPresenter();
+        out.print(results.createResults(resultFormat));
+        out.flush();
+        err.printf("Startzeit: %1$d ms, Analyse: %2$d Dateien in %3$d ms (%4$.1f Dateien/s, %5$.1f ms/Datei)%n",
+                startupTime, files.length, analysisTime, files.length * 1000.0 / Math.max(1, analysisTime),
+                (double) analysisTime / files.length);
+        if (results.countIncompleteResults() > 0) return EXIT_ERROR;
+        return results.countUnboundedResults() > 0 ? EXIT_UNBOUNDED : EXIT_BOUNDED;
+    }
+
+    /**
+     * Fügt eine PNML-Datei oder alle PNML-Dateien eines Verzeichnisses und seiner
+     * Unterverzeichnisse hinzu.
+     *
+     * @throws IllegalArgumentException wenn die Datei nicht existiert.
+     */
+    private static void collectPNMLFiles(File file, ArrayList<File> pnmlFiles) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children == null) return;
+            Arrays.sort(children);
+            for (File child : children) {
+                if (child.isDirectory() || child.getName().toLowerCase(Locale.ROOT).endsWith(".pnml")) {
+                    collectPNMLFiles(child, pnmlFiles);
+                }
+            }
+        } else if (file.isFile()) {
+            pnmlFiles.add(file);
+        } else {
+            throw new IllegalArgumentException("Datei nicht gefunden: " + file);
+        }
+    }
+
+    /**
+     * Erzeugt eine {@link PetrinetView}, die Meldungen nur im ausführlichen Modus
+     * ausgibt.
+     */
+    private static PetrinetView createMessageView(PrintStream err, boolean verbose) {
+        return new PetrinetView() {
+            @Override
+            public void printInMessageView(String message, boolean clearArea) {
+                if (verbose) {
+                    err.println(message);
+                }
+            }
+
+            @Override
+            public void setPetrinetView(PetrinetPanel petrinetView) {
+            }
+
+            @Override
+            public void setRGraphView(RGraphPanel reachabilitygraphView) {
+            }
+        };
+    }
+
+    /**
+     * Erzeugt eine {@link PetrinetStatusView} ohne Ausgabe.
+     */
+    private static PetrinetStatusView createStatusView() {
+        return new PetrinetStatusView() {
+            @Override
+            public void setModifiedLabel(String text) {
+            }
+
+            @Override
+            public void setStatusbarFilename(String fileName) {
+            }
+        };
+    }
+
+    /**
+     * Liefert den Wert einer Option.
+     *
+     * @throws IllegalArgumentException wenn der Wert fehlt.
+     */
+    private static String optionValue(String[] args, int index) {
+        if (index >= args.length) throw new IllegalArgumentException("Fehlender Wert für " + args[index - 1]);
+        return args[index];
+    }
+}
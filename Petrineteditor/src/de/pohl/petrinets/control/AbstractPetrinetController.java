@@ -1,9 +1,17 @@
 package de.pohl.petrinets.control;
 
+import java.io.File;
 import java.util.ArrayList;
 
+import de.pohl.petrinets.control.implementations.usecases.AnalysisResultCache;
+import de.pohl.petrinets.control.implementations.usecases.BitstateExplorer;
 import de.pohl.petrinets.control.implementations.usecases.BoundednessAnalyser;
+import de.pohl.petrinets.control.implementations.usecases.CoverabilityAnalyser;
+import de.pohl.petrinets.control.implementations.usecases.StateSpaceExplorer;
+import de.pohl.petrinets.logging.Logger;
 import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.CompiledPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
 import de.pohl.petrinets.model.petrinet.Transition;
 import de.pohl.petrinets.model.reachabilitygraph.*;
 import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
@@ -24,6 +32,9 @@ import de.pohl.petrinets.view.*;
  * implementiert: {@link #runSimulation(AnalysisResultDialogView)}.
  */
 public abstract class AbstractPetrinetController implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(AbstractPetrinetController.class);
+    // Die Anzahl neuer Schaltvorgänge zwischen zwei Fortschrittsmeldungen.
+    private static final int PROGRESS_INTERVAL = 10000;
     /**
      * Ein {@link AbstractPetrinet} als Modellkomponenten für ein Petrinetz.
      */
@@ -45,6 +56,19 @@ public abstract class AbstractPetrinetController implements Runnable {
      * Eine {@link PetrinetStatusView} zur Anzeige der Statusinformationen.
      */
     protected PetrinetStatusView petrinetStatusView;
+    private BoundednessEngine boundednessEngine = BoundednessEngine.REACHABILITY;
+    private int explorationMaxDepth;
+    private int explorationMaxStates;
+    private long explorationTimeout;
+    private StateSpaceExplorer.Mode explorationMode = StateSpaceExplorer.Mode.DFS;
+    private boolean detachedAnalysis = true;
+    private AnalysisResultCache analysisResultCache;
+    private File stateStoreDirectory;
+    private int bitstateLog2Bits = BitstateExplorer.DEFAULT_LOG2_BITS;
+    private int bitstateHashCount = BitstateExplorer.DEFAULT_HASH_COUNT;
+    // Die Länge des Pfades von m nach m' bei einer festgestellten
+    // Unbeschränktheit.
+    private int unboundedEdgePathLength;
 
     /**
      * Erstellt einen neuen {@link AbstractPetrinetController}.
@@ -60,14 +84,27 @@ public abstract class AbstractPetrinetController implements Runnable {
     /**
      * Startet die Simulation eines {@link AbstractPetrinet} mit dem dazugehörigen
      * {@link AbstractReachabilitygraph}.<br>
-     * Dabei wird in einem DFS-Algorithmus versucht, alle auf einer Markierung
-     * aktiven {@link Transition} genau ein Mal zu schalten. Nach jedem Schalten
-     * erfolgt eine Beschränktheitsanalyse. <br>
+     * Dabei wird mit einem {@link StateSpaceExplorer} versucht, alle auf einer
+     * Markierung aktiven {@link Transition} genau ein Mal zu schalten. Nach jedem
+     * Schalten erfolgt eine Beschränktheitsanalyse. <br>
+     * Geschaltet wird auf dem {@link CompiledPetrinet}, sodass das
+     * {@link AbstractPetrinet} während der Simulation nicht verändert wird. Nur
+     * wenn eine Unbeschränktheit festgestellt wird, wird das
+     * {@link AbstractPetrinet} auf die Markierung m' gesetzt und der letzte
+     * Schaltvorgang hervorgehoben.<br>
      * Ist ein {@link AbstractPetrinet} beschränkt, so gibt es irgendwann keine
      * Markierungen mehr, auf der eine unter dieser Markierung aktive
      * {@link Transition} noch nicht geschaltet wurde.<br>
      * Gibt es hingegen unendlich viele Markierungen, so erkennt die
      * Beschränktheitsanalyse dies und der Simulationsalgorithmus bricht ab.
+     * <p>
+     * Ist ein {@link AnalysisResultCache} gesetzt und liegt darin bereits ein
+     * Ergebnis für die Struktur und Anfangsmarkierung des Petrinetzes vor, wird
+     * es übernommen. Wird der {@link AbstractReachabilitygraph} nicht benötigt,
+     * wird bei einem unbeschränkten Petrinetz nur der Zeugenpfad eingefügt und bei
+     * einem beschränkten Petrinetz entfällt die gesamte Erkundung. Andernfalls
+     * entfällt bei einem beschränkten Petrinetz nur die Beschränktheitsanalyse,
+     * ein unbeschränktes Petrinetz wird wie ohne Ergebnis analysiert.
      *
      * @param analsAnalysisResultDialogView (Optional) <br>
      *                                      Eine {@link AnalysisResultDialogView}
@@ -77,30 +114,270 @@ public abstract class AbstractPetrinetController implements Runnable {
      *                                      ausgabe nur in der {@link PetrinetView}.
      * @see BoundednessAnalyser
      * @see SingleAnalysisResultPresenter
+     * @see #setExplorationLimits(int, int)
+     * @see #setExplorationMode(StateSpaceExplorer.Mode)
+     * @see #setBoundednessEngine(BoundednessEngine)
+     * @see #setExplorationTimeout(long)
+     * @see #setDetachedAnalysis(boolean)
+     * @see #setAnalysisResultCache(AnalysisResultCache)
+     * @see #setBitstateParameters(int, int)
      */
     public void runSimulation(AnalysisResultDialogView analsAnalysisResultDialogView) {
-        System.out.println("---------------");
-        System.out.println("Starte Simulation des Petrinetzes " + petrinetModel.getPNMLFileName());
-        System.out.println("---------------");
+        LOGGER.info("Starte Simulation des Petrinetzes %1$s", petrinetModel.getPNMLFileName());
         resultPresenter = new SingleAnalysisResultPresenter(petrinetModel.getPNMLFileName(), rGraphModel,
                 petrinetControllerView);
-        // Den Wurzelknoten es Erreichbarkeitsgraphen ermitteln der der
-        // Anfangsmarkierung des Petrinetzes entspricht.
-        String initialRGraphNodeID = rGraphModel.getInitialNodeID();
-        boolean isUnbounded = simulationRecursion(initialRGraphNodeID);
-        if (isUnbounded) {
-            System.out.println("Abbruch der Simulation, da Aufruf das Petrinetz unbeschränkt ist.");
-            resultPresenter.printResult(analsAnalysisResultDialogView);
-            return;
+        long startTime = System.nanoTime();
+        long deadline = explorationTimeout > 0 ? System.nanoTime() + explorationTimeout * 1_000_000L : 0;
+        StateSpaceExplorer.Status status = StateSpaceExplorer.Status.COMPLETE;
+        String cacheKey = null;
+        AnalysisResultCache.Result cachedResult = null;
+        if (analysisResultCache != null) {
+            cacheKey = AnalysisResultCache.createKey(petrinetModel.getCompiledPetrinet(),
+                    rGraphModel.getNodeMarking(rGraphModel.getInitialNodeID()));
+            cachedResult = analysisResultCache.get(cacheKey);
         }
-        System.out.println("Keine weiteren aktiven Transitionen bei " + rGraphModel.getNodeLabel(initialRGraphNodeID));
-        System.out.println("---------------");
-        System.out.println("Beende Simulation des Petrinetzes " + petrinetModel.getPNMLFile().getName());
-        System.out.println("---------------");
-        resultPresenter.setResultPetrinetIsBounded();
+        StateSpaceExplorer.Status cachedStatus = null;
+        // Bei einer abgekoppelten Analyse übernehmen die Views die Änderungen erst
+        // nach der Analyse in einem Durchlauf.
+        if (detachedAnalysis) {
+            beginChangeBatch();
+        }
+        try {
+            if (cachedResult != null) {
+                cachedStatus = applyCachedResult(cachedResult, deadline);
+            }
+            if (cachedStatus != null) {
+                status = cachedStatus;
+            } else if (boundednessEngine == BoundednessEngine.BITSTATE) {
+                status = runBitstateAnalysis(deadline);
+            } else {
+                if (boundednessEngine == BoundednessEngine.COVERABILITY) {
+                    status = runCoverabilityAnalysis(deadline);
+                }
+                if (status == StateSpaceExplorer.Status.COMPLETE) {
+                    status = runExploration(deadline, boundednessEngine == BoundednessEngine.REACHABILITY);
+                }
+            }
+        } finally {
+            if (detachedAnalysis) {
+                endChangeBatch();
+            }
+        }
+        if (status == StateSpaceExplorer.Status.TIMED_OUT) {
+            LOGGER.info("Abbruch der Simulation wegen Zeitüberschreitung.");
+            resultPresenter.setResultTimedOut();
+        } else if (status == StateSpaceExplorer.Status.CANCELLED) {
+            LOGGER.info("Abbruch der Simulation durch Unterbrechung.");
+            resultPresenter.setResultCancelled();
+        }
+        if (cacheKey != null && cachedStatus == null) {
+            storeResult(cacheKey, status);
+        }
+        resultPresenter.setAnalysisDuration(System.nanoTime() - startTime);
+        LOGGER.info("Beende Simulation des Petrinetzes %1$s", petrinetModel.getPNMLFile().getName());
         resultPresenter.printResult(analsAnalysisResultDialogView);
     }
 
+    /**
+     * Übernimmt ein Ergebnis aus dem {@link AnalysisResultCache} und setzt es im
+     * {@link SingleAnalysisResultPresenter}.
+     *
+     * @param cachedResult das {@link AnalysisResultCache.Result}.
+     * @param deadline     der Zeitpunkt einer Zeitüberschreitung oder 0.
+     * @return der {@link StateSpaceExplorer.Status} oder <code>null</code>, wenn
+     *         das Ergebnis nicht übernommen werden kann.
+     */
+    private StateSpaceExplorer.Status applyCachedResult(AnalysisResultCache.Result cachedResult, long deadline) {
+        if (cachedResult.isUnbounded() && isReachabilitygraphRequired()) {
+            // Der Zeugenpfad allein ersetzt nicht den bis zur Unbeschränktheit
+            // erkundeten Erreichbarkeitsgraphen.
+            LOGGER.info("Das Petrinetz ist laut Zwischenspeicher unbeschränkt, Erkundung mit Analyse.");
+            return null;
+        }
+        if (cachedResult.isUnbounded()) {
+            ArrayList<String> edgePath = cachedResult.replayWitness(petrinetModel.getCompiledPetrinet(),
+                    rGraphModel.getNodeMarking(rGraphModel.getInitialNodeID()), rGraphModel);
+            if (edgePath == null) {
+                LOGGER.warn("Der Zeugenpfad aus dem Zwischenspeicher passt nicht zum Petrinetz %1$s.",
+                        petrinetModel.getPNMLFileName());
+                return null;
+            }
+            LOGGER.info("Abbruch der Simulation, da das Petrinetz laut Zwischenspeicher unbeschränkt ist.");
+            showUnboundedWitness(edgePath);
+            resultPresenter.setGraphSize(cachedResult.getNodeCount(), cachedResult.getEdgeCount());
+            return StateSpaceExplorer.Status.UNBOUNDED;
+        }
+        if (isReachabilitygraphRequired()) {
+            LOGGER.info("Das Petrinetz ist laut Zwischenspeicher beschränkt, Erkundung ohne Beschränktheitsanalyse.");
+            return runExploration(deadline, false);
+        }
+        LOGGER.info("Das Petrinetz ist laut Zwischenspeicher beschränkt.");
+        resultPresenter.setResultPetrinetIsBounded();
+        resultPresenter.setGraphSize(cachedResult.getNodeCount(), cachedResult.getEdgeCount());
+        return StateSpaceExplorer.Status.COMPLETE;
+    }
+
+    /**
+     * Legt das Ergebnis einer vollständigen Analyse im {@link AnalysisResultCache}
+     * ab. Unvollständige Ergebnisse, auch die einer Bitstate-Suche ohne Zeugen,
+     * werden nicht abgelegt.
+     *
+     * @param cacheKey der Schlüssel des Petrinetzes.
+     * @param status   der {@link StateSpaceExplorer.Status} der Analyse.
+     */
+    private void storeResult(String cacheKey, StateSpaceExplorer.Status status) {
+        if (status == StateSpaceExplorer.Status.COMPLETE && !resultPresenter.isIncomplete()) {
+            analysisResultCache.put(cacheKey,
+                    AnalysisResultCache.Result.bounded(resultPresenter.getNodecount(), resultPresenter.getEdgecount()));
+        } else if (status == StateSpaceExplorer.Status.UNBOUNDED) {
+            ArrayList<String> witnessTransitionIDs = resultPresenter.getEdgePathTransitionIDs();
+            analysisResultCache.put(cacheKey,
+                    AnalysisResultCache.Result.unbounded(resultPresenter.getNodecount(), resultPresenter.getEdgecount(),
+                            witnessTransitionIDs, witnessTransitionIDs.size() - unboundedEdgePathLength));
+        }
+    }
+
+    /**
+     * Erkundet den Zustandsraum mit einem {@link StateSpaceExplorer} und setzt das
+     * Ergebnis im {@link SingleAnalysisResultPresenter}. Ist die Beschränktheit
+     * bereits bekannt, z.B. durch einen {@link CoverabilityAnalyser}, entfällt
+     * die Beschränktheitsanalyse pro Knoten.
+     *
+     * @param deadline         der Zeitpunkt einer Zeitüberschreitung oder 0.
+     * @param boundednessCheck <code>true</code>, wenn nach jedem Schalten eine
+     *                         Beschränktheitsanalyse erfolgen soll.
+     * @return der {@link StateSpaceExplorer.Status} der Erkundung.
+     */
+    private StateSpaceExplorer.Status runExploration(long deadline, boolean boundednessCheck) {
+        StateSpaceExplorer explorer = new StateSpaceExplorer(petrinetModel.getCompiledPetrinet(), rGraphModel);
+        explorer.setBoundednessCheck(boundednessCheck);
+        explorer.setDeadline(deadline);
+        explorer.setMode(explorationMode);
+        explorer.setMaxDepth(explorationMaxDepth);
+        explorer.setMaxStates(explorationMaxStates);
+        explorer.setProgressListener(this::reportExplorationProgress, PROGRESS_INTERVAL);
+        StateSpaceExplorer.Status status = explorer.run();
+        switch (status) {
+        case UNBOUNDED:
+            LOGGER.info("Abbruch der Simulation, da das Petrinetz unbeschränkt ist.");
+            showUnboundedMarking(explorer.getUnboundedNodeID(), explorer.getUnboundedInboundEdgeID());
+            unboundedEdgePathLength = explorer.getUnboundedEdgePath().size();
+            resultPresenter.setResultPetrinetIsUndbounded(explorer.getUnboundedEdgePath(), true);
+            break;
+        case LIMIT_REACHED:
+            LOGGER.info("Abbruch der Simulation, da eine Grenze erreicht wurde.");
+            resultPresenter.setResultLimitReached();
+            break;
+        case COMPLETE:
+            resultPresenter.setResultPetrinetIsBounded();
+            break;
+        default:
+            break;
+        }
+        return status;
+    }
+
+    /**
+     * Führt die Beschränktheitsanalyse mit einem {@link CoverabilityAnalyser}
+     * durch. Ist das Petrinetz unbeschränkt, wird der Zeugenpfad in den
+     * {@link AbstractReachabilitygraph} eingefügt und das Ergebnis im
+     * {@link SingleAnalysisResultPresenter} gesetzt.
+     *
+     * @param deadline der Zeitpunkt einer Zeitüberschreitung oder 0.
+     * @return der {@link StateSpaceExplorer.Status} der Analyse.
+     */
+    private StateSpaceExplorer.Status runCoverabilityAnalysis(long deadline) {
+        CoverabilityAnalyser analyser = new CoverabilityAnalyser(petrinetModel.getCompiledPetrinet(),
+                rGraphModel.getNodeMarking(rGraphModel.getInitialNodeID()));
+        analyser.setMaxDepth(explorationMaxDepth);
+        analyser.setMaxStates(explorationMaxStates);
+        analyser.setDeadline(deadline);
+        StateSpaceExplorer.Status status = analyser.run();
+        switch (status) {
+        case UNBOUNDED:
+            LOGGER.info("Abbruch der Simulation, da das Petrinetz unbeschränkt ist.");
+            showUnboundedWitness(analyser.replayWitness(rGraphModel));
+            break;
+        case LIMIT_REACHED:
+            LOGGER.info("Abbruch der Simulation, da eine Grenze erreicht wurde.");
+            resultPresenter.setResultLimitReached();
+            break;
+        default:
+            break;
+        }
+        return status;
+    }
+
+    /**
+     * Erkundet den Zustandsraum mit einem {@link BitstateExplorer}. Ist das
+     * Petrinetz unbeschränkt, wird der Zeugenpfad in den
+     * {@link AbstractReachabilitygraph} eingefügt. Andernfalls werden die
+     * geschätzte Abdeckung und die gefundenen Verklemmungen als unvollständiges
+     * Ergebnis im {@link SingleAnalysisResultPresenter} gesetzt.
+     *
+     * @param deadline der Zeitpunkt einer Zeitüberschreitung oder 0.
+     * @return der {@link StateSpaceExplorer.Status} der Erkundung.
+     */
+    private StateSpaceExplorer.Status runBitstateAnalysis(long deadline) {
+        BitstateExplorer explorer = new BitstateExplorer(petrinetModel.getCompiledPetrinet(),
+                rGraphModel.getNodeMarking(rGraphModel.getInitialNodeID()));
+        explorer.setBitArraySize(bitstateLog2Bits);
+        explorer.setHashCount(bitstateHashCount);
+        explorer.setMaxDepth(explorationMaxDepth);
+        explorer.setMaxStates(explorationMaxStates);
+        explorer.setDeadline(deadline);
+        StateSpaceExplorer.Status status = explorer.run();
+        LOGGER.info("Bitstate-Suche %1$s: %2$d Markierungen, %3$d Schaltvorgänge, Tiefe %4$d, Füllgrad %5$.4f",
+                petrinetModel.getPNMLFileName(), explorer.countStates(), explorer.countTransitions(),
+                explorer.getExploredDepth(), explorer.getLoadFactor());
+        switch (status) {
+        case UNBOUNDED:
+            LOGGER.info("Abbruch der Simulation, da das Petrinetz unbeschränkt ist.");
+            showUnboundedWitness(explorer.replayWitness(rGraphModel));
+            break;
+        case LIMIT_REACHED:
+            LOGGER.info("Abbruch der Simulation, da eine Grenze erreicht wurde.");
+            resultPresenter.setResultLimitReached();
+            break;
+        case COMPLETE:
+            Marking firstDeadlock = explorer.getFirstDeadlock();
+            resultPresenter.setResultBitstate(explorer.getCoverage(), explorer.getOmissionProbability(),
+                    explorer.countDeadlocks(), firstDeadlock == null ? null : firstDeadlock.toLabel());
+            break;
+        default:
+            break;
+        }
+        if (status != StateSpaceExplorer.Status.UNBOUNDED) {
+            resultPresenter.setGraphSize((int) Math.min(Integer.MAX_VALUE, explorer.countStates()),
+                    (int) Math.min(Integer.MAX_VALUE, explorer.countTransitions()));
+        }
+        return status;
+    }
+
+    /**
+     * Öffnet einen Änderungsstapel im {@link AbstractPetrinet} und im
+     * {@link AbstractReachabilitygraph}. Die Änderungen beider Graphmodelle werden
+     * bis zum Aufruf von {@link #endChangeBatch()} gesammelt und danach
+     * zusammengefasst an die Views übergeben.
+     *
+     * @see de.pohl.petrinets.model.AbstractGraph#beginChangeBatch()
+     */
+    protected void beginChangeBatch() {
+        petrinetModel.beginChangeBatch();
+        rGraphModel.beginChangeBatch();
+    }
+
+    /**
+     * Schließt einen mit {@link #beginChangeBatch()} geöffneten Änderungsstapel
+     * beider Graphmodelle.
+     *
+     * @see de.pohl.petrinets.model.AbstractGraph#endChangeBatch()
+     */
+    protected void endChangeBatch() {
+        rGraphModel.endChangeBatch();
+        petrinetModel.endChangeBatch();
+    }
+
     /**
      * Behandelt das Eregnis, dass der Tab {@link AbstractPetrinetController} in der
      * {@link PetrinetView} ausgewählt wurde und die {@link PetrinetView} dieser
@@ -128,54 +405,195 @@ public abstract class AbstractPetrinetController implements Runnable {
     }
 
     /**
-     * Rekursiver Aufruf der Schaltung von Transitionen eines Petrinetzes.
-     * <p>
-     * Basiert auf einem DFS-Algorithmus. Das bedeutet, dass der Graph zunächst so
-     * tief wie möglich durchlaufen wird, bis keine schaltbaren Transitionen mehr
-     * exisiteren. Ist dieser Punkt erreicht, kehrt der Algorithmus zu einem
-     * Zeitpunkt zurück, zu dem auf dem Petrinetz noch schaltbare Transitionen
-     * existierten.
-     *
-     * @param currentRGraphNodeID die ID des {@link RGraphNode} auf dem die
-     *                            Simulationsrekursion ausgeführt werden soll.
-     * @return <code>true</code>, wenn das {@link AbstractPetrinet} unbeschränkt
-     *         ist.<br>
-     *         <code>false</code>, wenn das {@link AbstractPetrinet} beschränkt ist.
-     */
-    private boolean simulationRecursion(String currentRGraphNodeID) {
-        ArrayList<Integer> currentMarking = rGraphModel.getNodeMarking(currentRGraphNodeID);
-        System.out.println("Rekursionsaufruf auf Zustand: " + currentMarking.toString());
-        // Abbruchkriterium
-        // Unbeschräktheitsanalsye durchführen. Wenn unbeschränkt, dann Simulation
-        // abbrechen.
-        ArrayList<String> rGraphEdgePath = new BoundednessAnalyser(rGraphModel).run(currentRGraphNodeID);
-        if (rGraphEdgePath != null) {
-            System.out.println("Abbruch der Rekursion bei: " + currentMarking.toString());
-            resultPresenter.setResultPetrinetIsUndbounded(rGraphEdgePath, true);
-            return true;
-        }
-        // Alle auf dieser Markierung aktiven Transitionen ermitteln
-        ArrayList<String> activeTransitionIDs = petrinetModel.getActiveTransitionIDs();
-        System.out.println("Aktive Transitionen: " + activeTransitionIDs.toString());
-        // Jede aktive Transition schalten
-        for (String currentTransitionID : activeTransitionIDs) {
-            String rGraphEdge = toggleTransition(currentTransitionID, false);
-            if (rGraphEdge != null) {
-                // Rekursiver Aufruf der Simulation
-                String nextRGraphNodeID = rGraphModel.getEdgeTargetID(rGraphEdge);
-                boolean isUnbounded = simulationRecursion(nextRGraphNodeID);
-                if (isUnbounded) {
-                    System.out.println("Abbruch der Rekursion bei " + currentMarking.toString() + ", da Aufruf auf "
-                            + rGraphModel.getNodeLabel(rGraphModel.getEdgeTargetID(rGraphEdge))
-                            + " unbeschränktheit gemeldet hat.");
-                    return true;
-                }
-            }
-            // Markierung des Petrinetzes zurücksetzen
-            petrinetModel.setActualMarking(currentMarking);
+     * Legt die Grenzen für die Erkundung des Zustandsraumes während der Simulation
+     * fest.
+     *
+     * @param maxDepth  die größte Schalttiefe oder 0 für keine Begrenzung.
+     * @param maxStates die größte Anzahl an Markierungen oder 0 für keine
+     *                  Begrenzung.
+     */
+    public void setExplorationLimits(int maxDepth, int maxStates) {
+        this.explorationMaxDepth = maxDepth;
+        this.explorationMaxStates = maxStates;
+    }
+
+    /**
+     * Legt die Zeit fest, nach der die Simulation eines Petrinetzes ohne Ergebnis
+     * beendet wird.
+     *
+     * @param explorationTimeout die Zeit in Millisekunden oder 0 für keine
+     *                           Begrenzung.
+     */
+    public void setExplorationTimeout(long explorationTimeout) {
+        this.explorationTimeout = Math.max(0, explorationTimeout);
+    }
+
+    /**
+     * Übernimmt die Einstellungen für die Simulation von einem anderen
+     * {@link AbstractPetrinetController}.
+     *
+     * @param source der {@link AbstractPetrinetController}, dessen Einstellungen
+     *               übernommen werden.
+     */
+    protected void adoptAnalysisSettings(AbstractPetrinetController source) {
+        this.boundednessEngine = source.boundednessEngine;
+        this.explorationMaxDepth = source.explorationMaxDepth;
+        this.explorationMaxStates = source.explorationMaxStates;
+        this.explorationMode = source.explorationMode;
+        this.explorationTimeout = source.explorationTimeout;
+        this.detachedAnalysis = source.detachedAnalysis;
+        this.analysisResultCache = source.analysisResultCache;
+        this.stateStoreDirectory = source.stateStoreDirectory;
+        this.bitstateLog2Bits = source.bitstateLog2Bits;
+        this.bitstateHashCount = source.bitstateHashCount;
+    }
+
+    /**
+     * Liefert das Verzeichnis, in dem der {@link AbstractReachabilitygraph} beim
+     * Laden einer PNML-Datei ohne graphische Darstellung abgelegt wird.
+     *
+     * @return das Verzeichnis oder <code>null</code>, wenn der
+     *         {@link AbstractReachabilitygraph} im Speicher liegt.
+     * @see #setStateStoreDirectory(File)
+     */
+    protected File getStateStoreDirectory() {
+        return stateStoreDirectory;
+    }
+
+    /**
+     * Gibt an, ob der {@link AbstractReachabilitygraph} nach der Simulation
+     * vollständig benötigt wird, z.B. für die Anzeige. Andernfalls kann bei einem
+     * bekannten Ergebnis aus dem {@link AnalysisResultCache} auf die Erkundung
+     * verzichtet werden.
+     *
+     * @return <code>true</code> (Voreinstellung), wenn der
+     *         {@link AbstractReachabilitygraph} benötigt wird.
+     */
+    protected boolean isReachabilitygraphRequired() {
+        return true;
+    }
+
+    /**
+     * Legt den {@link AnalysisResultCache} fest, in dem die Ergebnisse der
+     * Simulation abgelegt und nachgeschlagen werden. Voreingestellt ist kein
+     * {@link AnalysisResultCache}, d.h. jedes Petrinetz wird vollständig
+     * analysiert. Die Oberfläche und die Stapelverarbeitung setzen
+     * {@link AnalysisResultCache#getDefault()}.
+     *
+     * @param analysisResultCache ein {@link AnalysisResultCache} oder
+     *                            <code>null</code> (Voreinstellung), um jedes
+     *                            Petrinetz neu zu analysieren.
+     */
+    public void setAnalysisResultCache(AnalysisResultCache analysisResultCache) {
+        this.analysisResultCache = analysisResultCache;
+    }
+
+    /**
+     * Legt ein Verzeichnis fest, in dem der {@link AbstractReachabilitygraph} bei
+     * der Analyse ohne graphische Darstellung als {@link DiskReachabilitygraph}
+     * abgelegt wird. So lassen sich Zustandsräume analysieren, die nicht in den
+     * Speicher passen.
+     *
+     * @param stateStoreDirectory das Verzeichnis oder <code>null</code>, um den
+     *                            {@link AbstractReachabilitygraph} im Speicher
+     *                            zu halten (Voreinstellung).
+     */
+    public void setStateStoreDirectory(File stateStoreDirectory) {
+        this.stateStoreDirectory = stateStoreDirectory;
+    }
+
+    /**
+     * Legt die Größe des Bitfeldes und die Anzahl der Bits pro Markierung für die
+     * {@link BoundednessEngine#BITSTATE} fest.
+     *
+     * @param log2Bits  der Zweierlogarithmus der Anzahl der Bits.
+     * @param hashCount die Anzahl der Bits pro Markierung.
+     * @see BitstateExplorer#setBitArraySize(int)
+     * @see BitstateExplorer#setHashCount(int)
+     */
+    public void setBitstateParameters(int log2Bits, int hashCount) {
+        this.bitstateLog2Bits = log2Bits;
+        this.bitstateHashCount = hashCount;
+    }
+
+    /**
+     * Legt fest, ob die Simulation von den Views abgekoppelt ausgeführt wird. Die
+     * Views erhalten die Änderungen dann erst nach der Simulation als ein
+     * Änderungsstapel und laden das Ergebnis in einem Durchlauf. Andernfalls
+     * wird jede Änderung sofort angezeigt, so dass sich z.B. das Wachstum kleiner
+     * Erreichbarkeitsgraphen verfolgen lässt.
+     *
+     * @param detachedAnalysis <code>true</code> für eine abgekoppelte
+     *                         Simulation (Voreinstellung).
+     */
+    public void setDetachedAnalysis(boolean detachedAnalysis) {
+        this.detachedAnalysis = detachedAnalysis;
+    }
+
+    /**
+     * Legt das Verfahren fest, mit dem die Beschränktheit während der Simulation
+     * festgestellt wird.
+     *
+     * @param boundednessEngine die {@link BoundednessEngine}.
+     */
+    public void setBoundednessEngine(BoundednessEngine boundednessEngine) {
+        this.boundednessEngine = boundednessEngine;
+    }
+
+    /**
+     * Legt die Reihenfolge fest, in der der Zustandsraum während der Simulation
+     * erkundet wird.
+     *
+     * @param explorationMode der {@link StateSpaceExplorer.Mode}.
+     */
+    public void setExplorationMode(StateSpaceExplorer.Mode explorationMode) {
+        this.explorationMode = explorationMode;
+    }
+
+    /**
+     * Gibt den Fortschritt einer laufenden Simulation aus.
+     *
+     * @param states die Anzahl der bisher gefundenen Markierungen.
+     * @param edges  die Anzahl der bisher gefundenen Schaltvorgänge.
+     * @param depth  die größte bisher erreichte Schalttiefe.
+     * @see StateSpaceExplorer.ProgressListener
+     */
+    protected void reportExplorationProgress(int states, int edges, int depth) {
+        LOGGER.info("Simulation %1$s: %2$d Knoten, %3$d Kanten, Tiefe %4$d", petrinetModel.getPNMLFileName(), states,
+                edges, depth);
+    }
+
+    /**
+     * Zeigt einen in den {@link AbstractReachabilitygraph} eingefügten
+     * Zeugenpfad an und setzt das Ergebnis im
+     * {@link SingleAnalysisResultPresenter} auf unbeschränkt.
+     *
+     * @param edgePath die IDs der {@link RGraphEdge} von m nach m'.
+     */
+    private void showUnboundedWitness(ArrayList<String> edgePath) {
+        String inboundRGraphEdgeID = edgePath.get(edgePath.size() - 1);
+        showUnboundedMarking(rGraphModel.getEdgeTargetID(inboundRGraphEdgeID), inboundRGraphEdgeID);
+        unboundedEdgePathLength = edgePath.size();
+        resultPresenter.setResultPetrinetIsUndbounded(edgePath, true);
+    }
+
+    /**
+     * Setzt das {@link AbstractPetrinet} auf die Markierung m', bei der eine
+     * Unbeschränktheit festgestellt wurde, und hebt den letzten Schaltvorgang im
+     * {@link AbstractReachabilitygraph} hervor.
+     *
+     * @param rGraphNodeID        die ID des {@link RGraphNode} m'.
+     * @param inboundRGraphEdgeID die ID der {@link RGraphEdge}, über die m'
+     *                            erreicht wurde oder <code>null</code>.
+     */
+    private void showUnboundedMarking(String rGraphNodeID, String inboundRGraphEdgeID) {
+        Marking marking = rGraphModel.getNodeMarking(rGraphNodeID);
+        petrinetModel.setActualMarking(marking);
+        if (inboundRGraphEdgeID != null) {
+            String sourceRGraphNodeID = rGraphModel.getEdgeSourceID(inboundRGraphEdgeID);
+            rGraphModel.highlightTransition(rGraphModel.getEdgeTransitionID(inboundRGraphEdgeID),
+                    rGraphModel.getNodeMarking(sourceRGraphNodeID), marking);
         }
-        System.out.println("Keine weiteren aktiven Transitionen bei " + currentMarking.toString());
-        return false;
     }
 
     /**
@@ -200,15 +618,20 @@ public abstract class AbstractPetrinetController implements Runnable {
      *         die den Schaltvorgang repräsentiert.
      */
     protected String toggleTransition(String transitionID, boolean returnExisting) {
-        ArrayList<Integer> oldMarking = petrinetModel.getActualMarking();
-        ArrayList<Integer> newMarking = petrinetModel.toggleTransition(transitionID);
-        if (newMarking != null) {
-            String transitionName = petrinetModel.getTransitionName(transitionID);
-            String edgeID = rGraphModel.addMarking(transitionID, transitionName, oldMarking, newMarking,
-                    petrinetModel.getActiveTransitionIDs(), returnExisting);
-            rGraphModel.highlightTransition(transitionID, oldMarking, newMarking);
-            return edgeID;
+        beginChangeBatch();
+        try {
+            Marking oldMarking = petrinetModel.getActualMarking();
+            Marking newMarking = petrinetModel.toggleTransition(transitionID);
+            if (newMarking != null) {
+                String transitionName = petrinetModel.getTransitionName(transitionID);
+                String edgeID = rGraphModel.addMarking(transitionID, transitionName, oldMarking, newMarking,
+                        petrinetModel.getActiveTransitionIDs(), returnExisting);
+                rGraphModel.highlightTransition(transitionID, oldMarking, newMarking);
+                return edgeID;
+            }
+            return null;
+        } finally {
+            endChangeBatch();
         }
-        return null;
     }
 }
@@ -0,0 +1,31 @@
+package de.pohl.petrinets.control;
+
+import de.pohl.petrinets.control.implementations.usecases.BitstateExplorer;
+import de.pohl.petrinets.control.implementations.usecases.BoundednessAnalyser;
+import de.pohl.petrinets.control.implementations.usecases.CoverabilityAnalyser;
+
+/**
+ * Aufzählungsklasse mit den Verfahren, mit denen die Beschränktheit eines
+ * Petrinetzes während der Simulation festgestellt wird.
+ */
+public enum BoundednessEngine {
+    /**
+     * Beschränktheitsanalyse mit dem {@link BoundednessAnalyser} für jeden neu
+     * erreichten Knoten des Erreichbarkeitsgraphen.
+     */
+    REACHABILITY,
+    /**
+     * Beschränktheitsanalyse mit einem Überdeckbarkeitsbaum nach Karp und Miller
+     * ({@link CoverabilityAnalyser}). Bei einem beschränkten Petrinetz wird der
+     * Erreichbarkeitsgraph anschließend ohne weitere Beschränktheitsanalyse
+     * aufgebaut.
+     */
+    COVERABILITY,
+    /**
+     * Tiefensuche mit dem {@link BitstateExplorer} ohne Erreichbarkeitsgraphen.
+     * Eine gefundene Unbeschränktheit ist sicher, andernfalls liefert das
+     * Verfahren nur eine geschätzte Abdeckung des Zustandsraumes und kein
+     * Ergebnis.
+     */
+    BITSTATE
+}
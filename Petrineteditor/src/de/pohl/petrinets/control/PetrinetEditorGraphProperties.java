@@ -93,5 +93,12 @@ public enum PetrinetEditorGraphProperties {
     /**
      * Modifikationsstatus als Eigenschaft eines Petrinetzes.
      */
-    MODIFIED
+    MODIFIED,
+    /**
+     * Eine zusammengefasste Menge von Änderungen eines Graphen. Der neue Wert ist
+     * eine {@link java.util.List} mit den einzelnen
+     * {@link java.beans.PropertyChangeEvent}, die in dieser Reihenfolge
+     * angewendet werden.
+     */
+    CHANGE_BATCH
 }
@@ -28,6 +28,12 @@ public interface PetrinetEditorViewListener {
      */
     void onAnaylseSingleClick();
 
+    /**
+     * Wird aufgerufen, wenn die laufende Beschränktheitsanalyse für eine Menge von
+     * Petrinetz Dateien abgebrochen werden soll.
+     */
+    void onCancelBatchAnalysisClick();
+
     /**
      * Wird aufgerufen, wenn ein Tab des Tabbed Document Interface (TDI) geschlossen
      * werden soll.
@@ -115,4 +121,13 @@ public interface PetrinetEditorViewListener {
      *               Aufbau erkannt.
      */
     void togglePermanentAnalysis(boolean status);
+
+    /**
+     * Wird aufgerufen, wenn die Ablaufverfolgung der Analyse ein- oder
+     * ausgeschaltet werden soll.
+     *
+     * @param status wenn <code>true</code> werden auch Meldungen der Stufe TRACE
+     *               protokolliert.
+     */
+    void toggleTraceLogging(boolean status);
 }
@@ -0,0 +1,157 @@
+package de.pohl.petrinets.control.implementations;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import de.pohl.petrinets.control.AbstractPetrinetController;
+import de.pohl.petrinets.control.implementations.usecases.PNMLFileLoader;
+import de.pohl.petrinets.logging.Logger;
+import de.pohl.petrinets.model.reachabilitygraph.DiskReachabilitygraph;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
+import de.pohl.petrinets.view.PetrinetStatusView;
+import de.pohl.petrinets.view.PetrinetView;
+import de.pohl.petrinets.view.gui.components.MessageView;
+import de.pohl.petrinets.view.gui.components.PetrinetPanel;
+import de.pohl.petrinets.view.gui.components.RGraphPanel;
+
+/**
+ * Eine Implementierung eines {@link AbstractPetrinetController}, die eine
+ * einzelne PNML-Datei im Rahmen einer parallelen Beschränktheitsanalyse für
+ * eine Menge von Petrinetz Dateien öffnet und analysiert.
+ * <p>
+ * Jede Instanz besitzt eigene Modellkomponenten, sodass mehrere Instanzen
+ * unabhängig voneinander in verschiedenen Threads ausgeführt werden können. Die
+ * Ausgaben werden gepuffert und erst durch {@link #flushMessages(MessageView)}
+ * weitergegeben, damit sie in der Reihenfolge der Dateien erscheinen.
+ *
+ * @see MultiPetrinetController
+ */
+final class BatchFileController extends AbstractPetrinetController {
+    private static final Logger LOGGER = Logger.getLogger(BatchFileController.class);
+
+    /**
+     * Eine {@link PetrinetView}, die Nachrichten puffert, statt sie anzuzeigen.
+     */
+    private static final class BufferedPetrinetView implements PetrinetView {
+        private final ArrayList<String> messages = new ArrayList<>();
+        private final ArrayList<Boolean> clearFlags = new ArrayList<>();
+
+        @Override
+        public synchronized void printInMessageView(String message, boolean clearArea) {
+            messages.add(message);
+            clearFlags.add(clearArea);
+        }
+
+        @Override
+        public void setPetrinetView(PetrinetPanel petrinetView) {
+        }
+
+        @Override
+        public void setRGraphView(RGraphPanel reachabilitygraphView) {
+        }
+
+        /**
+         * Gibt die gepufferten Nachrichten weiter.
+         *
+         * @param messageView die {@link MessageView}, über die die Nachrichten
+         *                    ausgegeben werden.
+         */
+        private synchronized void flush(MessageView messageView) {
+            for (int i = 0; i < messages.size(); i++) {
+                messageView.printInMessageView(messages.get(i), clearFlags.get(i));
+            }
+            messages.clear();
+            clearFlags.clear();
+        }
+    }
+
+    private final File pnmlFile;
+
+    /**
+     * Erstellt einen neuen {@link BatchFileController}.
+     *
+     * @param pnmlFile           die PNML-Datei, die analysiert werden soll.
+     * @param batchController    der {@link AbstractPetrinetController}, dessen
+     *                           Einstellungen für die Simulation übernommen
+     *                           werden.
+     * @param petrinetStatusView eine {@link PetrinetStatusView}.
+     */
+    BatchFileController(File pnmlFile, AbstractPetrinetController batchController,
+            PetrinetStatusView petrinetStatusView) {
+        super(new BufferedPetrinetView(), petrinetStatusView);
+        this.pnmlFile = pnmlFile;
+        adoptAnalysisSettings(batchController);
+    }
+
+    /**
+     * Liefert den Dateinamen der PNML-Datei.
+     *
+     * @return der Dateiname als {@link String}.
+     */
+    String getPNMLFileName() {
+        return pnmlFile.getName();
+    }
+
+    /**
+     * Liefert das Ergebnis der Analyse.
+     *
+     * @return der {@link SingleAnalysisResultPresenter} oder <code>null</code>,
+     *         wenn die Analyse noch nicht durchgeführt wurde.
+     */
+    SingleAnalysisResultPresenter getResultPresenter() {
+        return resultPresenter;
+    }
+
+    /**
+     * Der Erreichbarkeitsgraph wird nicht angezeigt, bei einem bekannten Ergebnis
+     * genügt dessen Größe.
+     */
+    @Override
+    protected boolean isReachabilitygraphRequired() {
+        return false;
+    }
+
+    /**
+     * Gibt die während der Analyse gepufferten Nachrichten weiter.
+     *
+     * @param messageView die {@link MessageView}, über die die Nachrichten
+     *                    ausgegeben werden.
+     */
+    void flushMessages(MessageView messageView) {
+        ((BufferedPetrinetView) petrinetControllerView).flush(messageView);
+    }
+
+    /**
+     * Öffnet die PNML-Datei und führt die Beschränktheitsanalyse durch. Danach
+     * wird das Ergebnis vom Erreichbarkeitsgraphen gelöst und ein
+     * {@link DiskReachabilitygraph} geschlossen, sodass seine Dateien gelöscht
+     * werden.
+     */
+    @Override
+    public void run() {
+        PNMLFileLoader fileLoader = new PNMLFileLoader(pnmlFile);
+        fileLoader.setStateStoreDirectory(getStateStoreDirectory());
+        try {
+            fileLoader.load(this);
+            runSimulation(null);
+        } finally {
+            if (resultPresenter != null) {
+                resultPresenter.detachReachabilitygraph();
+            }
+            if (rGraphModel instanceof Closeable) {
+                try {
+                    ((Closeable) rGraphModel).close();
+                } catch (IOException e) {
+                    LOGGER.warn("Der Erreichbarkeitsgraph von %1$s konnte nicht geschlossen werden: %2$s",
+                            pnmlFile.getName(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void select() {
+    }
+}
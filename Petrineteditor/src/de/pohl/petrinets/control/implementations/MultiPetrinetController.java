@@ -1,10 +1,16 @@
 package de.pohl.petrinets.control.implementations;
 
 import java.io.File;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import de.pohl.petrinets.control.AbstractPetrinetController;
-import de.pohl.petrinets.control.implementations.usecases.PNMLFileOpener;
+import de.pohl.petrinets.model.reachabilitygraph.Reachabilitygraph;
 import de.pohl.petrinets.presenter.MultiAnalysisResultPresenter;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
 import de.pohl.petrinets.view.PetrinetStatusView;
 import de.pohl.petrinets.view.PetrinetView;
 
@@ -13,11 +19,22 @@ import de.pohl.petrinets.view.PetrinetView;
  * Verarbeitung mehrerer PNML-Dateien.
  * <p>
  * Diese Kontrollklasse ermöglicht die Durchführung der Beschränktheitsanalyse
- * für eine Menge von Petrinetz Dateien.
+ * für eine Menge von Petrinetz Dateien. Die Dateien werden unabhängig
+ * voneinander von einem {@link BatchFileController} in einem Pool mit einer
+ * festen Anzahl an Threads analysiert. Die Ergebnisse werden dennoch in der
+ * Reihenfolge der Dateien ausgegeben.
+ * <p>
+ * Die Einstellungen für die Simulation, z.B.
+ * {@link #setExplorationTimeout(long)} als Zeitgrenze pro Datei, werden an die
+ * {@link BatchFileController} weitergegeben.
  */
 public class MultiPetrinetController extends AbstractPetrinetController {
-    private File[] pnmlFiles;
+    private volatile boolean cancelled;
+    private Future<?>[] futures;
     private MultiAnalysisResultPresenter multiAnalysisResultPresenter;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private File[] pnmlFiles;
+    private ExecutorService workerPool;
 
     /**
      * Erstellt einen neuen {@link MultiPetrinetController}.
@@ -33,6 +50,40 @@ public class MultiPetrinetController extends AbstractPetrinetController {
         this.multiAnalysisResultPresenter = new MultiAnalysisResultPresenter(petrinetControllerView);
     }
 
+    /**
+     * Bricht eine laufende Durchführung der Beschränktheitsanalyse ab. Laufende
+     * Analysen werden unterbrochen, noch nicht begonnene entfallen. Die bis dahin
+     * vorliegenden Ergebnisse werden dennoch ausgegeben.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (futures != null) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Liefert den {@link MultiAnalysisResultPresenter} mit den Einzelergebnissen
+     * der Analyse.
+     *
+     * @return der {@link MultiAnalysisResultPresenter}.
+     */
+    public MultiAnalysisResultPresenter getMultiAnalysisResultPresenter() {
+        return multiAnalysisResultPresenter;
+    }
+
+    /**
+     * Gibt an, ob die Durchführung der Beschränktheitsanalyse noch läuft.
+     *
+     * @return <code>true</code>, wenn noch nicht alle Dateien analysiert wurden.
+     */
+    public synchronized boolean isRunning() {
+        return workerPool != null && !workerPool.isTerminated();
+    }
+
     /**
      * Startet die Durchführung der Beschränktheitsanalyse für eine Menge von
      * Petrinetz Dateien.
@@ -48,6 +99,59 @@ public class MultiPetrinetController extends AbstractPetrinetController {
         petrinetStatusView.setStatusbarFilename("");
     }
 
+    /**
+     * Legt die Anzahl der Dateien fest, die gleichzeitig analysiert werden.
+     *
+     * @param parallelism die Anzahl der Threads. Mit 1 werden die Dateien
+     *                    nacheinander analysiert.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Wartet auf das Ergebnis der Analyse einer Datei.
+     *
+     * @param worker der {@link BatchFileController} der Datei.
+     * @param future das {@link Future} der Analyse.
+     * @return ein {@link SingleAnalysisResultPresenter} mit dem Ergebnis.
+     */
+    private SingleAnalysisResultPresenter awaitResult(BatchFileController worker, Future<?> future) {
+        while (true) {
+            try {
+                future.get();
+                worker.flushMessages(petrinetControllerView);
+                return worker.getResultPresenter();
+            } catch (InterruptedException e) {
+                // Die Unterbrechung bleibt für den Aufrufer sichtbar. Die
+                // abgebrochenen Futures liefern danach ohne Warten ein Ergebnis.
+                Thread.currentThread().interrupt();
+                cancel();
+            } catch (CancellationException e) {
+                SingleAnalysisResultPresenter resultPresenter = createEmptyResult(worker);
+                resultPresenter.setResultCancelled();
+                return resultPresenter;
+            } catch (ExecutionException e) {
+                worker.flushMessages(petrinetControllerView);
+                petrinetControllerView.printInMessageView(
+                        "Fehler bei der Analyse von " + worker.getPNMLFileName() + ": " + e.getCause(), false);
+                SingleAnalysisResultPresenter resultPresenter = createEmptyResult(worker);
+                resultPresenter.setResultFailed();
+                return resultPresenter;
+            }
+        }
+    }
+
+    /**
+     * Erzeugt einen {@link SingleAnalysisResultPresenter} ohne
+     * Erreichbarkeitsgraphen für eine Datei, deren Analyse kein Ergebnis
+     * geliefert hat.
+     */
+    private SingleAnalysisResultPresenter createEmptyResult(BatchFileController worker) {
+        return new SingleAnalysisResultPresenter(worker.getPNMLFileName(), new Reachabilitygraph(),
+                petrinetControllerView);
+    }
+
     /**
      * Informiert über die nächste zu bearbeitende PNML-Datei.
      *
@@ -62,15 +166,26 @@ public class MultiPetrinetController extends AbstractPetrinetController {
      */
     private void runBatchSimulation() {
         petrinetStatusView.setStatusbarFilename("Analyse gestartet...");
-        for (File pnmlFile : pnmlFiles) {
-            String pnmlFilename = pnmlFile.getName();
-            printNextFile(pnmlFilename);
-            PNMLFileOpener fileOpener = new PNMLFileOpener(pnmlFile);
-            fileOpener.openForBatchAction(this);
-            runSimulation(null);
-            multiAnalysisResultPresenter.addReslut(resultPresenter);
+        BatchFileController[] workers = new BatchFileController[pnmlFiles.length];
+        synchronized (this) {
+            workerPool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, pnmlFiles.length)));
+            futures = new Future<?>[pnmlFiles.length];
+            for (int i = 0; i < pnmlFiles.length; i++) {
+                workers[i] = new BatchFileController(pnmlFiles[i], this, petrinetStatusView);
+                futures[i] = workerPool.submit(workers[i]);
+                if (cancelled) {
+                    futures[i].cancel(true);
+                }
+            }
+            workerPool.shutdown();
+        }
+        for (int i = 0; i < pnmlFiles.length; i++) {
+            printNextFile(workers[i].getPNMLFileName());
+            multiAnalysisResultPresenter.addReslut(awaitResult(workers[i], futures[i]));
+            petrinetStatusView.setStatusbarFilename(
+                    String.format("Analyse: %1$d von %2$d Dateien", i + 1, pnmlFiles.length));
         }
         multiAnalysisResultPresenter.printResults();
-        petrinetStatusView.setStatusbarFilename("Analyse abgeschlossen.");
+        petrinetStatusView.setStatusbarFilename(cancelled ? "Analyse abgebrochen." : "Analyse abgeschlossen.");
     }
 }
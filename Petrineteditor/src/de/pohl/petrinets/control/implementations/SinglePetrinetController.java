@@ -32,11 +32,8 @@ public class SinglePetrinetController extends AbstractPetrinetController
     private boolean permanentAnalysis;
     private File pnmlFile;
     private ArrayList<File> pnmlFileDirectoryFiles = new ArrayList<>();
-    // Stacks für Undo-Redo-Funktionalität
-    private Stack<PetrinetMemento> petrinetUndoStack;
-    private Stack<RGraphMemento> rGraphUndoStack;
-    private Stack<PetrinetMemento> petrinetRedoStack;
-    private Stack<RGraphMemento> rGraphRedoStack;
+    // Verlauf für Undo-Redo-Funktionalität
+    private StateHistory stateHistory = new StateHistory();
     private AnalysisResultDialogView analysisResultDialogView;
     private CaretakerObserver caretakerObserver;
 
@@ -83,7 +80,12 @@ public class SinglePetrinetController extends AbstractPetrinetController
     public void buttonPushed(String id) {
         if (rGraphModel.isReachabilitygraphNode(id)) {
             save();
-            petrinetModel.setActualMarking(rGraphModel.getNodeMarking(id));
+            beginChangeBatch();
+            try {
+                petrinetModel.setActualMarking(rGraphModel.getNodeMarking(id));
+            } finally {
+                endChangeBatch();
+            }
         } else {
             if (petrinetModel.isTransition(id)) {
                 if (petrinetModel.getActiveTransitionIDs().contains(id)) {
@@ -145,11 +147,10 @@ public class SinglePetrinetController extends AbstractPetrinetController
     /**
      * Liefert die initiale Markierung des {@link Petrinet} zurück.
      *
-     * @return Eine {@link ArrayList} mit {@link Integer}-Werten als initiale
-     *         Markierung.
+     * @return Die initiale Markierung als {@link Marking}.
      * @see de.pohl.petrinets.model.petrinet.AbstractPetrinet#getInitialMarking()
      */
-    public ArrayList<Integer> getPetrinetInitialMarking() {
+    public Marking getPetrinetInitialMarking() {
         return petrinetModel.getInitialMarking();
     }
 
@@ -203,15 +204,20 @@ public class SinglePetrinetController extends AbstractPetrinetController
 
     @Override
     public void notifyCaretakerObserver() {
-        boolean hasUndoStack = (!petrinetUndoStack.isEmpty() && !rGraphUndoStack.isEmpty());
-        boolean hasRedoStack = (!petrinetRedoStack.isEmpty() && !rGraphRedoStack.isEmpty());
-        caretakerObserver.update(hasUndoStack, hasRedoStack);
+        caretakerObserver.update(stateHistory.canUndo(), stateHistory.canRedo());
     }
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         String evtPropertyName = evt.getPropertyName();
-        if (evtPropertyName.equals(PetrinetEditorGraphProperties.MODIFIED.toString())) {
+        if (evtPropertyName.equals(PetrinetEditorGraphProperties.CHANGE_BATCH.toString())) {
+            // Die zusammengefassten Änderungen werden in einem Durchlauf übernommen.
+            @SuppressWarnings("unchecked")
+            List<PropertyChangeEvent> changes = (List<PropertyChangeEvent>) evt.getNewValue();
+            for (PropertyChangeEvent change : changes) {
+                propertyChange(change);
+            }
+        } else if (evtPropertyName.equals(PetrinetEditorGraphProperties.MODIFIED.toString())) {
             if ((boolean) evt.getNewValue()) {
                 petrinetStatusView.setModifiedLabel("modifiziert");
             } else {
@@ -225,15 +231,12 @@ public class SinglePetrinetController extends AbstractPetrinetController
      */
     @Override
     public void redo() {
-        // Zustände auf UndoStacks speichern
-        petrinetUndoStack.push(petrinetModel.saveState());
-        rGraphUndoStack.push(rGraphModel.saveState());
-        // Zustände von RedoStacks holen
-        PetrinetMemento petrinetMemento = petrinetRedoStack.pop();
-        RGraphMemento rGraphMemento = rGraphRedoStack.pop();
-        // Zustände zurücksetzen
-        petrinetModel.restoreState(petrinetMemento);
-        rGraphModel.restoreState(rGraphMemento);
+        beginChangeBatch();
+        try {
+            stateHistory.redo(petrinetModel, rGraphModel);
+        } finally {
+            endChangeBatch();
+        }
         // Buttons aktualisieren
         notifyCaretakerObserver();
     }
@@ -247,7 +250,12 @@ public class SinglePetrinetController extends AbstractPetrinetController
      */
     public void resetPetrinetToInitialMarking() {
         save();
-        petrinetModel.resetToInitialMarking();
+        beginChangeBatch();
+        try {
+            petrinetModel.resetToInitialMarking();
+        } finally {
+            endChangeBatch();
+        }
     }
 
     @Override
@@ -265,12 +273,7 @@ public class SinglePetrinetController extends AbstractPetrinetController
      */
     @Override
     public void save() {
-        petrinetUndoStack.push(petrinetModel.saveState());
-        rGraphUndoStack.push(rGraphModel.saveState());
-        if (!petrinetRedoStack.isEmpty() || !rGraphRedoStack.isEmpty()) {
-            petrinetRedoStack.removeAllElements();
-            rGraphRedoStack.removeAllElements();
-        }
+        stateHistory.save(petrinetModel, rGraphModel);
         notifyCaretakerObserver();
     }
 
@@ -285,6 +288,18 @@ public class SinglePetrinetController extends AbstractPetrinetController
         notifyCaretakerObserver();
     }
 
+    /**
+     * Legt die Grenzen des Verlaufs für die Undo-Redo-Funktionalität fest.
+     *
+     * @param maxDepth die maximale Anzahl der Schritte, die rückgängig gemacht
+     *                 werden können.
+     * @param maxBytes der maximale geschätzte Speicherbedarf in Bytes.
+     * @see StateHistory#setLimits(int, long)
+     */
+    public void setHistoryLimits(int maxDepth, long maxBytes) {
+        stateHistory.setLimits(maxDepth, maxBytes);
+    }
+
     /**
      * Legt fest, ob beim Schaltvorgang eine Analyse erfolgen soll.
      *
@@ -339,15 +354,12 @@ public class SinglePetrinetController extends AbstractPetrinetController
      */
     @Override
     public void undo() {
-        // Zustände auf RedoStacks speichern
-        petrinetRedoStack.push(petrinetModel.saveState());
-        rGraphRedoStack.push(rGraphModel.saveState());
-        // Zustände von UndoStacks holen
-        PetrinetMemento petrinetMemento = petrinetUndoStack.pop();
-        RGraphMemento rGraphMemento = rGraphUndoStack.pop();
-        // Zustände zurücksetzen
-        petrinetModel.restoreState(petrinetMemento);
-        rGraphModel.restoreState(rGraphMemento);
+        beginChangeBatch();
+        try {
+            stateHistory.undo(petrinetModel, rGraphModel);
+        } finally {
+            endChangeBatch();
+        }
         // Buttons aktualisieren
         notifyCaretakerObserver();
     }
@@ -369,13 +381,12 @@ public class SinglePetrinetController extends AbstractPetrinetController
     }
 
     /**
-     * Initiiert die Stacks für die Undo-Redo-Funktionalität.
+     * Initiiert den Verlauf für die Undo-Redo-Funktionalität. Bis zum nächsten
+     * Sichern zeichnet der {@link AbstractReachabilitygraph} keine Änderungen auf,
+     * z.B. während einer Analyse.
      */
     private void initStateStacks() {
-        petrinetUndoStack = new Stack<>();
-        rGraphUndoStack = new Stack<>();
-        petrinetRedoStack = new Stack<>();
-        rGraphRedoStack = new Stack<>();
+        stateHistory.clear(rGraphModel);
         notifyCaretakerObserver();
     }
 
@@ -0,0 +1,162 @@
+package de.pohl.petrinets.control.implementations;
+
+import java.util.ArrayDeque;
+
+import de.pohl.petrinets.control.Caretaker;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.PetrinetMemento;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.model.reachabilitygraph.RGraphMemento;
+
+/**
+ * Verwaltet die gesicherten Zustände eines {@link AbstractPetrinet} und des
+ * dazugehörigen {@link AbstractReachabilitygraph} für einen {@link Caretaker}.
+ * <p>
+ * Die Zustände beider Graphmodelle werden als ein Schritt gemeinsam abgelegt.
+ * Die Anzahl der Schritte, die rückgängig gemacht werden können, ist begrenzt.
+ * Zusätzlich wird der Speicherbedarf der Änderungen zwischen dem ältesten und
+ * dem jüngsten Zustand geschätzt und begrenzt. Werden die Grenzen
+ * überschritten, verwirft die {@link StateHistory} die ältesten Schritte und
+ * gibt die nur dafür aufgezeichneten Änderungen des
+ * {@link AbstractReachabilitygraph} frei.
+ */
+public class StateHistory {
+    /**
+     * Die voreingestellte maximale Anzahl der Schritte, die rückgängig gemacht
+     * werden können.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 100;
+    /**
+     * Der voreingestellte maximale geschätzte Speicherbedarf der Zustände in
+     * Bytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private final ArrayDeque<Step> undoSteps = new ArrayDeque<>();
+    private final ArrayDeque<Step> redoSteps = new ArrayDeque<>();
+
+    /**
+     * Liefert, ob ein Schritt rückgängig gemacht werden kann.
+     *
+     * @return <code>true</code>, wenn ein Schritt rückgängig gemacht werden kann.
+     */
+    public boolean canUndo() {
+        return !undoSteps.isEmpty();
+    }
+
+    /**
+     * Liefert, ob ein Schritt wiederhergestellt werden kann.
+     *
+     * @return <code>true</code>, wenn ein Schritt wiederhergestellt werden kann.
+     */
+    public boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Verwirft alle Schritte. Der {@link AbstractReachabilitygraph} zeichnet bis
+     * zum nächsten Sichern keine Änderungen mehr auf.
+     *
+     * @param rGraphModel der {@link AbstractReachabilitygraph} oder
+     *                    <code>null</code>.
+     */
+    public void clear(AbstractReachabilitygraph rGraphModel) {
+        undoSteps.clear();
+        redoSteps.clear();
+        if (rGraphModel != null) {
+            rGraphModel.discardHistory(null);
+        }
+    }
+
+    /**
+     * Stellt den zuletzt rückgängig gemachten Schritt wieder her. Der aktuelle
+     * Zustand wird als Schritt zum Rückgängigmachen gesichert.
+     *
+     * @param petrinetModel das {@link AbstractPetrinet}.
+     * @param rGraphModel   der {@link AbstractReachabilitygraph}.
+     */
+    public void redo(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
+        undoSteps.push(new Step(petrinetModel.saveState(), rGraphModel.saveState()));
+        Step step = redoSteps.pop();
+        petrinetModel.restoreState(step.petrinetState);
+        rGraphModel.restoreState(step.rGraphState);
+        trim(rGraphModel);
+    }
+
+    /**
+     * Sichert den aktuellen Zustand als Schritt zum Rückgängigmachen. Alle
+     * Schritte zum Wiederherstellen werden verworfen.
+     *
+     * @param petrinetModel das {@link AbstractPetrinet}.
+     * @param rGraphModel   der {@link AbstractReachabilitygraph}.
+     */
+    public void save(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
+        undoSteps.push(new Step(petrinetModel.saveState(), rGraphModel.saveState()));
+        redoSteps.clear();
+        trim(rGraphModel);
+    }
+
+    /**
+     * Legt die Grenzen der {@link StateHistory} fest. Bereits gesicherte Schritte
+     * werden erst beim nächsten Sichern an die Grenzen angepasst.
+     *
+     * @param maxDepth die maximale Anzahl der Schritte, die rückgängig gemacht
+     *                 werden können.
+     * @param maxBytes der maximale geschätzte Speicherbedarf in Bytes.
+     * @throws IllegalArgumentException wenn eine Grenze kleiner als 1 ist.
+     */
+    public void setLimits(int maxDepth, long maxBytes) {
+        if (maxDepth < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Die Grenzen des Verlaufs müssen größer als 0 sein.");
+        }
+        this.maxDepth = maxDepth;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Macht den zuletzt gesicherten Schritt rückgängig. Der aktuelle Zustand wird
+     * als Schritt zum Wiederherstellen gesichert.
+     *
+     * @param petrinetModel das {@link AbstractPetrinet}.
+     * @param rGraphModel   der {@link AbstractReachabilitygraph}.
+     */
+    public void undo(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
+        redoSteps.push(new Step(petrinetModel.saveState(), rGraphModel.saveState()));
+        Step step = undoSteps.pop();
+        petrinetModel.restoreState(step.petrinetState);
+        rGraphModel.restoreState(step.rGraphState);
+    }
+
+    /**
+     * Verwirft die ältesten Schritte, solange die Grenzen überschritten sind, und
+     * gibt die nicht mehr benötigten Änderungen des
+     * {@link AbstractReachabilitygraph} frei.
+     *
+     * @param rGraphModel der {@link AbstractReachabilitygraph}.
+     */
+    private void trim(AbstractReachabilitygraph rGraphModel) {
+        boolean trimmed = false;
+        while (undoSteps.size() > maxDepth || (undoSteps.size() > 1
+                && undoSteps.peekLast().rGraphState.estimateSize(undoSteps.peekFirst().rGraphState) > maxBytes)) {
+            undoSteps.removeLast();
+            trimmed = true;
+        }
+        if (trimmed) {
+            rGraphModel.discardHistory(undoSteps.isEmpty() ? null : undoSteps.peekLast().rGraphState);
+        }
+    }
+
+    /**
+     * Ein Schritt mit den gemeinsam gesicherten Zuständen beider Graphmodelle.
+     */
+    private static final class Step {
+        private final PetrinetMemento petrinetState;
+        private final RGraphMemento rGraphState;
+
+        private Step(PetrinetMemento petrinetState, RGraphMemento rGraphState) {
+            this.petrinetState = petrinetState;
+            this.rGraphState = rGraphState;
+        }
+    }
+}
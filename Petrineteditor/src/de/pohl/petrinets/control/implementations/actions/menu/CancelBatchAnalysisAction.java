@@ -0,0 +1,32 @@
+package de.pohl.petrinets.control.implementations.actions.menu;
+
+import java.awt.event.ActionEvent;
+
+import javax.swing.AbstractAction;
+
+import de.pohl.petrinets.control.PetrinetEditorViewListener;
+
+/**
+ * Eine Aktion für den Abbruch einer laufenden Analyse mehrerer PNML-Dateien.
+ */
+public class CancelBatchAnalysisAction extends AbstractAction {
+    private static final String ACTION_NAME = "Analyse mehrerer PNML-Dateien abbrechen";
+    private static final String ACTION_DESCRIPTION = "Bricht die Analyse mehrerer PNML-Dateien im aktuellen Tab ab.";
+    private PetrinetEditorViewListener petrinetEditorViewListener;
+
+    /**
+     * Erstellt eine {@link CancelBatchAnalysisAction}.
+     *
+     * @param petrinetEditorViewListener ein {@link PetrinetEditorViewListener}.
+     */
+    public CancelBatchAnalysisAction(PetrinetEditorViewListener petrinetEditorViewListener) {
+        super(ACTION_NAME);
+        this.petrinetEditorViewListener = petrinetEditorViewListener;
+        putValue(SHORT_DESCRIPTION, ACTION_DESCRIPTION);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        petrinetEditorViewListener.onCancelBatchAnalysisClick();
+    }
+}
@@ -0,0 +1,38 @@
+package de.pohl.petrinets.control.implementations.actions.menu;
+
+import java.awt.event.ActionEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JCheckBoxMenuItem;
+
+import de.pohl.petrinets.control.PetrinetEditorViewListener;
+
+/**
+ * Eine Aktion für das Ein- und Ausschalten der Ablaufverfolgung auf der
+ * Konsole.
+ */
+public class ToggleTraceLoggingAction extends AbstractAction {
+    private static final String ACTION_NAME = "Ablaufverfolgung";
+    private static final String ACTION_DESCRIPTION = "Jeden Analyseschritt auf der Konsole protokollieren. Verlangsamt die Analyse.";
+    private PetrinetEditorViewListener petrinetEditorViewListener;
+    private JCheckBoxMenuItem chkTraceLogging;
+
+    /**
+     * Erstellt eine {@link ToggleTraceLoggingAction}.
+     *
+     * @param petrinetEditorViewListener ein {@link PetrinetEditorViewListener}.
+     * @param chkTraceLogging            ein {@link JCheckBoxMenuItem}.
+     */
+    public ToggleTraceLoggingAction(PetrinetEditorViewListener petrinetEditorViewListener,
+            JCheckBoxMenuItem chkTraceLogging) {
+        super(ACTION_NAME);
+        this.petrinetEditorViewListener = petrinetEditorViewListener;
+        this.chkTraceLogging = chkTraceLogging;
+        putValue(SHORT_DESCRIPTION, ACTION_DESCRIPTION);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        petrinetEditorViewListener.toggleTraceLogging(chkTraceLogging.isSelected());
+    }
+}
@@ -0,0 +1,442 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import de.pohl.petrinets.logging.Logger;
+import de.pohl.petrinets.model.petrinet.CompiledPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.petrinet.Transition;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+
+/**
+ * Ein Zwischenspeicher für die Ergebnisse der Beschränktheitsanalyse.
+ * <p>
+ * Zu jedem Petrinetz werden das Ergebnis, die Anzahl der Knoten und Kanten des
+ * Erreichbarkeitsgraphen und bei einem unbeschränkten Petrinetz der Zeugenpfad
+ * als Folge von {@link Transition} in einer eigenen Datei abgelegt. Der
+ * Schlüssel ist ein SHA-256-Hashwert über die Struktur des
+ * {@link CompiledPetrinet} und die Anfangsmarkierung. Stellen und
+ * {@link Transition} gehen dabei nach ihrer ID sortiert ein, sodass der
+ * Schlüssel weder von der Reihenfolge in der PNML-Datei noch von Namen und
+ * Positionen abhängt.
+ * <p>
+ * Die Anzahl der Einträge ist begrenzt. Ist sie erreicht, wird der am längsten
+ * nicht verwendete Eintrag entfernt. Die Reihenfolge der Verwendung wird über
+ * den Zeitpunkt der letzten Änderung der Dateien auch zwischen zwei
+ * Programmstarts erhalten.
+ * <p>
+ * Die Methoden sind synchronisiert, sodass ein {@link AnalysisResultCache} von
+ * mehreren parallelen Analysen gemeinsam verwendet werden kann.
+ */
+public class AnalysisResultCache {
+    /**
+     * Die voreingestellte größte Anzahl an Einträgen.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final Logger LOGGER = Logger.getLogger(AnalysisResultCache.class);
+    // Kennung und Version des Dateiformates
+    private static final int MAGIC = 0x50415231;
+    private static final int VERSION = 1;
+    private static final String FILE_SUFFIX = ".par";
+    private static AnalysisResultCache defaultCache;
+    private final File cacheDirectory;
+    private final int maxEntries;
+    // Die Schlüssel der Einträge, zuletzt verwendete am Ende
+    private LinkedHashMap<String, Boolean> entries;
+
+    /**
+     * Erstellt einen neuen {@link AnalysisResultCache}.
+     *
+     * @param cacheDirectory das Verzeichnis der Einträge. Es wird beim ersten
+     *                       Speichern angelegt.
+     * @param maxEntries     die größte Anzahl an Einträgen.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public AnalysisResultCache(File cacheDirectory, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Einträge muss mindestens 1 sein.");
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Liefert den {@link AnalysisResultCache} im temporären Verzeichnis des
+     * Systems mit {@link #DEFAULT_MAX_ENTRIES} Einträgen.
+     *
+     * @return der {@link AnalysisResultCache}.
+     */
+    public static synchronized AnalysisResultCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new AnalysisResultCache(
+                    new File(System.getProperty("java.io.tmpdir"), "petrineteditor-results"), DEFAULT_MAX_ENTRIES);
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Bestimmt den Schlüssel eines Petrinetzes aus seiner Struktur und einer
+     * Anfangsmarkierung.
+     *
+     * @param compiledPetrinet das {@link CompiledPetrinet}.
+     * @param initialMarking   die Anfangsmarkierung.
+     * @return der Schlüssel als Folge von Hexadezimalziffern.
+     */
+    public static String createKey(CompiledPetrinet compiledPetrinet, Marking initialMarking) {
+        Integer[] places = new Integer[compiledPetrinet.countPlaces()];
+        for (int i = 0; i < places.length; i++) {
+            places[i] = i;
+        }
+        Arrays.sort(places, Comparator.comparing(compiledPetrinet::getPlaceID));
+        // Rang jeder Stelle in der sortierten Reihenfolge
+        int[] placeRanks = new int[places.length];
+        for (int rank = 0; rank < places.length; rank++) {
+            placeRanks[places[rank]] = rank;
+        }
+        Integer[] transitions = new Integer[compiledPetrinet.countTransitions()];
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = i;
+        }
+        Arrays.sort(transitions, Comparator.comparing(compiledPetrinet::getTransitionID));
+        MessageDigest digest = createDigest();
+        updateInt(digest, places.length);
+        for (Integer place : places) {
+            updateString(digest, compiledPetrinet.getPlaceID(place));
+            updateInt(digest, initialMarking.get(place));
+        }
+        updateInt(digest, transitions.length);
+        for (Integer transition : transitions) {
+            updateString(digest, compiledPetrinet.getTransitionID(transition));
+            updateArcs(digest, placeRanks, compiledPetrinet.getPrePlaces(transition),
+                    compiledPetrinet.getPreWeights(transition));
+            updateArcs(digest, placeRanks, compiledPetrinet.getPostPlaces(transition),
+                    compiledPetrinet.getPostWeights(transition));
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Liefert das Ergebnis zu einem Schlüssel und markiert den Eintrag als zuletzt
+     * verwendet.
+     *
+     * @param key der Schlüssel des Petrinetzes.
+     * @return das {@link Result} oder <code>null</code>, wenn kein gültiger
+     *         Eintrag vorhanden ist.
+     */
+    public synchronized Result get(String key) {
+        if (entries().get(key) == null) {
+            return null;
+        }
+        File entryFile = getEntryFile(key);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(entryFile.toPath())))) {
+            Result result = Result.read(in, key);
+            if (result != null) {
+                entryFile.setLastModified(System.currentTimeMillis());
+                return result;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Der Eintrag %1$s ist nicht lesbar: %2$s", entryFile, e);
+        }
+        remove(key);
+        return null;
+    }
+
+    /**
+     * Legt ein Ergebnis ab. Ist die größte Anzahl an Einträgen überschritten,
+     * werden die am längsten nicht verwendeten Einträge entfernt. Fehler beim
+     * Schreiben werden protokolliert, die Analyse wird dadurch nicht
+     * beeinträchtigt.
+     *
+     * @param key    der Schlüssel des Petrinetzes.
+     * @param result das {@link Result}.
+     */
+    public synchronized void put(String key, Result result) {
+        File entryFile = getEntryFile(key);
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+            Path tempFile = Files.createTempFile(cacheDirectory.toPath(), "result", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    result.write(out, key);
+                }
+                Files.move(tempFile, entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Der Eintrag %1$s konnte nicht geschrieben werden: %2$s", entryFile, e);
+            return;
+        }
+        LinkedHashMap<String, Boolean> index = entries();
+        index.put(key, Boolean.TRUE);
+        Iterator<String> eldest = index.keySet().iterator();
+        while (index.size() > maxEntries) {
+            String eldestKey = eldest.next();
+            eldest.remove();
+            getEntryFile(eldestKey).delete();
+            LOGGER.debug("Eintrag %1$s aus dem Zwischenspeicher entfernt.", eldestKey);
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Einträge.
+     *
+     * @return die Anzahl der Einträge.
+     */
+    public synchronized int size() {
+        return entries().size();
+    }
+
+    /**
+     * Liefert die Schlüssel der vorhandenen Einträge in der Reihenfolge ihrer
+     * Verwendung. Beim ersten Aufruf werden sie aus dem Verzeichnis gelesen.
+     *
+     * @return die Schlüssel in einer {@link LinkedHashMap} mit Zugriffsreihenfolge.
+     */
+    private LinkedHashMap<String, Boolean> entries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+            File[] files = cacheDirectory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+            if (files != null) {
+                Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+                for (File file : files) {
+                    String name = file.getName();
+                    entries.put(name.substring(0, name.length() - FILE_SUFFIX.length()), Boolean.TRUE);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Liefert die Datei eines Eintrages.
+     *
+     * @param key der Schlüssel des Petrinetzes.
+     * @return die Datei als {@link File}.
+     */
+    private File getEntryFile(String key) {
+        return new File(cacheDirectory, key + FILE_SUFFIX);
+    }
+
+    /**
+     * Entfernt einen ungültigen Eintrag.
+     *
+     * @param key der Schlüssel des Petrinetzes.
+     */
+    private void remove(String key) {
+        entries().remove(key);
+        getEntryFile(key).delete();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Jede Java-Plattform muss SHA-256 unterstützen.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void updateArcs(MessageDigest digest, int[] placeRanks, int[] places, int[] weights) {
+        long[] arcs = new long[places.length];
+        for (int i = 0; i < places.length; i++) {
+            arcs[i] = ((long) placeRanks[places[i]] << 32) | (weights[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(arcs);
+        updateInt(digest, arcs.length);
+        for (long arc : arcs) {
+            updateInt(digest, (int) (arc >>> 32));
+            updateInt(digest, (int) arc);
+        }
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static void updateString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    /**
+     * Das abgelegte Ergebnis der Beschränktheitsanalyse eines Petrinetzes.
+     */
+    public static final class Result {
+        private final boolean unbounded;
+        private final int nodeCount;
+        private final int edgeCount;
+        private final List<String> witnessTransitionIDs;
+        private final int witnessM1Index;
+
+        private Result(boolean unbounded, int nodeCount, int edgeCount, List<String> witnessTransitionIDs,
+                int witnessM1Index) {
+            this.unbounded = unbounded;
+            this.nodeCount = nodeCount;
+            this.edgeCount = edgeCount;
+            this.witnessTransitionIDs = witnessTransitionIDs;
+            this.witnessM1Index = witnessM1Index;
+        }
+
+        /**
+         * Erzeugt das Ergebnis für ein beschränktes Petrinetz.
+         *
+         * @param nodeCount die Anzahl der Knoten des Erreichbarkeitsgraphen.
+         * @param edgeCount die Anzahl der Kanten des Erreichbarkeitsgraphen.
+         * @return das {@link Result}.
+         */
+        public static Result bounded(int nodeCount, int edgeCount) {
+            return new Result(false, nodeCount, edgeCount, List.of(), 0);
+        }
+
+        /**
+         * Erzeugt das Ergebnis für ein unbeschränktes Petrinetz.
+         *
+         * @param nodeCount            die Anzahl der Knoten des
+         *                             Erreichbarkeitsgraphen.
+         * @param edgeCount            die Anzahl der Kanten des
+         *                             Erreichbarkeitsgraphen.
+         * @param witnessTransitionIDs die IDs der {@link Transition} auf dem Pfad
+         *                             von der Anfangsmarkierung über m nach m'.
+         * @param witnessM1Index       die Position von m auf dem Pfad.
+         * @return das {@link Result}.
+         * @throws IllegalArgumentException wenn die Position nicht auf dem Pfad
+         *                                  liegt.
+         */
+        public static Result unbounded(int nodeCount, int edgeCount, List<String> witnessTransitionIDs,
+                int witnessM1Index) {
+            if (witnessM1Index < 0 || witnessM1Index >= witnessTransitionIDs.size()) {
+                throw new IllegalArgumentException("Die Position von m liegt nicht auf dem Zeugenpfad.");
+            }
+            return new Result(true, nodeCount, edgeCount, List.copyOf(witnessTransitionIDs), witnessM1Index);
+        }
+
+        /**
+         * Liefert die Anzahl der Kanten des Erreichbarkeitsgraphen bei der
+         * Analyse.
+         *
+         * @return die Anzahl der Kanten.
+         */
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        /**
+         * Liefert die Anzahl der Knoten des Erreichbarkeitsgraphen bei der
+         * Analyse.
+         *
+         * @return die Anzahl der Knoten.
+         */
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        /**
+         * Gibt an, ob das Petrinetz unbeschränkt ist.
+         *
+         * @return <code>true</code>, wenn unbeschränkt.
+         */
+        public boolean isUnbounded() {
+            return unbounded;
+        }
+
+        /**
+         * Fügt den Zeugenpfad eines unbeschränkten Petrinetzes in einen
+         * {@link AbstractReachabilitygraph} ein. Der Pfad wird zuvor auf dem
+         * {@link CompiledPetrinet} geprüft.
+         *
+         * @param compiledPetrinet das {@link CompiledPetrinet}, auf dem geschaltet
+         *                         wird.
+         * @param initialMarking   die Anfangsmarkierung.
+         * @param rGraphModel      der {@link AbstractReachabilitygraph}.
+         * @return die IDs der Kanten auf dem Pfad von m nach m' oder
+         *         <code>null</code>, wenn der Pfad nicht geschaltet werden kann.
+         * @see CoverabilityAnalyser#replayWitness(AbstractReachabilitygraph)
+         */
+        public ArrayList<String> replayWitness(CompiledPetrinet compiledPetrinet, Marking initialMarking,
+                AbstractReachabilitygraph rGraphModel) {
+            int[] transitions = new int[witnessTransitionIDs.size()];
+            for (int i = 0; i < transitions.length; i++) {
+                transitions[i] = compiledPetrinet.getTransitionIndex(witnessTransitionIDs.get(i));
+                if (transitions[i] < 0) {
+                    return null;
+                }
+            }
+            return WitnessReplay.replay(compiledPetrinet, initialMarking, transitions, witnessM1Index, rGraphModel);
+        }
+
+        /**
+         * Liest ein Ergebnis.
+         *
+         * @return das {@link Result} oder <code>null</code>, wenn der Eintrag
+         *         fehlerhaft ist oder zu einem anderen Schlüssel gehört.
+         */
+        private static Result read(DataInputStream in, String key) throws IOException {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)) {
+                return null;
+            }
+            boolean unbounded = in.readBoolean();
+            int nodeCount = in.readInt();
+            int edgeCount = in.readInt();
+            int witnessM1Index = in.readInt();
+            int witnessLength = in.readInt();
+            if (witnessLength < 0 || unbounded != (witnessLength > 0) || witnessM1Index < 0
+                    || (unbounded && witnessM1Index >= witnessLength)) {
+                return null;
+            }
+            ArrayList<String> witnessTransitionIDs = new ArrayList<>(witnessLength);
+            for (int i = 0; i < witnessLength; i++) {
+                witnessTransitionIDs.add(in.readUTF());
+            }
+            if (in.read() != -1) {
+                return null;
+            }
+            return new Result(unbounded, nodeCount, edgeCount, witnessTransitionIDs, witnessM1Index);
+        }
+
+        /**
+         * Schreibt das Ergebnis mit dem Schlüssel als Kopf.
+         */
+        private void write(DataOutputStream out, String key) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+            out.writeBoolean(unbounded);
+            out.writeInt(nodeCount);
+            out.writeInt(edgeCount);
+            out.writeInt(witnessM1Index);
+            out.writeInt(witnessTransitionIDs.size());
+            for (String transitionID : witnessTransitionIDs) {
+                out.writeUTF(transitionID);
+            }
+        }
+    }
+}
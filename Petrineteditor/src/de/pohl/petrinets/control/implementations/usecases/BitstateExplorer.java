@@ -0,0 +1,465 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import de.pohl.petrinets.model.petrinet.CompiledPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.petrinet.Transition;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
+
+/**
+ * Eine Anwendungsfallklasse für die Erkundung sehr großer Zustandsräume mit dem
+ * Bitstate-Verfahren (Supertrace) nach Holzmann.
+ * <p>
+ * Statt der besuchten Markierungen wird nur ein großes Bitfeld gehalten. Für
+ * jede Markierung werden aus ihren Markenanzahlen k Positionen im Bitfeld
+ * berechnet. Sind alle k Bits gesetzt, gilt die Markierung als bereits besucht.
+ * Es wird kein Erreichbarkeitsgraph aufgebaut, der Speicherbedarf ist damit
+ * unabhängig von der Anzahl der Markierungen. Neben dem Bitfeld wird nur der
+ * aktuelle Pfad der Tiefensuche als Folge von Transitionen gehalten.
+ * <p>
+ * Bei einer Kollision wird eine noch nicht besuchte Markierung fälschlich als
+ * besucht angesehen und samt ihrer Nachfolger ausgelassen. Das Ergebnis ist
+ * daher nur für gefundene Unbeschränktheiten sicher: Eine neue Markierung m',
+ * die eine Markierung m auf dem Pfad der Tiefensuche echt überdeckt, ist
+ * tatsächlich erreichbar. Wird kein Zeuge gefunden, liefern
+ * {@link #getCoverage()} und {@link #getOmissionProbability()} eine Schätzung,
+ * wie viel des Zustandsraumes erkundet wurde.
+ * <p>
+ * Während der Erkundung werden außerdem Verklemmungen gezählt, also
+ * Markierungen, unter denen keine {@link Transition} aktiviert ist.
+ *
+ * @see CoverabilityAnalyser
+ * @see StateSpaceExplorer
+ */
+public class BitstateExplorer {
+    /**
+     * Der voreingestellte Zweierlogarithmus der Größe des Bitfeldes (2^28 Bits,
+     * also 32 MiB).
+     */
+    public static final int DEFAULT_LOG2_BITS = 28;
+    /**
+     * Die voreingestellte Anzahl der Bits pro Markierung.
+     */
+    public static final int DEFAULT_HASH_COUNT = 3;
+    /**
+     * Der kleinste zulässige Zweierlogarithmus der Größe des Bitfeldes.
+     */
+    public static final int MIN_LOG2_BITS = 10;
+    /**
+     * Der größte zulässige Zweierlogarithmus der Größe des Bitfeldes (2^36 Bits,
+     * also 8 GiB).
+     */
+    public static final int MAX_LOG2_BITS = 36;
+    /**
+     * Die größte zulässige Anzahl der Bits pro Markierung.
+     */
+    public static final int MAX_HASH_COUNT = 16;
+    private final CompiledPetrinet compiledPetrinet;
+    private final Marking initialMarking;
+    // Vor- und Nachbereiche der Transitionen für das Rückwärtsschalten.
+    private final int[][] prePlaces;
+    private final int[][] preWeights;
+    private final int[][] postPlaces;
+    private final int[][] postWeights;
+    private long deadline;
+    private int hashCount = DEFAULT_HASH_COUNT;
+    private int log2Bits = DEFAULT_LOG2_BITS;
+    private int maxDepth;
+    private int maxStates;
+    private long bitsSet;
+    private long deadlockCount;
+    private Marking firstDeadlock;
+    private int exploredDepth;
+    // Die erwartete Anzahl ausgelassener Markierungen und der Logarithmus der
+    // Wahrscheinlichkeit, dass keine ausgelassen wurde.
+    private double expectedOmissions;
+    private double logNoOmission;
+    private long stateCount;
+    private long transitionCount;
+    private int witnessM1Depth = -1;
+    private int[] witnessPath;
+
+    /**
+     * Erzeugt einen neuen {@link BitstateExplorer}.
+     *
+     * @param compiledPetrinet das {@link CompiledPetrinet}, auf dem geschaltet
+     *                         wird.
+     * @param initialMarking   die Anfangsmarkierung.
+     */
+    public BitstateExplorer(CompiledPetrinet compiledPetrinet, Marking initialMarking) {
+        this.compiledPetrinet = compiledPetrinet;
+        this.initialMarking = initialMarking;
+        int transitionTotal = compiledPetrinet.countTransitions();
+        prePlaces = new int[transitionTotal][];
+        preWeights = new int[transitionTotal][];
+        postPlaces = new int[transitionTotal][];
+        postWeights = new int[transitionTotal][];
+        for (int t = 0; t < transitionTotal; t++) {
+            prePlaces[t] = compiledPetrinet.getPrePlaces(t);
+            preWeights[t] = compiledPetrinet.getPreWeights(t);
+            postPlaces[t] = compiledPetrinet.getPostPlaces(t);
+            postWeights[t] = compiledPetrinet.getPostWeights(t);
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der gefundenen Verklemmungen.
+     *
+     * @return die Anzahl der Markierungen ohne aktivierte {@link Transition}.
+     */
+    public long countDeadlocks() {
+        return deadlockCount;
+    }
+
+    /**
+     * Liefert die Anzahl der als neu erkannten Markierungen.
+     *
+     * @return die Anzahl der Markierungen.
+     */
+    public long countStates() {
+        return stateCount;
+    }
+
+    /**
+     * Liefert die Anzahl der ausgeführten Schaltvorgänge.
+     *
+     * @return die Anzahl der Schaltvorgänge.
+     */
+    public long countTransitions() {
+        return transitionCount;
+    }
+
+    /**
+     * Liefert den geschätzten Anteil der erkundeten an allen erreichbaren
+     * Markierungen. Grundlage ist der Füllgrad f des Bitfeldes zum Zeitpunkt
+     * jeder neuen Markierung: Eine noch nicht besuchte Markierung wird mit der
+     * Wahrscheinlichkeit p = f^k ausgelassen, vor jeder neuen Markierung also im
+     * Mittel p / (1 - p) andere. Nachfolger ausgelassener Markierungen, die auf
+     * keinem anderen Weg erreichbar sind, gehen nicht in die Schätzung ein.
+     *
+     * @return der Anteil zwischen 0 und 1.
+     */
+    public double getCoverage() {
+        return stateCount == 0 ? 1 : stateCount / (stateCount + expectedOmissions);
+    }
+
+    /**
+     * Liefert die erste gefundene Verklemmung.
+     *
+     * @return die {@link Marking} oder <code>null</code>, wenn keine Verklemmung
+     *         gefunden wurde.
+     */
+    public Marking getFirstDeadlock() {
+        return firstDeadlock;
+    }
+
+    /**
+     * Liefert den Füllgrad des Bitfeldes.
+     *
+     * @return der Anteil der gesetzten Bits zwischen 0 und 1.
+     */
+    public double getLoadFactor() {
+        return (double) bitsSet / (1L << log2Bits);
+    }
+
+    /**
+     * Liefert die größte erreichte Schalttiefe.
+     *
+     * @return die Schalttiefe.
+     */
+    public int getExploredDepth() {
+        return exploredDepth;
+    }
+
+    /**
+     * Liefert die geschätzte Wahrscheinlichkeit, dass durch Kollisionen im
+     * Bitfeld mindestens eine erreichbare Markierung ausgelassen wurde.
+     *
+     * @return die Wahrscheinlichkeit zwischen 0 und 1.
+     */
+    public double getOmissionProbability() {
+        return -Math.expm1(logNoOmission);
+    }
+
+    /**
+     * Fügt den Zeugenpfad von der Anfangsmarkierung über m nach m' in einen
+     * {@link AbstractReachabilitygraph} ein. Der {@link AbstractReachabilitygraph}
+     * muss mit der Anfangsmarkierung als Wurzelknoten vorbelegt sein.
+     *
+     * @param rGraphModel der {@link AbstractReachabilitygraph}.
+     * @return die IDs der {@link de.pohl.petrinets.model.reachabilitygraph.RGraphEdge}
+     *         von m nach m', wie sie
+     *         {@link SingleAnalysisResultPresenter#setResultPetrinetIsUndbounded(ArrayList, boolean)}
+     *         erwartet.
+     * @throws IllegalStateException wenn keine Unbeschränktheit festgestellt
+     *                               wurde.
+     */
+    public ArrayList<String> replayWitness(AbstractReachabilitygraph rGraphModel) {
+        if (witnessPath == null) {
+            throw new IllegalStateException("Es wurde keine Unbeschränktheit festgestellt.");
+        }
+        return WitnessReplay.replay(compiledPetrinet, initialMarking, witnessPath, witnessM1Depth, rGraphModel);
+    }
+
+    /**
+     * Startet die Erkundung an der Anfangsmarkierung.
+     *
+     * @return {@link StateSpaceExplorer.Status#UNBOUNDED}, wenn ein Zeuge für eine
+     *         Unbeschränktheit gefunden wurde, {@link StateSpaceExplorer.Status#COMPLETE},
+     *         wenn die Tiefensuche ohne Zeugen beendet wurde, oder den Grund für
+     *         eine vorzeitige Beendigung.
+     */
+    public StateSpaceExplorer.Status run() {
+        int transitionTotal = compiledPetrinet.countTransitions();
+        long[] bits = new long[(int) (1L << (log2Bits - 6))];
+        // Der Pfad der Tiefensuche: Markensumme, kleinste Markensumme bis zu dieser
+        // Ebene, die Transition, über die die Ebene erreicht wurde, und die nächste
+        // zu prüfende Transition. Die Markierungen selbst werden nicht gehalten,
+        // sondern durch Rückwärtsschalten wiederhergestellt.
+        long[] sums = new long[64];
+        long[] minSums = new long[64];
+        int[] inbound = new int[64];
+        int[] next = new int[64];
+        int[] tokens = initialMarking.toArray();
+        int[] ancestorTokens = new int[tokens.length];
+        sums[0] = sum(tokens);
+        minSums[0] = sums[0];
+        inbound[0] = -1;
+        markVisited(bits, tokens);
+        if (!hasEnabledTransition(tokens)) {
+            recordDeadlock(tokens);
+        }
+        boolean limitReached = false;
+        int depth = 0;
+        int steps = 0;
+        while (depth >= 0) {
+            if (++steps == StateSpaceExplorer.INTERRUPT_CHECK_INTERVAL) {
+                steps = 0;
+                StateSpaceExplorer.Status interruption = StateSpaceExplorer.checkInterruption(deadline);
+                if (interruption != null) return interruption;
+            }
+            int transition = next[depth];
+            while (transition < transitionTotal && !compiledPetrinet.isEnabled(transition, tokens)) {
+                transition++;
+            }
+            if (transition == transitionTotal || maxDepth > 0 && depth >= maxDepth) {
+                limitReached |= transition < transitionTotal;
+                if (depth > 0) {
+                    unfire(inbound[depth], tokens);
+                }
+                depth--;
+                continue;
+            }
+            next[depth] = transition + 1;
+            compiledPetrinet.fire(transition, tokens);
+            transitionCount++;
+            if (!markVisited(bits, tokens)) {
+                unfire(transition, tokens);
+                continue;
+            }
+            if (++depth == sums.length) {
+                int capacity = sums.length * 2;
+                sums = Arrays.copyOf(sums, capacity);
+                minSums = Arrays.copyOf(minSums, capacity);
+                inbound = Arrays.copyOf(inbound, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            inbound[depth] = transition;
+            next[depth] = 0;
+            sums[depth] = sum(tokens);
+            minSums[depth] = Math.min(minSums[depth - 1], sums[depth]);
+            exploredDepth = Math.max(exploredDepth, depth);
+            // Eine echte Überdeckung setzt eine kleinere Markensumme des Vorfahren
+            // voraus. Gibt es auf dem Pfad keine solche, entfällt die Suche.
+            if (sums[depth] > minSums[depth - 1]) {
+                System.arraycopy(tokens, 0, ancestorTokens, 0, tokens.length);
+                for (int ancestor = depth - 1; ancestor >= 0 && minSums[ancestor] < sums[depth]; ancestor--) {
+                    unfire(inbound[ancestor + 1], ancestorTokens);
+                    if (sums[ancestor] < sums[depth] && covers(tokens, ancestorTokens)) {
+                        witnessPath = Arrays.copyOfRange(inbound, 1, depth + 1);
+                        witnessM1Depth = ancestor;
+                        return StateSpaceExplorer.Status.UNBOUNDED;
+                    }
+                }
+            }
+            if (!hasEnabledTransition(tokens)) {
+                recordDeadlock(tokens);
+            }
+            if (maxStates > 0 && stateCount >= maxStates) return StateSpaceExplorer.Status.LIMIT_REACHED;
+        }
+        return limitReached ? StateSpaceExplorer.Status.LIMIT_REACHED : StateSpaceExplorer.Status.COMPLETE;
+    }
+
+    /**
+     * Legt die Größe des Bitfeldes fest.
+     *
+     * @param log2Bits der Zweierlogarithmus der Anzahl der Bits.
+     * @throws IllegalArgumentException wenn der Wert außerhalb von
+     *                                  {@link #MIN_LOG2_BITS} und
+     *                                  {@link #MAX_LOG2_BITS} liegt.
+     */
+    public void setBitArraySize(int log2Bits) {
+        if (log2Bits < MIN_LOG2_BITS || log2Bits > MAX_LOG2_BITS) {
+            throw new IllegalArgumentException(String.format("Die Größe des Bitfeldes muss zwischen 2^%1$d und 2^%2$d"
+                    + " Bits liegen: 2^%3$d", MIN_LOG2_BITS, MAX_LOG2_BITS, log2Bits));
+        }
+        this.log2Bits = log2Bits;
+    }
+
+    /**
+     * Legt einen Zeitpunkt fest, nach dem die Erkundung mit
+     * {@link StateSpaceExplorer.Status#TIMED_OUT} beendet wird.
+     *
+     * @param deadline der Zeitpunkt im Format von {@link System#nanoTime()} oder 0
+     *                 für keine Begrenzung.
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Legt die Anzahl der Bits fest, die für jede Markierung gesetzt werden. Mehr
+     * Bits verringern die Kollisionswahrscheinlichkeit bei geringem Füllgrad,
+     * füllen das Bitfeld aber schneller.
+     *
+     * @param hashCount die Anzahl der Bits.
+     * @throws IllegalArgumentException wenn der Wert außerhalb von 1 und
+     *                                  {@link #MAX_HASH_COUNT} liegt.
+     */
+    public void setHashCount(int hashCount) {
+        if (hashCount < 1 || hashCount > MAX_HASH_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Die Anzahl der Bits pro Markierung muss zwischen 1 und %1$d liegen: %2$d", MAX_HASH_COUNT,
+                    hashCount));
+        }
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Legt die größte Schalttiefe fest, bis zu der erkundet wird.
+     *
+     * @param maxDepth die größte Schalttiefe oder 0 für keine Begrenzung.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(0, maxDepth);
+    }
+
+    /**
+     * Legt die größte Anzahl an Markierungen fest, nach der die Erkundung beendet
+     * wird.
+     *
+     * @param maxStates die größte Anzahl an Markierungen oder 0 für keine
+     *                  Begrenzung.
+     */
+    public void setMaxStates(int maxStates) {
+        this.maxStates = Math.max(0, maxStates);
+    }
+
+    /**
+     * Prüft, ob eine Markierung eine andere echt überdeckt. Die Markensummen
+     * wurden bereits verglichen, die Markierungen sind also verschieden.
+     */
+    private static boolean covers(int[] tokens, int[] ancestorTokens) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i] < ancestorTokens[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Vermischt die Bits eines Hashwertes (Finalisierung von MurmurHash3).
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Berechnet die Summe der Markenanzahlen.
+     */
+    private static long sum(int[] tokens) {
+        long sum = 0;
+        for (int token : tokens) {
+            sum += token;
+        }
+        return sum;
+    }
+
+    /**
+     * Prüft, ob unter einer Markierung eine {@link Transition} aktiviert ist.
+     */
+    private boolean hasEnabledTransition(int[] tokens) {
+        for (int t = 0; t < compiledPetrinet.countTransitions(); t++) {
+            if (compiledPetrinet.isEnabled(t, tokens)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Setzt die k Bits einer Markierung. Die Positionen werden nach Kirsch und
+     * Mitzenmacher aus zwei unabhängigen Hashwerten h1 + i * h2 gebildet.
+     *
+     * @return <code>true</code>, wenn mindestens ein Bit noch nicht gesetzt war
+     *         und die Markierung damit als neu gilt.
+     */
+    private boolean markVisited(long[] bits, int[] tokens) {
+        long h1 = 0x9e3779b97f4a7c15L;
+        long h2 = 0x632be59bd9b4e019L;
+        for (int token : tokens) {
+            h1 = (h1 ^ token) * 0x100000001b3L;
+            h2 = Long.rotateLeft(h2 ^ token, 29) * 0xbf58476d1ce4e5b9L;
+        }
+        h1 = mix(h1);
+        h2 = mix(h2) | 1;
+        long mask = (1L << log2Bits) - 1;
+        double loadFactor = getLoadFactor();
+        int newBits = 0;
+        for (int i = 0; i < hashCount; i++) {
+            long position = (h1 + i * h2) & mask;
+            int word = (int) (position >>> 6);
+            long bit = 1L << position;
+            if ((bits[word] & bit) == 0) {
+                bits[word] |= bit;
+                newBits++;
+            }
+        }
+        if (newBits == 0) return false;
+        bitsSet += newBits;
+        stateCount++;
+        double omission = Math.pow(loadFactor, hashCount);
+        expectedOmissions += omission / (1 - omission);
+        logNoOmission += Math.log1p(-omission);
+        return true;
+    }
+
+    /**
+     * Macht das Schalten einer {@link Transition} auf einer Markierung rückgängig.
+     */
+    private void unfire(int transition, int[] tokens) {
+        int[] places = postPlaces[transition];
+        int[] weights = postWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            tokens[places[i]] -= weights[i];
+        }
+        places = prePlaces[transition];
+        weights = preWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            tokens[places[i]] += weights[i];
+        }
+    }
+
+    /**
+     * Zählt eine Verklemmung und hält die erste fest.
+     */
+    private void recordDeadlock(int[] tokens) {
+        if (deadlockCount++ == 0) {
+            firstDeadlock = Marking.of(tokens);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package de.pohl.petrinets.control.implementations.usecases;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 
+import de.pohl.petrinets.logging.Logger;
+import de.pohl.petrinets.model.petrinet.Marking;
 import de.pohl.petrinets.model.petrinet.Transition;
 import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
 import de.pohl.petrinets.model.reachabilitygraph.RGraphNode;
@@ -24,9 +28,24 @@ import de.pohl.petrinets.model.reachabilitygraph.RGraphNode;
  * </blockquote>
  */
 public class BoundednessAnalyser {
+    /**
+     * Ein Eintrag des Stapels der Tiefensuche.
+     */
+    private static final class SearchFrame {
+        private int next;
+        private final int node;
+        private final int viaEdge;
+
+        private SearchFrame(int node, int viaEdge) {
+            this.node = node;
+            this.viaEdge = viaEdge;
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(BoundednessAnalyser.class);
     private ArrayList<String> edgePath = new ArrayList<>();
-    private ArrayList<Integer> m2Marking;
-    private ArrayList<String> visitedNodes = new ArrayList<>();
+    private Marking m2Marking;
+    private BitSet visitedNodes = new BitSet();
     private AbstractReachabilitygraph rGraphModel;
 
     /**
@@ -54,58 +73,88 @@ public class BoundednessAnalyser {
      *         Ansonsten <code>null</code>.
      */
     public ArrayList<String> run(String m2) {
-        System.out.println("---------------");
-        System.out.println("Initiiere Unbeschränktheitsanalyse.");
-        System.out.println("---------------");
+        return run(rGraphModel.getNodeNumber(m2));
+    }
+
+    /**
+     * Startet die Beschränktheitsanalyse ab einem Zielknoten m' eines
+     * Erreichbarkeitsgraphen, der über seine Nummer angegeben wird.
+     *
+     * @param m2 die Nummer eines {@link RGraphNode} m'.
+     * @return Eine {@link ArrayList} mit {@link String}-Werten als IDs der Kanten
+     *         auf dem Pfad von m nach m' oder <code>null</code>, wenn keine
+     *         Unbeschränktheit festgestellt wurde.
+     * @see #run(String)
+     */
+    public ArrayList<String> run(int m2) {
+        LOGGER.trace("Initiiere Unbeschränktheitsanalyse.");
         m2Marking = rGraphModel.getNodeMarking(m2);
-        if (analyseRecursion(m2)) {
-            System.out.println("---------------");
-            System.out.println("Beende Unbeschränktheitsanalyse.");
-            System.out.println("---------------");
+        if (analyse(m2)) {
+            LOGGER.trace("Beende Unbeschränktheitsanalyse.");
             return edgePath;
         }
-        System.out.println("Unbeschränktheit nicht festgestellt.");
-        System.out.println("---------------");
-        System.out.println("Beende Unbeschränktheitsanalyse.");
-        System.out.println("---------------");
+        LOGGER.trace("Unbeschränktheit nicht festgestellt. Beende Unbeschränktheitsanalyse.");
         return null;
     }
 
     /**
-     * Rekursiver DFS-Algorithmus zur bestimmung, ob der Graph unbeschränkt ist.
+     * DFS-Algorithmus zur bestimmung, ob der Graph unbeschränkt ist.
+     * <p>
+     * Anstelle einer Rekursion wird ein expliziter Stapel verwendet, sodass auch
+     * sehr lange Pfade im {@link AbstractReachabilitygraph} nicht zu einem
+     * Überlauf des Aufrufstapels führen. Die Besuchsreihenfolge entspricht der
+     * einer rekursiven Tiefensuche.
      *
-     * @param m1 die ID eines {@link RGraphNode} m als {@link String}.
-     * @return <code>true</code>, wenn die Rekursion die Unbeschränktheit des
+     * @param m2 die Nummer eines {@link RGraphNode} m'.
+     * @return <code>true</code>, wenn die Suche die Unbeschränktheit des
      *         {@link AbstractReachabilitygraph} feststellt.<br>
-     *         false, wenn die Rekursion keine Unbeschränktheit des
+     *         false, wenn die Suche keine Unbeschränktheit des
      *         {@link AbstractReachabilitygraph} feststellen konnte.
      */
-    private boolean analyseRecursion(String m1) {
-        ArrayList<Integer> m1Marking = rGraphModel.getNodeMarking(m1);
-        System.out.println("Rekursionsaufruf auf m = " + m1Marking);
-        visitedNodes.add(m1);
-        if (!m1Marking.equals(m2Marking)) {
-            if (fulfilsUnboundednessCriterion(m1Marking, m2Marking)) {
-                // Rekursion abbrechen und Pfad erstellen
-                System.out.println("Abbruch der Rekursion bei: " + m1Marking.toString()
-                        + ". Unbeschränktheit wurde festgestellt.");
+    private boolean analyse(int m2) {
+        ArrayDeque<SearchFrame> stack = new ArrayDeque<>();
+        if (visit(stack, m2, -1)) return true;
+        while (!stack.isEmpty()) {
+            SearchFrame frame = stack.peek();
+            if (frame.next == rGraphModel.countNodeInboundEdges(frame.node)) {
+                LOGGER.trace("Keine weiteren eingehenden Kanten bei %1$s", rGraphModel.getNodeMarking(frame.node));
+                stack.pop();
+                continue;
+            }
+            int inboundEdge = rGraphModel.getNodeInboundEdge(frame.node, frame.next++);
+            int nextNode = rGraphModel.getEdgeSource(inboundEdge);
+            if (!visitedNodes.get(nextNode) && visit(stack, nextNode, inboundEdge)) {
+                // Pfad von m nach m' aus den Kanten des Stapels erstellen.
+                for (SearchFrame pathFrame : stack) {
+                    if (pathFrame.viaEdge >= 0) {
+                        edgePath.add(rGraphModel.getEdgeID(pathFrame.viaEdge));
+                    }
+                }
                 return true;
             }
         }
-        // Eingehende Nachbarschaft des aktuellen Knotens bestimmen
-        ArrayList<String> inboundEdgeIDs = rGraphModel.getNodeInboundEdgeIDs(m1);
-        // Auf jedem Knoten der Nachbarschaft, der noch nicht besucht worden ist, dfs
-        // ausführen.
-        for (String inboundEdgeID : inboundEdgeIDs) {
-            String nextNodeID = rGraphModel.getEdgeSourceID(inboundEdgeID);
-            if (!visitedNodes.contains(nextNodeID)) {
-                if (analyseRecursion(nextNodeID)) {
-                    edgePath.add(inboundEdgeID);
-                    return true;
-                }
+        return false;
+    }
+
+    /**
+     * Besucht einen Knoten m und prüft das Unbeschränktheitskriterium.
+     *
+     * @param stack     der Stapel der Tiefensuche.
+     * @param m1      die Nummer des {@link RGraphNode} m.
+     * @param viaEdge die Nummer der Kante, über die m erreicht wurde, oder -1.
+     * @return <code>true</code>, wenn das Kriterium für m erfüllt ist.
+     */
+    private boolean visit(ArrayDeque<SearchFrame> stack, int m1, int viaEdge) {
+        Marking m1Marking = rGraphModel.getNodeMarking(m1);
+        LOGGER.trace("Besuch von m = %1$s", m1Marking);
+        visitedNodes.set(m1);
+        stack.push(new SearchFrame(m1, viaEdge));
+        if (!m1Marking.equals(m2Marking)) {
+            if (fulfilsUnboundednessCriterion(m1Marking, m2Marking)) {
+                LOGGER.trace("Abbruch der Suche bei: %1$s. Unbeschränktheit wurde festgestellt.", m1Marking);
+                return true;
             }
         }
-        System.out.println("Keine weiteren eingehenden Kanten bei " + m1Marking.toString());
         return false;
     }
 
@@ -123,37 +172,33 @@ public class BoundednessAnalyser {
      * </ol>
      * </blockquote>
      *
-     * @param m1Marking eine {@link ArrayList} mit {@link Integer}-Werten als
-     *                  Markierung m.
-     * @param m2Marking eine {@link ArrayList} mit {@link Integer}-Werten als
-     *                  Markierung m'.
+     * @param m1Marking die Markierung m als {@link Marking}.
+     * @param m2Marking die Markierung m' als {@link Marking}.
      * @return <code>true</code>, wenn Unbeschränktheitskriterium erfüllt ist.<br>
      *         <code>false</code>, wenn Unbeschränktheitskriterium nicht erfüllt
      *         ist.
      */
     @SuppressWarnings("hiding")
-    private boolean fulfilsUnboundednessCriterion(ArrayList<Integer> m1Marking, ArrayList<Integer> m2Marking) {
+    private boolean fulfilsUnboundednessCriterion(Marking m1Marking, Marking m2Marking) {
         // Es wird davon ausgegangen, dass m' jeder Stelle mindestens so viele Marken
         // zuweist wie m. Ist dem nicht so, erfolgt ein Abbruch der Methode innerhalb
         // der For-Schleife.
         boolean isGreater = false;
-        System.out.printf("Unbeschränktheitskriterium für m = %1$s und m' = %2$s wird geprüft.\n", m1Marking,
-                m2Marking);
+        LOGGER.trace("Unbeschränktheitskriterium für m = %1$s und m' = %2$s wird geprüft.", m1Marking, m2Marking);
         for (int i = 0; i < m1Marking.size(); i++) {
             int a = m1Marking.get(i);
             int b = m2Marking.get(i);
             // Wenn auch nur eine Stelle von m größer ist als die jeweilige Stelle in m',
             // so weist m' nicht jeder Stelle mindestens so viele Marken zu wie m.
             if (a > b) {
-                System.out.println(
-                        "Kriterium nicht erfüllt: m' weist nicht jeder Stelle mindestens so viele Marken zu wie m.");
+                LOGGER.trace("Kriterium nicht erfüllt: m' weist nicht jeder Stelle mindestens so viele Marken zu wie m.");
                 return false;
             }
             // Liefert true, wenn mindestens einer Stelle in m' sogar mehr Marken als in m
             // zugewiesen worden sind.
             isGreater = isGreater || (a < b);
         }
-        System.out.printf("Kriterium %1$s\n", (isGreater ? "erfüllt." : "nicht erfüllt."));
+        LOGGER.trace(isGreater ? "Kriterium erfüllt." : "Kriterium nicht erfüllt.");
         return isGreater;
     }
 }
@@ -0,0 +1,324 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import de.pohl.petrinets.model.petrinet.CompiledPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.petrinet.MarkingIndex;
+import de.pohl.petrinets.model.petrinet.Transition;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
+
+/**
+ * Eine Anwendungsfallklasse für die Beschränktheitsanalyse eines Petrinetzes
+ * mit einem Überdeckbarkeitsbaum nach Karp und Miller.
+ * <p>
+ * Im Gegensatz zum {@link BoundednessAnalyser} wird für einen neuen Knoten
+ * nicht rückwärts über alle eingehenden Kanten gesucht. Jeder Knoten kennt nur
+ * seinen Elternknoten, sodass für eine neue Markierung m' lediglich die Kette
+ * ihrer Vorfahren auf eine Markierung m mit m &le; m' und m &ne; m' geprüft
+ * wird. Der Aufwand pro Knoten ist damit linear in dessen Schalttiefe.
+ * <p>
+ * Wird ein solcher Vorfahre gefunden, ist das Petrinetz unbeschränkt. Die erste
+ * gefundene Überdeckung wird als Zeuge festgehalten: Bis zu diesem Zeitpunkt
+ * wurde noch nicht beschleunigt, daher sind m, m' und der Pfad von der
+ * Anfangsmarkierung über m nach m' tatsächlich erreichbar. Anschließend werden
+ * die echt wachsenden Stellen auf {@link Marking#OMEGA} gesetzt und, sofern
+ * gewünscht, weiter erkundet, bis der Überdeckbarkeitsgraph vollständig ist.
+ * <p>
+ * Der {@link AbstractReachabilitygraph} wird während der Analyse nicht
+ * verändert. Über {@link #replayWitness(AbstractReachabilitygraph)} kann der
+ * Zeugenpfad nachträglich eingefügt werden.
+ *
+ * @see StateSpaceExplorer
+ */
+public class CoverabilityAnalyser {
+    private final CompiledPetrinet compiledPetrinet;
+    private long deadline;
+    private final Marking initialMarking;
+    private boolean limitReached;
+    private int maxDepth;
+    private int maxStates;
+    // Die Knoten des Überdeckbarkeitsbaumes, jeweils mit Elternknoten und der
+    // Transition, über die sie erreicht wurden.
+    private final ArrayList<Marking> nodeMarkings = new ArrayList<>();
+    private int[] nodeParents = new int[64];
+    private int[] nodeTransitions = new int[64];
+    private int[] nodeDepths = new int[64];
+    private boolean stopAtFirstWitness = true;
+    private boolean[] unboundedPlaces;
+    private int witnessM1Depth = -1;
+    private int[] witnessPath;
+
+    /**
+     * Erzeugt einen neuen {@link CoverabilityAnalyser}.
+     *
+     * @param compiledPetrinet das {@link CompiledPetrinet}, auf dem geschaltet
+     *                         wird.
+     * @param initialMarking   die Anfangsmarkierung.
+     */
+    public CoverabilityAnalyser(CompiledPetrinet compiledPetrinet, Marking initialMarking) {
+        this.compiledPetrinet = compiledPetrinet;
+        this.initialMarking = initialMarking;
+    }
+
+    /**
+     * Liefert die Anzahl der Knoten des Überdeckbarkeitsbaumes.
+     *
+     * @return die Anzahl der Knoten.
+     */
+    public int countNodes() {
+        return nodeMarkings.size();
+    }
+
+    /**
+     * Liefert für jede Stelle, ob sie im Überdeckbarkeitsbaum den Wert ω erhalten
+     * hat. Vollständig ist dies nur, wenn die Analyse nicht beim ersten Zeugen
+     * beendet wurde.
+     *
+     * @return ein Array, das über den Index der Stellen im
+     *         {@link CompiledPetrinet} adressiert wird.
+     * @see #setStopAtFirstWitness(boolean)
+     */
+    public boolean[] getUnboundedPlaces() {
+        return unboundedPlaces.clone();
+    }
+
+    /**
+     * Liefert die Markierung m des Zeugen.
+     *
+     * @return die {@link Marking} oder <code>null</code>, wenn keine
+     *         Unbeschränktheit festgestellt wurde.
+     */
+    public Marking getWitnessM1() {
+        return witnessPath == null ? null : markingAfter(witnessM1Depth);
+    }
+
+    /**
+     * Liefert die Markierung m' des Zeugen.
+     *
+     * @return die {@link Marking} oder <code>null</code>, wenn keine
+     *         Unbeschränktheit festgestellt wurde.
+     */
+    public Marking getWitnessM2() {
+        return witnessPath == null ? null : markingAfter(witnessPath.length);
+    }
+
+    /**
+     * Liefert die Schaltfolge von der Anfangsmarkierung nach m'.
+     *
+     * @return die Indizes der {@link Transition} im {@link CompiledPetrinet} oder
+     *         <code>null</code>, wenn keine Unbeschränktheit festgestellt wurde.
+     */
+    public int[] getWitnessPath() {
+        return witnessPath == null ? null : witnessPath.clone();
+    }
+
+    /**
+     * Liefert die Position von m in der Schaltfolge des Zeugen, also die Anzahl
+     * der Schaltvorgänge von der Anfangsmarkierung nach m.
+     *
+     * @return die Position oder -1, wenn keine Unbeschränktheit festgestellt
+     *         wurde.
+     */
+    public int getWitnessM1Depth() {
+        return witnessM1Depth;
+    }
+
+    /**
+     * Fügt den Zeugenpfad von der Anfangsmarkierung über m nach m' in einen
+     * {@link AbstractReachabilitygraph} ein. Der {@link AbstractReachabilitygraph}
+     * muss mit der Anfangsmarkierung als Wurzelknoten vorbelegt sein.
+     *
+     * @param rGraphModel der {@link AbstractReachabilitygraph}.
+     * @return die IDs der {@link de.pohl.petrinets.model.reachabilitygraph.RGraphEdge}
+     *         von m nach m', wie sie
+     *         {@link SingleAnalysisResultPresenter#setResultPetrinetIsUndbounded(ArrayList, boolean)}
+     *         erwartet.
+     * @throws IllegalStateException wenn keine Unbeschränktheit festgestellt
+     *                               wurde.
+     */
+    public ArrayList<String> replayWitness(AbstractReachabilitygraph rGraphModel) {
+        if (witnessPath == null) {
+            throw new IllegalStateException("Es wurde keine Unbeschränktheit festgestellt.");
+        }
+        return WitnessReplay.replay(compiledPetrinet, initialMarking, witnessPath, witnessM1Depth, rGraphModel);
+    }
+
+    /**
+     * Startet die Analyse an der Anfangsmarkierung.
+     *
+     * @return {@link StateSpaceExplorer.Status#UNBOUNDED}, wenn ein Zeuge für eine
+     *         Unbeschränktheit gefunden wurde, {@link StateSpaceExplorer.Status#COMPLETE},
+     *         wenn das Petrinetz beschränkt ist, oder den Grund für eine vorzeitige
+     *         Beendigung.
+     */
+    public StateSpaceExplorer.Status run() {
+        MarkingIndex knownMarkings = new MarkingIndex();
+        unboundedPlaces = new boolean[compiledPetrinet.countPlaces()];
+        int[] stack = new int[64];
+        int stackSize = 0;
+        addNode(initialMarking, -1, -1, 0);
+        knownMarkings.putIfAbsent(initialMarking, 0);
+        stack[stackSize++] = 0;
+        int steps = 0;
+        while (stackSize > 0) {
+            if (++steps == StateSpaceExplorer.INTERRUPT_CHECK_INTERVAL) {
+                steps = 0;
+                StateSpaceExplorer.Status interruption = StateSpaceExplorer.checkInterruption(deadline);
+                if (interruption != null) return witnessPath != null ? StateSpaceExplorer.Status.UNBOUNDED
+                        : interruption;
+            }
+            int node = stack[--stackSize];
+            if (maxDepth > 0 && nodeDepths[node] >= maxDepth) {
+                if (compiledPetrinet.getEnabledTransitions(nodeMarkings.get(node)).length > 0) {
+                    limitReached = true;
+                }
+                continue;
+            }
+            int[] enabledTransitions = compiledPetrinet.getEnabledTransitions(nodeMarkings.get(node));
+            // In umgekehrter Reihenfolge ablegen, damit die kleinste Transition zuerst
+            // erkundet wird.
+            for (int i = enabledTransitions.length - 1; i >= 0; i--) {
+                Marking marking = compiledPetrinet.fire(enabledTransitions[i], nodeMarkings.get(node));
+                Marking accelerated = accelerate(node, marking, enabledTransitions[i]);
+                if (accelerated == null) return StateSpaceExplorer.Status.UNBOUNDED;
+                if (knownMarkings.get(accelerated) >= 0) continue;
+                int child = addNode(accelerated, node, enabledTransitions[i], nodeDepths[node] + 1);
+                knownMarkings.putIfAbsent(accelerated, child);
+                if (maxStates > 0 && nodeMarkings.size() >= maxStates) {
+                    limitReached = true;
+                    return result();
+                }
+                if (stackSize == stack.length) {
+                    stack = Arrays.copyOf(stack, stackSize * 2);
+                }
+                stack[stackSize++] = child;
+            }
+        }
+        return result();
+    }
+
+    /**
+     * Legt einen Zeitpunkt fest, nach dem die Analyse mit
+     * {@link StateSpaceExplorer.Status#TIMED_OUT} beendet wird.
+     *
+     * @param deadline der Zeitpunkt im Format von {@link System#nanoTime()} oder 0
+     *                 für keine Begrenzung.
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Legt die größte Schalttiefe fest, bis zu der Knoten weiter erkundet werden.
+     *
+     * @param maxDepth die größte Schalttiefe oder 0 für keine Begrenzung.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(0, maxDepth);
+    }
+
+    /**
+     * Legt die größte Anzahl an Knoten fest, nach der die Analyse beendet wird.
+     *
+     * @param maxStates die größte Anzahl an Knoten oder 0 für keine Begrenzung.
+     */
+    public void setMaxStates(int maxStates) {
+        this.maxStates = Math.max(0, maxStates);
+    }
+
+    /**
+     * Legt fest, ob die Analyse beim ersten Zeugen einer Unbeschränktheit beendet
+     * wird. Andernfalls wird der Überdeckbarkeitsgraph vollständig aufgebaut und
+     * {@link #getUnboundedPlaces()} liefert alle unbeschränkten Stellen.
+     *
+     * @param stopAtFirstWitness <code>true</code> für einen Abbruch beim ersten
+     *                           Zeugen (Standard).
+     */
+    public void setStopAtFirstWitness(boolean stopAtFirstWitness) {
+        this.stopAtFirstWitness = stopAtFirstWitness;
+    }
+
+    /**
+     * Prüft die Vorfahren eines neuen Knotens auf eine echte Überdeckung und
+     * beschleunigt die betroffenen Stellen auf ω.
+     *
+     * @return die ggf. beschleunigte {@link Marking} oder <code>null</code>, wenn
+     *         die Analyse beim ersten Zeugen beendet werden soll.
+     */
+    private Marking accelerate(int parent, Marking marking, int transition) {
+        int[] tokens = null;
+        for (int ancestor = parent; ancestor >= 0; ancestor = nodeParents[ancestor]) {
+            Marking ancestorMarking = nodeMarkings.get(ancestor);
+            if (ancestorMarking.equals(marking) || !marking.covers(ancestorMarking)) continue;
+            if (witnessPath == null) {
+                recordWitness(parent, transition, ancestor);
+                if (stopAtFirstWitness) return null;
+            }
+            if (tokens == null) {
+                tokens = marking.toArray();
+            }
+            for (int i = 0; i < tokens.length; i++) {
+                if (tokens[i] > ancestorMarking.get(i)) {
+                    tokens[i] = Marking.OMEGA;
+                    unboundedPlaces[i] = true;
+                }
+            }
+        }
+        return tokens == null ? marking : Marking.of(tokens);
+    }
+
+    /**
+     * Fügt dem Überdeckbarkeitsbaum einen Knoten hinzu.
+     *
+     * @return der Index des neuen Knotens.
+     */
+    private int addNode(Marking marking, int parent, int transition, int depth) {
+        int node = nodeMarkings.size();
+        if (node == nodeParents.length) {
+            nodeParents = Arrays.copyOf(nodeParents, node * 2);
+            nodeTransitions = Arrays.copyOf(nodeTransitions, node * 2);
+            nodeDepths = Arrays.copyOf(nodeDepths, node * 2);
+        }
+        nodeMarkings.add(marking);
+        nodeParents[node] = parent;
+        nodeTransitions[node] = transition;
+        nodeDepths[node] = depth;
+        return node;
+    }
+
+    /**
+     * Bestimmt den {@link StateSpaceExplorer.Status} am Ende der Analyse.
+     */
+    private StateSpaceExplorer.Status result() {
+        if (witnessPath != null) return StateSpaceExplorer.Status.UNBOUNDED;
+        return limitReached ? StateSpaceExplorer.Status.LIMIT_REACHED : StateSpaceExplorer.Status.COMPLETE;
+    }
+
+    /**
+     * Berechnet die {@link Marking} nach den ersten Schaltvorgängen des Zeugen.
+     */
+    private Marking markingAfter(int steps) {
+        Marking marking = initialMarking;
+        for (int i = 0; i < steps; i++) {
+            marking = compiledPetrinet.fire(witnessPath[i], marking);
+        }
+        return marking;
+    }
+
+    /**
+     * Hält die Schaltfolge von der Anfangsmarkierung über den Vorfahren m zur
+     * neuen Markierung m' fest.
+     */
+    private void recordWitness(int parent, int transition, int ancestor) {
+        int length = nodeDepths[parent] + 1;
+        witnessPath = new int[length];
+        witnessPath[length - 1] = transition;
+        for (int node = parent, i = length - 2; node > 0; node = nodeParents[node], i--) {
+            witnessPath[i] = nodeTransitions[node];
+        }
+        witnessM1Depth = nodeDepths[ancestor];
+    }
+}
@@ -0,0 +1,551 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import de.pohl.petrinets.logging.Logger;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+
+/**
+ * Ein Zwischenspeicher für eingelesene PNML-Dateien.
+ * <p>
+ * Zu jeder PNML-Datei wird in einem Verzeichnis eine kompakte Binärdatei
+ * abgelegt. Sie enthält die Aufrufe, mit denen der {@link PNMLFileParser} das
+ * {@link AbstractPetrinet} aufgebaut hat, d.h. die Stellen, Transitionen und
+ * Kanten mit ihren Namen, Positionen und initialen Marken in der Reihenfolge
+ * der PNML-Datei. Alle Zeichenketten werden dabei nur einmal gespeichert.
+ * <p>
+ * Ein Eintrag ist nur gültig, wenn der Pfad, die Größe, der Zeitpunkt der
+ * letzten Änderung und die Prüfsumme des Inhaltes der PNML-Datei
+ * übereinstimmen. Die Binärdatei wird über einen {@link MappedByteBuffer}
+ * gelesen und vollständig geprüft, bevor das {@link AbstractPetrinet} verändert
+ * wird. Fehlerhafte oder veraltete Einträge werden wie fehlende Einträge
+ * behandelt und entfernt.
+ * <p>
+ * Die Anzahl der Einträge ist begrenzt. Ist sie erreicht, wird der am längsten
+ * nicht verwendete Eintrag entfernt. Die Reihenfolge der Verwendung wird über
+ * den Zeitpunkt der letzten Änderung der Binärdateien auch zwischen zwei
+ * Programmstarts erhalten.
+ */
+public class PNMLFileCache {
+    /**
+     * Die voreingestellte größte Anzahl an Einträgen.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final Logger LOGGER = Logger.getLogger(PNMLFileCache.class);
+    // Kennung und Version des Dateiformates
+    private static final int MAGIC = 0x504E4331;
+    private static final int VERSION = 1;
+    private static final String FILE_SUFFIX = ".pnc";
+    // Die Operationen der Aufzeichnung
+    private static final byte ADD_PLACE = 1;
+    private static final byte ADD_TRANSITION = 2;
+    private static final byte ADD_ARC = 3;
+    private static final byte SET_NAME = 4;
+    private static final byte SET_POSITION = 5;
+    private static final byte SET_TOKENS = 6;
+    private static PNMLFileCache defaultCache;
+    private final File cacheDirectory;
+    private final int maxEntries;
+    // Die Namen der Binärdateien ohne Endung, zuletzt verwendete am Ende
+    private LinkedHashMap<String, Boolean> entries;
+
+    /**
+     * Erstellt einen neuen {@link PNMLFileCache}.
+     *
+     * @param cacheDirectory das Verzeichnis der Binärdateien. Es wird beim ersten
+     *                       Speichern angelegt.
+     * @param maxEntries     die größte Anzahl an Einträgen.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner als 1 ist.
+     */
+    public PNMLFileCache(File cacheDirectory, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Einträge muss mindestens 1 sein.");
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Liefert den {@link PNMLFileCache} im temporären Verzeichnis des Systems mit
+     * {@link #DEFAULT_MAX_ENTRIES} Einträgen.
+     *
+     * @return der {@link PNMLFileCache}.
+     */
+    public static synchronized PNMLFileCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new PNMLFileCache(new File(System.getProperty("java.io.tmpdir"), "petrineteditor-cache"),
+                    DEFAULT_MAX_ENTRIES);
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Bestimmt den Schlüssel einer PNML-Datei.
+     *
+     * @param pnmlFile die PNML-Datei.
+     * @return der {@link Key} oder <code>null</code>, wenn die PNML-Datei nicht
+     *         gelesen werden kann.
+     */
+    public Key createKey(File pnmlFile) {
+        Path path = pnmlFile.toPath().toAbsolutePath().normalize();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            CRC32C checksum = new CRC32C();
+            long size = channel.size();
+            if (size > 0) {
+                checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+            return new Key(path.toString(), size, attributes.lastModifiedTime().toMillis(), (int) checksum.getValue());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Baut ein {@link AbstractPetrinet} aus dem Eintrag einer PNML-Datei auf und
+     * markiert den Eintrag als zuletzt verwendet.
+     *
+     * @param key           der {@link Key} der PNML-Datei.
+     * @param petrinetModel ein leeres {@link AbstractPetrinet}.
+     * @return <code>true</code>, wenn ein gültiger Eintrag vorhanden war und das
+     *         {@link AbstractPetrinet} aufgebaut wurde.
+     */
+    public boolean load(Key key, AbstractPetrinet petrinetModel) {
+        String name = getCacheName(key);
+        File cacheFile = getCacheFile(name);
+        if (!isEntry(name)) {
+            return false;
+        }
+        if (!cacheFile.isFile()) {
+            remove(name);
+            return false;
+        }
+        Entry entry;
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            entry = Entry.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), key);
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            LOGGER.warn("Der Zwischenspeicher %1$s ist nicht lesbar: %2$s", cacheFile, e);
+            entry = null;
+        }
+        if (entry == null) {
+            remove(name);
+            return false;
+        }
+        cacheFile.setLastModified(System.currentTimeMillis());
+        entry.replay(petrinetModel);
+        LOGGER.debug("Petrinetz %1$s aus dem Zwischenspeicher geladen.", key.path);
+        return true;
+    }
+
+    /**
+     * Legt eine {@link Recording} als Eintrag einer PNML-Datei ab. Ist die größte
+     * Anzahl an Einträgen überschritten, werden die am längsten nicht verwendeten
+     * Einträge entfernt. Fehler beim Schreiben werden protokolliert, das Einlesen
+     * wird dadurch nicht beeinträchtigt.
+     *
+     * @param key       der {@link Key} der PNML-Datei.
+     * @param recording die {@link Recording} des {@link PNMLFileParser}.
+     */
+    public void store(Key key, Recording recording) {
+        String name = getCacheName(key);
+        File cacheFile = getCacheFile(name);
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+            Path tempFile = Files.createTempFile(cacheDirectory.toPath(), "pnml", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    recording.write(out, key);
+                }
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Der Zwischenspeicher %1$s konnte nicht geschrieben werden: %2$s", cacheFile, e);
+            return;
+        }
+        add(name);
+    }
+
+    /**
+     * Liefert die Anzahl der Einträge.
+     *
+     * @return die Anzahl der Einträge.
+     */
+    public synchronized int size() {
+        return entries().size();
+    }
+
+    /**
+     * Prüft, ob ein Eintrag vorhanden ist, und markiert ihn als zuletzt
+     * verwendet.
+     *
+     * @param name der Name der Binärdatei.
+     * @return <code>true</code>, wenn der Eintrag vorhanden ist.
+     */
+    private synchronized boolean isEntry(String name) {
+        return entries().get(name) != null;
+    }
+
+    /**
+     * Nimmt einen Eintrag auf und entfernt die am längsten nicht verwendeten
+     * Einträge, wenn die größte Anzahl überschritten ist.
+     *
+     * @param name der Name der Binärdatei.
+     */
+    private synchronized void add(String name) {
+        LinkedHashMap<String, Boolean> index = entries();
+        index.put(name, Boolean.TRUE);
+        Iterator<String> eldest = index.keySet().iterator();
+        while (index.size() > maxEntries) {
+            String eldestName = eldest.next();
+            eldest.remove();
+            getCacheFile(eldestName).delete();
+            LOGGER.debug("Eintrag %1$s aus dem Zwischenspeicher entfernt.", eldestName);
+        }
+    }
+
+    /**
+     * Entfernt einen ungültigen oder veralteten Eintrag.
+     *
+     * @param name der Name der Binärdatei.
+     */
+    private synchronized void remove(String name) {
+        entries().remove(name);
+        getCacheFile(name).delete();
+    }
+
+    /**
+     * Liefert die Namen der vorhandenen Einträge in der Reihenfolge ihrer
+     * Verwendung. Beim ersten Aufruf werden sie aus dem Verzeichnis gelesen.
+     *
+     * @return die Namen in einer {@link LinkedHashMap} mit Zugriffsreihenfolge.
+     */
+    private LinkedHashMap<String, Boolean> entries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+            File[] files = cacheDirectory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+            if (files != null) {
+                Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+                for (File file : files) {
+                    String name = file.getName();
+                    entries.put(name.substring(0, name.length() - FILE_SUFFIX.length()), Boolean.TRUE);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Liefert den Namen der Binärdatei einer PNML-Datei. Er wird aus dem Pfad der
+     * PNML-Datei gebildet.
+     *
+     * @param key der {@link Key} der PNML-Datei.
+     * @return der Name ohne Endung.
+     */
+    private static String getCacheName(Key key) {
+        return UUID.nameUUIDFromBytes(key.path.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Liefert die Binärdatei zu einem Namen.
+     *
+     * @param name der Name ohne Endung.
+     * @return die Binärdatei als {@link File}.
+     */
+    private File getCacheFile(String name) {
+        return new File(cacheDirectory, name + FILE_SUFFIX);
+    }
+
+    /**
+     * Der Schlüssel einer PNML-Datei aus ihrem Pfad, ihrer Größe, dem Zeitpunkt
+     * der letzten Änderung und der Prüfsumme ihres Inhaltes.
+     */
+    public static final class Key {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private final int checksum;
+
+        private Key(String path, long size, long lastModified, int checksum) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * Zeichnet die Aufrufe auf, mit denen der {@link PNMLFileParser} ein
+     * {@link AbstractPetrinet} aufbaut. Die Methoden entsprechen den
+     * gleichnamigen Methoden des {@link AbstractPetrinet}.
+     */
+    public static final class Recording {
+        private final HashMap<String, Integer> stringIndex = new HashMap<>();
+        private final ArrayList<String> strings = new ArrayList<>();
+        private final ByteArrayOutputStream operationBytes = new ByteArrayOutputStream();
+        private final DataOutputStream operations = new DataOutputStream(operationBytes);
+        private int operationCount;
+
+        void addArc(String arcID, String sourceID, String targetID) {
+            operation(ADD_ARC);
+            string(arcID);
+            string(sourceID);
+            string(targetID);
+        }
+
+        void addPlace(String placeID) {
+            operation(ADD_PLACE);
+            string(placeID);
+        }
+
+        void addTransition(String transitionID) {
+            operation(ADD_TRANSITION);
+            string(transitionID);
+        }
+
+        void initPlaceTokens(String placeID, int tokens) {
+            operation(SET_TOKENS);
+            string(placeID);
+            value(tokens);
+        }
+
+        void setPetrinetNodeName(String nodeID, String name) {
+            operation(SET_NAME);
+            string(nodeID);
+            string(name);
+        }
+
+        void setPetrinetNodePosition(String nodeID, int x, int y) {
+            operation(SET_POSITION);
+            string(nodeID);
+            value(x);
+            value(y);
+        }
+
+        private void operation(byte operation) {
+            operationCount++;
+            operationBytes.write(operation);
+        }
+
+        private void string(String string) {
+            Integer index = stringIndex.get(string);
+            if (index == null) {
+                index = strings.size();
+                stringIndex.put(string, index);
+                strings.add(string);
+            }
+            value(index);
+        }
+
+        private void value(int value) {
+            try {
+                operations.writeInt(value);
+            } catch (IOException e) {
+                // Ein ByteArrayOutputStream wirft keine IOException.
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Schreibt die Aufzeichnung mit dem Schlüssel als Kopf.
+         */
+        private void write(DataOutputStream out, Key key) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, key.path);
+            out.writeLong(key.size);
+            out.writeLong(key.lastModified);
+            out.writeInt(key.checksum);
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(out, string);
+            }
+            out.writeInt(operationCount);
+            operationBytes.writeTo(out);
+        }
+
+        private static void writeString(DataOutputStream out, String string) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Ein gelesener und geprüfter Eintrag.
+     */
+    private static final class Entry {
+        private final String[] strings;
+        private final byte[] operations;
+        // Die Argumente aller Operationen hintereinander
+        private final int[] arguments;
+
+        private Entry(String[] strings, byte[] operations, int[] arguments) {
+            this.strings = strings;
+            this.operations = operations;
+            this.arguments = arguments;
+        }
+
+        /**
+         * Liest einen Eintrag.
+         *
+         * @param buffer der Inhalt der Binärdatei.
+         * @param key    der erwartete {@link Key}.
+         * @return der {@link Entry} oder <code>null</code>, wenn der Eintrag zu
+         *         einer anderen Version der PNML-Datei gehört.
+         * @throws IllegalArgumentException wenn der Eintrag fehlerhaft ist.
+         */
+        private static Entry read(ByteBuffer buffer, Key key) {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            if (!readString(buffer).equals(key.path) || buffer.getLong() != key.size
+                    || buffer.getLong() != key.lastModified || buffer.getInt() != key.checksum) {
+                return null;
+            }
+            // Jede Zeichenkette belegt mindestens ihre Länge.
+            String[] strings = new String[readCount(buffer, Integer.BYTES)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+            // Jede Operation belegt mindestens ihre Kennung und einen Verweis.
+            byte[] operations = new byte[readCount(buffer, 1 + Integer.BYTES)];
+            int[] arguments = new int[buffer.remaining() / Integer.BYTES];
+            int argumentCount = 0;
+            for (int i = 0; i < operations.length; i++) {
+                operations[i] = buffer.get();
+                int stringArguments;
+                int valueArguments;
+                switch (operations[i]) {
+                case ADD_PLACE:
+                case ADD_TRANSITION:
+                    stringArguments = 1;
+                    valueArguments = 0;
+                    break;
+                case ADD_ARC:
+                    stringArguments = 3;
+                    valueArguments = 0;
+                    break;
+                case SET_NAME:
+                    stringArguments = 2;
+                    valueArguments = 0;
+                    break;
+                case SET_POSITION:
+                    stringArguments = 1;
+                    valueArguments = 2;
+                    break;
+                case SET_TOKENS:
+                    stringArguments = 1;
+                    valueArguments = 1;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unbekannte Operation " + operations[i] + ".");
+                }
+                for (int j = 0; j < stringArguments; j++) {
+                    int index = buffer.getInt();
+                    if (index < 0 || index >= strings.length) {
+                        throw new IllegalArgumentException("Ungültiger Verweis " + index + ".");
+                    }
+                    arguments[argumentCount++] = index;
+                }
+                for (int j = 0; j < valueArguments; j++) {
+                    arguments[argumentCount++] = buffer.getInt();
+                }
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Unerwartete Daten am Ende des Eintrages.");
+            }
+            return new Entry(strings, operations, arguments);
+        }
+
+        /**
+         * Liest eine Anzahl und prüft sie gegen die verbleibenden Daten.
+         *
+         * @param buffer      der Inhalt der Binärdatei.
+         * @param minimumSize die kleinste Größe eines Elementes in Bytes.
+         * @return die Anzahl.
+         * @throws IllegalArgumentException wenn die Anzahl negativ ist oder die
+         *                                  Elemente nicht in die verbleibenden
+         *                                  Daten passen.
+         */
+        private static int readCount(ByteBuffer buffer, int minimumSize) {
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / minimumSize) {
+                throw new IllegalArgumentException("Ungültige Anzahl " + count + ".");
+            }
+            return count;
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Ungültige Länge " + length + ".");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Führt die aufgezeichneten Operationen auf einem
+         * {@link AbstractPetrinet} aus.
+         *
+         * @param petrinetModel das {@link AbstractPetrinet}.
+         */
+        private void replay(AbstractPetrinet petrinetModel) {
+            int a = 0;
+            for (byte operation : operations) {
+                switch (operation) {
+                case ADD_PLACE:
+                    petrinetModel.addPlace(strings[arguments[a++]]);
+                    break;
+                case ADD_TRANSITION:
+                    petrinetModel.addTransition(strings[arguments[a++]]);
+                    break;
+                case ADD_ARC:
+                    petrinetModel.addArc(strings[arguments[a]], strings[arguments[a + 1]], strings[arguments[a + 2]]);
+                    a += 3;
+                    break;
+                case SET_NAME:
+                    petrinetModel.setPetrinetNodeName(strings[arguments[a]], strings[arguments[a + 1]]);
+                    a += 2;
+                    break;
+                case SET_POSITION:
+                    petrinetModel.setPetrinetNodePosition(strings[arguments[a]], arguments[a + 1], arguments[a + 2]);
+                    a += 3;
+                    break;
+                default:
+                    petrinetModel.initPlaceTokens(strings[arguments[a]], arguments[a + 1]);
+                    a += 2;
+                    break;
+                }
+            }
+        }
+    }
+}
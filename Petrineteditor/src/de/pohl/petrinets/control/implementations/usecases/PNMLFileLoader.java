@@ -0,0 +1,97 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.io.File;
+
+import de.pohl.petrinets.control.AbstractPetrinetController;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.Petrinet;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.model.reachabilitygraph.DiskReachabilitygraph;
+import de.pohl.petrinets.model.reachabilitygraph.Reachabilitygraph;
+
+/**
+ * Eine Anwendungsfallklasse für das Laden einer PNML-Datei ohne graphische
+ * Darstellung.
+ * <p>
+ * Sie erstellt ein {@link AbstractPetrinet} und ein
+ * {@link AbstractReachabilitygraph}, übergibt beides einem
+ * {@link AbstractPetrinetController} und parst die PNML-Datei. Die Klasse
+ * referenziert keine View-Komponenten und kann daher auch ohne Swing und
+ * GraphStream verwendet werden.
+ *
+ * @see PNMLFileOpener
+ */
+public class PNMLFileLoader {
+    private AbstractPetrinet petrinetModel;
+    private File pnmlFile;
+    private AbstractReachabilitygraph rGraphModel;
+    private PNMLFileCache cache = PNMLFileCache.getDefault();
+    private File stateStoreDirectory;
+
+    /**
+     * Erstellt einen neuen {@link PNMLFileLoader} zum Laden eines Petrinetzes.
+     *
+     * @param pnmlFile die PNML-Datei, die geladen werden soll als {@link File}.
+     */
+    public PNMLFileLoader(File pnmlFile) {
+        this.pnmlFile = pnmlFile;
+    }
+
+    /**
+     * Setzt den {@link PNMLFileCache}, über den die PNML-Datei geladen wird.
+     * Voreingestellt ist {@link PNMLFileCache#getDefault()}.
+     *
+     * @param cache ein {@link PNMLFileCache} oder <code>null</code>, um die
+     *              PNML-Datei immer zu lesen.
+     */
+    public void setCache(PNMLFileCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Legt ein Verzeichnis fest, in dem ein {@link DiskReachabilitygraph} seine
+     * Dateien ablegt. Ohne Verzeichnis wird ein {@link Reachabilitygraph} im
+     * Speicher erstellt.
+     *
+     * @param stateStoreDirectory das Verzeichnis oder <code>null</code>
+     *                            (Voreinstellung).
+     */
+    public void setStateStoreDirectory(File stateStoreDirectory) {
+        this.stateStoreDirectory = stateStoreDirectory;
+    }
+
+    /**
+     * Erstellt eine {@link AbstractPetrinet} und eine
+     * {@link AbstractReachabilitygraph} und übergibt diese an den
+     * {@link AbstractPetrinetController}.
+     *
+     * @param abstractPetrinetController ein {@link AbstractPetrinetController}
+     */
+    public void initModels(AbstractPetrinetController abstractPetrinetController) {
+        petrinetModel = new Petrinet(pnmlFile);
+        rGraphModel = stateStoreDirectory == null ? new Reachabilitygraph()
+                : new DiskReachabilitygraph(stateStoreDirectory);
+        abstractPetrinetController.setPetrinetModel(petrinetModel);
+        abstractPetrinetController.setRGraphModel(rGraphModel);
+    }
+
+    /**
+     * Lädt die PNML-Datei für einen {@link AbstractPetrinetController}, der die
+     * Analyse ohne graphische Darstellung durchführt.
+     *
+     * @param abstractPetrinetController ein {@link AbstractPetrinetController}.
+     */
+    public void load(AbstractPetrinetController abstractPetrinetController) {
+        initModels(abstractPetrinetController);
+        parsePNMLFile();
+    }
+
+    /**
+     * Startet das Parsen der PNML-Datei.
+     */
+    public void parsePNMLFile() {
+        PNMLFileParser pnmlFileParser = new PNMLFileParser(petrinetModel, rGraphModel);
+        pnmlFileParser.setCache(cache);
+        pnmlFileParser.run();
+    }
+}
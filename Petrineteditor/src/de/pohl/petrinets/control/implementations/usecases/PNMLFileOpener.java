@@ -2,28 +2,23 @@ package de.pohl.petrinets.control.implementations.usecases;
 
 import java.io.File;
 
-import de.pohl.petrinets.control.AbstractPetrinetController;
-import de.pohl.petrinets.control.implementations.MultiPetrinetController;
 import de.pohl.petrinets.control.implementations.SinglePetrinetController;
 import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
-import de.pohl.petrinets.model.petrinet.Petrinet;
 import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
-import de.pohl.petrinets.model.reachabilitygraph.Reachabilitygraph;
 
 /**
  * Eine Anwendungsfallklasse für das Öffnen einer PNML-Datei.
  * <p>
  * Sie erstellt ein {@link AbstractPetrinet} und ein
  * {@link AbstractReachabilitygraph} und übergibt beides einem
- * {@link AbstractPetrinetController}. <br>
- * Ist der {@link AbstractPetrinetController} ein
- * {@link SinglePetrinetController}, so werden auch die Komponenten für die
+ * {@link SinglePetrinetController}. Zusätzlich werden die Komponenten für die
  * Darstellung der Modelldaten erzeugt und übergeben.
+ * <p>
+ * Für das Laden ohne graphische Darstellung wird der {@link PNMLFileLoader}
+ * verwendet.
  */
 public class PNMLFileOpener {
-    private AbstractPetrinet petrinetModel;
-    private File pnmlFile;
-    private AbstractReachabilitygraph rGraphModel;
+    private PNMLFileLoader pnmlFileLoader;
 
     /**
      * Erstellt einen neuen {@link PNMLFileOpener} zum Öffnen eines Petrinetzes.<br>
@@ -31,18 +26,7 @@ public class PNMLFileOpener {
      * @param pnmlFile die PNML-Datei, die geöffnet werden soll als {@link File}.
      */
     public PNMLFileOpener(File pnmlFile) {
-        this.pnmlFile = pnmlFile;
-    }
-
-    /**
-     * Startet das Öffnen einer PNML-Datei für die Durchführung der
-     * Beschränktheitsanalyse für eine Menge von Petrinetz Dateien.
-     *
-     * @param multiPetrinetController ein {@link MultiPetrinetController}.
-     */
-    public void openForBatchAction(MultiPetrinetController multiPetrinetController) {
-        initModels(multiPetrinetController);
-        parsePNMLFile();
+        this.pnmlFileLoader = new PNMLFileLoader(pnmlFile);
     }
 
     /**
@@ -51,23 +35,9 @@ public class PNMLFileOpener {
      * @param singlePetrinetController ein {@link SinglePetrinetController}.
      */
     public void openForVisualRepresentation(SinglePetrinetController singlePetrinetController) {
-        initModels(singlePetrinetController);
+        pnmlFileLoader.initModels(singlePetrinetController);
         initVisualComponents(singlePetrinetController);
-        parsePNMLFile();
-    }
-
-    /**
-     * Erstellt eine {@link AbstractPetrinet} und eine
-     * {@link AbstractReachabilitygraph} und übergibt diese an den
-     * {@link AbstractPetrinetController}.
-     *
-     * @param abstractPetrinetController ein {@link AbstractPetrinetController}
-     */
-    private void initModels(AbstractPetrinetController abstractPetrinetController) {
-        petrinetModel = new Petrinet(pnmlFile);
-        rGraphModel = new Reachabilitygraph();
-        abstractPetrinetController.setPetrinetModel(petrinetModel);
-        abstractPetrinetController.setRGraphModel(rGraphModel);
+        pnmlFileLoader.parsePNMLFile();
     }
 
     /**
@@ -77,18 +47,10 @@ public class PNMLFileOpener {
      * @param petrinetController ein {@link SinglePetrinetController}.
      */
     private void initVisualComponents(SinglePetrinetController petrinetController) {
-        petrinetModel.addPropertyChangeListener(petrinetController);
+        petrinetController.addPetrinetPropertyChangeListener(petrinetController);
         VisualPetrinetInitializer vpi = new VisualPetrinetInitializer(petrinetController);
         vpi.run();
         VisualRGraphInitializer vri = new VisualRGraphInitializer(petrinetController);
         vri.run();
     }
-
-    /**
-     * Startet das Parsen der PNML-Datei.
-     */
-    private void parsePNMLFile() {
-        PNMLFileParser pnmlFileParser = new PNMLFileParser(petrinetModel, rGraphModel);
-        pnmlFileParser.run();
-    }
 }
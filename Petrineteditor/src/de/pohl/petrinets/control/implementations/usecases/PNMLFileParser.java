@@ -1,15 +1,46 @@
 package de.pohl.petrinets.control.implementations.usecases;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import de.pohl.petrinets.model.petrinet.*;
 import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
-import propra.pnml.PNMLWopedParser;
 
 /**
  * Eine Anwendungsfallklasse für das Parsen einer PNML-Datei.
+ * <p>
+ * Die PNML-Datei wird mit einem {@link XMLStreamReader} in einem Durchlauf
+ * gelesen, ohne sie vollständig im Speicher abzulegen. Ausgewertet werden wie
+ * beim PNMLWopedParser die Stellen, Transitionen und Kanten mit ihren Namen,
+ * Positionen und initialen Marken.
+ * <p>
+ * Ist ein {@link PNMLFileCache} gesetzt, wird das Petrinetz aus dessen Eintrag
+ * aufgebaut, solange sich die PNML-Datei nicht geändert hat. Andernfalls wird
+ * die PNML-Datei gelesen und das Ergebnis im {@link PNMLFileCache} abgelegt.
  */
-public class PNMLFileParser extends PNMLWopedParser {
+public class PNMLFileParser {
     private AbstractPetrinet petrinetModel;
     private AbstractReachabilitygraph rGraphModel;
+    private PNMLFileCache cache;
+    // Die Aufzeichnung für den PNMLFileCache oder null, wenn nicht aufgezeichnet
+    // wird.
+    private PNMLFileCache.Recording recording;
+    // Die ID der Stelle oder Transition, deren Element gerade gelesen wird.
+    private String nodeID;
+    private boolean inName;
+    private boolean inInitialMarking;
+    // Der Inhalt des aktuellen text-Elementes oder null, wenn er nicht benötigt
+    // wird.
+    private StringBuilder text;
 
     /**
      * Erstellt einen neuen {@link PNMLFileParser}.
@@ -18,76 +49,180 @@ public class PNMLFileParser extends PNMLWopedParser {
      * @param rGraphModel   ein {@link AbstractReachabilitygraph}.
      */
     public PNMLFileParser(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
-        super(petrinetModel.getPNMLFile());
         this.petrinetModel = petrinetModel;
         this.rGraphModel = rGraphModel;
     }
 
     /**
-     * Erstellt einen neuen {@link Arc}.
-     */
-    @Override
-    public void newArc(String id, String source, String target) {
-        super.newArc(id, source, target);
-        petrinetModel.addArc(id, source, target);
-    }
-
-    /**
-     * Erstellt eine neue {@link Place}.
-     */
-    @Override
-    public void newPlace(String id) {
-        super.newPlace(id);
-        petrinetModel.addPlace(id);
-    }
-
-    /**
-     * Erstellt eine neue {@link Transition}.
+     * Setzt den {@link PNMLFileCache}, der beim Einlesen verwendet wird.
+     *
+     * @param cache ein {@link PNMLFileCache} oder <code>null</code>, um die
+     *              PNML-Datei immer zu lesen.
      */
-    @Override
-    public void newTransition(String id) {
-        super.newTransition(id);
-        petrinetModel.addTransition(id);
+    public void setCache(PNMLFileCache cache) {
+        this.cache = cache;
     }
 
     /**
      * Startet das Parsen der angegebenen PNML-Datei und initiiert den
      * Erreichbarkeitsgraphen.
+     *
+     * @throws IllegalArgumentException wenn die PNML-Datei nicht gelesen werden
+     *                                  kann oder ungültige Werte enthält.
      */
     public void run() {
-        this.initParser();
-        this.parse();
+        PNMLFileCache.Key key = cache != null ? cache.createKey(petrinetModel.getPNMLFile()) : null;
+        if (key == null || !cache.load(key, petrinetModel)) {
+            if (key != null) {
+                recording = new PNMLFileCache.Recording();
+            }
+            try {
+                this.parse();
+                if (recording != null) {
+                    cache.store(key, recording);
+                }
+            } finally {
+                recording = null;
+            }
+        }
+        // Die kompilierte Struktur einmalig nach dem Einlesen erzeugen.
+        petrinetModel.getCompiledPetrinet();
         petrinetModel.checkAllTransitionstate();
         rGraphModel.addInitialMarking(petrinetModel.getInitialMarking(), petrinetModel.getActiveTransitionIDs());
     }
 
     /**
-     * Ändert den Namen eines {@link AbstractPetrinetNode}.
+     * Liest die PNML-Datei des {@link AbstractPetrinet}.
      */
-    @Override
-    public void setName(String id, String name) {
-        super.setName(id, name);
-        petrinetModel.setPetrinetNodeName(id, name);
+    private void parse() {
+        File pnmlFile = petrinetModel.getPNMLFile();
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Keine DTDs und externen Entitäten auflösen.
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(pnmlFile))) {
+            XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement(reader);
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endElement(reader);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (text != null) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    default:
+                        break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new IllegalArgumentException("Die PNML-Datei " + pnmlFile.getName() + " konnte nicht gelesen werden.",
+                    e);
+        }
     }
 
     /**
-     * Ändert die Position eines {@link AbstractPetrinetNode}.
+     * Verarbeitet den Beginn eines Elementes.
+     *
+     * @param reader der {@link XMLStreamReader}, der auf dem Element steht.
      */
-    @Override
-    public void setPosition(String id, String x, String y) {
-        super.setPosition(id, x, y);
-        int intX = Integer.parseInt(x);
-        int intY = Integer.parseInt(y);
-        petrinetModel.setPetrinetNodePosition(id, intX, intY);
+    private void startElement(XMLStreamReader reader) {
+        switch (reader.getLocalName().toLowerCase(Locale.ROOT)) {
+        case "place":
+            nodeID = reader.getAttributeValue(null, "id");
+            petrinetModel.addPlace(nodeID);
+            if (recording != null) {
+                recording.addPlace(nodeID);
+            }
+            break;
+        case "transition":
+            nodeID = reader.getAttributeValue(null, "id");
+            petrinetModel.addTransition(nodeID);
+            if (recording != null) {
+                recording.addTransition(nodeID);
+            }
+            break;
+        case "arc":
+            String arcID = reader.getAttributeValue(null, "id");
+            String sourceID = reader.getAttributeValue(null, "source");
+            String targetID = reader.getAttributeValue(null, "target");
+            petrinetModel.addArc(arcID, sourceID, targetID);
+            if (recording != null) {
+                recording.addArc(arcID, sourceID, targetID);
+            }
+            break;
+        case "name":
+            inName = true;
+            break;
+        case "initialmarking":
+            inInitialMarking = true;
+            break;
+        case "text":
+            if (nodeID != null && (inName || inInitialMarking)) {
+                text = new StringBuilder();
+            }
+            break;
+        case "position":
+            if (nodeID != null && !inName) {
+                int x = Integer.parseInt(reader.getAttributeValue(null, "x"));
+                int y = Integer.parseInt(reader.getAttributeValue(null, "y"));
+                petrinetModel.setPetrinetNodePosition(nodeID, x, y);
+                if (recording != null) {
+                    recording.setPetrinetNodePosition(nodeID, x, y);
+                }
+            }
+            break;
+        default:
+            break;
+        }
     }
 
     /**
-     * Ändert die Anzahl der initialen Marken einer {@link Place}.
+     * Verarbeitet das Ende eines Elementes.
+     *
+     * @param reader der {@link XMLStreamReader}, der auf dem Element steht.
      */
-    @Override
-    public void setTokens(String id, String tokens) {
-        super.setTokens(id, tokens);
-        int intTokens = Integer.parseInt(tokens);
-        petrinetModel.initPlaceTokens(id, intTokens);
+    private void endElement(XMLStreamReader reader) {
+        switch (reader.getLocalName().toLowerCase(Locale.ROOT)) {
+        case "place":
+        case "transition":
+            nodeID = null;
+            break;
+        case "name":
+            inName = false;
+            break;
+        case "initialmarking":
+            inInitialMarking = false;
+            break;
+        case "text":
+            if (text != null) {
+                String value = text.toString().trim();
+                text = null;
+                if (inName) {
+                    petrinetModel.setPetrinetNodeName(nodeID, value);
+                    if (recording != null) {
+                        recording.setPetrinetNodeName(nodeID, value);
+                    }
+                } else {
+                    int tokens = Integer.parseInt(value);
+                    petrinetModel.initPlaceTokens(nodeID, tokens);
+                    if (recording != null) {
+                        recording.initPlaceTokens(nodeID, tokens);
+                    }
+                }
+            }
+            break;
+        default:
+            break;
+        }
     }
 }
@@ -1,6 +1,8 @@
 package de.pohl.petrinets.control.implementations.usecases;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
 import de.pohl.petrinets.model.reachabilitygraph.*;
 
@@ -9,9 +11,7 @@ import de.pohl.petrinets.model.reachabilitygraph.*;
  * {@link RGraphNode} in einem {@link AbstractReachabilitygraph}.
  */
 public class RGraphBFS {
-    private ArrayList<String> queue = new ArrayList<>();
     private AbstractReachabilitygraph rGraph;
-    private ArrayList<String> visitedNodes = new ArrayList<>();
 
     /**
      * Erstellt einen neunen {@link RGraphBFS} zur Suche nach der ID eines
@@ -30,9 +30,9 @@ public class RGraphBFS {
      *                     {@link String}.
      * @return Eine {@link ArrayList} mit {@link String}-Werten, die die IDs der
      *         {@link RGraphEdge} auf dem Pfad vom Wurzelknoten zum angegebenen
-     *         {@link RGraphNode}.<br>
-     *         Ist <code>null</code>, wenn kein Pfad exisitert oder der Startknoten
-     *         und der gesuchte Knoten identsich sind.
+     *         {@link RGraphNode}. Sind Startknoten und gesuchter Knoten identisch,
+     *         ist die Liste leer.<br>
+     *         Ist <code>null</code>, wenn kein Pfad exisitert.
      */
     public ArrayList<String> run(String targetNodeID) {
         return bfs(rGraph.getInitialNodeID(), targetNodeID);
@@ -42,9 +42,13 @@ public class RGraphBFS {
      * Durchläuft den Graphen in BFS auf der Suche nach der ID des Zielknoten und
      * gibt den kürzesten Pfad zu diesen Knoten zurück.
      * <p>
-     * Der Algorithmus baut solange einen Spannbaum auf, bis der Knoten mit der ID
-     * gefunden wurde. Die letztendliche Ermittlung des Pfades in diesem Spannbaum
-     * übernimmt {@link #getEdgePath(ArrayList, String, String)}.
+     * Es werden ausschließlich die Nummern der Knoten und Kanten des
+     * {@link AbstractReachabilitygraph} verwendet. Zu jedem Knoten wird die Kante
+     * gespeichert, über die er entdeckt wurde, sodass der Pfad anschließend in
+     * {@link #getEdgePath(int[], int)} ohne erneute Suche vom Zielknoten aus
+     * zurückverfolgt werden kann. Da jeder Knoten nur einmal in die Warteschlange
+     * gelangt, genügt für diese ein Feld mit einem Lese- und einem Schreibindex.
+     * Die Laufzeit ist damit linear in der Anzahl der Knoten und Kanten.
      *
      * @param startNodeID  die ID als {@link String} des {@link RGraphNode} als
      *                     Startknoten, von dem aus gesucht werden soll.
@@ -52,27 +56,34 @@ public class RGraphBFS {
      *                     Zielknoten, der gesucht wird.
      * @return Eine {@link ArrayList} mit {@link String}-Werten der IDs der
      *         {@link RGraphEdge} auf dem Pfad vom Startknoten zum Zielknoten.<br>
-     *         Ist <code>null</code>, wenn kein Pfad exisitert oder der Startknoten
-     *         und der gesuchte Knoten identsich sind.
+     *         Ist <code>null</code>, wenn kein Pfad exisitert.
      */
     private ArrayList<String> bfs(String startNodeID, String targetNodeID) {
-        // Liste mit Kanten eines minimalen aufspannenden Baumes
-        ArrayList<String> spanningTreeEdges = new ArrayList<>();
-        visitedNodes.add(startNodeID);
-        queue.add(startNodeID);
-        while (!queue.isEmpty()) {
-            String currentNodeID = queue.remove(0);
+        int startNode = rGraph.getNodeNumber(startNodeID);
+        int targetNode = rGraph.getNodeNumber(targetNodeID);
+        if (startNode < 0 || targetNode < 0) return null;
+        // Kante, über die ein Knoten entdeckt wurde, nach Knotennummer. Noch nicht
+        // entdeckte Knoten haben den Wert -2, der Startknoten den Wert -1.
+        int[] parentEdges = new int[rGraph.countNodes()];
+        Arrays.fill(parentEdges, -2);
+        int[] queue = new int[parentEdges.length];
+        int head = 0;
+        int tail = 0;
+        parentEdges[startNode] = -1;
+        queue[tail++] = startNode;
+        while (head < tail) {
+            int currentNode = queue[head++];
             // Abbruchkriterium
-            if (currentNodeID.equals(targetNodeID)) {
-                return getEdgePath(spanningTreeEdges, startNodeID, targetNodeID);
+            if (currentNode == targetNode) {
+                return getEdgePath(parentEdges, currentNode);
             }
             // Nachbarschaft ermitteln
-            for (String outboundEdge : rGraph.getNodeOutboundEdges(currentNodeID)) {
-                String nextNode = rGraph.getEdgeTargetID(outboundEdge);
-                if (!visitedNodes.contains(nextNode)) {
-                    visitedNodes.add(nextNode);
-                    queue.add(nextNode);
-                    spanningTreeEdges.add(outboundEdge);
+            for (int i = 0; i < rGraph.countNodeOutboundEdges(currentNode); i++) {
+                int outboundEdge = rGraph.getNodeOutboundEdge(currentNode, i);
+                int nextNode = rGraph.getEdgeTarget(outboundEdge);
+                if (parentEdges[nextNode] == -2) {
+                    parentEdges[nextNode] = outboundEdge;
+                    queue[tail++] = nextNode;
                 }
             }
         }
@@ -80,33 +91,22 @@ public class RGraphBFS {
     }
 
     /**
-     * Ermittelt den Pfad vom Startknoten zum gesuchten Knoten im übergebenen
-     * Spannbaum.
-     * <p>
-     * Der Algorithmus durchläuft den Spannbaum rückwärts vom Zielknoten zum
-     * Startknoten.
+     * Ermittelt den Pfad vom Startknoten zum gesuchten Knoten über die beim
+     * Entdecken gespeicherten Kanten.
      *
-     * @param spanningTreeEdges eine {@link ArrayList} mit {@link String}-Werten der
-     *                          IDs der {@link RGraphEdge} des Spannbaumes.
-     * @param startNodeID       die ID des Startknotens als {@link String}.
-     * @param targetNodeID      die ID des Zielknotens als {@link String}.
+     * @param parentEdges die Nummern der {@link RGraphEdge}, über die die Knoten
+     *                    entdeckt wurden, nach Knotennummer. Der Startknoten hat
+     *                    den Wert -1.
+     * @param targetNode  die Nummer des Zielknotens.
      * @return Eine {@link ArrayList} mit {@link String}-Werten der IDs der
      *         {@link RGraphEdge} auf dem Pfad vom Startknoten zum Zielknoten.
      */
-    private ArrayList<String> getEdgePath(ArrayList<String> spanningTreeEdges, String startNodeID,
-            String targetNodeID) {
+    private ArrayList<String> getEdgePath(int[] parentEdges, int targetNode) {
         ArrayList<String> edgePath = new ArrayList<>();
-        String currentNode = targetNodeID;
-        while (!currentNode.equals(startNodeID)) {
-            for (String edge : spanningTreeEdges) {
-                if (rGraph.getEdgeTargetID(edge).equals(currentNode)) {
-                    edgePath.add(0, edge);
-                    currentNode = rGraph.getEdgeSourceID(edge);
-                    spanningTreeEdges.remove(edge);
-                    break;
-                }
-            }
+        for (int node = targetNode; parentEdges[node] >= 0; node = rGraph.getEdgeSource(parentEdges[node])) {
+            edgePath.add(rGraph.getEdgeID(parentEdges[node]));
         }
+        Collections.reverse(edgePath);
         return edgePath;
     }
 }
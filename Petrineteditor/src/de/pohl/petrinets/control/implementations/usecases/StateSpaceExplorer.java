@@ -0,0 +1,358 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.CompiledPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.petrinet.Transition;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.model.reachabilitygraph.RGraphEdge;
+import de.pohl.petrinets.model.reachabilitygraph.RGraphNode;
+
+/**
+ * Eine Anwendungsfallklasse für die Erkundung des Zustandsraumes eines
+ * Petrinetzes.
+ * <p>
+ * Ausgehend vom Wurzelknoten eines {@link AbstractReachabilitygraph} werden auf
+ * jeder Markierung alle aktivierten {@link Transition} geschaltet und die
+ * Folgemarkierungen in den {@link AbstractReachabilitygraph} eingefügt. Nach
+ * jeder neuen {@link RGraphEdge} wird eine Beschränktheitsanalyse für deren
+ * Zielknoten durchgeführt.
+ * <p>
+ * Anstelle einer Rekursion wird eine explizite Arbeitsliste verwendet. Dadurch
+ * ist die Suchtiefe nicht durch den Aufrufstapel begrenzt. Geschaltet wird
+ * ausschließlich auf dem {@link CompiledPetrinet} mit unveränderlichen
+ * {@link Marking}-Instanzen, das {@link AbstractPetrinet} selbst wird nicht
+ * verändert.
+ *
+ * @see BoundednessAnalyser
+ */
+public class StateSpaceExplorer {
+    /**
+     * Die Reihenfolge, in der die Markierungen erkundet werden.
+     */
+    public enum Mode {
+        /**
+         * Tiefensuche. Entspricht der Reihenfolge der bisherigen rekursiven
+         * Simulation.
+         */
+        DFS,
+        /**
+         * Breitensuche. Findet Markierungen mit geringer Schalttiefe zuerst.
+         */
+        BFS
+    }
+
+    /**
+     * Das Ergebnis einer Erkundung.
+     */
+    public enum Status {
+        /**
+         * Der Zustandsraum wurde vollständig erkundet. Das Petrinetz ist
+         * beschränkt.
+         */
+        COMPLETE,
+        /**
+         * Es wurde eine Unbeschränktheit festgestellt.
+         */
+        UNBOUNDED,
+        /**
+         * Die Erkundung wurde wegen einer Tiefen- oder Zustandsgrenze beendet,
+         * bevor ein Ergebnis feststand.
+         */
+        LIMIT_REACHED,
+        /**
+         * Die Erkundung wurde wegen einer Zeitüberschreitung beendet, bevor ein
+         * Ergebnis feststand.
+         */
+        TIMED_OUT,
+        /**
+         * Die Erkundung wurde durch eine Unterbrechung des ausführenden
+         * {@link Thread} abgebrochen.
+         */
+        CANCELLED
+    }
+
+    /**
+     * Die Anzahl der Schritte zwischen zwei Prüfungen auf Unterbrechung und
+     * Zeitüberschreitung.
+     */
+    static final int INTERRUPT_CHECK_INTERVAL = 1024;
+
+    /**
+     * Ein Beobachter, der über den Fortschritt einer Erkundung informiert wird.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Wird in regelmäßigen Abständen während der Erkundung aufgerufen.
+         *
+         * @param states die Anzahl der bisher gefundenen Markierungen.
+         * @param edges  die Anzahl der bisher gefundenen Schaltvorgänge.
+         * @param depth  die größte bisher erreichte Schalttiefe.
+         */
+        void onProgress(int states, int edges, int depth);
+    }
+
+    /**
+     * Ein Eintrag der Arbeitsliste.
+     */
+    private static final class WorkItem {
+        private final int depth;
+        private final int[] enabledTransitions;
+        private final Marking marking;
+        private int next;
+        private final int rGraphNode;
+
+        private WorkItem(int rGraphNode, Marking marking, int[] enabledTransitions, int depth) {
+            this.rGraphNode = rGraphNode;
+            this.marking = marking;
+            this.enabledTransitions = enabledTransitions;
+            this.depth = depth;
+        }
+    }
+
+    private boolean boundednessCheck = true;
+    private final CompiledPetrinet compiledPetrinet;
+    private long deadline;
+    private int exploredDepth;
+    private boolean limitReached;
+    private int maxDepth;
+    private int maxStates;
+    private Mode mode = Mode.DFS;
+    private int progressInterval = 1000;
+    private ProgressListener progressListener;
+    private int progressThreshold;
+    private final AbstractReachabilitygraph rGraphModel;
+    private ArrayList<String> unboundedEdgePath;
+    private int unboundedInboundEdge = -1;
+    private int unboundedNode = -1;
+
+    /**
+     * Erzeugt einen neuen {@link StateSpaceExplorer}.
+     *
+     * @param compiledPetrinet das {@link CompiledPetrinet}, auf dem geschaltet
+     *                         wird.
+     * @param rGraphModel      der {@link AbstractReachabilitygraph}, der mit dem
+     *                         initialen Knoten vorbelegt ist und während der
+     *                         Erkundung erweitert wird.
+     */
+    public StateSpaceExplorer(CompiledPetrinet compiledPetrinet, AbstractReachabilitygraph rGraphModel) {
+        this.compiledPetrinet = compiledPetrinet;
+        this.rGraphModel = rGraphModel;
+    }
+
+    /**
+     * Liefert die größte während der Erkundung erreichte Schalttiefe.
+     *
+     * @return die Schalttiefe.
+     */
+    public int getExploredDepth() {
+        return exploredDepth;
+    }
+
+    /**
+     * Liefert den Pfad der Unbeschränktheit von m nach m' zurück.
+     *
+     * @return Eine {@link ArrayList} mit den IDs der {@link RGraphEdge} oder
+     *         <code>null</code>, wenn keine Unbeschränktheit festgestellt wurde.
+     * @see BoundednessAnalyser#run(String)
+     */
+    public ArrayList<String> getUnboundedEdgePath() {
+        return unboundedEdgePath;
+    }
+
+    /**
+     * Liefert die ID der {@link RGraphEdge}, über die der Knoten m' erreicht
+     * wurde.
+     *
+     * @return die ID der {@link RGraphEdge} oder <code>null</code>, wenn keine
+     *         Unbeschränktheit festgestellt wurde oder m' der Wurzelknoten ist.
+     */
+    public String getUnboundedInboundEdgeID() {
+        return unboundedInboundEdge < 0 ? null : rGraphModel.getEdgeID(unboundedInboundEdge);
+    }
+
+    /**
+     * Liefert die ID des {@link RGraphNode} m', bei dem die Unbeschränktheit
+     * festgestellt wurde.
+     *
+     * @return die ID des {@link RGraphNode} oder <code>null</code>, wenn keine
+     *         Unbeschränktheit festgestellt wurde.
+     */
+    public String getUnboundedNodeID() {
+        return unboundedNode < 0 ? null : rGraphModel.getNodeID(unboundedNode);
+    }
+
+    /**
+     * Startet die Erkundung am Wurzelknoten des {@link AbstractReachabilitygraph}.
+     *
+     * @return der {@link Status} der Erkundung.
+     */
+    public Status run() {
+        int initialNode = rGraphModel.getNodeNumber(rGraphModel.getInitialNodeID());
+        Marking initialMarking = rGraphModel.getNodeMarking(initialNode);
+        ArrayDeque<WorkItem> workList = new ArrayDeque<>();
+        progressThreshold = progressInterval;
+        if (visit(workList, initialNode, initialMarking, -1, 0)) return Status.UNBOUNDED;
+        // Mit Beschränktheitsanalyse ist jeder Schritt teuer genug, um immer zu
+        // prüfen.
+        int checkInterval = boundednessCheck ? 1 : INTERRUPT_CHECK_INTERVAL;
+        int steps = 0;
+        while (!workList.isEmpty()) {
+            if (++steps == checkInterval) {
+                steps = 0;
+                Status interruption = checkInterruption(deadline);
+                if (interruption != null) return interruption;
+            }
+            WorkItem item = mode == Mode.DFS ? workList.peekLast() : workList.peekFirst();
+            if (item.next == item.enabledTransitions.length) {
+                if (mode == Mode.DFS) {
+                    workList.pollLast();
+                } else {
+                    workList.pollFirst();
+                }
+                continue;
+            }
+            int transition = item.enabledTransitions[item.next++];
+            Marking nextMarking = compiledPetrinet.fire(transition, item.marking);
+            int rGraphEdge = rGraphModel.addMarkingEdge(compiledPetrinet.getTransitionID(transition),
+                    compiledPetrinet.getTransitionName(transition), item.marking, nextMarking,
+                    compiledPetrinet.getEnabledTransitionIDs(nextMarking));
+            if (rGraphEdge >= 0) {
+                reportProgress();
+                int nextNode = rGraphModel.getEdgeTarget(rGraphEdge);
+                if (visit(workList, nextNode, nextMarking, rGraphEdge, item.depth + 1)) return Status.UNBOUNDED;
+                if (maxStates > 0 && rGraphModel.countNodes() >= maxStates) {
+                    limitReached = true;
+                    break;
+                }
+            }
+        }
+        if (progressListener != null) {
+            progressListener.onProgress(rGraphModel.countNodes(), rGraphModel.countEdges(), exploredDepth);
+        }
+        return limitReached ? Status.LIMIT_REACHED : Status.COMPLETE;
+    }
+
+    /**
+     * Legt fest, ob für jeden neu erreichten Knoten eine Beschränktheitsanalyse
+     * durchgeführt wird. Ist die Beschränktheit bereits bekannt, z.B. durch einen
+     * {@link CoverabilityAnalyser}, kann die Analyse entfallen.
+     *
+     * @param boundednessCheck <code>true</code> für eine Beschränktheitsanalyse
+     *                         (Standard).
+     */
+    public void setBoundednessCheck(boolean boundednessCheck) {
+        this.boundednessCheck = boundednessCheck;
+    }
+
+    /**
+     * Legt einen Zeitpunkt fest, nach dem die Erkundung mit
+     * {@link Status#TIMED_OUT} beendet wird.
+     *
+     * @param deadline der Zeitpunkt im Format von {@link System#nanoTime()} oder 0
+     *                 für keine Begrenzung.
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Legt die größte Schalttiefe fest, bis zu der Markierungen weiter erkundet
+     * werden.
+     *
+     * @param maxDepth die größte Schalttiefe oder 0 für keine Begrenzung.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(0, maxDepth);
+    }
+
+    /**
+     * Legt die größte Anzahl an Markierungen fest, nach der die Erkundung beendet
+     * wird.
+     *
+     * @param maxStates die größte Anzahl an Markierungen oder 0 für keine
+     *                  Begrenzung.
+     */
+    public void setMaxStates(int maxStates) {
+        this.maxStates = Math.max(0, maxStates);
+    }
+
+    /**
+     * Legt die Reihenfolge der Erkundung fest.
+     *
+     * @param mode der {@link Mode}.
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Legt einen {@link ProgressListener} fest.
+     *
+     * @param progressListener der {@link ProgressListener} oder
+     *                         <code>null</code>.
+     * @param interval         die Anzahl neuer Schaltvorgänge zwischen zwei
+     *                         Benachrichtigungen.
+     */
+    public void setProgressListener(ProgressListener progressListener, int interval) {
+        this.progressListener = progressListener;
+        this.progressInterval = Math.max(1, interval);
+    }
+
+    /**
+     * Prüft, ob der ausführende {@link Thread} unterbrochen oder der Zeitpunkt für
+     * eine Zeitüberschreitung erreicht wurde.
+     *
+     * @param deadline der Zeitpunkt im Format von {@link System#nanoTime()} oder 0.
+     * @return {@link Status#CANCELLED}, {@link Status#TIMED_OUT} oder
+     *         <code>null</code>, wenn weiter erkundet werden kann.
+     */
+    static Status checkInterruption(long deadline) {
+        if (Thread.currentThread().isInterrupted()) return Status.CANCELLED;
+        if (deadline != 0 && System.nanoTime() - deadline > 0) return Status.TIMED_OUT;
+        return null;
+    }
+
+    /**
+     * Benachrichtigt den {@link ProgressListener}, sobald seit der letzten
+     * Benachrichtigung genügend neue Schaltvorgänge gefunden wurden.
+     */
+    private void reportProgress() {
+        if (progressListener != null && rGraphModel.countEdges() >= progressThreshold) {
+            progressThreshold = rGraphModel.countEdges() + progressInterval;
+            progressListener.onProgress(rGraphModel.countNodes(), rGraphModel.countEdges(), exploredDepth);
+        }
+    }
+
+    /**
+     * Führt die Beschränktheitsanalyse für einen erreichten Knoten durch und
+     * nimmt diesen in die Arbeitsliste auf.
+     *
+     * @return <code>true</code>, wenn eine Unbeschränktheit festgestellt wurde.
+     */
+    private boolean visit(ArrayDeque<WorkItem> workList, int rGraphNode, Marking marking, int inboundEdge,
+            int depth) {
+        ArrayList<String> edgePath = boundednessCheck ? new BoundednessAnalyser(rGraphModel).run(rGraphNode) : null;
+        if (edgePath != null) {
+            unboundedEdgePath = edgePath;
+            unboundedNode = rGraphNode;
+            unboundedInboundEdge = inboundEdge;
+            return true;
+        }
+        exploredDepth = Math.max(exploredDepth, depth);
+        if (maxDepth > 0 && depth >= maxDepth) {
+            // Nachfolger werden nicht mehr erkundet. Existieren welche, ist das Ergebnis
+            // unvollständig.
+            if (compiledPetrinet.getEnabledTransitions(marking).length > 0) {
+                limitReached = true;
+            }
+            return false;
+        }
+        workList.addLast(new WorkItem(rGraphNode, marking, compiledPetrinet.getEnabledTransitions(marking), depth));
+        return false;
+    }
+}
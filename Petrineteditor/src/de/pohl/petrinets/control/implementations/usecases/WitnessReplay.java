@@ -0,0 +1,61 @@
+package de.pohl.petrinets.control.implementations.usecases;
+
+import java.util.ArrayList;
+
+import de.pohl.petrinets.model.petrinet.CompiledPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+import de.pohl.petrinets.presenter.SingleAnalysisResultPresenter;
+
+/**
+ * Fügt den Zeugenpfad eines unbeschränkten Petrinetzes in einen
+ * {@link AbstractReachabilitygraph} ein. Der Zeugenpfad ist eine Folge von
+ * Transitionen des {@link CompiledPetrinet} von der Anfangsmarkierung über m
+ * nach m', wie ihn der {@link CoverabilityAnalyser}, der
+ * {@link BitstateExplorer} und der {@link AnalysisResultCache} liefern.
+ */
+final class WitnessReplay {
+    private WitnessReplay() {
+    }
+
+    /**
+     * Schaltet den Zeugenpfad auf dem {@link CompiledPetrinet} und fügt die
+     * Markierungen in den {@link AbstractReachabilitygraph} ein. Der
+     * {@link AbstractReachabilitygraph} muss mit der Anfangsmarkierung als
+     * Wurzelknoten vorbelegt sein. Er wird erst verändert, wenn der gesamte Pfad
+     * geschaltet werden kann.
+     *
+     * @param compiledPetrinet das {@link CompiledPetrinet}, auf dem geschaltet
+     *                         wird.
+     * @param initialMarking   die Anfangsmarkierung.
+     * @param witnessPath      die Nummern der Transitionen des Zeugenpfades.
+     * @param m1Depth          die Anzahl der Transitionen bis zur Markierung m.
+     * @param rGraphModel      der {@link AbstractReachabilitygraph}.
+     * @return die IDs der {@link de.pohl.petrinets.model.reachabilitygraph.RGraphEdge}
+     *         von m nach m', wie sie
+     *         {@link SingleAnalysisResultPresenter#setResultPetrinetIsUndbounded(ArrayList, boolean)}
+     *         erwartet, oder <code>null</code>, wenn der Pfad nicht geschaltet
+     *         werden kann.
+     */
+    static ArrayList<String> replay(CompiledPetrinet compiledPetrinet, Marking initialMarking, int[] witnessPath,
+            int m1Depth, AbstractReachabilitygraph rGraphModel) {
+        Marking[] markings = new Marking[witnessPath.length + 1];
+        markings[0] = initialMarking;
+        for (int i = 0; i < witnessPath.length; i++) {
+            markings[i + 1] = compiledPetrinet.fire(witnessPath[i], markings[i]);
+            if (markings[i + 1] == null) {
+                return null;
+            }
+        }
+        ArrayList<String> edgePath = new ArrayList<>();
+        for (int i = 0; i < witnessPath.length; i++) {
+            String rGraphEdgeID = rGraphModel.addMarking(compiledPetrinet.getTransitionID(witnessPath[i]),
+                    compiledPetrinet.getTransitionName(witnessPath[i]), markings[i], markings[i + 1],
+                    compiledPetrinet.getEnabledTransitionIDs(markings[i + 1]), true);
+            if (i >= m1Depth) {
+                edgePath.add(rGraphEdgeID);
+            }
+        }
+        return edgePath;
+    }
+}
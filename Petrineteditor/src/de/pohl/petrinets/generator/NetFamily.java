@@ -0,0 +1,50 @@
+package de.pohl.petrinets.generator;
+
+/**
+ * Die Familien der Petrinetze, die ein {@link PetrinetGenerator} erzeugen kann.
+ * Die Bedeutung der Größe n hängt von der Familie ab.
+ */
+public enum NetFamily {
+    /**
+     * n speisende Philosophen mit n Gabeln. Die Anzahl der erreichbaren
+     * Markierungen ist die n-te Lucas-Zahl.
+     */
+    PHILOSOPHERS(2),
+    /**
+     * Ein Erzeuger und ein Verbraucher, die über einen Puffer mit n Plätzen
+     * verbunden sind. Es gibt 4 * (n + 1) erreichbare Markierungen.
+     */
+    BOUNDED_BUFFER(1),
+    /**
+     * Ein Ring aus n Stellen, auf dem k Marken kreisen. Jede Verteilung der k
+     * Marken auf die n Stellen ist erreichbar.
+     */
+    TOKEN_RING(2),
+    /**
+     * Ein zufälliger, stark zusammenhängender Zustandsautomat aus n Stellen und 2n
+     * Transitionen, auf dem k Marken kreisen. Jede Transition besitzt genau eine
+     * Stelle im Vorbereich, das Netz ist daher free-choice und beschränkt.
+     */
+    FREE_CHOICE(2),
+    /**
+     * Eine Kette aus n Stellen, an deren Ende eine Transition ihre Stelle immer
+     * wieder markiert und dabei eine Marke in eine weitere Stelle pumpt. Das Netz
+     * ist unbeschränkt.
+     */
+    UNBOUNDED_PUMP(1);
+
+    private final int minSize;
+
+    private NetFamily(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * Liefert die kleinste zulässige Größe n der Familie.
+     *
+     * @return die kleinste Größe.
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+}
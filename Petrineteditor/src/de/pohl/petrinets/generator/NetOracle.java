@@ -0,0 +1,76 @@
+package de.pohl.petrinets.generator;
+
+/**
+ * Das erwartete Ergebnis der Beschränktheitsanalyse für ein von einem
+ * {@link PetrinetGenerator} erzeugtes Petrinetz.
+ * <p>
+ * Die Werte werden unabhängig von der Analyse aus der Struktur des Netzes
+ * berechnet und können daher zur Prüfung der Analyse verwendet werden.
+ */
+public final class NetOracle {
+    /**
+     * Wert für eine nicht bekannte Anzahl.
+     */
+    public static final long UNKNOWN = -1;
+    private final boolean bounded;
+    private final long edges;
+    private final String netName;
+    private final long states;
+
+    NetOracle(String netName, boolean bounded, long states, long edges) {
+        this.netName = netName;
+        this.bounded = bounded;
+        this.states = states;
+        this.edges = edges;
+    }
+
+    /**
+     * Liefert die erwartete Anzahl der Kanten des vollständigen
+     * Erreichbarkeitsgraphen.
+     *
+     * @return die Anzahl oder {@link #UNKNOWN}, wenn das Petrinetz unbeschränkt
+     *         ist oder die Anzahl nicht als <code>long</code> darstellbar ist.
+     */
+    public long getEdges() {
+        return edges;
+    }
+
+    /**
+     * Liefert den Namen des Petrinetzes.
+     *
+     * @return der Name.
+     */
+    public String getNetName() {
+        return netName;
+    }
+
+    /**
+     * Liefert die erwartete Anzahl der erreichbaren Markierungen.
+     *
+     * @return die Anzahl oder {@link #UNKNOWN}, wenn das Petrinetz unbeschränkt
+     *         ist oder die Anzahl nicht als <code>long</code> darstellbar ist.
+     */
+    public long getStates() {
+        return states;
+    }
+
+    /**
+     * Liefert, ob das Petrinetz beschränkt ist.
+     *
+     * @return <code>true</code>, wenn das Petrinetz beschränkt ist.
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Liefert das erwartete Ergebnis in der Form {@code ja|nein,knoten,kanten} wie
+     * in den entsprechenden Spalten der CSV-Ausgabe der Stapelverarbeitung.
+     * Unbekannte Anzahlen bleiben leer.
+     */
+    @Override
+    public String toString() {
+        return (bounded ? "ja" : "nein") + "," + (states == UNKNOWN ? "" : states) + ","
+                + (edges == UNKNOWN ? "" : edges);
+    }
+}
@@ -0,0 +1,74 @@
+package de.pohl.petrinets.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Ein {@link PetrinetSink}, der das Petrinetz als PNML in einen {@link Writer}
+ * schreibt.
+ * <p>
+ * Die Elemente werden sofort geschrieben, sodass auch sehr große Petrinetze
+ * ohne Zwischenspeicher erzeugt werden können. Das Format entspricht dem, das
+ * von {@link de.pohl.petrinets.control.implementations.usecases.PNMLFileParser}
+ * gelesen wird.
+ */
+public class PNMLSink implements PetrinetSink {
+    private final Writer writer;
+
+    /**
+     * Erstellt einen neuen {@link PNMLSink}.
+     *
+     * @param writer der {@link Writer}, in den geschrieben wird. Er wird nicht
+     *               geschlossen.
+     */
+    public PNMLSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void arc(String arcID, String sourceID, String targetID) {
+        write("<arc id=\"" + arcID + "\" source=\"" + sourceID + "\" target=\"" + targetID
+                + "\">\n<inscription>\n<text>1</text>\n</inscription>\n</arc>\n");
+    }
+
+    @Override
+    public void begin(String netName) {
+        write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<pnml>\n<net id=\"" + netName
+                + "\" type=\"http://www.informatik.hu-berlin.de/top/pntd/ptNetb\">\n");
+    }
+
+    @Override
+    public void end() {
+        write("</net>\n</pnml>\n");
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void place(String placeID, String name, int tokens, int x, int y) {
+        write("<place id=\"" + placeID + "\">\n<name>\n<text>" + name + "</text>\n</name>\n" + position(x, y)
+                + "<initialMarking>\n<text>" + tokens + "</text>\n</initialMarking>\n</place>\n");
+    }
+
+    @Override
+    public void transition(String transitionID, String name, int x, int y) {
+        write("<transition id=\"" + transitionID + "\">\n<name>\n<text>" + name + "</text>\n</name>\n"
+                + position(x, y) + "</transition>\n");
+    }
+
+    private static String position(int x, int y) {
+        return "<graphics>\n<position x=\"" + x + "\" y=\"" + y + "\"/>\n</graphics>\n";
+    }
+
+    private void write(String pnml) {
+        try {
+            writer.write(pnml);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package de.pohl.petrinets.generator;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Random;
+
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+
+/**
+ * Erzeugt synthetische Petrinetze einer {@link NetFamily} in beliebiger Größe
+ * für Lasttests und Benchmarks.
+ * <p>
+ * Die Elemente des Petrinetzes werden nacheinander an einen
+ * {@link PetrinetSink} übergeben. Mit einem {@link PNMLSink} entsteht eine
+ * PNML-Datei, mit einem {@link PetrinetModelSink} wird das Petrinetz ohne
+ * Umweg über eine Datei direkt in ein {@link AbstractPetrinet} eingefügt. Zu
+ * jedem Petrinetz liefert {@link #getOracle()} das erwartete Ergebnis der
+ * Beschränktheitsanalyse.
+ * <p>
+ * Als Programm aufgerufen, schreibt der Generator PNML-Dateien in ein
+ * Verzeichnis und gibt die erwarteten Ergebnisse im CSV-Format aus:
+ *
+ * <pre>
+ * PetrinetGenerator [--out Verzeichnis] [--tokens k] [--seed s] Familie Größe...
+ * </pre>
+ */
+public class PetrinetGenerator {
+    private static final int GRID = 60;
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Aufruf: PetrinetGenerator [Optionen] <Familie> <Größe>...",
+            "  Familien: philosophers, bounded_buffer, token_ring, free_choice, unbounded_pump",
+            "  --out <Verzeichnis>    Zielverzeichnis (Standard: aktuelles Verzeichnis)",
+            "  --tokens <k>           Anzahl der Marken für token_ring und free_choice (Standard: 1)",
+            "  --seed <s>             Startwert des Zufallsgenerators für free_choice (Standard: 1)");
+    private int arcCount;
+    private final NetFamily netFamily;
+    private long seed = 1;
+    private final int size;
+    private int tokens = 1;
+
+    /**
+     * Erstellt einen neuen {@link PetrinetGenerator}.
+     *
+     * @param netFamily die {@link NetFamily}.
+     * @param size      die Größe n des Petrinetzes.
+     * @throws IllegalArgumentException wenn die Größe für die Familie zu klein
+     *                                  ist.
+     */
+    public PetrinetGenerator(NetFamily netFamily, int size) {
+        if (size < netFamily.getMinSize()) {
+            throw new IllegalArgumentException(
+                    "Die Größe für " + netFamily + " muss mindestens " + netFamily.getMinSize() + " betragen.");
+        }
+        this.netFamily = netFamily;
+        this.size = size;
+    }
+
+    /**
+     * Methode zum Erzeugen von PNML-Dateien.
+     *
+     * @param args die Optionen, die Familie und die Größen.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Erzeugt die PNML-Dateien und gibt die erwarteten Ergebnisse aus.
+     *
+     * @param args die Optionen, die Familie und die Größen.
+     * @param out  der {@link PrintStream} für die erwarteten Ergebnisse.
+     * @param err  der {@link PrintStream} für Fehlermeldungen.
+     * @return 0 bei Erfolg, sonst 2.
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        File outputDirectory = new File(".");
+        int tokens = 1;
+        long seed = 1;
+        NetFamily netFamily = null;
+        ArrayList<Integer> sizes = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--out":
+                    outputDirectory = new File(optionValue(args, ++i));
+                    break;
+                case "--tokens":
+                    tokens = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(optionValue(args, ++i));
+                    break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+                    if (netFamily == null) {
+                        netFamily = NetFamily.valueOf(args[i].toUpperCase(Locale.ROOT));
+                    } else {
+                        sizes.add(Integer.parseInt(args[i]));
+                    }
+                }
+            }
+            if (netFamily == null || sizes.isEmpty()) {
+                throw new IllegalArgumentException("Es wurden keine Familie und Größe angegeben.");
+            }
+            out.println("datei,beschraenkt,knoten,kanten");
+            for (int size : sizes) {
+                PetrinetGenerator generator = new PetrinetGenerator(netFamily, size);
+                generator.setTokens(tokens);
+                generator.setSeed(seed);
+                File pnmlFile = generator.writePNMLFile(outputDirectory);
+                out.println(pnmlFile.getName() + "," + generator.getOracle());
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        } catch (UncheckedIOException e) {
+            err.println(e.getCause().getMessage());
+            return 2;
+        }
+        return 0;
+    }
+
+    /**
+     * Liefert den Wert einer Option.
+     *
+     * @throws IllegalArgumentException wenn der Wert fehlt.
+     */
+    private static String optionValue(String[] args, int index) {
+        if (index >= args.length) throw new IllegalArgumentException("Fehlender Wert für " + args[index - 1]);
+        return args[index];
+    }
+
+    /**
+     * Erzeugt das Petrinetz und übergibt seine Elemente an den
+     * {@link PetrinetSink}.
+     *
+     * @param petrinetSink der {@link PetrinetSink}.
+     * @return das erwartete Ergebnis als {@link NetOracle}.
+     */
+    public NetOracle generate(PetrinetSink petrinetSink) {
+        arcCount = 0;
+        petrinetSink.begin(getNetName());
+        switch (netFamily) {
+        case PHILOSOPHERS:
+            generatePhilosophers(petrinetSink);
+            break;
+        case BOUNDED_BUFFER:
+            generateBoundedBuffer(petrinetSink);
+            break;
+        case TOKEN_RING:
+            generateTokenRing(petrinetSink);
+            break;
+        case FREE_CHOICE:
+            generateFreeChoice(petrinetSink);
+            break;
+        case UNBOUNDED_PUMP:
+            generateUnboundedPump(petrinetSink);
+            break;
+        }
+        petrinetSink.end();
+        return getOracle();
+    }
+
+    /**
+     * Erzeugt das Petrinetz direkt in einem {@link AbstractPetrinet}.
+     *
+     * @param petrinetModel ein leeres {@link AbstractPetrinet}.
+     * @param rGraphModel   ein leerer {@link AbstractReachabilitygraph}, in den
+     *                      die initiale Markierung eingefügt wird.
+     * @return das erwartete Ergebnis als {@link NetOracle}.
+     */
+    public NetOracle generate(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
+        return generate(new PetrinetModelSink(petrinetModel, rGraphModel));
+    }
+
+    /**
+     * Liefert den Namen des Petrinetzes, z.B. {@code token_ring_8_k3}.
+     *
+     * @return der Name.
+     */
+    public String getNetName() {
+        String netName = netFamily.name().toLowerCase(Locale.ROOT) + "_" + size;
+        if (netFamily == NetFamily.TOKEN_RING || netFamily == NetFamily.FREE_CHOICE) {
+            netName += "_k" + tokens;
+        }
+        if (netFamily == NetFamily.FREE_CHOICE) {
+            netName += "_s" + seed;
+        }
+        return netName;
+    }
+
+    /**
+     * Berechnet das erwartete Ergebnis der Beschränktheitsanalyse.
+     *
+     * @return das {@link NetOracle}.
+     */
+    public NetOracle getOracle() {
+        long states = NetOracle.UNKNOWN;
+        long edges = NetOracle.UNKNOWN;
+        try {
+            switch (netFamily) {
+            case PHILOSOPHERS:
+                // Die Menge der speisenden Philosophen ist eine unabhängige Menge im Kreis
+                // C_n. Jede Kante gehört zum Aufnehmen oder Ablegen durch einen
+                // Philosophen, der in einer solchen Menge enthalten ist.
+                states = lucas(size);
+                edges = Math.multiplyExact(2L * size, fibonacci(size - 1));
+                break;
+            case BOUNDED_BUFFER:
+                states = 4L * (size + 1);
+                edges = 8L * size + 4;
+                break;
+            case TOKEN_RING:
+            case FREE_CHOICE:
+                // Jede Verteilung der Marken ist erreichbar. Eine Transition ist aktiv,
+                // wenn ihre Stelle im Vorbereich mindestens eine Marke trägt.
+                states = binomial(size + tokens - 1, tokens);
+                edges = Math.multiplyExact(countTransitions(), binomial(size + tokens - 2, tokens - 1));
+                break;
+            case UNBOUNDED_PUMP:
+                return new NetOracle(getNetName(), false, states, edges);
+            }
+        } catch (ArithmeticException e) {
+            states = NetOracle.UNKNOWN;
+            edges = NetOracle.UNKNOWN;
+        }
+        return new NetOracle(getNetName(), true, states, edges);
+    }
+
+    /**
+     * Setzt den Startwert des Zufallsgenerators für {@link NetFamily#FREE_CHOICE}.
+     *
+     * @param seed der Startwert.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Setzt die Anzahl der Marken für {@link NetFamily#TOKEN_RING} und
+     * {@link NetFamily#FREE_CHOICE}.
+     *
+     * @param tokens die Anzahl der Marken.
+     * @throws IllegalArgumentException wenn die Anzahl kleiner 1 ist.
+     */
+    public void setTokens(int tokens) {
+        if (tokens < 1) throw new IllegalArgumentException("Die Anzahl der Marken muss mindestens 1 betragen.");
+        this.tokens = tokens;
+    }
+
+    /**
+     * Schreibt das Petrinetz als PNML-Datei in das angegebene Verzeichnis.
+     *
+     * @param outputDirectory das Verzeichnis.
+     * @return die PNML-Datei {@code <Name>.pnml}.
+     * @throws UncheckedIOException wenn die Datei nicht geschrieben werden kann.
+     */
+    public File writePNMLFile(File outputDirectory) {
+        File pnmlFile = new File(outputDirectory, getNetName() + ".pnml");
+        try (BufferedWriter writer = Files.newBufferedWriter(pnmlFile.toPath(), StandardCharsets.UTF_8)) {
+            generate(new PNMLSink(writer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return pnmlFile;
+    }
+
+    private void arc(PetrinetSink petrinetSink, String sourceID, String targetID) {
+        petrinetSink.arc("a" + arcCount++, sourceID, targetID);
+    }
+
+    private static long binomial(int n, int k) {
+        long result = 1;
+        for (int i = 0; i < k; i++) {
+            result = Math.multiplyExact(result, n - i) / (i + 1);
+        }
+        return result;
+    }
+
+    private long countTransitions() {
+        return netFamily == NetFamily.FREE_CHOICE ? 2L * size : size;
+    }
+
+    private static long fibonacci(int n) {
+        long previous = 0;
+        long current = 1;
+        for (int i = 1; i < n; i++) {
+            long next = Math.addExact(previous, current);
+            previous = current;
+            current = next;
+        }
+        return n == 0 ? 0 : current;
+    }
+
+    /**
+     * Erzeugt einen Erzeuger und einen Verbraucher mit einem Puffer aus n
+     * Plätzen.
+     */
+    private void generateBoundedBuffer(PetrinetSink petrinetSink) {
+        petrinetSink.place("producerReady", "Erzeuger bereit", 1, GRID, GRID);
+        petrinetSink.place("producerFull", "Erzeuger voll", 0, GRID, 3 * GRID);
+        petrinetSink.place("buffer", "Puffer", 0, 3 * GRID, GRID);
+        petrinetSink.place("free", "Freie Plätze", size, 3 * GRID, 3 * GRID);
+        petrinetSink.place("consumerReady", "Verbraucher bereit", 1, 5 * GRID, GRID);
+        petrinetSink.place("consumerFull", "Verbraucher voll", 0, 5 * GRID, 3 * GRID);
+        petrinetSink.transition("produce", "erzeugen", 0, 2 * GRID);
+        petrinetSink.transition("deliver", "ablegen", 2 * GRID, 2 * GRID);
+        petrinetSink.transition("remove", "entnehmen", 4 * GRID, 2 * GRID);
+        petrinetSink.transition("consume", "verbrauchen", 6 * GRID, 2 * GRID);
+        arc(petrinetSink, "producerReady", "produce");
+        arc(petrinetSink, "produce", "producerFull");
+        arc(petrinetSink, "producerFull", "deliver");
+        arc(petrinetSink, "free", "deliver");
+        arc(petrinetSink, "deliver", "buffer");
+        arc(petrinetSink, "deliver", "producerReady");
+        arc(petrinetSink, "consumerReady", "remove");
+        arc(petrinetSink, "buffer", "remove");
+        arc(petrinetSink, "remove", "free");
+        arc(petrinetSink, "remove", "consumerFull");
+        arc(petrinetSink, "consumerFull", "consume");
+        arc(petrinetSink, "consume", "consumerReady");
+    }
+
+    /**
+     * Erzeugt einen zufälligen Zustandsautomaten. Ein Ring über einer zufälligen
+     * Reihenfolge der Stellen macht ihn stark zusammenhängend, n weitere
+     * Transitionen verbinden zufällige, verschiedene Stellen.
+     */
+    private void generateFreeChoice(PetrinetSink petrinetSink) {
+        Random random = new Random(seed);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        int[][] transitions = new int[2 * size][];
+        for (int i = 0; i < size; i++) {
+            transitions[i] = new int[] { order[i], order[(i + 1) % size] };
+        }
+        for (int i = size; i < 2 * size; i++) {
+            int source = random.nextInt(size);
+            int target = (source + 1 + random.nextInt(size - 1)) % size;
+            transitions[i] = new int[] { source, target };
+        }
+        for (int i = 0; i < size; i++) {
+            petrinetSink.place("p" + i, "P" + i, i == 0 ? tokens : 0, circleX(i, size, 0), circleY(i, size, 0));
+        }
+        for (int i = 0; i < transitions.length; i++) {
+            petrinetSink.transition("t" + i, "T" + i, circleX(i, transitions.length, 1),
+                    circleY(i, transitions.length, 1));
+        }
+        for (int i = 0; i < transitions.length; i++) {
+            arc(petrinetSink, "p" + transitions[i][0], "t" + i);
+            arc(petrinetSink, "t" + i, "p" + transitions[i][1]);
+        }
+    }
+
+    /**
+     * Erzeugt n Philosophen, die zum Essen die linke und die rechte Gabel
+     * benötigen.
+     */
+    private void generatePhilosophers(PetrinetSink petrinetSink) {
+        for (int i = 0; i < size; i++) {
+            petrinetSink.place("think" + i, "denkt " + i, 1, circleX(3 * i, 3 * size, 2),
+                    circleY(3 * i, 3 * size, 2));
+            petrinetSink.place("eat" + i, "isst " + i, 0, circleX(3 * i, 3 * size, 0), circleY(3 * i, 3 * size, 0));
+            petrinetSink.place("fork" + i, "Gabel " + i, 1, circleX(3 * i + 2, 3 * size, 1),
+                    circleY(3 * i + 2, 3 * size, 1));
+        }
+        for (int i = 0; i < size; i++) {
+            petrinetSink.transition("take" + i, "nimmt " + i, circleX(3 * i, 3 * size, 1),
+                    circleY(3 * i, 3 * size, 1));
+            petrinetSink.transition("release" + i, "legt ab " + i, circleX(3 * i + 1, 3 * size, 1),
+                    circleY(3 * i + 1, 3 * size, 1));
+        }
+        for (int i = 0; i < size; i++) {
+            String rightFork = "fork" + (i + 1) % size;
+            arc(petrinetSink, "think" + i, "take" + i);
+            arc(petrinetSink, "fork" + i, "take" + i);
+            arc(petrinetSink, rightFork, "take" + i);
+            arc(petrinetSink, "take" + i, "eat" + i);
+            arc(petrinetSink, "eat" + i, "release" + i);
+            arc(petrinetSink, "release" + i, "think" + i);
+            arc(petrinetSink, "release" + i, "fork" + i);
+            arc(petrinetSink, "release" + i, rightFork);
+        }
+    }
+
+    /**
+     * Erzeugt einen Ring aus n Stellen und n Transitionen mit k Marken auf der
+     * ersten Stelle.
+     */
+    private void generateTokenRing(PetrinetSink petrinetSink) {
+        for (int i = 0; i < size; i++) {
+            petrinetSink.place("p" + i, "P" + i, i == 0 ? tokens : 0, circleX(2 * i, 2 * size, 0),
+                    circleY(2 * i, 2 * size, 0));
+        }
+        for (int i = 0; i < size; i++) {
+            petrinetSink.transition("t" + i, "T" + i, circleX(2 * i + 1, 2 * size, 0),
+                    circleY(2 * i + 1, 2 * size, 0));
+        }
+        for (int i = 0; i < size; i++) {
+            arc(petrinetSink, "p" + i, "t" + i);
+            arc(petrinetSink, "t" + i, "p" + (i + 1) % size);
+        }
+    }
+
+    /**
+     * Erzeugt eine Kette aus n Stellen, deren letzte Stelle eine Pumpe aktiviert.
+     */
+    private void generateUnboundedPump(PetrinetSink petrinetSink) {
+        for (int i = 0; i < size; i++) {
+            petrinetSink.place("s" + i, "S" + i, i == 0 ? 1 : 0, (2 * i + 1) * GRID, GRID);
+        }
+        petrinetSink.place("sink", "Senke", 0, (2 * size + 1) * GRID, 3 * GRID);
+        for (int i = 0; i + 1 < size; i++) {
+            petrinetSink.transition("t" + i, "T" + i, (2 * i + 2) * GRID, GRID);
+        }
+        petrinetSink.transition("pump", "Pumpe", 2 * size * GRID, 3 * GRID);
+        for (int i = 0; i + 1 < size; i++) {
+            arc(petrinetSink, "s" + i, "t" + i);
+            arc(petrinetSink, "t" + i, "s" + (i + 1));
+        }
+        arc(petrinetSink, "s" + (size - 1), "pump");
+        arc(petrinetSink, "pump", "s" + (size - 1));
+        arc(petrinetSink, "pump", "sink");
+    }
+
+    /**
+     * Liefert die x-Koordinate des i-ten von n Punkten auf einem von drei
+     * konzentrischen Kreisen. Der Radius wächst mit der Größe des Petrinetzes,
+     * sodass sich die Knoten nicht überlappen.
+     */
+    private int circleX(int i, int n, int ring) {
+        return (int) Math.round(radius(2) + radius(ring) * Math.cos(2 * Math.PI * i / n)) + GRID;
+    }
+
+    private int circleY(int i, int n, int ring) {
+        return (int) Math.round(radius(2) + radius(ring) * Math.sin(2 * Math.PI * i / n)) + GRID;
+    }
+
+    private double radius(int ring) {
+        return Math.max(2 * GRID, 3 * size * GRID / (2 * Math.PI)) + ring * GRID;
+    }
+
+    private static long lucas(int n) {
+        long previous = 2;
+        long current = 1;
+        for (int i = 1; i < n; i++) {
+            long next = Math.addExact(previous, current);
+            previous = current;
+            current = next;
+        }
+        return current;
+    }
+}
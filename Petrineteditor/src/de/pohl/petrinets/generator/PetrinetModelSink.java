@@ -0,0 +1,60 @@
+package de.pohl.petrinets.generator;
+
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
+
+/**
+ * Ein {@link PetrinetSink}, der das Petrinetz direkt in ein
+ * {@link AbstractPetrinet} einfügt, ohne eine PNML-Datei zu schreiben.
+ * <p>
+ * Nach {@link #end()} befinden sich das {@link AbstractPetrinet} und der
+ * {@link AbstractReachabilitygraph} im selben Zustand wie nach dem Einlesen
+ * einer PNML-Datei mit einem
+ * {@link de.pohl.petrinets.control.implementations.usecases.PNMLFileParser}.
+ */
+public class PetrinetModelSink implements PetrinetSink {
+    private final AbstractPetrinet petrinetModel;
+    private final AbstractReachabilitygraph rGraphModel;
+
+    /**
+     * Erstellt einen neuen {@link PetrinetModelSink}.
+     *
+     * @param petrinetModel ein leeres {@link AbstractPetrinet}.
+     * @param rGraphModel   ein leerer {@link AbstractReachabilitygraph}.
+     */
+    public PetrinetModelSink(AbstractPetrinet petrinetModel, AbstractReachabilitygraph rGraphModel) {
+        this.petrinetModel = petrinetModel;
+        this.rGraphModel = rGraphModel;
+    }
+
+    @Override
+    public void arc(String arcID, String sourceID, String targetID) {
+        petrinetModel.addArc(arcID, sourceID, targetID);
+    }
+
+    @Override
+    public void begin(String netName) {
+    }
+
+    @Override
+    public void end() {
+        petrinetModel.getCompiledPetrinet();
+        petrinetModel.checkAllTransitionstate();
+        rGraphModel.addInitialMarking(petrinetModel.getInitialMarking(), petrinetModel.getActiveTransitionIDs());
+    }
+
+    @Override
+    public void place(String placeID, String name, int tokens, int x, int y) {
+        petrinetModel.addPlace(placeID);
+        petrinetModel.setPetrinetNodeName(placeID, name);
+        petrinetModel.setPetrinetNodePosition(placeID, x, y);
+        petrinetModel.initPlaceTokens(placeID, tokens);
+    }
+
+    @Override
+    public void transition(String transitionID, String name, int x, int y) {
+        petrinetModel.addTransition(transitionID);
+        petrinetModel.setPetrinetNodeName(transitionID, name);
+        petrinetModel.setPetrinetNodePosition(transitionID, x, y);
+    }
+}
@@ -0,0 +1,57 @@
+package de.pohl.petrinets.generator;
+
+/**
+ * Ein Empfänger für die Elemente eines von einem {@link PetrinetGenerator}
+ * erzeugten Petrinetzes.
+ * <p>
+ * Die Elemente werden in der folgenden Reihenfolge übergeben:
+ * {@link #begin(String)}, alle Stellen und Transitionen, alle Kanten und
+ * schließlich {@link #end()}. Beim Übergeben einer Kante existieren daher ihr
+ * Quell- und ihr Zielknoten bereits.
+ *
+ * @see PNMLSink
+ * @see PetrinetModelSink
+ */
+public interface PetrinetSink {
+    /**
+     * Fügt eine Kante mit dem Gewicht 1 hinzu.
+     *
+     * @param arcID    die ID der Kante.
+     * @param sourceID die ID des Quellknotens.
+     * @param targetID die ID des Zielknotens.
+     */
+    void arc(String arcID, String sourceID, String targetID);
+
+    /**
+     * Beginnt ein neues Petrinetz.
+     *
+     * @param netName der Name des Petrinetzes.
+     */
+    void begin(String netName);
+
+    /**
+     * Schließt das Petrinetz ab.
+     */
+    void end();
+
+    /**
+     * Fügt eine Stelle hinzu.
+     *
+     * @param placeID die ID der Stelle.
+     * @param name    der Name der Stelle.
+     * @param tokens  die Anzahl der initialen Marken.
+     * @param x       die x-Koordinate der Position.
+     * @param y       die y-Koordinate der Position.
+     */
+    void place(String placeID, String name, int tokens, int x, int y);
+
+    /**
+     * Fügt eine Transition hinzu.
+     *
+     * @param transitionID die ID der Transition.
+     * @param name         der Name der Transition.
+     * @param x            die x-Koordinate der Position.
+     * @param y            die y-Koordinate der Position.
+     */
+    void transition(String transitionID, String name, int x, int y);
+}
@@ -0,0 +1,24 @@
+package de.pohl.petrinets.logging;
+
+/**
+ * Ein Interface für Ziele, an die ein {@link Logger} seine Meldungen
+ * weitergibt.
+ */
+public interface Appender {
+    /**
+     * Gibt eine Meldung aus.
+     *
+     * @param timestamp  der Zeitpunkt der Meldung in Millisekunden seit
+     *                   1970-01-01T00:00Z.
+     * @param level      der {@link LogLevel} der Meldung.
+     * @param loggerName der Name des {@link Logger}.
+     * @param message    die bereits formatierte Meldung.
+     */
+    void append(long timestamp, LogLevel level, String loggerName, String message);
+
+    /**
+     * Wartet, bis alle bisher übergebenen Meldungen ausgegeben wurden.
+     */
+    default void flush() {
+    }
+}
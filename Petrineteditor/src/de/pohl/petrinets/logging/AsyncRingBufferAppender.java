@@ -0,0 +1,131 @@
+package de.pohl.petrinets.logging;
+
+/**
+ * Ein {@link Appender}, der Meldungen in einem Ringpuffer fester Größe
+ * zwischenspeichert und in einem eigenen Thread an einen anderen
+ * {@link Appender} weitergibt.
+ * <p>
+ * Der protokollierende Thread wartet damit nie auf die Ausgabe. Ist der
+ * Ringpuffer voll, werden neue Meldungen verworfen und ihre Anzahl mit der
+ * nächsten Ausgabe als Warnung gemeldet.
+ */
+public class AsyncRingBufferAppender implements Appender {
+    private final Object lock = new Object();
+    private final String[] loggerNames;
+    private final LogLevel[] levels;
+    private final String[] messages;
+    private final long[] timestamps;
+    private final Appender target;
+    private int dropped;
+    private int head;
+    private int size;
+    private boolean writing;
+
+    /**
+     * Erstellt einen neuen {@link AsyncRingBufferAppender} und startet den
+     * Thread für die Ausgabe.
+     *
+     * @param target   der {@link Appender}, an den die Meldungen weitergegeben
+     *                 werden.
+     * @param capacity die Anzahl der Meldungen, die der Ringpuffer aufnehmen kann.
+     * @throws IllegalArgumentException wenn die Kapazität kleiner als 1 ist.
+     */
+    public AsyncRingBufferAppender(Appender target, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Die Kapazität muss mindestens 1 betragen.");
+        }
+        this.target = target;
+        this.loggerNames = new String[capacity];
+        this.levels = new LogLevel[capacity];
+        this.messages = new String[capacity];
+        this.timestamps = new long[capacity];
+        Thread writer = new Thread(this::writeLoop, "Petrineteditor-Log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void append(long timestamp, LogLevel level, String loggerName, String message) {
+        synchronized (lock) {
+            if (size == messages.length) {
+                dropped++;
+                return;
+            }
+            int index = (head + size) % messages.length;
+            timestamps[index] = timestamp;
+            levels[index] = level;
+            loggerNames[index] = loggerName;
+            messages[index] = message;
+            size++;
+            if (size == 1) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            while (size > 0 || writing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        target.flush();
+    }
+
+    /**
+     * Gibt die Meldungen des Ringpuffers in Blöcken an den Ziel-{@link Appender}
+     * weiter. Die Ausgabe erfolgt außerhalb der Sperre, damit protokollierende
+     * Threads nicht warten müssen.
+     */
+    private void writeLoop() {
+        String[] batchLoggerNames = new String[messages.length];
+        LogLevel[] batchLevels = new LogLevel[messages.length];
+        String[] batchMessages = new String[messages.length];
+        long[] batchTimestamps = new long[messages.length];
+        while (true) {
+            int count;
+            int droppedCount;
+            synchronized (lock) {
+                writing = false;
+                lock.notifyAll();
+                while (size == 0 && dropped == 0) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                count = size;
+                for (int i = 0; i < count; i++) {
+                    int index = (head + i) % messages.length;
+                    batchTimestamps[i] = timestamps[index];
+                    batchLevels[i] = levels[index];
+                    batchLoggerNames[i] = loggerNames[index];
+                    batchMessages[i] = messages[index];
+                    loggerNames[index] = null;
+                    messages[index] = null;
+                }
+                head = (head + count) % messages.length;
+                size = 0;
+                droppedCount = dropped;
+                dropped = 0;
+                writing = true;
+            }
+            for (int i = 0; i < count; i++) {
+                target.append(batchTimestamps[i], batchLevels[i], batchLoggerNames[i], batchMessages[i]);
+                batchLoggerNames[i] = null;
+                batchMessages[i] = null;
+            }
+            if (droppedCount > 0) {
+                target.append(System.currentTimeMillis(), LogLevel.WARN, AsyncRingBufferAppender.class.getSimpleName(),
+                        droppedCount + " Meldungen wurden wegen eines vollen Puffers verworfen.");
+            }
+        }
+    }
+}
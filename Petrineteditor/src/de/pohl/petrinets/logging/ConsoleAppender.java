@@ -0,0 +1,32 @@
+package de.pohl.petrinets.logging;
+
+import java.io.PrintStream;
+
+/**
+ * Ein {@link Appender}, der jede Meldung als Zeile auf einen
+ * {@link PrintStream} schreibt.
+ * <p>
+ * Format: {@code HH:mm:ss.SSS LEVEL Logger - Meldung}
+ */
+public class ConsoleAppender implements Appender {
+    private final PrintStream printStream;
+
+    /**
+     * Erstellt einen neuen {@link ConsoleAppender}.
+     *
+     * @param printStream der {@link PrintStream}, z.B. {@link System#out}.
+     */
+    public ConsoleAppender(PrintStream printStream) {
+        this.printStream = printStream;
+    }
+
+    @Override
+    public void append(long timestamp, LogLevel level, String loggerName, String message) {
+        printStream.printf("%1$tT.%1$tL %2$-5s %3$s - %4$s%n", timestamp, level, loggerName, message);
+    }
+
+    @Override
+    public void flush() {
+        printStream.flush();
+    }
+}
@@ -0,0 +1,34 @@
+package de.pohl.petrinets.logging;
+
+/**
+ * Aufzählungsklasse mit den Stufen einer Protokollmeldung, aufsteigend nach
+ * Wichtigkeit sortiert.
+ */
+public enum LogLevel {
+    /**
+     * Ablaufverfolgung einzelner Schritte, z.B. jedes Schaltvorganges einer
+     * Simulation.
+     */
+    TRACE,
+    /**
+     * Meldungen zur Fehlersuche.
+     */
+    DEBUG,
+    /**
+     * Informationen zum Programmablauf.
+     */
+    INFO,
+    /**
+     * Warnungen.
+     */
+    WARN,
+    /**
+     * Fehler.
+     */
+    ERROR,
+    /**
+     * Keine Ausgabe. Nur als Schwelle in {@link LogManager#setLevel(LogLevel)}
+     * sinnvoll.
+     */
+    OFF
+}
@@ -0,0 +1,85 @@
+package de.pohl.petrinets.logging;
+
+/**
+ * Die zentrale Konfiguration aller {@link Logger}.
+ * <p>
+ * Die Schwelle und der {@link Appender} gelten für alle {@link Logger} und
+ * können zur Laufzeit geändert werden, z.B. um die Ablaufverfolgung über die
+ * Oberfläche ein- und auszuschalten. Standardmäßig werden Meldungen ab
+ * {@link LogLevel#INFO} über einen {@link AsyncRingBufferAppender} auf
+ * {@link System#out} ausgegeben.
+ */
+public final class LogManager {
+    private static final int DEFAULT_BUFFER_CAPACITY = 8192;
+    private static volatile Appender appender = new AsyncRingBufferAppender(new ConsoleAppender(System.out),
+            DEFAULT_BUFFER_CAPACITY);
+    private static volatile LogLevel level = LogLevel.INFO;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LogManager::flush, "Petrineteditor-Log-Flush"));
+    }
+
+    private LogManager() {
+    }
+
+    /**
+     * Wartet, bis alle bisher protokollierten Meldungen ausgegeben wurden.
+     */
+    public static void flush() {
+        appender.flush();
+    }
+
+    /**
+     * Liefert den aktuellen {@link Appender}.
+     *
+     * @return der {@link Appender}.
+     */
+    public static Appender getAppender() {
+        return appender;
+    }
+
+    /**
+     * Liefert die aktuelle Schwelle.
+     *
+     * @return der {@link LogLevel}, ab dem Meldungen ausgegeben werden.
+     */
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Ersetzt den {@link Appender}. Der bisherige {@link Appender} wird zuvor
+     * geleert.
+     *
+     * @param newAppender der neue {@link Appender}.
+     */
+    public static void setAppender(Appender newAppender) {
+        Appender oldAppender = appender;
+        appender = newAppender;
+        oldAppender.flush();
+    }
+
+    /**
+     * Legt die Schwelle fest, ab der Meldungen ausgegeben werden.
+     *
+     * @param newLevel der {@link LogLevel}. Mit {@link LogLevel#OFF} wird die
+     *                 Ausgabe abgeschaltet.
+     */
+    public static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Prüft, ob Meldungen eines {@link LogLevel} ausgegeben werden.
+     */
+    static boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.compareTo(level) >= 0;
+    }
+
+    /**
+     * Gibt eine Meldung an den aktuellen {@link Appender} weiter.
+     */
+    static void log(LogLevel messageLevel, String loggerName, String message) {
+        appender.append(System.currentTimeMillis(), messageLevel, loggerName, message);
+    }
+}
@@ -0,0 +1,150 @@
+package de.pohl.petrinets.logging;
+
+import java.util.Formatter;
+import java.util.function.Supplier;
+
+/**
+ * Eine Protokollierungsfassade für eine Klasse.
+ * <p>
+ * Meldungen werden nur formatiert, wenn ihr {@link LogLevel} die Schwelle des
+ * {@link LogManager} erreicht. Für die standardmäßig abgeschaltete Stufe
+ * {@link LogLevel#TRACE} gibt es Varianten mit ein oder zwei Argumenten und mit
+ * einem {@link Supplier}, damit auf heißen Pfaden weder Zeichenketten
+ * zusammengesetzt noch Argument-Arrays angelegt werden.
+ * <p>
+ * Formatiert wird wie bei {@link String#format(String, Object...)}.
+ *
+ * @see Formatter
+ */
+public final class Logger {
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Liefert einen {@link Logger} für eine Klasse.
+     *
+     * @param type die Klasse, die protokolliert.
+     * @return ein {@link Logger} mit dem einfachen Namen der Klasse.
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#DEBUG}.
+     *
+     * @param format das Format der Meldung.
+     * @param args   die Argumente.
+     */
+    public void debug(String format, Object... args) {
+        if (LogManager.isEnabled(LogLevel.DEBUG)) {
+            LogManager.log(LogLevel.DEBUG, name, format(format, args));
+        }
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#ERROR}.
+     *
+     * @param format das Format der Meldung.
+     * @param args   die Argumente.
+     */
+    public void error(String format, Object... args) {
+        if (LogManager.isEnabled(LogLevel.ERROR)) {
+            LogManager.log(LogLevel.ERROR, name, format(format, args));
+        }
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#INFO}.
+     *
+     * @param format das Format der Meldung.
+     * @param args   die Argumente.
+     */
+    public void info(String format, Object... args) {
+        if (LogManager.isEnabled(LogLevel.INFO)) {
+            LogManager.log(LogLevel.INFO, name, format(format, args));
+        }
+    }
+
+    /**
+     * Prüft, ob Meldungen der Stufe {@link LogLevel#TRACE} ausgegeben werden.
+     *
+     * @return <code>true</code>, wenn die Ablaufverfolgung eingeschaltet ist.
+     */
+    public boolean isTraceEnabled() {
+        return LogManager.isEnabled(LogLevel.TRACE);
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#TRACE}.
+     *
+     * @param message die Meldung.
+     */
+    public void trace(String message) {
+        if (LogManager.isEnabled(LogLevel.TRACE)) {
+            LogManager.log(LogLevel.TRACE, name, message);
+        }
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#TRACE} mit einem
+     * Argument.
+     *
+     * @param format das Format der Meldung.
+     * @param arg    das Argument.
+     */
+    public void trace(String format, Object arg) {
+        if (LogManager.isEnabled(LogLevel.TRACE)) {
+            LogManager.log(LogLevel.TRACE, name, String.format(format, arg));
+        }
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#TRACE} mit zwei
+     * Argumenten.
+     *
+     * @param format das Format der Meldung.
+     * @param arg1   das erste Argument.
+     * @param arg2   das zweite Argument.
+     */
+    public void trace(String format, Object arg1, Object arg2) {
+        if (LogManager.isEnabled(LogLevel.TRACE)) {
+            LogManager.log(LogLevel.TRACE, name, String.format(format, arg1, arg2));
+        }
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#TRACE}, die erst bei
+     * eingeschalteter Ablaufverfolgung erzeugt wird.
+     *
+     * @param messageSupplier ein {@link Supplier}, der die Meldung liefert.
+     */
+    public void trace(Supplier<String> messageSupplier) {
+        if (LogManager.isEnabled(LogLevel.TRACE)) {
+            LogManager.log(LogLevel.TRACE, name, messageSupplier.get());
+        }
+    }
+
+    /**
+     * Protokolliert eine Meldung der Stufe {@link LogLevel#WARN}.
+     *
+     * @param format das Format der Meldung.
+     * @param args   die Argumente.
+     */
+    public void warn(String format, Object... args) {
+        if (LogManager.isEnabled(LogLevel.WARN)) {
+            LogManager.log(LogLevel.WARN, name, format(format, args));
+        }
+    }
+
+    /**
+     * Formatiert eine Meldung nur, wenn Argumente vorhanden sind, damit
+     * Prozentzeichen in einfachen Meldungen erhalten bleiben.
+     */
+    private static String format(String format, Object[] args) {
+        return args.length == 0 ? format : String.format(format, args);
+    }
+}
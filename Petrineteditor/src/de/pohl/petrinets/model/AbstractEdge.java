@@ -18,6 +18,15 @@ public abstract class AbstractEdge extends AbstractGraphElement {
         this.targetNodeID = abstractEdge.targetNodeID;
     }
 
+    /**
+     * Erstellt eine neue {@link AbstractEdge}, deren IDs erst bei Bedarf erzeugt
+     * werden. Unterklassen müssen {@link #createID()},
+     * {@link #getSourceNodeID()} und {@link #getTargetNodeID()} überschreiben.
+     */
+    protected AbstractEdge() {
+        super();
+    }
+
     /**
      * Erstellt eine neue {@link AbstractEdge}.
      *
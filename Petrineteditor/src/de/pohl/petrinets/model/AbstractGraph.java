@@ -2,21 +2,19 @@ package de.pohl.petrinets.model;
 
 import java.beans.*;
 
-import javax.swing.event.SwingPropertyChangeSupport;
-
 import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
 
 /**
  * Abstrakte Modellklasse eines Graphen.
  */
 public abstract class AbstractGraph {
-    private SwingPropertyChangeSupport pcs;
+    private ChangeBatchSupport pcs;
 
     /**
      * Erstellt einen {@link AbstractGraph}.
      */
     public AbstractGraph() {
-        pcs = new SwingPropertyChangeSupport(this);
+        pcs = new ChangeBatchSupport(this);
     }
 
     /**
@@ -29,6 +27,26 @@ public abstract class AbstractGraph {
         this.pcs.addPropertyChangeListener(listener);
     }
 
+    /**
+     * Öffnet einen Änderungsstapel. Bis zum Schließen des Stapels mit
+     * {@link #endChangeBatch()} werden die Änderungen des {@link AbstractGraph}
+     * und seiner Elemente gesammelt und danach zusammengefasst als ein Ereignis
+     * {@link PetrinetEditorGraphProperties#CHANGE_BATCH} veröffentlicht. Stapel
+     * können geschachtelt werden.
+     */
+    public void beginChangeBatch() {
+        pcs.beginBatch();
+    }
+
+    /**
+     * Schließt einen mit {@link #beginChangeBatch()} geöffneten Änderungsstapel.
+     *
+     * @throws IllegalStateException wenn kein Stapel geöffnet ist.
+     */
+    public void endChangeBatch() {
+        pcs.endBatch();
+    }
+
     /**
      * Entfernt einen {@link PropertyChangeListener} aus dem {@link AbstractGraph}.
      *
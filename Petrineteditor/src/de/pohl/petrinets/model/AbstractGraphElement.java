@@ -2,16 +2,14 @@ package de.pohl.petrinets.model;
 
 import java.beans.*;
 
-import javax.swing.event.SwingPropertyChangeSupport;
-
 import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
 
 /**
  * Abstrakte Modellklasse eines Graphelementes.
  */
 public abstract class AbstractGraphElement {
-    private SwingPropertyChangeSupport pcs;
-    private final String ID;
+    private PropertyChangeSupport pcs;
+    private String ID;
 
     /**
      * Ein Copy-Konstruktor zum Erstellen einer Kopie eines
@@ -21,10 +19,17 @@ public abstract class AbstractGraphElement {
      *                             werden soll.
      */
     public AbstractGraphElement(AbstractGraphElement abstractGraphElement) {
-        this.ID = abstractGraphElement.getID();
+        this.ID = abstractGraphElement.ID;
         this.pcs = abstractGraphElement.pcs;
     }
 
+    /**
+     * Erstellt ein neues {@link AbstractGraphElement}, dessen ID erst beim ersten
+     * Aufruf von {@link #getID()} durch {@link #createID()} erzeugt wird.
+     */
+    protected AbstractGraphElement() {
+    }
+
     /**
      * Erstellt ein neues {@link AbstractGraphElement}.
      *
@@ -40,9 +45,25 @@ public abstract class AbstractGraphElement {
      * @return die ID des Graphelementes als {@link String}.
      */
     public String getID() {
+        if (this.ID == null) {
+            this.ID = createID();
+        }
         return this.ID;
     }
 
+    /**
+     * Erzeugt die ID eines Graphelementes, das ohne ID erstellt wurde.
+     * <p>
+     * Graphelemente, die ihre ID erst bei Bedarf erzeugen, müssen diese Methode
+     * überschreiben.
+     *
+     * @return die ID des Graphelementes als {@link String}.
+     * @throws IllegalStateException wenn das Graphelement keine ID erzeugen kann.
+     */
+    protected String createID() {
+        throw new IllegalStateException("Das Graphelement besitzt keine ID.");
+    }
+
     /**
      * Erzeugt und Liefert das Label des Graphelementes zurück.
      *
@@ -56,7 +77,7 @@ public abstract class AbstractGraphElement {
      *
      * @param pcs der {@link PropertyChangeSupport}.
      */
-    public void setPcs(SwingPropertyChangeSupport pcs) {
+    public void setPcs(PropertyChangeSupport pcs) {
         this.pcs = pcs;
     }
 
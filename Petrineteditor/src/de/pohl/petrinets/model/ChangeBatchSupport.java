@@ -0,0 +1,190 @@
+package de.pohl.petrinets.model;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+
+import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
+
+/**
+ * Ein {@link PropertyChangeSupport}, der Änderungen eines
+ * {@link AbstractGraph} und seiner {@link AbstractGraphElement} während eines
+ * Stapels sammelt und beim Abschluss als ein Ereignis
+ * {@link PetrinetEditorGraphProperties#CHANGE_BATCH} veröffentlicht.
+ * <p>
+ * Mehrere Änderungen derselben Eigenschaft desselben Elementes werden zu einer
+ * Änderung vom ersten alten zum letzten neuen Wert zusammengefasst. Änderungen,
+ * deren Ergebnis dem Ausgangszustand entspricht, entfallen. Wird ein Element
+ * während des Stapels entfernt, entfallen auch die Änderungen seiner
+ * Eigenschaften. Die Reihenfolge der Änderungen entspricht der Reihenfolge
+ * ihres ersten Auftretens, so dass z.B. Knoten vor ihren Kanten eingefügt
+ * werden.
+ * <p>
+ * Außerhalb eines Stapels werden die Änderungen wie bisher einzeln
+ * veröffentlicht.
+ */
+final class ChangeBatchSupport extends PropertyChangeSupport {
+    private final Object sourceBean;
+    private int depth;
+    private ArrayList<PendingChange> changes;
+    private HashMap<ChangeKey, PendingChange> changeIndex;
+
+    /**
+     * Erstellt einen neuen {@link ChangeBatchSupport}.
+     *
+     * @param sourceBean der {@link AbstractGraph}, der die Änderungen auslöst.
+     */
+    ChangeBatchSupport(Object sourceBean) {
+        super(sourceBean);
+        this.sourceBean = sourceBean;
+    }
+
+    /**
+     * Öffnet einen Stapel. Stapel können geschachtelt werden, veröffentlicht wird
+     * erst beim Schließen des äußersten Stapels.
+     */
+    void beginBatch() {
+        if (depth++ == 0) {
+            changes = new ArrayList<>();
+            changeIndex = new HashMap<>();
+        }
+    }
+
+    /**
+     * Schließt einen Stapel und veröffentlicht die zusammengefassten Änderungen,
+     * wenn es sich um den äußersten Stapel handelt.
+     *
+     * @throws IllegalStateException wenn kein Stapel geöffnet ist.
+     */
+    void endBatch() {
+        if (depth == 0) {
+            throw new IllegalStateException("Es ist kein Änderungsstapel geöffnet.");
+        }
+        if (--depth == 0) {
+            ArrayList<PendingChange> batch = changes;
+            changes = null;
+            changeIndex = null;
+            publish(batch);
+        }
+    }
+
+    @Override
+    public void firePropertyChange(PropertyChangeEvent evt) {
+        if (depth == 0) {
+            super.firePropertyChange(evt);
+            return;
+        }
+        boolean structural = isStructural(evt);
+        Object subject = structural ? (evt.getNewValue() != null ? evt.getNewValue() : evt.getOldValue())
+                : evt.getSource();
+        ChangeKey key = new ChangeKey(subject, evt.getPropertyName());
+        PendingChange change = changeIndex.get(key);
+        if (change == null) {
+            change = new PendingChange(evt, subject, structural);
+            changeIndex.put(key, change);
+            changes.add(change);
+        } else {
+            change.newValue = evt.getNewValue();
+        }
+    }
+
+    /**
+     * Prüft, ob eine Änderung das Einfügen oder Entfernen eines Elementes
+     * beschreibt.
+     *
+     * @param evt das {@link PropertyChangeEvent}.
+     * @return <code>true</code>, wenn genau einer der Werte <code>null</code>
+     *         ist und die Änderung vom Graphen selbst ausgelöst wurde.
+     */
+    private boolean isStructural(PropertyChangeEvent evt) {
+        return evt.getSource() == sourceBean && (evt.getOldValue() == null) != (evt.getNewValue() == null);
+    }
+
+    /**
+     * Veröffentlicht die zusammengefassten Änderungen als ein Ereignis.
+     *
+     * @param batch die gesammelten Änderungen.
+     */
+    private void publish(ArrayList<PendingChange> batch) {
+        // Elemente, die am Ende des Stapels nicht mehr im Graphen enthalten sind.
+        IdentityHashMap<Object, Boolean> removedSubjects = new IdentityHashMap<>();
+        for (PendingChange change : batch) {
+            if (change.structural && change.newValue == null) {
+                removedSubjects.put(change.subject, Boolean.TRUE);
+            }
+        }
+        ArrayList<PropertyChangeEvent> events = new ArrayList<>();
+        for (PendingChange change : batch) {
+            if (change.oldValue == null && change.newValue == null) {
+                // Eingefügt und wieder entfernt.
+                continue;
+            }
+            if (!change.structural && removedSubjects.containsKey(change.subject)) {
+                continue;
+            }
+            if (change.oldValue != null && Objects.equals(change.oldValue, change.newValue)) {
+                continue;
+            }
+            events.add(new PropertyChangeEvent(change.source, change.propertyName, change.oldValue,
+                    change.newValue));
+        }
+        if (!events.isEmpty()) {
+            super.firePropertyChange(new PropertyChangeEvent(sourceBean,
+                    PetrinetEditorGraphProperties.CHANGE_BATCH.toString(), null,
+                    Collections.unmodifiableList(events)));
+        }
+    }
+
+    /**
+     * Der Schlüssel einer Änderung aus dem betroffenen Element und dem Namen der
+     * Eigenschaft. Das Element wird über seine Identität verglichen.
+     */
+    private static final class ChangeKey {
+        private final Object subject;
+        private final String propertyName;
+
+        private ChangeKey(Object subject, String propertyName) {
+            this.subject = subject;
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ChangeKey)) {
+                return false;
+            }
+            ChangeKey other = (ChangeKey) obj;
+            return subject == other.subject && Objects.equals(propertyName, other.propertyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(subject) + Objects.hashCode(propertyName);
+        }
+    }
+
+    /**
+     * Eine gesammelte Änderung mit dem ersten alten und dem letzten neuen Wert.
+     */
+    private static final class PendingChange {
+        private final Object source;
+        private final String propertyName;
+        private final Object oldValue;
+        private Object newValue;
+        private final Object subject;
+        private final boolean structural;
+
+        private PendingChange(PropertyChangeEvent evt, Object subject, boolean structural) {
+            this.source = evt.getSource();
+            this.propertyName = evt.getPropertyName();
+            this.oldValue = evt.getOldValue();
+            this.newValue = evt.getNewValue();
+            this.subject = subject;
+            this.structural = structural;
+        }
+    }
+}
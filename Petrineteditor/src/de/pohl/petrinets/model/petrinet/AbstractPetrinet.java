@@ -59,21 +59,30 @@ public abstract class AbstractPetrinet extends AbstractGraph implements Originat
      */
     public abstract ArrayList<String> getActiveTransitionIDs();
 
+    /**
+     * Liefert die kompilierte Darstellung der Struktur des
+     * {@link AbstractPetrinet} zurück.
+     * <p>
+     * Die Darstellung wird bei Bedarf erzeugt und bis zur nächsten strukturellen
+     * Änderung wiederverwendet.
+     *
+     * @return das {@link CompiledPetrinet}.
+     */
+    public abstract CompiledPetrinet getCompiledPetrinet();
+
     /**
      * Liefert die aktuelle Markierung des {@link AbstractPetrinet} zurück.
      *
-     * @return Eine {@link ArrayList} mit {@link Integer}-Werten als Repräsentation
-     *         der aktuellen Markierung.
+     * @return Die aktuelle Markierung als {@link Marking}.
      */
-    public abstract ArrayList<Integer> getActualMarking();
+    public abstract Marking getActualMarking();
 
     /**
      * Liefert die initiale Markierung des {@link AbstractPetrinet} zurück.
      *
-     * @return Eine {@link ArrayList} mit {@link Integer}-Werten als Repräsentation
-     *         der initialen Markierung.
+     * @return Die initiale Markierung als {@link Marking}.
      */
-    public abstract ArrayList<Integer> getInitialMarking();
+    public abstract Marking getInitialMarking();
 
     /**
      * Liefert den Dateipfad der zum {@link AbstractPetrinet} gehörigen PNML-Datei
@@ -158,10 +167,9 @@ public abstract class AbstractPetrinet extends AbstractGraph implements Originat
     /**
      * Ändert die aktuelle Markierung des {@link AbstractPetrinet}.
      *
-     * @param newMarking die neue Markierung als {@link ArrayList} mit
-     *                   {@link Integer}-Werten.
+     * @param newMarking die neue Markierung als {@link Marking}.
      */
-    public abstract void setActualMarking(ArrayList<Integer> newMarking);
+    public abstract void setActualMarking(Marking newMarking);
 
     /**
      * Ändert den Namen einer {@link AbstractPetrinetNode} des
@@ -194,13 +202,14 @@ public abstract class AbstractPetrinet extends AbstractGraph implements Originat
     /**
      * Schaltet eine {@link Transition} gemäß der Schaltfunktion.<br>
      * Löst eine Übeprüfung der Transitionszustände (aktiviert/nicht aktiviert) aus.
+     * Mehrfache {@link Arc} zwischen einer Stelle und der {@link Transition}
+     * zählen als Kantengewicht, siehe {@link CompiledPetrinet}.
      *
      * @param transitionID die ID der {@link Transition} als {@link String}.
-     * @return Eine {@link ArrayList} mit {@link Integer}-Werten als Repräsentation
-     *         der Markierung des {@link AbstractPetrinet} nach dem Schalten der
-     *         Transition.<br>
+     * @return Die Markierung des {@link AbstractPetrinet} nach dem Schalten der
+     *         Transition als {@link Marking}.<br>
      *         Ist <code>null</code>, wenn die {@link Transition} unter der
      *         aktuellen Markierung nicht aktiviert ist.
      */
-    public abstract ArrayList<Integer> toggleTransition(String transitionID);
+    public abstract Marking toggleTransition(String transitionID);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package de.pohl.petrinets.model.petrinet;
 
 import java.awt.Point;
+import java.util.ArrayList;
 
 import javax.swing.text.Position;
 
@@ -11,7 +12,9 @@ import de.pohl.petrinets.model.AbstractNode;
  * Abstrakte Modellklasse eines Petrinetzknotens.
  */
 public abstract class AbstractPetrinetNode extends AbstractNode {
+    private ArrayList<String> inboundEdgeIDs;
     private String name;
+    private ArrayList<String> outboundEdgeIDs;
     private Point position;
 
     /**
@@ -23,6 +26,8 @@ public abstract class AbstractPetrinetNode extends AbstractNode {
      */
     public AbstractPetrinetNode(AbstractPetrinetNode abstractPetrinetNode) {
         super(abstractPetrinetNode);
+        this.inboundEdgeIDs = new ArrayList<>(abstractPetrinetNode.inboundEdgeIDs);
+        this.outboundEdgeIDs = new ArrayList<>(abstractPetrinetNode.outboundEdgeIDs);
         this.name = abstractPetrinetNode.name;
         this.position = new Point(abstractPetrinetNode.position);
     }
@@ -34,6 +39,36 @@ public abstract class AbstractPetrinetNode extends AbstractNode {
      */
     public AbstractPetrinetNode(String id) {
         super(id);
+        inboundEdgeIDs = new ArrayList<>();
+        outboundEdgeIDs = new ArrayList<>();
+    }
+
+    /**
+     * Fügt dem Knoten die ID einer eingehenden Kante hinzu.
+     *
+     * @param inboundEdge die ID der eingehenden Kante als {@link String}.
+     */
+    public void addInbound(String inboundEdge) {
+        this.inboundEdgeIDs.add(inboundEdge);
+    }
+
+    /**
+     * Fügt dem Knoten die ID einer ausgehenden Kante hinzu.
+     *
+     * @param outboundEdge die ID der ausgehenden Kante als {@link String}.
+     */
+    public void addOutbound(String outboundEdge) {
+        this.outboundEdgeIDs.add(outboundEdge);
+    }
+
+    /**
+     * Liefert eine Liste mit den IDs der eingehenden Kanten zurück.
+     *
+     * @return Eine {@link ArrayList} mit {@link String}-Werten für die IDs der
+     *         eingehenden Kanten.
+     */
+    public ArrayList<String> getInboundEdgeIDs() {
+        return new ArrayList<>(inboundEdgeIDs);
     }
 
     /**
@@ -45,6 +80,16 @@ public abstract class AbstractPetrinetNode extends AbstractNode {
         return name;
     }
 
+    /**
+     * Liefert eine Liste mit den IDs der ausgehenden Kanten zurück.
+     *
+     * @return Eine {@link ArrayList} mit {@link String}-Werten für die IDs der
+     *         ausgehenden Kanten.
+     */
+    public ArrayList<String> getOutboundEdgeIDs() {
+        return new ArrayList<>(outboundEdgeIDs);
+    }
+
     /**
      * Liefert die Postion des {@link AbstractPetrinetNode} zurück.
      *
@@ -0,0 +1,472 @@
+package de.pohl.petrinets.model.petrinet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Eine unveränderliche, kompilierte Darstellung der Struktur eines
+ * {@link AbstractPetrinet}.
+ * <p>
+ * Stellen und {@link Transition} werden über fortlaufende Indizes angesprochen.
+ * Die Stellen behalten die Reihenfolge des {@link AbstractPetrinet} und passen
+ * damit zu den Indizes einer {@link Marking}. Die {@link Transition} sind
+ * aufsteigend nach ihrer ID sortiert.
+ * <p>
+ * Für jede {@link Transition} werden Vor- und Nachbereich als Inzidenzvektoren
+ * abgelegt. Das Gewicht entspricht der Anzahl der {@link Arc} zwischen Stelle
+ * und {@link Transition}.
+ * <p>
+ * Mehrfache {@link Arc} zwischen derselben Stelle und {@link Transition} werden
+ * damit anders behandelt als in der ursprünglichen Schaltfunktion des
+ * {@link Petrinet}: Dort genügte für die Aktivierung eine Marke je Stelle des
+ * Vorbereiches, beim Schalten wurde aber je {@link Arc} eine Marke abgezogen,
+ * höchstens bis 0. Jetzt muss eine Stelle so viele Marken tragen, wie
+ * {@link Arc} zur {@link Transition} führen, und verliert genau so viele. Nur
+ * mit dieser Regel ist das Schalten monoton, sodass aus einer echten
+ * Überdeckung m &le; m' auf die Unbeschränktheit geschlossen werden darf. Für
+ * Petrinetze ohne mehrfache {@link Arc} ändert sich nichts.
+ * <p>
+ * Schalten und Aktivierungsprüfung benötigen damit nur
+ * O(|Vorbereich| + |Nachbereich|) Schritte, arbeiten direkt auf primitiven
+ * Markierungen und lösen keine Ereignisse aus.
+ * <p>
+ * Zusätzlich wird für jede Stelle abgelegt, in deren Vorbereich sie liegt. So
+ * müssen nach einer Änderung der Marken einer Stelle nur die davon abhängigen
+ * {@link Transition} erneut geprüft werden.
+ */
+public final class CompiledPetrinet {
+    private final int[][] consumerTransitions;
+    private final int[][] consumerWeights;
+    private final String[] placeIDs;
+    private final HashMap<String, Integer> placeIndex;
+    private final int[][] postPlaces;
+    private final int[][] postWeights;
+    private final int[][] prePlaces;
+    private final int[][] preWeights;
+    private final String[] transitionIDs;
+    private final HashMap<String, Integer> transitionIndex;
+    private final String[] transitionNames;
+
+    /**
+     * Kompiliert die Struktur eines {@link Petrinet}.
+     *
+     * @param places      die {@link Place} in der Reihenfolge der Markierung.
+     * @param transitions die {@link Transition} des {@link Petrinet}.
+     * @param arcs        die {@link Arc} des {@link Petrinet}.
+     */
+    CompiledPetrinet(List<Place> places, List<Transition> transitions, List<Arc> arcs) {
+        placeIDs = new String[places.size()];
+        placeIndex = new HashMap<>();
+        for (int p = 0; p < placeIDs.length; p++) {
+            placeIDs[p] = places.get(p).getID();
+            placeIndex.put(placeIDs[p], p);
+        }
+        ArrayList<Transition> sortedTransitions = new ArrayList<>(transitions);
+        sortedTransitions.sort((transition1, transition2) -> transition1.getID().compareTo(transition2.getID()));
+        int transitionCount = sortedTransitions.size();
+        transitionIDs = new String[transitionCount];
+        transitionNames = new String[transitionCount];
+        transitionIndex = new HashMap<>();
+        for (int t = 0; t < transitionCount; t++) {
+            Transition transition = sortedTransitions.get(t);
+            transitionIDs[t] = transition.getID();
+            transitionNames[t] = transition.getName();
+            transitionIndex.put(transitionIDs[t], t);
+        }
+        // Erster Durchlauf: Anzahl der Bögen je Vor- und Nachbereich zählen.
+        int[] preCount = new int[transitionCount];
+        int[] postCount = new int[transitionCount];
+        for (Arc arc : arcs) {
+            int[] connection = connection(arc);
+            if (connection != null) {
+                (connection[2] == 0 ? preCount : postCount)[connection[0]]++;
+            }
+        }
+        // Zweiter Durchlauf: Stellenindizes je Transition sammeln.
+        int[][] pre = new int[transitionCount][];
+        int[][] post = new int[transitionCount][];
+        for (int t = 0; t < transitionCount; t++) {
+            pre[t] = new int[preCount[t]];
+            post[t] = new int[postCount[t]];
+        }
+        Arrays.fill(preCount, 0);
+        Arrays.fill(postCount, 0);
+        for (Arc arc : arcs) {
+            int[] connection = connection(arc);
+            if (connection != null) {
+                if (connection[2] == 0) {
+                    pre[connection[0]][preCount[connection[0]]++] = connection[1];
+                } else {
+                    post[connection[0]][postCount[connection[0]]++] = connection[1];
+                }
+            }
+        }
+        prePlaces = new int[transitionCount][];
+        preWeights = new int[transitionCount][];
+        postPlaces = new int[transitionCount][];
+        postWeights = new int[transitionCount][];
+        for (int t = 0; t < transitionCount; t++) {
+            compress(pre[t], prePlaces, preWeights, t);
+            compress(post[t], postPlaces, postWeights, t);
+        }
+        // Abhängigkeitsindex Stelle -> Transitionen, in deren Vorbereich die Stelle
+        // liegt. Die Transitionen sind je Stelle aufsteigend sortiert.
+        int[] consumerCount = new int[placeIDs.length];
+        for (int t = 0; t < transitionCount; t++) {
+            for (int place : prePlaces[t]) {
+                consumerCount[place]++;
+            }
+        }
+        consumerTransitions = new int[placeIDs.length][];
+        consumerWeights = new int[placeIDs.length][];
+        for (int p = 0; p < placeIDs.length; p++) {
+            consumerTransitions[p] = new int[consumerCount[p]];
+            consumerWeights[p] = new int[consumerCount[p]];
+        }
+        Arrays.fill(consumerCount, 0);
+        for (int t = 0; t < transitionCount; t++) {
+            for (int i = 0; i < prePlaces[t].length; i++) {
+                int place = prePlaces[t][i];
+                consumerTransitions[place][consumerCount[place]] = t;
+                consumerWeights[place][consumerCount[place]] = preWeights[t][i];
+                consumerCount[place]++;
+            }
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Stellen.
+     *
+     * @return die Anzahl der Stellen.
+     */
+    public int countPlaces() {
+        return placeIDs.length;
+    }
+
+    /**
+     * Liefert die Anzahl der {@link Transition}.
+     *
+     * @return die Anzahl der {@link Transition}.
+     */
+    public int countTransitions() {
+        return transitionIDs.length;
+    }
+
+    /**
+     * Schaltet eine {@link Transition} auf einer Markierung. Die Markierung wird
+     * dabei verändert. Ob die {@link Transition} aktiviert ist, wird nicht
+     * geprüft. Stellen mit {@link Marking#OMEGA} behalten diesen Wert.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @param tokens     die Markenanzahlen der Stellen.
+     */
+    public void fire(int transition, int[] tokens) {
+        int[] places = prePlaces[transition];
+        int[] weights = preWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            if (tokens[places[i]] != Marking.OMEGA) {
+                tokens[places[i]] -= weights[i];
+            }
+        }
+        places = postPlaces[transition];
+        weights = postWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            if (tokens[places[i]] != Marking.OMEGA) {
+                tokens[places[i]] += weights[i];
+            }
+        }
+    }
+
+    /**
+     * Schaltet eine {@link Transition} auf einer {@link Marking}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @param marking    die Ausgangsmarkierung.
+     * @return die Folgemarkierung oder <code>null</code>, wenn die
+     *         {@link Transition} unter der Ausgangsmarkierung nicht aktiviert ist.
+     */
+    public Marking fire(int transition, Marking marking) {
+        if (!isEnabled(transition, marking)) return null;
+        int[] tokens = marking.toArray();
+        fire(transition, tokens);
+        return Marking.of(tokens, marking.getWidth());
+    }
+
+    /**
+     * Liefert die {@link Transition}, in deren Vorbereich eine Stelle liegt.
+     *
+     * @param place der Index der Stelle.
+     * @return eine Kopie der Indizes der {@link Transition}.
+     */
+    public int[] getConsumerTransitions(int place) {
+        return consumerTransitions[place].clone();
+    }
+
+    /**
+     * Liefert die Kantengewichte von einer Stelle zu den {@link Transition} ihres
+     * Nachbereiches in der Reihenfolge von {@link #getConsumerTransitions(int)}.
+     *
+     * @param place der Index der Stelle.
+     * @return eine Kopie der Kantengewichte.
+     */
+    public int[] getConsumerWeights(int place) {
+        return consumerWeights[place].clone();
+    }
+
+    /**
+     * Liefert die Indizes aller unter einer {@link Marking} aktivierten
+     * {@link Transition} in aufsteigender Reihenfolge.
+     *
+     * @param marking die {@link Marking}.
+     * @return die Indizes der aktivierten {@link Transition}.
+     */
+    public int[] getEnabledTransitions(Marking marking) {
+        int[] enabled = new int[transitionIDs.length];
+        int count = 0;
+        for (int t = 0; t < transitionIDs.length; t++) {
+            if (isEnabled(t, marking)) {
+                enabled[count++] = t;
+            }
+        }
+        return Arrays.copyOf(enabled, count);
+    }
+
+    /**
+     * Liefert die sortierten IDs aller unter einer {@link Marking} aktivierten
+     * {@link Transition}.
+     *
+     * @param marking die {@link Marking}.
+     * @return Eine sortierte {@link ArrayList} mit den IDs als {@link String}.
+     */
+    public ArrayList<String> getEnabledTransitionIDs(Marking marking) {
+        ArrayList<String> enabledTransitionIDs = new ArrayList<>();
+        for (int t = 0; t < transitionIDs.length; t++) {
+            if (isEnabled(t, marking)) {
+                enabledTransitionIDs.add(transitionIDs[t]);
+            }
+        }
+        return enabledTransitionIDs;
+    }
+
+    /**
+     * Liefert die ID einer Stelle.
+     *
+     * @param place der Index der Stelle.
+     * @return die ID der Stelle als {@link String}.
+     */
+    public String getPlaceID(int place) {
+        return placeIDs[place];
+    }
+
+    /**
+     * Liefert den Index einer Stelle.
+     *
+     * @param placeID die ID der Stelle als {@link String}.
+     * @return der Index der Stelle oder -1, wenn die Stelle nicht existiert.
+     */
+    public int getPlaceIndex(String placeID) {
+        Integer index = placeIndex.get(placeID);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Liefert die Stellen des Nachbereiches einer {@link Transition}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @return eine Kopie der Indizes der Stellen.
+     */
+    public int[] getPostPlaces(int transition) {
+        return postPlaces[transition].clone();
+    }
+
+    /**
+     * Liefert die Kantengewichte des Nachbereiches einer {@link Transition} in
+     * der Reihenfolge von {@link #getPostPlaces(int)}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @return eine Kopie der Kantengewichte.
+     */
+    public int[] getPostWeights(int transition) {
+        return postWeights[transition].clone();
+    }
+
+    /**
+     * Liefert die Stellen des Vorbereiches einer {@link Transition}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @return eine Kopie der Indizes der Stellen.
+     */
+    public int[] getPrePlaces(int transition) {
+        return prePlaces[transition].clone();
+    }
+
+    /**
+     * Liefert die Kantengewichte des Vorbereiches einer {@link Transition} in der
+     * Reihenfolge von {@link #getPrePlaces(int)}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @return eine Kopie der Kantengewichte.
+     */
+    public int[] getPreWeights(int transition) {
+        return preWeights[transition].clone();
+    }
+
+    /**
+     * Liefert die ID einer {@link Transition}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @return die ID der {@link Transition} als {@link String}.
+     */
+    public String getTransitionID(int transition) {
+        return transitionIDs[transition];
+    }
+
+    /**
+     * Liefert den Index einer {@link Transition}.
+     *
+     * @param transitionID die ID der {@link Transition} als {@link String}.
+     * @return der Index der {@link Transition} oder -1, wenn die
+     *         {@link Transition} nicht existiert.
+     */
+    public int getTransitionIndex(String transitionID) {
+        Integer index = transitionIndex.get(transitionID);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Liefert den Namen einer {@link Transition}.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @return der Name der {@link Transition} als {@link String}.
+     */
+    public String getTransitionName(int transition) {
+        return transitionNames[transition];
+    }
+
+    /**
+     * Prüft, ob eine {@link Transition} unter einer Markierung aktiviert ist.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @param tokens     die Markenanzahlen der Stellen.
+     * @return <code>true</code>, wenn jede Stelle des Vorbereiches mindestens so
+     *         viele Marken trägt, wie das Kantengewicht angibt.
+     */
+    public boolean isEnabled(int transition, int[] tokens) {
+        int[] places = prePlaces[transition];
+        int[] weights = preWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            if (tokens[places[i]] < weights[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Prüft, ob eine {@link Transition} unter einer {@link Marking} aktiviert ist.
+     *
+     * @param transition der Index der {@link Transition}.
+     * @param marking    die {@link Marking}.
+     * @return <code>true</code>, wenn jede Stelle des Vorbereiches mindestens so
+     *         viele Marken trägt, wie das Kantengewicht angibt.
+     */
+    public boolean isEnabled(int transition, Marking marking) {
+        int[] places = prePlaces[transition];
+        int[] weights = preWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            if (marking.get(places[i]) < weights[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Liefert die {@link Transition} im Nachbereich einer Stelle ohne Kopie. Nur
+     * für den lesenden Zugriff innerhalb des Paketes.
+     */
+    int[] consumerTransitionsOf(int place) {
+        return consumerTransitions[place];
+    }
+
+    /**
+     * Liefert die Kantengewichte zu {@link #consumerTransitionsOf(int)} ohne
+     * Kopie. Nur für den lesenden Zugriff innerhalb des Paketes.
+     */
+    int[] consumerWeightsOf(int place) {
+        return consumerWeights[place];
+    }
+
+    /**
+     * Liefert die Stellen des Vorbereiches einer {@link Transition} ohne Kopie.
+     * Nur für den lesenden Zugriff innerhalb des Paketes.
+     */
+    int[] prePlacesOf(int transition) {
+        return prePlaces[transition];
+    }
+
+    /**
+     * Liefert die Kantengewichte zu {@link #prePlacesOf(int)} ohne Kopie. Nur für
+     * den lesenden Zugriff innerhalb des Paketes.
+     */
+    int[] preWeightsOf(int transition) {
+        return preWeights[transition];
+    }
+
+    /**
+     * Liefert die Stellen des Nachbereiches einer {@link Transition} ohne Kopie.
+     * Nur für den lesenden Zugriff innerhalb des Paketes.
+     */
+    int[] postPlacesOf(int transition) {
+        return postPlaces[transition];
+    }
+
+    /**
+     * Liefert die Kantengewichte zu {@link #postPlacesOf(int)} ohne Kopie. Nur für
+     * den lesenden Zugriff innerhalb des Paketes.
+     */
+    int[] postWeightsOf(int transition) {
+        return postWeights[transition];
+    }
+
+    /**
+     * Fasst mehrfach vorkommende Stellen zu einem Kantengewicht zusammen.
+     */
+    private static void compress(int[] arcPlaces, int[][] places, int[][] weights, int transition) {
+        Arrays.sort(arcPlaces);
+        int count = 0;
+        for (int i = 0; i < arcPlaces.length; i++) {
+            if (i == 0 || arcPlaces[i] != arcPlaces[i - 1]) count++;
+        }
+        places[transition] = new int[count];
+        weights[transition] = new int[count];
+        int j = -1;
+        for (int i = 0; i < arcPlaces.length; i++) {
+            if (i == 0 || arcPlaces[i] != arcPlaces[i - 1]) {
+                places[transition][++j] = arcPlaces[i];
+            }
+            weights[transition][j]++;
+        }
+    }
+
+    /**
+     * Ermittelt die durch einen {@link Arc} verbundene Stelle und
+     * {@link Transition}.
+     *
+     * @return ein Feld mit dem Index der {@link Transition}, dem Index der Stelle
+     *         und 0 für den Vorbereich bzw. 1 für den Nachbereich oder
+     *         <code>null</code>, wenn der {@link Arc} nicht Stelle und
+     *         {@link Transition} verbindet.
+     */
+    private int[] connection(Arc arc) {
+        Integer sourcePlace = placeIndex.get(arc.getSourceNodeID());
+        Integer targetTransition = transitionIndex.get(arc.getTargetNodeID());
+        if (sourcePlace != null && targetTransition != null) {
+            return new int[] { targetTransition, sourcePlace, 0 };
+        }
+        Integer sourceTransition = transitionIndex.get(arc.getSourceNodeID());
+        Integer targetPlace = placeIndex.get(arc.getTargetNodeID());
+        if (sourceTransition != null && targetPlace != null) {
+            return new int[] { sourceTransition, targetPlace, 1 };
+        }
+        return null;
+    }
+}
@@ -0,0 +1,315 @@
+package de.pohl.petrinets.model.petrinet;
+
+import java.util.Arrays;
+
+/**
+ * Eine unveränderliche Markierung eines {@link AbstractPetrinet}.
+ * <p>
+ * Die Markenanzahlen der Stellen werden in der Reihenfolge der Stellen des
+ * {@link AbstractPetrinet} in einem primitiven Feld abgelegt. Je nach
+ * {@link MarkingWidth} wird dafür ein {@code byte[]}, {@code short[]} oder
+ * {@code int[]} verwendet. Der Hashwert wird bei der Erzeugung einmalig
+ * berechnet.
+ * <p>
+ * Zwei Markierungen sind genau dann gleich, wenn sie jeder Stelle dieselbe
+ * Anzahl an Marken zuweisen. Die {@link MarkingWidth} spielt für die Gleichheit
+ * keine Rolle.
+ * <p>
+ * Die Darstellung als {@link String} entspricht der einer Liste, z.B.
+ * {@code [1, 0, 2]}.
+ * <p>
+ * Für die Überdeckbarkeitsanalyse kann eine Stelle den Wert {@link #OMEGA}
+ * tragen. Dieser steht für beliebig viele Marken und wird als {@code ω}
+ * dargestellt.
+ */
+public abstract class Marking {
+    /**
+     * Der Wert für beliebig viele Marken (ω) einer Stelle.
+     */
+    public static final int OMEGA = Integer.MAX_VALUE;
+
+    private final int hash;
+
+    private Marking(int hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Erstellt eine {@link Marking} in der kleinsten passenden
+     * {@link MarkingWidth}.
+     *
+     * @param tokens die Markenanzahlen der Stellen.
+     * @return die neue {@link Marking}.
+     */
+    public static Marking of(int... tokens) {
+        return of(tokens, MarkingWidth.BYTE);
+    }
+
+    /**
+     * Erstellt eine {@link Marking} mit mindestens der angegebenen
+     * {@link MarkingWidth}. Reicht diese für die Markenanzahlen nicht aus, wird
+     * eine breitere {@link MarkingWidth} gewählt.
+     *
+     * @param tokens   die Markenanzahlen der Stellen. Das Feld wird nicht
+     *                 übernommen, sondern kopiert.
+     * @param minWidth die mindestens zu verwendende {@link MarkingWidth}.
+     * @return die neue {@link Marking}.
+     * @throws IllegalArgumentException wenn eine Markenanzahl kleiner 0 ist.
+     */
+    public static Marking of(int[] tokens, MarkingWidth minWidth) {
+        int maxTokens = 0;
+        for (int token : tokens) {
+            if (token < 0) {
+                throw new IllegalArgumentException("Die Anzahl der Marken einer Stelle darf nicht kleiner 0 sein.");
+            }
+            maxTokens = Math.max(maxTokens, token);
+        }
+        int hash = Arrays.hashCode(tokens);
+        switch (MarkingWidth.forBound(maxTokens).max(minWidth)) {
+        case BYTE:
+            byte[] byteTokens = new byte[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                byteTokens[i] = (byte) tokens[i];
+            }
+            return new ByteMarking(byteTokens, hash);
+        case SHORT:
+            short[] shortTokens = new short[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                shortTokens[i] = (short) tokens[i];
+            }
+            return new ShortMarking(shortTokens, hash);
+        default:
+            return new IntMarking(tokens.clone(), hash);
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Marken einer Stelle.
+     *
+     * @param place der Index der Stelle.
+     * @return die Anzahl der Marken.
+     */
+    public abstract int get(int place);
+
+    /**
+     * Liefert die {@link MarkingWidth}, mit der die Markenanzahlen abgelegt sind.
+     *
+     * @return die {@link MarkingWidth}.
+     */
+    public abstract MarkingWidth getWidth();
+
+    /**
+     * Gibt an, ob mindestens eine Stelle den Wert {@link #OMEGA} trägt.
+     *
+     * @return <code>true</code>, wenn die {@link Marking} ω enthält.
+     */
+    public boolean hasOmega() {
+        for (int i = 0; i < size(); i++) {
+            if (get(i) == OMEGA) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Prüft, ob diese {@link Marking} jeder Stelle mindestens so viele Marken
+     * zuweist wie die andere {@link Marking}.
+     *
+     * @param other eine {@link Marking} mit derselben Anzahl an Stellen.
+     * @return <code>true</code>, wenn diese {@link Marking} die andere überdeckt.
+     */
+    public boolean covers(Marking other) {
+        for (int i = 0; i < size(); i++) {
+            if (get(i) < other.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Liefert die Anzahl der Stellen der {@link Marking}.
+     *
+     * @return die Anzahl der Stellen.
+     */
+    public abstract int size();
+
+    /**
+     * Liefert die größte Markenanzahl einer Stelle.
+     *
+     * @return die größte Markenanzahl oder 0, wenn die {@link Marking} keine
+     *         Stellen enthält.
+     */
+    public int getMaxTokens() {
+        int maxTokens = 0;
+        for (int i = 0; i < size(); i++) {
+            maxTokens = Math.max(maxTokens, get(i));
+        }
+        return maxTokens;
+    }
+
+    /**
+     * Liefert die Markenanzahlen als neues {@code int[]}.
+     *
+     * @return eine Kopie der Markenanzahlen.
+     */
+    public int[] toArray() {
+        int[] tokens = new int[size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = get(i);
+        }
+        return tokens;
+    }
+
+    /**
+     * Erzeugt das Label der {@link Marking}.
+     * <p>
+     * Format: {@code (Marken Stelle 0|Marken Stelle 1|...|Marken Stelle n)}
+     *
+     * @return das Label als {@link String}.
+     */
+    public String toLabel() {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                sb.append('|');
+            }
+            appendTokens(sb, get(i));
+        }
+        return sb.append(')').toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Marking)) return false;
+        Marking other = (Marking) obj;
+        if (hash != other.hash || size() != other.size()) return false;
+        if (getWidth() == other.getWidth()) return sameWidthEquals(other);
+        for (int i = 0; i < size(); i++) {
+            if (get(i) != other.get(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            appendTokens(sb, get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Hängt eine Markenanzahl an, wobei {@link #OMEGA} als {@code ω} erscheint.
+     */
+    private static void appendTokens(StringBuilder sb, int tokens) {
+        if (tokens == OMEGA) {
+            sb.append('ω');
+        } else {
+            sb.append(tokens);
+        }
+    }
+
+    /**
+     * Vergleicht die Markenanzahlen mit einer {@link Marking} derselben
+     * {@link MarkingWidth}.
+     *
+     * @param other eine {@link Marking} derselben {@link MarkingWidth}.
+     * @return <code>true</code>, wenn die Markenanzahlen gleich sind.
+     */
+    abstract boolean sameWidthEquals(Marking other);
+
+    private static final class ByteMarking extends Marking {
+        private final byte[] tokens;
+
+        private ByteMarking(byte[] tokens, int hash) {
+            super(hash);
+            this.tokens = tokens;
+        }
+
+        @Override
+        public int get(int place) {
+            return tokens[place];
+        }
+
+        @Override
+        public MarkingWidth getWidth() {
+            return MarkingWidth.BYTE;
+        }
+
+        @Override
+        public int size() {
+            return tokens.length;
+        }
+
+        @Override
+        boolean sameWidthEquals(Marking other) {
+            return Arrays.equals(tokens, ((ByteMarking) other).tokens);
+        }
+    }
+
+    private static final class ShortMarking extends Marking {
+        private final short[] tokens;
+
+        private ShortMarking(short[] tokens, int hash) {
+            super(hash);
+            this.tokens = tokens;
+        }
+
+        @Override
+        public int get(int place) {
+            return tokens[place];
+        }
+
+        @Override
+        public MarkingWidth getWidth() {
+            return MarkingWidth.SHORT;
+        }
+
+        @Override
+        public int size() {
+            return tokens.length;
+        }
+
+        @Override
+        boolean sameWidthEquals(Marking other) {
+            return Arrays.equals(tokens, ((ShortMarking) other).tokens);
+        }
+    }
+
+    private static final class IntMarking extends Marking {
+        private final int[] tokens;
+
+        private IntMarking(int[] tokens, int hash) {
+            super(hash);
+            this.tokens = tokens;
+        }
+
+        @Override
+        public int get(int place) {
+            return tokens[place];
+        }
+
+        @Override
+        public MarkingWidth getWidth() {
+            return MarkingWidth.INT;
+        }
+
+        @Override
+        public int size() {
+            return tokens.length;
+        }
+
+        @Override
+        boolean sameWidthEquals(Marking other) {
+            return Arrays.equals(tokens, ((IntMarking) other).tokens);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package de.pohl.petrinets.model.petrinet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Eine Hashtabelle außerhalb des Heaps, die {@link Marking} auf Zustandsnummern
+ * abbildet, z.B. auf die Nummern der Knoten eines Erreichbarkeitsgraphen.
+ * <p>
+ * Die Tabelle verwendet offene Adressierung mit linearer Suche. Jeder Eintrag
+ * enthält die Zustandsnummer, den Hashwert und die Markenanzahlen aller
+ * Stellen in der {@link MarkingWidth}, die für die bisher größte Markenanzahl
+ * ausreicht. Die Einträge liegen in direkten {@link ByteBuffer}, deren Größe
+ * durch {@code -XX:MaxDirectMemorySize} begrenzt ist. Für sehr große
+ * Zustandsräume verteilt sich die Tabelle auf mehrere Puffer von höchstens 1
+ * GiB.
+ * <p>
+ * Der Heap enthält damit auch bei vielen Millionen Markierungen nur wenige
+ * Objekte, die die Speicherbereinigung durchsuchen muss. Das Nachschlagen
+ * erzeugt keine Objekte. Bei mehr als drei Viertel belegten Einträgen wird die
+ * Tabelle verdoppelt, reicht die {@link MarkingWidth} für eine neue
+ * {@link Marking} nicht aus, wird sie mit breiteren Einträgen neu aufgebaut.
+ * <p>
+ * Die Klasse ist nicht threadsicher.
+ */
+public final class MarkingIndex {
+    // Die Zustandsnummer + 1 an Position 0, 0 steht für einen freien Eintrag. Der
+    // Hashwert an Position 4, danach die Markenanzahlen.
+    private static final int VALUE_OFFSET = 0;
+    private static final int HASH_OFFSET = 4;
+    private static final int TOKENS_OFFSET = 8;
+    private static final int MAX_BUFFER_BYTES = 1 << 30;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private ByteBuffer[] buffers;
+    // Die Anzahl der Einträge ist eine Zweierpotenz, ebenso die Anzahl der
+    // Einträge je Puffer.
+    private long capacity;
+    private int bufferShift;
+    private int entryBytes;
+    // Die Anzahl der Stellen, -1 bis zur ersten Markierung.
+    private int places = -1;
+    private long size;
+    private MarkingWidth width = MarkingWidth.BYTE;
+
+    /**
+     * Entfernt alle Markierungen und gibt die Puffer frei. Danach kann die
+     * {@link MarkingIndex} Markierungen mit einer anderen Anzahl an Stellen
+     * aufnehmen.
+     */
+    public void clear() {
+        buffers = null;
+        capacity = 0;
+        places = -1;
+        size = 0;
+        width = MarkingWidth.BYTE;
+    }
+
+    /**
+     * Liefert die Zustandsnummer einer {@link Marking} zurück.
+     *
+     * @param marking die gesuchte {@link Marking}.
+     * @return die Zustandsnummer oder -1, wenn die {@link Marking} nicht enthalten
+     *         ist.
+     */
+    public int get(Marking marking) {
+        long entry = find(marking);
+        return entry < 0 ? -1 : getInt(entry, VALUE_OFFSET) - 1;
+    }
+
+    /**
+     * Fügt eine {@link Marking} mit einer Zustandsnummer hinzu, sofern sie noch
+     * nicht enthalten ist.
+     *
+     * @param marking die {@link Marking}.
+     * @param value   die Zustandsnummer, mindestens 0.
+     * @return die bisherige Zustandsnummer der {@link Marking} oder -1, wenn sie
+     *         hinzugefügt wurde.
+     * @throws IllegalArgumentException wenn die Zustandsnummer kleiner 0 ist
+     *                                  oder die {@link Marking} eine andere
+     *                                  Anzahl an Stellen besitzt als die
+     *                                  bisherigen.
+     */
+    public int putIfAbsent(Marking marking, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Die Zustandsnummer darf nicht kleiner 0 sein.");
+        }
+        if (places < 0) {
+            places = marking.size();
+            rebuild(INITIAL_CAPACITY, width);
+        } else if (marking.size() != places) {
+            throw new IllegalArgumentException("Die Markierung " + marking + " besitzt nicht " + places + " Stellen.");
+        }
+        long entry = find(marking);
+        if (entry >= 0) return getInt(entry, VALUE_OFFSET) - 1;
+        if (marking.getWidth().compareTo(width) > 0) {
+            MarkingWidth markingWidth = MarkingWidth.forBound(marking.getMaxTokens());
+            if (markingWidth.compareTo(width) > 0) {
+                rebuild(capacity, markingWidth);
+            }
+        }
+        if (size + 1 > capacity - (capacity >>> 2)) {
+            rebuild(capacity * 2, width);
+        }
+        insert(firstFreeEntry(marking.hashCode()), marking.hashCode(), value, marking);
+        size++;
+        return -1;
+    }
+
+    /**
+     * Entfernt eine {@link Marking}.
+     * <p>
+     * Die nachfolgenden Einträge derselben Suchfolge werden zurückgeschoben,
+     * sodass keine Löschmarkierungen zurückbleiben.
+     *
+     * @param marking die zu entfernende {@link Marking}.
+     * @return <code>true</code>, wenn die {@link Marking} enthalten war.
+     */
+    public boolean remove(Marking marking) {
+        long entry = find(marking);
+        if (entry < 0) return false;
+        long mask = capacity - 1;
+        long gap = entry;
+        for (long next = (gap + 1) & mask; getInt(next, VALUE_OFFSET) != 0; next = (next + 1) & mask) {
+            long home = spread(getInt(next, HASH_OFFSET)) & mask;
+            // Der Eintrag darf nur in die Lücke verschoben werden, wenn diese auf
+            // seiner Suchfolge zwischen seiner Ausgangsposition und ihm liegt.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                copyEntry(next, gap);
+                gap = next;
+            }
+        }
+        setInt(gap, VALUE_OFFSET, 0);
+        size--;
+        return true;
+    }
+
+    /**
+     * Liefert die Anzahl der enthaltenen Markierungen zurück.
+     *
+     * @return die Anzahl der Markierungen.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Überträgt einen Eintrag an eine andere Position.
+     */
+    private void copyEntry(long source, long target) {
+        ByteBuffer sourceBuffer = buffers[(int) (source >>> bufferShift)];
+        ByteBuffer targetBuffer = buffers[(int) (target >>> bufferShift)];
+        int sourceOffset = offset(source);
+        int targetOffset = offset(target);
+        for (int i = 0; i < entryBytes; i++) {
+            targetBuffer.put(targetOffset + i, sourceBuffer.get(sourceOffset + i));
+        }
+    }
+
+    /**
+     * Sucht den Eintrag einer {@link Marking}.
+     *
+     * @return die Nummer des Eintrags oder -1, wenn die {@link Marking} nicht
+     *         enthalten ist.
+     */
+    private long find(Marking marking) {
+        if (places < 0 || marking.size() != places) return -1;
+        int hash = marking.hashCode();
+        long mask = capacity - 1;
+        for (long entry = spread(hash) & mask;; entry = (entry + 1) & mask) {
+            if (getInt(entry, VALUE_OFFSET) == 0) return -1;
+            if (getInt(entry, HASH_OFFSET) == hash && matches(entry, marking)) return entry;
+        }
+    }
+
+    /**
+     * Sucht ab der Ausgangsposition eines Hashwertes den ersten freien Eintrag.
+     */
+    private long firstFreeEntry(int hash) {
+        long mask = capacity - 1;
+        long entry = spread(hash) & mask;
+        while (getInt(entry, VALUE_OFFSET) != 0) {
+            entry = (entry + 1) & mask;
+        }
+        return entry;
+    }
+
+    private int getInt(long entry, int field) {
+        return buffers[(int) (entry >>> bufferShift)].getInt(offset(entry) + field);
+    }
+
+    /**
+     * Liest die Markenanzahl einer Stelle aus einem Eintrag.
+     */
+    private static int getTokens(ByteBuffer buffer, int entryOffset, int place, MarkingWidth width) {
+        switch (width) {
+        case BYTE:
+            return buffer.get(entryOffset + TOKENS_OFFSET + place);
+        case SHORT:
+            return buffer.getShort(entryOffset + TOKENS_OFFSET + 2 * place);
+        default:
+            return buffer.getInt(entryOffset + TOKENS_OFFSET + 4 * place);
+        }
+    }
+
+    /**
+     * Schreibt einen Eintrag.
+     */
+    private void insert(long entry, int hash, int value, Marking marking) {
+        ByteBuffer buffer = buffers[(int) (entry >>> bufferShift)];
+        int entryOffset = offset(entry);
+        buffer.putInt(entryOffset + VALUE_OFFSET, value + 1);
+        buffer.putInt(entryOffset + HASH_OFFSET, hash);
+        for (int place = 0; place < places; place++) {
+            setTokens(buffer, entryOffset, place, width, marking.get(place));
+        }
+    }
+
+    /**
+     * Vergleicht die Markenanzahlen eines Eintrags mit einer {@link Marking}.
+     */
+    private boolean matches(long entry, Marking marking) {
+        ByteBuffer buffer = buffers[(int) (entry >>> bufferShift)];
+        int entryOffset = offset(entry);
+        for (int place = 0; place < places; place++) {
+            if (getTokens(buffer, entryOffset, place, width) != marking.get(place)) return false;
+        }
+        return true;
+    }
+
+    private int offset(long entry) {
+        return (int) (entry & ((1L << bufferShift) - 1)) * entryBytes;
+    }
+
+    /**
+     * Legt die Tabelle mit der angegebenen Anzahl an Einträgen und
+     * {@link MarkingWidth} neu an und überträgt die bisherigen Einträge.
+     */
+    private void rebuild(long newCapacity, MarkingWidth newWidth) {
+        ByteBuffer[] oldBuffers = buffers;
+        long oldCapacity = capacity;
+        int oldBufferShift = bufferShift;
+        int oldEntryBytes = entryBytes;
+        MarkingWidth oldWidth = width;
+        int tokenBytes = newWidth == MarkingWidth.BYTE ? 1 : newWidth == MarkingWidth.SHORT ? 2 : 4;
+        // Einträge auf 4 Byte ausrichten.
+        int newEntryBytes = (TOKENS_OFFSET + places * tokenBytes + 3) & ~3;
+        int newBufferShift = 63 - Long.numberOfLeadingZeros(Math.max(1, MAX_BUFFER_BYTES / newEntryBytes));
+        newBufferShift = Math.min(newBufferShift, Long.numberOfTrailingZeros(newCapacity));
+        ByteBuffer[] newBuffers = new ByteBuffer[(int) (newCapacity >>> newBufferShift)];
+        for (int i = 0; i < newBuffers.length; i++) {
+            newBuffers[i] = ByteBuffer.allocateDirect(newEntryBytes << newBufferShift).order(ByteOrder.nativeOrder());
+        }
+        buffers = newBuffers;
+        capacity = newCapacity;
+        bufferShift = newBufferShift;
+        entryBytes = newEntryBytes;
+        width = newWidth;
+        if (oldBuffers == null) return;
+        for (long oldEntry = 0; oldEntry < oldCapacity; oldEntry++) {
+            ByteBuffer oldBuffer = oldBuffers[(int) (oldEntry >>> oldBufferShift)];
+            int oldOffset = (int) (oldEntry & ((1L << oldBufferShift) - 1)) * oldEntryBytes;
+            int value = oldBuffer.getInt(oldOffset + VALUE_OFFSET);
+            if (value == 0) continue;
+            int hash = oldBuffer.getInt(oldOffset + HASH_OFFSET);
+            long entry = firstFreeEntry(hash);
+            ByteBuffer buffer = buffers[(int) (entry >>> bufferShift)];
+            int entryOffset = offset(entry);
+            buffer.putInt(entryOffset + VALUE_OFFSET, value);
+            buffer.putInt(entryOffset + HASH_OFFSET, hash);
+            for (int place = 0; place < places; place++) {
+                setTokens(buffer, entryOffset, place, newWidth, getTokens(oldBuffer, oldOffset, place, oldWidth));
+            }
+        }
+    }
+
+    private void setInt(long entry, int field, int value) {
+        buffers[(int) (entry >>> bufferShift)].putInt(offset(entry) + field, value);
+    }
+
+    /**
+     * Schreibt die Markenanzahl einer Stelle in einen Eintrag.
+     */
+    private static void setTokens(ByteBuffer buffer, int entryOffset, int place, MarkingWidth width,
+            int tokens) {
+        switch (width) {
+        case BYTE:
+            buffer.put(entryOffset + TOKENS_OFFSET + place, (byte) tokens);
+            break;
+        case SHORT:
+            buffer.putShort(entryOffset + TOKENS_OFFSET + 2 * place, (short) tokens);
+            break;
+        default:
+            buffer.putInt(entryOffset + TOKENS_OFFSET + 4 * place, tokens);
+        }
+    }
+
+    /**
+     * Verteilt die Bits des Hashwertes einer {@link Marking} für die
+     * Ausgangsposition in einer Hashtabelle mit offener Adressierung, da
+     * {@link Marking#hashCode()} für benachbarte Markierungen benachbarte Werte
+     * liefert.
+     *
+     * @param hash der Hashwert der {@link Marking}.
+     * @return der verteilte Hashwert zwischen 0 und 2^32 - 1.
+     */
+    public static long spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & 0xFFFFFFFFL;
+    }
+}
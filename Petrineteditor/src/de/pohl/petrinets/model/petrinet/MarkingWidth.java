@@ -0,0 +1,61 @@
+package de.pohl.petrinets.model.petrinet;
+
+/**
+ * Die Speicherbreite, mit der die Markenanzahlen einer {@link Marking} abgelegt
+ * werden.
+ * <p>
+ * Die Breite wird je {@link AbstractPetrinet} anhand der größten beobachteten
+ * Markenanzahl einer Stelle gewählt und bei Bedarf vergrößert.
+ */
+public enum MarkingWidth {
+    /**
+     * Bis zu {@value Byte#MAX_VALUE} Marken je Stelle.
+     */
+    BYTE(Byte.MAX_VALUE),
+    /**
+     * Bis zu {@value Short#MAX_VALUE} Marken je Stelle.
+     */
+    SHORT(Short.MAX_VALUE),
+    /**
+     * Bis zu {@value Integer#MAX_VALUE} Marken je Stelle.
+     */
+    INT(Integer.MAX_VALUE);
+
+    private final int maxTokens;
+
+    private MarkingWidth(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * Liefert die kleinste {@link MarkingWidth}, mit der die angegebene
+     * Markenanzahl dargestellt werden kann.
+     *
+     * @param tokens die größte Markenanzahl einer Stelle.
+     * @return die passende {@link MarkingWidth}.
+     */
+    public static MarkingWidth forBound(int tokens) {
+        if (tokens <= BYTE.maxTokens) return BYTE;
+        if (tokens <= SHORT.maxTokens) return SHORT;
+        return INT;
+    }
+
+    /**
+     * Liefert die größte darstellbare Markenanzahl je Stelle.
+     *
+     * @return die größte darstellbare Markenanzahl.
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Liefert die breitere der beiden {@link MarkingWidth}.
+     *
+     * @param other eine andere {@link MarkingWidth}.
+     * @return die breitere {@link MarkingWidth}.
+     */
+    public MarkingWidth max(MarkingWidth other) {
+        return this.compareTo(other) >= 0 ? this : other;
+    }
+}
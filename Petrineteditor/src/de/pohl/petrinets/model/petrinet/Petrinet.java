@@ -5,17 +5,33 @@ import java.io.File;
 import java.util.*;
 
 import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
+import de.pohl.petrinets.logging.Logger;
 
 /**
  * Die Implementierung eines {@link AbstractPetrinet}
  */
 public class Petrinet extends AbstractPetrinet {
+    private static final Logger LOGGER = Logger.getLogger(Petrinet.class);
     private ArrayList<Arc> arcs;
+    private CompiledPetrinet compiledPetrinet;
+    // Die Transitionen in der Reihenfolge der Indizes des CompiledPetrinet.
+    private Transition[] compiledTransitions;
     private String editFocusPlaceID;
     private final File pnmlFile;
     private ArrayList<Place> places;
     private ArrayList<Transition> transitions;
+    // Die Stellen und Transitionen nach ihrer ID.
+    private HashMap<String, Place> placesByID;
+    private HashMap<String, Transition> transitionsByID;
+    // Die Stellen werden erst beim ersten Zugriff nach dem Einfügen sortiert.
+    private boolean placesSorted = true;
     private boolean modified;
+    // Die Speicherbreite der Markierungen. Sie wächst mit der größten beobachteten
+    // Markenanzahl einer Stelle und wird nie verkleinert.
+    private MarkingWidth markingWidth = MarkingWidth.BYTE;
+    // Je Transition die Anzahl der Stellen des Vorbereiches, die zu wenige Marken
+    // tragen. Eine Transition ist genau dann aktiviert, wenn der Wert 0 ist.
+    private int[] missingTokens;
 
     /**
      * Erstellt ein neues {@link Petrinet}.
@@ -26,6 +42,8 @@ public class Petrinet extends AbstractPetrinet {
         this.arcs = new ArrayList<>();
         this.places = new ArrayList<>();
         this.transitions = new ArrayList<>();
+        this.placesByID = new HashMap<>();
+        this.transitionsByID = new HashMap<>();
         this.pnmlFile = new File(pnmlFile.getPath());
     }
 
@@ -37,6 +55,7 @@ public class Petrinet extends AbstractPetrinet {
             Arc newArc = new Arc(arcID, sourceID, targetID);
             forewardGraphPCSToGraphElement(newArc);
             this.arcs.add(newArc);
+            invalidateCompiledPetrinet();
             sourceNode.addOutbound(newArc.getID());
             targetNode.addInbound(newArc.getID());
             this.firePropertyChange(PetrinetEditorGraphProperties.ARC, null, newArc);
@@ -62,12 +81,9 @@ public class Petrinet extends AbstractPetrinet {
             Place newPlace = new Place(placeID);
             forewardGraphPCSToGraphElement(newPlace);
             this.places.add(newPlace);
-            places.sort(new Comparator<Place>() {
-                @Override
-                public int compare(Place place1, Place place2) {
-                    return place1.getID().compareToIgnoreCase(place2.toString());
-                }
-            });
+            this.placesByID.put(placeID, newPlace);
+            invalidateCompiledPetrinet();
+            placesSorted = false;
             this.firePropertyChange(PetrinetEditorGraphProperties.PLACE, null, placeID);
         }
     }
@@ -80,6 +96,8 @@ public class Petrinet extends AbstractPetrinet {
             Transition newTransition = new Transition(transitionID);
             forewardGraphPCSToGraphElement(newTransition);
             this.transitions.add(newTransition);
+            this.transitionsByID.put(transitionID, newTransition);
+            invalidateCompiledPetrinet();
             this.firePropertyChange(PetrinetEditorGraphProperties.TRANSITION, null, transitionID);
         }
     }
@@ -87,11 +105,28 @@ public class Petrinet extends AbstractPetrinet {
     /**
      * Überprüft alle Transitionen des Graphen, ob diese unter der aktuellen
      * Markierung aktiv sind.
+     * <p>
+     * Dabei wird für jede Transition die Anzahl der Stellen ihres Vorbereiches
+     * bestimmt, die zu wenige Marken tragen. Spätere Änderungen von Marken
+     * aktualisieren diese Zähler nur noch für die betroffenen Transitionen.
      */
     @Override
     public void checkAllTransitionstate() {
-        for (Transition transition : transitions) {
-            this.checkTransitionstate(transition.getID());
+        CompiledPetrinet compiled = getCompiledPetrinet();
+        missingTokens = new int[compiled.countTransitions()];
+        for (int t = 0; t < missingTokens.length; t++) {
+            int[] prePlaces = compiled.prePlacesOf(t);
+            int[] preWeights = compiled.preWeightsOf(t);
+            for (int i = 0; i < prePlaces.length; i++) {
+                if (getPlaces().get(prePlaces[i]).getActualTokens() < preWeights[i]) {
+                    missingTokens[t]++;
+                }
+            }
+            if (missingTokens[t] == 0) {
+                compiledTransitions[t].activate();
+            } else {
+                compiledTransitions[t].deactivate();
+            }
         }
     }
 
@@ -100,33 +135,48 @@ public class Petrinet extends AbstractPetrinet {
      */
     @Override
     public void decFocusedPlaceTokens() {
-        Place place = getPlace(editFocusPlaceID);
-        if (place != null) {
-            place.decActualTokens();
+        int placeIndex = getCompiledPetrinet().getPlaceIndex(editFocusPlaceID);
+        if (placeIndex >= 0) {
+            int actualTokens = getPlaces().get(placeIndex).getActualTokens();
+            if (actualTokens > 0) {
+                changeActualTokens(placeIndex, actualTokens - 1);
+            }
             setAsNewInitialMarking();
-            checkAllTransitionstate();
         }
     }
 
     @Override
     public ArrayList<String> getActiveTransitionIDs() {
+        ensureTransitionstate();
+        // Die Transitionen des CompiledPetrinet sind bereits nach ihrer ID sortiert.
         ArrayList<String> transitionIDs = new ArrayList<>();
-        for (Transition transition : transitions) {
-            if (transition.isActivated()) {
-                transitionIDs.add(transition.getID());
+        for (int t = 0; t < missingTokens.length; t++) {
+            if (missingTokens[t] == 0) {
+                transitionIDs.add(compiledTransitions[t].getID());
             }
         }
-        transitionIDs.sort(null);
         return transitionIDs;
     }
 
     @Override
-    public ArrayList<Integer> getActualMarking() {
+    public CompiledPetrinet getCompiledPetrinet() {
+        if (compiledPetrinet == null) {
+            compiledPetrinet = new CompiledPetrinet(getPlaces(), transitions, arcs);
+            compiledTransitions = new Transition[compiledPetrinet.countTransitions()];
+            for (int t = 0; t < compiledTransitions.length; t++) {
+                compiledTransitions[t] = transitionsByID.get(compiledPetrinet.getTransitionID(t));
+            }
+        }
+        return compiledPetrinet;
+    }
+
+    @Override
+    public Marking getActualMarking() {
         return this.calcMarking(false);
     }
 
     @Override
-    public ArrayList<Integer> getInitialMarking() {
+    public Marking getInitialMarking() {
         return this.calcMarking(true);
     }
 
@@ -161,11 +211,10 @@ public class Petrinet extends AbstractPetrinet {
      */
     @Override
     public void incFocusedPlaceTokens() {
-        Place place = getPlace(editFocusPlaceID);
-        if (place != null) {
-            place.incActualTokens();
+        int placeIndex = getCompiledPetrinet().getPlaceIndex(editFocusPlaceID);
+        if (placeIndex >= 0) {
+            changeActualTokens(placeIndex, getPlaces().get(placeIndex).getActualTokens() + 1);
             setAsNewInitialMarking();
-            checkAllTransitionstate();
         }
     }
 
@@ -180,6 +229,8 @@ public class Petrinet extends AbstractPetrinet {
             } else {
                 place.setActualTokens(tokens);
                 place.setInitialTokens(tokens);
+                // Der Aktivierungszustand wird beim nächsten Zugriff neu ermittelt.
+                missingTokens = null;
             }
         }
     }
@@ -207,17 +258,17 @@ public class Petrinet extends AbstractPetrinet {
 
     @Override
     public void resetToInitialMarking() {
-        for (Place place : places) {
-            int initialTokens = place.getInitialTokens();
-            place.setActualTokens(initialTokens);
+        ensureTransitionstate();
+        for (int i = 0; i < getPlaces().size(); i++) {
+            int initialTokens = getPlaces().get(i).getInitialTokens();
+            changeActualTokens(i, initialTokens);
         }
-        this.checkAllTransitionstate();
     }
 
     @Override
     public void restoreState(PetrinetMemento saveState) {
-        ArrayList<Integer> savedActualMarking = saveState.getActualMarking();
-        ArrayList<Integer> savedInitialMarking = saveState.getInitialMarking();
+        Marking savedActualMarking = saveState.getActualMarking();
+        Marking savedInitialMarking = saveState.getInitialMarking();
         setInitialMarking(savedInitialMarking);
         setActualMarking(savedActualMarking);
         if (saveState.isModified()) {
@@ -238,15 +289,13 @@ public class Petrinet extends AbstractPetrinet {
      * @param newActualMarking die neuer Markierung.
      */
     @Override
-    public void setActualMarking(ArrayList<Integer> newActualMarking) {
-        if (newActualMarking.size() == places.size()) {
+    public void setActualMarking(Marking newActualMarking) {
+        if (newActualMarking.size() == getPlaces().size()) {
+            ensureTransitionstate();
             for (int i = 0; i < newActualMarking.size(); i++) {
-                Place place = places.get(i);
-                int newActualTokens = newActualMarking.get(i);
-                place.setActualTokens(newActualTokens);
+                changeActualTokens(i, newActualMarking.get(i));
             }
-            System.out.println("Petrinetz auf Zustand " + newActualMarking.toString() + " gesetzt.");
-            this.checkAllTransitionstate();
+            LOGGER.trace("Petrinetz auf Zustand %1$s gesetzt.", newActualMarking);
         }
     }
 
@@ -255,6 +304,8 @@ public class Petrinet extends AbstractPetrinet {
         AbstractPetrinetNode node = getPetrinetNode(nodeID);
         if (node != null) {
             node.setName(newName);
+            // Die kompilierte Darstellung enthält die Namen der Transitionen.
+            invalidateCompiledPetrinet();
         } else {
             throw new NoSuchElementException("Der Knoten mit der ID " + nodeID + " konnte nicht gefunden werden.");
         }
@@ -292,26 +343,32 @@ public class Petrinet extends AbstractPetrinet {
     }
 
     @Override
-    public ArrayList<Integer> toggleTransition(String transitionID) {
+    public Marking toggleTransition(String transitionID) {
+        ensureTransitionstate();
         Transition transition = getTransition(transitionID);
         if (transition.isActivated()) {
-            System.out.println("Die Transition " + transitionID + " ist unter der aktuellen Markierung aktiviert.");
-            ArrayList<Integer> oldActualMarking = this.getActualMarking();
-            ArrayList<Place> preSet = generatePreSet(transitionID);
-            ArrayList<Place> postSet = generatePostSet(transitionID);
-            for (Place place : preSet) {
-                place.decActualTokens();
+            LOGGER.trace("Die Transition %1$s ist unter der aktuellen Markierung aktiviert.", transitionID);
+            Marking oldActualMarking = this.getActualMarking();
+            CompiledPetrinet compiled = getCompiledPetrinet();
+            int transitionIndex = compiled.getTransitionIndex(transitionID);
+            int[] prePlaces = compiled.prePlacesOf(transitionIndex);
+            int[] preWeights = compiled.preWeightsOf(transitionIndex);
+            int[] postPlaces = compiled.postPlacesOf(transitionIndex);
+            int[] postWeights = compiled.postWeightsOf(transitionIndex);
+            for (int i = 0; i < prePlaces.length; i++) {
+                int place = prePlaces[i];
+                changeActualTokens(place, getPlaces().get(place).getActualTokens() - preWeights[i]);
             }
-            for (Place place : postSet) {
-                place.incActualTokens();
+            for (int i = 0; i < postPlaces.length; i++) {
+                int place = postPlaces[i];
+                changeActualTokens(place, getPlaces().get(place).getActualTokens() + postWeights[i]);
             }
-            checkAllTransitionstate();
-            ArrayList<Integer> newActualMarking = this.getActualMarking();
-            System.out.println("Petrinetz wurde vom Zustand " + oldActualMarking.toString() + " in den Zustand "
-                    + newActualMarking.toString() + " überführt.");
-            return new ArrayList<>(newActualMarking);
+            Marking newActualMarking = this.getActualMarking();
+            LOGGER.trace("Petrinetz wurde vom Zustand %1$s in den Zustand %2$s überführt.", oldActualMarking,
+                    newActualMarking);
+            return newActualMarking;
         }
-        System.out.println("Die Transition " + transitionID + " ist unter der aktuellen Markierung nicht aktiviert.");
+        LOGGER.trace("Die Transition %1$s ist unter der aktuellen Markierung nicht aktiviert.", transitionID);
         return null;
     }
 
@@ -322,89 +379,72 @@ public class Petrinet extends AbstractPetrinet {
      *                           Markierung ermittelt. Andernfalls die initiale
      *                           Markierung.
      *
-     * @return Eine {@link ArrayList} mit {@link Integer}-Werten als Repräsentation
-     *         der Markierung.
+     * @return Die Markierung als {@link Marking}.
      */
-    private ArrayList<Integer> calcMarking(boolean calcInitialMarking) {
-        ArrayList<Integer> marking = new ArrayList<>();
-        if (calcInitialMarking) {
-            for (Place place : places) {
-                marking.add(place.getInitialTokens());
-            }
-        } else {
-            for (Place place : places) {
-                marking.add(place.getActualTokens());
-            }
+    private Marking calcMarking(boolean calcInitialMarking) {
+        int[] tokens = new int[getPlaces().size()];
+        for (int i = 0; i < tokens.length; i++) {
+            Place place = getPlaces().get(i);
+            tokens[i] = calcInitialMarking ? place.getInitialTokens() : place.getActualTokens();
         }
+        Marking marking = Marking.of(tokens, markingWidth);
+        markingWidth = marking.getWidth();
         return marking;
     }
 
     /**
-     * Überprüft, ob die {@link Transition} des {@link Petrinet} unter der aktuellen
-     * Markierung aktiv ist.
+     * Ändert die aktuelle Anzahl der Marken einer Stelle und aktualisiert den
+     * Aktivierungszustand der {@link Transition}, in deren Vorbereich die Stelle
+     * liegt.
      *
-     * @param transitionID die ID der {@link Transition} als {@link String}.
+     * @param placeIndex      der Index der Stelle im {@link CompiledPetrinet}.
+     * @param newActualTokens die neue Anzahl der Marken.
      */
-    private void checkTransitionstate(String transitionID) {
-        Transition transition = this.getTransition(transitionID);
-        // Wir gehen davon aus, dass der Vorbereich der Transition die Kriterien
-        // erfüllt. Also das alle Stellen im Vorbereich min. eine Marke tragen.
-        // Andernfalls erkennt die folgende Schleife dies und deaktiviert die
-        // Transition.
-        transition.activate();
-        for (Arc arc : arcs) {
-            AbstractPetrinetNode targetNode = getPetrinetNode(arc.getTargetNodeID());
-            if (targetNode.getClass().equals(Transition.class)) {
-                String targetID = targetNode.getID();
-                Place sourceNode = getPlace(arc.getSourceNodeID());
-                int tokens = sourceNode.getActualTokens();
-                if (targetID.equalsIgnoreCase(transitionID) && tokens == 0) {
-                    transition.deactivate();
-                    // Es ist keine weitere Iteration notwendig, da das Kriterium ab hier niemals
-                    // erfüllt werden wird.
-                    break;
+    private void changeActualTokens(int placeIndex, int newActualTokens) {
+        Place place = getPlaces().get(placeIndex);
+        int oldActualTokens = place.getActualTokens();
+        if (oldActualTokens == newActualTokens) return;
+        place.setActualTokens(newActualTokens);
+        if (missingTokens == null) return;
+        int[] consumers = compiledPetrinet.consumerTransitionsOf(placeIndex);
+        int[] weights = compiledPetrinet.consumerWeightsOf(placeIndex);
+        for (int i = 0; i < consumers.length; i++) {
+            boolean wasSufficient = oldActualTokens >= weights[i];
+            boolean isSufficient = newActualTokens >= weights[i];
+            if (wasSufficient && !isSufficient) {
+                if (missingTokens[consumers[i]]++ == 0) {
+                    compiledTransitions[consumers[i]].deactivate();
+                }
+            } else if (!wasSufficient && isSufficient) {
+                if (--missingTokens[consumers[i]] == 0) {
+                    compiledTransitions[consumers[i]].activate();
                 }
             }
         }
     }
 
     /**
-     * Ermittelt den Nachbereich einer {@link Transition}.
-     *
-     * @param transitionID die ID der {@link Petrinet} als {@link String}.
-     * @return Eine {@link ArrayList} mit {@link Place}-Instanzen.
+     * Stellt sicher, dass der Aktivierungszustand aller {@link Transition} zur
+     * aktuellen Markierung passt und inkrementell fortgeschrieben werden kann.
      */
-    private ArrayList<Place> generatePostSet(String transitionID) {
-        ArrayList<Place> postSet = new ArrayList<>();
-        for (Arc arc : arcs) {
-            if (arc.getSourceNodeID().equalsIgnoreCase(transitionID)) {
-                Place place = getPlace(arc.getTargetNodeID());
-                postSet.add(place);
-            }
+    private void ensureTransitionstate() {
+        if (compiledPetrinet == null || missingTokens == null) {
+            checkAllTransitionstate();
         }
-        return postSet;
     }
 
     /**
-     * Ermittelt den Vorbereich einer {@link Transition}.
-     *
-     * @param transitionID die ID der {@link Petrinet} als {@link String}.
-     * @return Eine {@link ArrayList} mit {@link Place}-Instanzen.
+     * Verwirft die kompilierte Darstellung nach einer strukturellen Änderung.
      */
-    private ArrayList<Place> generatePreSet(String transitionID) {
-        ArrayList<Place> preSet = new ArrayList<>();
-        for (Arc arc : arcs) {
-            if (arc.getTargetNodeID().equalsIgnoreCase(transitionID)) {
-                Place place = getPlace(arc.getSourceNodeID());
-                preSet.add(place);
-            }
-        }
-        return preSet;
+    private void invalidateCompiledPetrinet() {
+        compiledPetrinet = null;
+        compiledTransitions = null;
+        missingTokens = null;
     }
 
     /**
-     * Durchsucht alle {@link AbstractPetrinetNode} des {@link Petrinet} nach dem
-     * {@link AbstractPetrinetNode} mit der angegebenen ID.
+     * Liefert den {@link AbstractPetrinetNode} des {@link Petrinet} mit der
+     * angegebenen ID.
      *
      * @param petrinetnodeID die ID des gesuchten {@link AbstractPetrinetNode} als
      *                       {@link String}.
@@ -412,33 +452,44 @@ public class Petrinet extends AbstractPetrinet {
      *         wenn der gesuchte {@link AbstractPetrinetNode} nicht existiert.
      */
     private AbstractPetrinetNode getPetrinetNode(String petrinetnodeID) {
-        ArrayList<AbstractPetrinetNode> petrinetnodes = new ArrayList<>();
-        petrinetnodes.addAll(transitions);
-        petrinetnodes.addAll(places);
-        for (AbstractPetrinetNode petrinetnode : petrinetnodes) {
-            if (petrinetnode.getID().equals(petrinetnodeID)) return petrinetnode;
-        }
-        return null;
+        AbstractPetrinetNode petrinetnode = transitionsByID.get(petrinetnodeID);
+        return petrinetnode != null ? petrinetnode : placesByID.get(petrinetnodeID);
     }
 
     /**
-     * Durchsucht alle {@link Place} des {@link Petrinet} nach der {@link Place} mit
-     * der angegebenen ID.
+     * Liefert die {@link Place} des {@link Petrinet} mit der angegebenen ID.
      *
      * @param placeID die ID der gesuchten {@link Place} als {@link String}.
      * @return Die gesuchte {@link Place} oder <code>null</code>, wenn der gesuchte
      *         {@link Place} nicht existiert.
      */
     private Place getPlace(String placeID) {
-        for (Place place : places) {
-            if (place.getID().equals(placeID)) return place;
+        return placesByID.get(placeID);
+    }
+
+    /**
+     * Liefert die Stellen des {@link Petrinet} in der Reihenfolge der
+     * {@link Marking}. Wurden seit dem letzten Aufruf Stellen hinzugefügt, werden
+     * die Stellen einmalig sortiert. Die Reihenfolge ergibt sich aus den IDs der
+     * Stellen ohne Beachtung der Groß- und Kleinschreibung.
+     *
+     * @return die sortierten {@link Place}.
+     */
+    private ArrayList<Place> getPlaces() {
+        if (!placesSorted) {
+            places.sort(new Comparator<Place>() {
+                @Override
+                public int compare(Place place1, Place place2) {
+                    return place1.getID().compareToIgnoreCase(place2.getID());
+                }
+            });
+            placesSorted = true;
         }
-        return null;
+        return places;
     }
 
     /**
-     * Durchsucht alle {@link Transition} des {@link Petrinet} nach der
-     * {@link Transition} mit der angegebenen ID.
+     * Liefert die {@link Transition} des {@link Petrinet} mit der angegebenen ID.
      *
      * @param transitionID Die ID der gesuchten {@link Transition} als
      *                     {@link String}.
@@ -446,38 +497,33 @@ public class Petrinet extends AbstractPetrinet {
      *         gesuchte {@link Transition} nicht existiert.
      */
     private Transition getTransition(String transitionID) {
-        for (Transition transition : transitions) {
-            if (transition.getID().equals(transitionID)) return transition;
-        }
-        return null;
+        return transitionsByID.get(transitionID);
     }
 
     /**
      * Setzt die aktuelle Markierung als neue Anfangsmarkierung.
      */
     private void setAsNewInitialMarking() {
-        for (Place place : places) {
+        for (Place place : getPlaces()) {
             int actualTokens = place.getActualTokens();
             place.setInitialTokens(actualTokens);
         }
-        checkAllTransitionstate();
         setModified();
     }
 
     /**
      * Setzt die Markierung als neue Anfangsmarkierung.
      *
-     * @param newInitialMarking die neue Anfangsmarkierung als {@link ArrayList} mit
-     *                          {@link Integer}-Werten.
+     * @param newInitialMarking die neue Anfangsmarkierung als {@link Marking}.
      */
-    private void setInitialMarking(ArrayList<Integer> newInitialMarking) {
-        if (newInitialMarking.size() == places.size()) {
+    private void setInitialMarking(Marking newInitialMarking) {
+        if (newInitialMarking.size() == getPlaces().size()) {
             for (int i = 0; i < newInitialMarking.size(); i++) {
-                Place place = places.get(i);
+                Place place = getPlaces().get(i);
                 int newInitialTokens = newInitialMarking.get(i);
                 place.setInitialTokens(newInitialTokens);
             }
-            System.out.println("Petrinetz auf initialen Zustand " + newInitialMarking.toString() + " gesetzt.");
+            LOGGER.trace("Petrinetz auf initialen Zustand %1$s gesetzt.", newInitialMarking);
         }
     }
 
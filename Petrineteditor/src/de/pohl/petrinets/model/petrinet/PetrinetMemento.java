@@ -1,7 +1,5 @@
 package de.pohl.petrinets.model.petrinet;
 
-import java.util.ArrayList;
-
 import de.pohl.petrinets.control.Caretaker;
 import de.pohl.petrinets.control.CaretakerObserver;
 import de.pohl.petrinets.model.Originator;
@@ -19,28 +17,21 @@ import de.pohl.petrinets.model.reachabilitygraph.RGraphMemento;
  * @see RGraphMemento
  */
 public class PetrinetMemento {
-    private ArrayList<Integer> actualMarking;
-    private ArrayList<Integer> initialMarking;
+    private final Marking actualMarking;
+    private final Marking initialMarking;
     private boolean modified;
 
     /**
      * Erstellt eine neue {@link PetrinetMemento}.
      *
-     * @param actualMarking  die aktuelle Markierung als {@link ArrayList} mit
-     *                       {@link Integer}-Werten.
-     * @param initialMarking die initiale Markierung als {@link ArrayList} mit
-     *                       {@link Integer}-Werten.
+     * @param actualMarking  die aktuelle Markierung als {@link Marking}.
+     * @param initialMarking die initiale Markierung als {@link Marking}.
      * @param modified       den Modifikationsstatus des Petrinetzes.
      */
-    public PetrinetMemento(ArrayList<Integer> actualMarking, ArrayList<Integer> initialMarking, boolean modified) {
-        this.actualMarking = new ArrayList<>();
-        if (actualMarking != null) {
-            this.actualMarking.addAll(actualMarking);
-        }
-        this.initialMarking = new ArrayList<>();
-        if (initialMarking != null) {
-            this.initialMarking.addAll(initialMarking);
-        }
+    public PetrinetMemento(Marking actualMarking, Marking initialMarking, boolean modified) {
+        // Eine Marking ist unveränderlich und muss daher nicht kopiert werden.
+        this.actualMarking = actualMarking != null ? actualMarking : Marking.of();
+        this.initialMarking = initialMarking != null ? initialMarking : Marking.of();
         this.modified = modified;
     }
 
@@ -49,10 +40,10 @@ public class PetrinetMemento {
      * zurück.
      *
      * @return Die im {@link PetrinetMemento} gespeicherte aktuelle Markierung als
-     *         {@link ArrayList} mit {@link Integer}-Werten.
+     *         {@link Marking}.
      */
-    public ArrayList<Integer> getActualMarking() {
-        return new ArrayList<>(actualMarking);
+    public Marking getActualMarking() {
+        return actualMarking;
     }
 
     /**
@@ -60,10 +51,10 @@ public class PetrinetMemento {
      * zurück.
      *
      * @return Die im {@link PetrinetMemento} gespeicherte initiale Markierung als
-     *         {@link ArrayList} mit {@link Integer}-Werten.
+     *         {@link Marking}.
      */
-    public ArrayList<Integer> getInitialMarking() {
-        return new ArrayList<>(initialMarking);
+    public Marking getInitialMarking() {
+        return initialMarking;
     }
 
     /**
@@ -6,10 +6,16 @@ import de.pohl.petrinets.control.implementations.usecases.BoundednessAnalyser;
 import de.pohl.petrinets.model.AbstractGraph;
 import de.pohl.petrinets.model.Originator;
 import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
 import de.pohl.petrinets.model.petrinet.Transition;
 
 /**
  * Abstrakte Modellklasse eines Erreichbarkeitsgraphen.
+ * <p>
+ * Neben den IDs als {@link String} besitzen die Knoten und Kanten eine
+ * fortlaufende Nummer in der Reihenfolge ihres Hinzufügens. Die Analysen
+ * verwenden ausschließlich die Nummern, die IDs werden erst erzeugt, wenn sie
+ * z.B. für die Darstellung benötigt werden.
  */
 public abstract class AbstractReachabilitygraph extends AbstractGraph implements Originator<RGraphMemento> {
     /**
@@ -17,13 +23,12 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      * ein.
      *
      * @param initialMarking      die initiale Markierung eines
-     *                            {@link AbstractPetrinet} als {@link ArrayList} mit
-     *                            {@link Integer}-Werten.
+     *                            {@link AbstractPetrinet} als {@link Marking}.
      * @param activeTransitionIDs eine {@link ArrayList} mit {@link String}-Werten
      *                            für die IDs der auf der Markierung aktiven
      *                            {@link Transition}.
      */
-    abstract public void addInitialMarking(ArrayList<Integer> initialMarking, ArrayList<String> activeTransitionIDs);
+    abstract public void addInitialMarking(Marking initialMarking, ArrayList<String> activeTransitionIDs);
 
     /**
      * Fügt dem {@link AbstractReachabilitygraph} eine neue Markierung hinzu.
@@ -32,10 +37,8 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      *                            {@link String}.
      * @param transitionName      der Name der geschalteten {@link Transition} als
      *                            {@link String}.
-     * @param oldActualMarking    die Ausgangsmarkierung als {@link ArrayList} mit
-     *                            {@link Integer}-Werten.
-     * @param newActualMarking    die Zielmarkierung als {@link ArrayList} mit
-     *                            {@link Integer}-Werten.
+     * @param oldActualMarking    die Ausgangsmarkierung als {@link Marking}.
+     * @param newActualMarking    die Zielmarkierung als {@link Marking}.
      * @param activeTransitionIDs eine {@link ArrayList} mit {@link String}-Werten
      *                            für die IDs der auf der Markierung aktiven
      *                            {@link Transition}.
@@ -45,8 +48,44 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      * @return Die ID der neuen {@link RGraphEdge} des Erreichbarkeitsgraphen als
      *         {@link String} oder <code>null</code>, wenn diese bereits existiert.
      */
-    public abstract String addMarking(String transitionID, String transitionName, ArrayList<Integer> oldActualMarking,
-            ArrayList<Integer> newActualMarking, ArrayList<String> activeTransitionIDs, boolean returnExisting);
+    public abstract String addMarking(String transitionID, String transitionName, Marking oldActualMarking,
+            Marking newActualMarking, ArrayList<String> activeTransitionIDs, boolean returnExisting);
+
+    /**
+     * Fügt dem {@link AbstractReachabilitygraph} eine neue Markierung hinzu und
+     * liefert die Nummer der neuen Kante zurück.
+     *
+     * @param transitionID        die ID der geschalteten {@link Transition} als
+     *                            {@link String}.
+     * @param transitionName      der Name der geschalteten {@link Transition} als
+     *                            {@link String}.
+     * @param oldActualMarking    die Ausgangsmarkierung als {@link Marking}.
+     * @param newActualMarking    die Zielmarkierung als {@link Marking}.
+     * @param activeTransitionIDs eine {@link ArrayList} mit {@link String}-Werten
+     *                            für die IDs der auf der Markierung aktiven
+     *                            {@link Transition}.
+     * @return Die Nummer der neuen {@link RGraphEdge} oder -1, wenn diese bereits
+     *         existiert.
+     * @see #addMarking(String, String, Marking, Marking, ArrayList, boolean)
+     */
+    public abstract int addMarkingEdge(String transitionID, String transitionName, Marking oldActualMarking,
+            Marking newActualMarking, ArrayList<String> activeTransitionIDs);
+
+    /**
+     * Liefert die Anzahl der eingehenden Kanten eines Knotens zurück.
+     *
+     * @param node die Nummer des Knotens.
+     * @return die Anzahl der eingehenden Kanten.
+     */
+    public abstract int countNodeInboundEdges(int node);
+
+    /**
+     * Liefert die Anzahl der ausgehenden Kanten eines Knotens zurück.
+     *
+     * @param node die Nummer des Knotens.
+     * @return die Anzahl der ausgehenden Kanten.
+     */
+    public abstract int countNodeOutboundEdges(int node);
 
     /**
      * Liefert die Anzahl der {@link RGraphEdge} des Graphen zurück.
@@ -62,6 +101,34 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      */
     public abstract int countNodes();
 
+    /**
+     * Verwirft die Aufzeichnung aller Änderungen, die für die Wiederherstellung
+     * von Zuständen vor dem angegebenen Zustand benötigt werden. Diese Zustände
+     * können danach nicht mehr wiederhergestellt werden.
+     *
+     * @param oldestState der älteste noch benötigte {@link RGraphMemento} oder
+     *                    <code>null</code>, wenn kein Zustand mehr benötigt wird.
+     *                    Dann werden Änderungen bis zum nächsten
+     *                    {@link #saveState()} nicht mehr aufgezeichnet.
+     */
+    public abstract void discardHistory(RGraphMemento oldestState);
+
+    /**
+     * Liefert die ID einer Kante zurück.
+     *
+     * @param edge die Nummer der Kante.
+     * @return die ID der Kante als {@link String}.
+     */
+    public abstract String getEdgeID(int edge);
+
+    /**
+     * Liefert die Nummer des Quellknotens einer Kante zurück.
+     *
+     * @param edge die Nummer der Kante.
+     * @return die Nummer des Quellknotens.
+     */
+    public abstract int getEdgeSource(int edge);
+
     /**
      * Liefert die ID des Quellknotens einer Kante zurück.
      *
@@ -78,6 +145,14 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      */
     public abstract String getEdgeTargetID(String edgeID);
 
+    /**
+     * Liefert die Nummer des Zielknotens einer Kante zurück.
+     *
+     * @param edge die Nummer der Kante.
+     * @return die Nummer des Zielknotens.
+     */
+    public abstract int getEdgeTarget(int edge);
+
     /**
      * Liefert die ID der {@link Transition} einer Kante zurück, auf die diese
      * referenziert.
@@ -97,6 +172,24 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      */
     public abstract String getInitialNodeID();
 
+    /**
+     * Liefert die ID eines Knotens zurück.
+     *
+     * @param node die Nummer des Knotens.
+     * @return die ID des Knotens als {@link String}.
+     */
+    public abstract String getNodeID(int node);
+
+    /**
+     * Liefert die Nummer einer eingehenden Kante eines Knotens zurück.
+     *
+     * @param node  die Nummer des Knotens.
+     * @param index der Index der Kante zwischen 0 und
+     *              {@link #countNodeInboundEdges(int)} - 1.
+     * @return die Nummer der Kante.
+     */
+    public abstract int getNodeInboundEdge(int node, int index);
+
     /**
      * Liefert die IDs aller eingehenden Kanten eines Knotens zurück.
      *
@@ -114,15 +207,41 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      */
     public abstract String getNodeLabel(String nodeID);
 
+    /**
+     * Liefert die Markierung eines Knotens zurück.
+     *
+     * @param node die Nummer des Knotens.
+     * @return Die Markierung als {@link Marking}.
+     */
+    public abstract Marking getNodeMarking(int node);
+
     /**
      * Liefert die Markierung eines {@link RGraphNode} im
      * {@link AbstractReachabilitygraph} zurück.
      *
      * @param nodeID die ID des {@link RGraphNode}, dessen Markierung gesucht wird
      *               als {@link String}.
-     * @return Die Markierung als {@link ArrayList} mit {@link Integer}-Werten.
+     * @return Die Markierung als {@link Marking}.
+     */
+    public abstract Marking getNodeMarking(String nodeID);
+
+    /**
+     * Liefert die Nummer eines Knotens zurück.
+     *
+     * @param nodeID die ID des Knotens als {@link String}.
+     * @return die Nummer des Knotens oder -1, wenn dieser nicht existiert.
+     */
+    public abstract int getNodeNumber(String nodeID);
+
+    /**
+     * Liefert die Nummer einer ausgehenden Kante eines Knotens zurück.
+     *
+     * @param node  die Nummer des Knotens.
+     * @param index der Index der Kante zwischen 0 und
+     *              {@link #countNodeOutboundEdges(int)} - 1.
+     * @return die Nummer der Kante.
      */
-    public abstract ArrayList<Integer> getNodeMarking(String nodeID);
+    public abstract int getNodeOutboundEdge(int node, int index);
 
     /**
      * Liefert die IDs aller ausgehenden Kanten eines Knotens zurück.
@@ -140,13 +259,11 @@ public abstract class AbstractReachabilitygraph extends AbstractGraph implements
      *
      * @param transitionID     die ID der {@link Transition} die geschaltet wurde
      *                         als {@link String}.
-     * @param oldActualMarking die Ausgangsmarkierung als {@link ArrayList} mit
-     *                         {@link Integer}-Werten.
-     * @param newActualMarking die Zielmarkierung als {@link ArrayList} mit
-     *                         {@link Integer}-Werten.
+     * @param oldActualMarking die Ausgangsmarkierung als {@link Marking}.
+     * @param newActualMarking die Zielmarkierung als {@link Marking}.
      */
-    public abstract void highlightTransition(String transitionID, ArrayList<Integer> oldActualMarking,
-            ArrayList<Integer> newActualMarking);
+    public abstract void highlightTransition(String transitionID, Marking oldActualMarking,
+            Marking newActualMarking);
 
     /**
      * Überprüft, ob es sich bei der angegebenen ID um einen {@link RGraphNode} des
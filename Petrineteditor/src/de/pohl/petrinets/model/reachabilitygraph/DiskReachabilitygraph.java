@@ -0,0 +1,624 @@
+package de.pohl.petrinets.model.reachabilitygraph;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+import de.pohl.petrinets.model.petrinet.Marking;
+import de.pohl.petrinets.model.petrinet.MarkingIndex;
+import de.pohl.petrinets.model.petrinet.MarkingWidth;
+import de.pohl.petrinets.model.petrinet.Transition;
+
+/**
+ * Ein {@link AbstractReachabilitygraph}, dessen Markierungen und Kanten in
+ * Dateien abgelegt werden, die in den Speicher abgebildet sind.
+ * <p>
+ * Für sehr große Zustandsräume, die als {@link Reachabilitygraph} nicht mehr
+ * in den Heap passen, werden keine {@link RGraphNode} und {@link RGraphEdge}
+ * erzeugt. Stattdessen stehen je Knoten die Markenanzahlen der Stellen und die
+ * erste und letzte ein- und ausgehende Kante, je Kante Quell- und Zielknoten,
+ * die {@link Transition} und die nächste Kante desselben Quell- bzw.
+ * Zielknotens in einem {@link MappedIntArray}. Im Heap verbleiben nur ein
+ * Hashindex von den Markierungen auf die Knotennummern mit 8 Byte je Eintrag
+ * und ein kleiner Zwischenspeicher der zuletzt gelesenen Markierungen. Selten
+ * benötigte Knoten liest das Betriebssystem bei Bedarf wieder von der Platte.
+ * <p>
+ * Die IDs der Knoten und Kanten werden wie im {@link Reachabilitygraph}
+ * gebildet, aber nicht gespeichert, sondern bei jedem Zugriff aus der
+ * Markierung erzeugt bzw. in diese zurückgewandelt.
+ * <p>
+ * Der Graph ist für die Analyse ohne Darstellung bestimmt. Es werden daher
+ * keine Ereignisse für Knoten und Kanten veröffentlicht, Hervorhebungen und
+ * Kennzeichnungen nicht gespeichert und frühere Zustände nicht aufgezeichnet.
+ * Die Dateien werden mit {@link #close()}, spätestens aber beim Beenden des
+ * Programms gelöscht.
+ */
+public class DiskReachabilitygraph extends AbstractReachabilitygraph implements Closeable {
+    // Die Felder eines Knotens.
+    private static final int NODE_FIRST_OUT = 0;
+    private static final int NODE_LAST_OUT = 1;
+    private static final int NODE_FIRST_IN = 2;
+    private static final int NODE_LAST_IN = 3;
+    private static final int NODE_OUT_COUNT = 4;
+    private static final int NODE_IN_COUNT = 5;
+    private static final int NODE_FIELDS = 6;
+    // Die Felder einer Kante.
+    private static final int EDGE_SOURCE = 0;
+    private static final int EDGE_TARGET = 1;
+    private static final int EDGE_TRANSITION = 2;
+    private static final int EDGE_NEXT_OUT = 3;
+    private static final int EDGE_NEXT_IN = 4;
+    private static final int EDGE_FIELDS = 5;
+    private static final int HOT_MARKINGS = 1 << 16;
+    private static final int CURSORS = 1 << 6;
+    // Die größte Länge des Hashindex als Zweierpotenz
+    private static final int MAX_INDEX_LENGTH = 1 << 30;
+    private final File directory;
+    private MappedIntArray markings;
+    private final MappedIntArray nodeRecords;
+    private final MappedIntArray edgeRecords;
+    // Die Anzahl der Stellen, -1 bis zum ersten Knoten.
+    private int places = -1;
+    private int nodeCount;
+    private int edgeCount;
+    // Offene Adressierung mit linearer Suche. Ein Eintrag enthält den Hashwert der
+    // Markierung in den oberen und die Knotennummer + 1 in den unteren 32 Bit, 0
+    // steht für einen freien Eintrag.
+    private long[] index;
+    private final ArrayList<String> transitionIDs;
+    private final HashMap<String, Integer> transitionNumbers;
+    // Direkt nach der Knotennummer adressierter Zwischenspeicher der Markierungen.
+    private final Marking[] hotMarkings;
+    private final int[] hotNodes;
+    // Die zuletzt gelesene Position je Knoten in den verketteten Listen der ein-
+    // und ausgehenden Kanten, damit ein fortlaufender Durchlauf über die Indizes
+    // nicht jedes Mal am Anfang der Liste beginnt.
+    private final int[][] outCursors;
+    private final int[][] inCursors;
+
+    /**
+     * Erstellt einen {@link DiskReachabilitygraph}.
+     *
+     * @param directory das Verzeichnis, in dem die Dateien angelegt werden.
+     * @throws UncheckedIOException wenn die Dateien nicht angelegt werden
+     *                              können.
+     */
+    public DiskReachabilitygraph(File directory) {
+        this.directory = directory;
+        this.nodeRecords = new MappedIntArray(directory.toPath(), ".nodes");
+        this.edgeRecords = new MappedIntArray(directory.toPath(), ".edges");
+        this.index = new long[1 << 10];
+        this.transitionIDs = new ArrayList<>();
+        this.transitionNumbers = new HashMap<>();
+        this.hotMarkings = new Marking[HOT_MARKINGS];
+        this.hotNodes = new int[HOT_MARKINGS];
+        Arrays.fill(hotNodes, -1);
+        this.outCursors = createCursors();
+        this.inCursors = createCursors();
+    }
+
+    @Override
+    public void addInitialMarking(Marking initialMarking, ArrayList<String> activeTransitionIDs) {
+        if (nodeCount == 0) {
+            addNode(initialMarking);
+        }
+    }
+
+    @Override
+    public String addMarking(String transitionID, String transitionName, Marking oldActualMarking,
+            Marking newActualMarking, ArrayList<String> activeTransitionIDs, boolean returnExisting) {
+        int edge = addMarkingEdge(transitionID, transitionName, oldActualMarking, newActualMarking,
+                activeTransitionIDs);
+        if (edge < 0 && returnExisting) {
+            edge = findEdge(findNode(oldActualMarking), transitionNumbers.get(transitionID),
+                    findNode(newActualMarking));
+        }
+        return edge < 0 ? null : getEdgeID(edge);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException wenn die Ausgangsmarkierung nicht im
+     *                                  {@link DiskReachabilitygraph} enthalten
+     *                                  ist.
+     */
+    @Override
+    public int addMarkingEdge(String transitionID, String transitionName, Marking oldActualMarking,
+            Marking newActualMarking, ArrayList<String> activeTransitionIDs) {
+        int source = findNode(oldActualMarking);
+        if (source < 0) {
+            throw new IllegalArgumentException(
+                    "Die Markierung " + oldActualMarking + " ist nicht im Erreichbarkeitsgraphen enthalten.");
+        }
+        int transition = getTransitionNumber(transitionID);
+        int target = findNode(newActualMarking);
+        if (target < 0) {
+            // Zielknoten und Kante exisitert nicht.
+            target = addNode(newActualMarking);
+        } else if (findEdge(source, transition, target) >= 0) {
+            return -1;
+        }
+        return addEdge(source, transition, target);
+    }
+
+    /**
+     * Schließt die Dateien des {@link DiskReachabilitygraph} und löscht sie. Der
+     * Graph kann danach nicht mehr verwendet werden.
+     */
+    @Override
+    public void close() throws IOException {
+        index = new long[0];
+        try {
+            if (markings != null) {
+                markings.close();
+            }
+            nodeRecords.close();
+        } finally {
+            edgeRecords.close();
+        }
+    }
+
+    @Override
+    public int countEdges() {
+        return edgeCount;
+    }
+
+    @Override
+    public int countNodeInboundEdges(int node) {
+        return nodeRecords.get((long) node * NODE_FIELDS + NODE_IN_COUNT);
+    }
+
+    @Override
+    public int countNodeOutboundEdges(int node) {
+        return nodeRecords.get((long) node * NODE_FIELDS + NODE_OUT_COUNT);
+    }
+
+    @Override
+    public int countNodes() {
+        return nodeCount;
+    }
+
+    /**
+     * Es werden keine Änderungen aufgezeichnet.
+     */
+    @Override
+    public void discardHistory(RGraphMemento oldestState) {
+    }
+
+    @Override
+    public String getEdgeID(int edge) {
+        long record = (long) edge * EDGE_FIELDS;
+        return transitionIDs.get(edgeRecords.get(record + EDGE_TRANSITION))
+                + getNodeID(edgeRecords.get(record + EDGE_SOURCE)) + getNodeID(edgeRecords.get(record + EDGE_TARGET));
+    }
+
+    @Override
+    public int getEdgeSource(int edge) {
+        return edgeRecords.get((long) edge * EDGE_FIELDS + EDGE_SOURCE);
+    }
+
+    @Override
+    public String getEdgeSourceID(String edgeID) {
+        return getNodeID(getEdgeSource(requireEdge(edgeID)));
+    }
+
+    @Override
+    public int getEdgeTarget(int edge) {
+        return edgeRecords.get((long) edge * EDGE_FIELDS + EDGE_TARGET);
+    }
+
+    @Override
+    public String getEdgeTargetID(String edgeID) {
+        return getNodeID(getEdgeTarget(requireEdge(edgeID)));
+    }
+
+    @Override
+    public String getEdgeTransitionID(String edgeID) {
+        return transitionIDs.get(edgeRecords.get((long) requireEdge(edgeID) * EDGE_FIELDS + EDGE_TRANSITION));
+    }
+
+    @Override
+    public String getInitialNodeID() {
+        return getNodeID(0);
+    }
+
+    @Override
+    public String getNodeID(int node) {
+        return getNodeMarking(node).toString();
+    }
+
+    @Override
+    public int getNodeInboundEdge(int node, int index) {
+        return getListEdge(inCursors, node, index, NODE_FIRST_IN, EDGE_NEXT_IN);
+    }
+
+    @Override
+    public ArrayList<String> getNodeInboundEdgeIDs(String nodeID) {
+        return getListEdgeIDs(requireNode(nodeID), NODE_FIRST_IN, EDGE_NEXT_IN);
+    }
+
+    @Override
+    public String getNodeLabel(String nodeID) {
+        return getNodeMarking(requireNode(nodeID)).toLabel();
+    }
+
+    @Override
+    public Marking getNodeMarking(int node) {
+        Objects.checkIndex(node, nodeCount);
+        int hotSlot = node & (HOT_MARKINGS - 1);
+        if (hotNodes[hotSlot] == node) return hotMarkings[hotSlot];
+        int[] tokens = new int[places];
+        long offset = (long) node * places;
+        for (int place = 0; place < places; place++) {
+            tokens[place] = markings.get(offset + place);
+        }
+        Marking marking = Marking.of(tokens, MarkingWidth.BYTE);
+        hotNodes[hotSlot] = node;
+        hotMarkings[hotSlot] = marking;
+        return marking;
+    }
+
+    @Override
+    public Marking getNodeMarking(String nodeID) {
+        return getNodeMarking(requireNode(nodeID));
+    }
+
+    @Override
+    public int getNodeNumber(String nodeID) {
+        return parseNodeID(nodeID);
+    }
+
+    @Override
+    public int getNodeOutboundEdge(int node, int index) {
+        return getListEdge(outCursors, node, index, NODE_FIRST_OUT, EDGE_NEXT_OUT);
+    }
+
+    @Override
+    public ArrayList<String> getNodeOutboundEdges(String nodeID) {
+        return getListEdgeIDs(requireNode(nodeID), NODE_FIRST_OUT, EDGE_NEXT_OUT);
+    }
+
+    /**
+     * Hervorhebungen werden nicht gespeichert.
+     */
+    @Override
+    public void highlightTransition(String transitionID, Marking oldActualMarking, Marking newActualMarking) {
+    }
+
+    @Override
+    public boolean isReachabilitygraphNode(String nodeID) {
+        return parseNodeID(nodeID) >= 0;
+    }
+
+    /**
+     * Da keine Änderungen aufgezeichnet werden, kann nur der aktuelle Zustand
+     * wiederhergestellt werden.
+     *
+     * @throws IllegalStateException wenn sich die Anzahl der Knoten oder Kanten
+     *                               seit der Sicherung geändert hat.
+     */
+    @Override
+    public void restoreState(RGraphMemento saveState) {
+        if (saveState.getNodeCount() != nodeCount || saveState.getEdgeCount() != edgeCount) {
+            throw new IllegalStateException("Der Zustand des Erreichbarkeitsgraphen ist nicht mehr verfügbar.");
+        }
+    }
+
+    @Override
+    public RGraphMemento saveState() {
+        return new RGraphMemento(null, nodeCount, edgeCount, 0);
+    }
+
+    /**
+     * Kennzeichnungen werden nicht gespeichert.
+     */
+    @Override
+    public void setUnboundedCause(ArrayList<String> unboundedCauseEdgeIDs, String m1NodeID, String m2NodeID) {
+    }
+
+    @Override
+    public String toString() {
+        return "DiskReachabilitygraph[" + directory + ", " + nodeCount + " Knoten, " + edgeCount + " Kanten]";
+    }
+
+    /**
+     * Erstellt die Positionen für {@link #CURSORS} Knoten, jeweils aus
+     * Knotennummer, Index und Kantennummer.
+     */
+    private static int[][] createCursors() {
+        int[][] cursors = new int[3][CURSORS];
+        Arrays.fill(cursors[0], -1);
+        return cursors;
+    }
+
+    /**
+     * Fügt eine Kante am Ende der Listen ihres Quell- und Zielknotens an. Der
+     * Aufrufer stellt sicher, dass die Kante noch nicht existiert.
+     *
+     * @return die Nummer der neuen Kante.
+     */
+    private int addEdge(int source, int transition, int target) {
+        int edge = edgeCount;
+        long record = (long) edge * EDGE_FIELDS;
+        edgeRecords.set(record + EDGE_SOURCE, source);
+        edgeRecords.set(record + EDGE_TARGET, target);
+        edgeRecords.set(record + EDGE_TRANSITION, transition);
+        edgeRecords.set(record + EDGE_NEXT_OUT, -1);
+        edgeRecords.set(record + EDGE_NEXT_IN, -1);
+        appendToList(source, edge, NODE_FIRST_OUT, NODE_LAST_OUT, NODE_OUT_COUNT, EDGE_NEXT_OUT);
+        appendToList(target, edge, NODE_FIRST_IN, NODE_LAST_IN, NODE_IN_COUNT, EDGE_NEXT_IN);
+        edgeCount++;
+        return edge;
+    }
+
+    /**
+     * Fügt einen Knoten hinzu. Der Aufrufer stellt sicher, dass die Markierung
+     * noch nicht enthalten ist.
+     *
+     * @return die Nummer des neuen Knotens.
+     * @throws IllegalArgumentException wenn die Markierung eine andere Anzahl an
+     *                                  Stellen besitzt als die bisherigen.
+     * @throws IllegalStateException    wenn der Hashindex voll ist.
+     */
+    private int addNode(Marking marking) {
+        if (places < 0) {
+            places = marking.size();
+            markings = new MappedIntArray(directory.toPath(), ".markings");
+        } else if (marking.size() != places) {
+            throw new IllegalArgumentException("Die Markierung " + marking + " besitzt nicht " + places + " Stellen.");
+        }
+        if (nodeCount + 1 > index.length - (index.length >>> 2)) {
+            // Hat der Hashindex seine größte Länge erreicht, wird er bis auf einen
+            // freien Eintrag gefüllt, der die Suche beendet.
+            if (index.length < MAX_INDEX_LENGTH) {
+                resizeIndex();
+            } else if (nodeCount + 1 >= index.length) {
+                throw new IllegalStateException("Der Hashindex ist mit " + nodeCount + " Knoten voll.");
+            }
+        }
+        int node = nodeCount;
+        long offset = (long) node * places;
+        for (int place = 0; place < places; place++) {
+            markings.set(offset + place, marking.get(place));
+        }
+        long record = (long) node * NODE_FIELDS;
+        nodeRecords.set(record + NODE_FIRST_OUT, -1);
+        nodeRecords.set(record + NODE_LAST_OUT, -1);
+        nodeRecords.set(record + NODE_FIRST_IN, -1);
+        nodeRecords.set(record + NODE_LAST_IN, -1);
+        nodeRecords.set(record + NODE_OUT_COUNT, 0);
+        nodeRecords.set(record + NODE_IN_COUNT, 0);
+        nodeCount++;
+        insertIntoIndex(index, marking.hashCode(), node);
+        int hotSlot = node & (HOT_MARKINGS - 1);
+        hotNodes[hotSlot] = node;
+        hotMarkings[hotSlot] = marking;
+        return node;
+    }
+
+    /**
+     * Hängt eine Kante an die ein- oder ausgehende Liste eines Knotens an.
+     */
+    private void appendToList(int node, int edge, int firstField, int lastField, int countField, int nextField) {
+        long record = (long) node * NODE_FIELDS;
+        int last = nodeRecords.get(record + lastField);
+        if (last < 0) {
+            nodeRecords.set(record + firstField, edge);
+        } else {
+            edgeRecords.set((long) last * EDGE_FIELDS + nextField, edge);
+        }
+        nodeRecords.set(record + lastField, edge);
+        nodeRecords.set(record + countField, nodeRecords.get(record + countField) + 1);
+    }
+
+    /**
+     * Sucht die Kante, die den durch eine {@link Transition} ausgelösten Übergang
+     * von einem Quell- zu einem Zielknoten repräsentiert. Es werden nur die
+     * ausgehenden Kanten des Quellknotens durchsucht.
+     *
+     * @param source     die Nummer des Quellknotens oder -1.
+     * @param transition die Nummer der {@link Transition} oder <code>null</code>.
+     * @param target     die Nummer des Zielknotens oder -1.
+     * @return die Nummer der Kante oder -1, wenn diese nicht existiert.
+     */
+    private int findEdge(int source, Integer transition, int target) {
+        if (source < 0 || transition == null || target < 0) return -1;
+        int edge = nodeRecords.get((long) source * NODE_FIELDS + NODE_FIRST_OUT);
+        while (edge >= 0) {
+            long record = (long) edge * EDGE_FIELDS;
+            if (edgeRecords.get(record + EDGE_TARGET) == target
+                    && edgeRecords.get(record + EDGE_TRANSITION) == transition) {
+                return edge;
+            }
+            edge = edgeRecords.get(record + EDGE_NEXT_OUT);
+        }
+        return -1;
+    }
+
+    /**
+     * Sucht eine Kante anhand ihrer ID. Diese besteht aus der ID der
+     * {@link Transition} und den IDs des Quell- und Zielknotens, die jeweils mit
+     * {@code [} beginnen.
+     *
+     * @return die Nummer der Kante oder -1, wenn diese nicht existiert.
+     */
+    private int findEdge(String edgeID) {
+        int targetStart = edgeID.lastIndexOf('[');
+        int sourceStart = targetStart > 0 ? edgeID.lastIndexOf('[', targetStart - 1) : -1;
+        if (sourceStart < 0) return -1;
+        return findEdge(parseNodeID(edgeID.substring(sourceStart, targetStart)),
+                transitionNumbers.get(edgeID.substring(0, sourceStart)), parseNodeID(edgeID.substring(targetStart)));
+    }
+
+    /**
+     * Sucht den Knoten einer Markierung im Hashindex.
+     *
+     * @return die Nummer des Knotens oder -1, wenn die Markierung nicht
+     *         enthalten ist.
+     */
+    private int findNode(Marking marking) {
+        if (marking.size() != places) return -1;
+        int hash = marking.hashCode();
+        int mask = index.length - 1;
+        for (int slot = (int) MarkingIndex.spread(hash) & mask;; slot = (slot + 1) & mask) {
+            long entry = index[slot];
+            if (entry == 0) return -1;
+            if ((int) (entry >>> 32) == hash) {
+                int node = (int) entry - 1;
+                if (matches(node, marking)) return node;
+            }
+        }
+    }
+
+    /**
+     * Liefert die Kante an einem Index der ein- oder ausgehenden Liste eines
+     * Knotens. Liegt der Index hinter der zuletzt gelesenen Position des Knotens,
+     * wird ab dieser weitergesucht.
+     */
+    private int getListEdge(int[][] cursors, int node, int index, int firstField, int nextField) {
+        int cursor = node & (CURSORS - 1);
+        int position;
+        int edge;
+        if (cursors[0][cursor] == node && cursors[1][cursor] <= index) {
+            position = cursors[1][cursor];
+            edge = cursors[2][cursor];
+        } else {
+            position = 0;
+            edge = nodeRecords.get((long) node * NODE_FIELDS + firstField);
+        }
+        for (; position < index; position++) {
+            edge = edgeRecords.get((long) edge * EDGE_FIELDS + nextField);
+        }
+        cursors[0][cursor] = node;
+        cursors[1][cursor] = index;
+        cursors[2][cursor] = edge;
+        return edge;
+    }
+
+    /**
+     * Liefert die IDs aller Kanten der ein- oder ausgehenden Liste eines Knotens.
+     */
+    private ArrayList<String> getListEdgeIDs(int node, int firstField, int nextField) {
+        ArrayList<String> edgeIDs = new ArrayList<>();
+        for (int edge = nodeRecords.get((long) node * NODE_FIELDS + firstField); edge >= 0; edge = edgeRecords
+                .get((long) edge * EDGE_FIELDS + nextField)) {
+            edgeIDs.add(getEdgeID(edge));
+        }
+        return edgeIDs;
+    }
+
+    /**
+     * Liefert die Nummer einer {@link Transition} und vergibt beim ersten Auftreten
+     * eine neue.
+     */
+    private int getTransitionNumber(String transitionID) {
+        Integer transition = transitionNumbers.get(transitionID);
+        if (transition == null) {
+            transition = transitionIDs.size();
+            transitionIDs.add(transitionID);
+            transitionNumbers.put(transitionID, transition);
+        }
+        return transition;
+    }
+
+    /**
+     * Trägt einen Knoten in einen Hashindex ein.
+     */
+    private static void insertIntoIndex(long[] index, int hash, int node) {
+        int mask = index.length - 1;
+        int slot = (int) MarkingIndex.spread(hash) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = ((long) hash << 32) | (node + 1);
+    }
+
+    /**
+     * Vergleicht die gespeicherte Markierung eines Knotens mit einer
+     * {@link Marking}. Liegt der Knoten im Zwischenspeicher, wird die Datei nicht
+     * gelesen.
+     */
+    private boolean matches(int node, Marking marking) {
+        int hotSlot = node & (HOT_MARKINGS - 1);
+        if (hotNodes[hotSlot] == node) return hotMarkings[hotSlot].equals(marking);
+        long offset = (long) node * places;
+        for (int place = 0; place < places; place++) {
+            if (markings.get(offset + place) != marking.get(place)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Wandelt die ID eines Knotens, z.B. {@code [1, 0, ω]}, in die Markierung um
+     * und sucht deren Knoten.
+     *
+     * @return die Nummer des Knotens oder -1, wenn dieser nicht existiert.
+     */
+    private int parseNodeID(String nodeID) {
+        if (places < 0 || nodeID == null || nodeID.length() < 2 || nodeID.charAt(0) != '['
+                || nodeID.charAt(nodeID.length() - 1) != ']') {
+            return -1;
+        }
+        String content = nodeID.substring(1, nodeID.length() - 1);
+        String[] values = content.isEmpty() ? new String[0] : content.split(", ", -1);
+        if (values.length != places) return -1;
+        int[] tokens = new int[places];
+        try {
+            for (int place = 0; place < places; place++) {
+                tokens[place] = values[place].equals("ω") ? Marking.OMEGA : Integer.parseInt(values[place]);
+                if (tokens[place] < 0) return -1;
+            }
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return findNode(Marking.of(tokens, MarkingWidth.BYTE));
+    }
+
+    /**
+     * Liefert die Nummer einer Kante anhand ihrer ID.
+     *
+     * @throws IllegalArgumentException wenn die Kante nicht existiert.
+     */
+    private int requireEdge(String edgeID) {
+        int edge = findEdge(edgeID);
+        if (edge < 0) {
+            throw new IllegalArgumentException(
+                    "Die Kante " + edgeID + " ist nicht im Erreichbarkeitsgraphen enthalten.");
+        }
+        return edge;
+    }
+
+    /**
+     * Liefert die Nummer eines Knotens anhand seiner ID.
+     *
+     * @throws IllegalArgumentException wenn der Knoten nicht existiert.
+     */
+    private int requireNode(String nodeID) {
+        int node = parseNodeID(nodeID);
+        if (node < 0) {
+            throw new IllegalArgumentException(
+                    "Der Knoten " + nodeID + " ist nicht im Erreichbarkeitsgraphen enthalten.");
+        }
+        return node;
+    }
+
+    /**
+     * Verdoppelt die Größe des Hashindex. Die Markierungen werden dafür nicht
+     * gelesen, da der Hashwert im Eintrag steht.
+     */
+    private void resizeIndex() {
+        long[] newIndex = new long[index.length * 2];
+        for (long entry : index) {
+            if (entry != 0) {
+                insertIntoIndex(newIndex, (int) (entry >>> 32), (int) entry - 1);
+            }
+        }
+        index = newIndex;
+    }
+}
@@ -0,0 +1,101 @@
+package de.pohl.petrinets.model.reachabilitygraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Ein wachsendes Feld von {@code int}-Werten in einer Datei, die abschnittsweise
+ * in den Speicher abgebildet wird.
+ * <p>
+ * Die Abschnitte werden erst beim ersten Schreibzugriff abgebildet, die Datei
+ * wächst dabei mit. Das Betriebssystem hält nur die zuletzt verwendeten Seiten
+ * im Speicher, alle übrigen werden bei Bedarf von der Platte gelesen. Die Datei
+ * wird beim Schließen gelöscht.
+ *
+ * @see DiskReachabilitygraph
+ */
+final class MappedIntArray implements Closeable {
+    // Ein Abschnitt umfasst 2^22 Werte, also 16 MiB.
+    private static final int SEGMENT_SHIFT = 22;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final long SEGMENT_BYTES = (long) Integer.BYTES << SEGMENT_SHIFT;
+    private final FileChannel channel;
+    private IntBuffer[] segments;
+
+    /**
+     * Erstellt ein neues {@link MappedIntArray} in einer temporären Datei.
+     *
+     * @param directory das Verzeichnis der Datei.
+     * @param suffix    die Endung des Dateinamens.
+     * @throws UncheckedIOException wenn die Datei nicht angelegt werden kann.
+     */
+    MappedIntArray(Path directory, String suffix) {
+        try {
+            Files.createDirectories(directory);
+            Path file = Files.createTempFile(directory, "rgraph", suffix);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments = new IntBuffer[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments = new IntBuffer[0];
+        channel.close();
+    }
+
+    /**
+     * Liefert einen Wert zurück. Der Index muss zuvor mit
+     * {@link #set(long, int)} beschrieben worden sein.
+     *
+     * @param index der Index des Wertes.
+     * @return der Wert.
+     */
+    int get(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) index & SEGMENT_MASK);
+    }
+
+    /**
+     * Setzt einen Wert und bildet dafür bei Bedarf einen weiteren Abschnitt ab.
+     *
+     * @param index der Index des Wertes.
+     * @param value der Wert.
+     * @throws UncheckedIOException wenn die Datei nicht vergrößert werden kann.
+     */
+    void set(long index, int value) {
+        int segment = (int) (index >>> SEGMENT_SHIFT);
+        if (segment >= segments.length) {
+            mapSegments(segment + 1);
+        }
+        segments[segment].put((int) index & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Bildet weitere Abschnitte der Datei ab, bis die angegebene Anzahl erreicht
+     * ist.
+     */
+    private void mapSegments(int count) {
+        int mapped = segments.length;
+        segments = Arrays.copyOf(segments, count);
+        try {
+            for (int segment = mapped; segment < count; segment++) {
+                segments[segment] = channel.map(FileChannel.MapMode.READ_WRITE, segment * SEGMENT_BYTES, SEGMENT_BYTES)
+                        .order(ByteOrder.nativeOrder()).asIntBuffer();
+            }
+        } catch (IOException e) {
+            segments = Arrays.copyOf(segments, mapped);
+            throw new UncheckedIOException(e);
+        }
+    }
+}
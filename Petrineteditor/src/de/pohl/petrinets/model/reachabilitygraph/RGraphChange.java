@@ -0,0 +1,88 @@
+package de.pohl.petrinets.model.reachabilitygraph;
+
+import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
+import de.pohl.petrinets.model.AbstractGraphElement;
+
+/**
+ * Eine aufgezeichnete Änderung einer Eigenschaft eines {@link RGraphNode} oder
+ * einer {@link RGraphEdge}.
+ * <p>
+ * Bei Kennzeichnungen ist der alte Wert immer die Negation des neuen Wertes,
+ * da nur tatsächliche Änderungen aufgezeichnet werden. Bei
+ * {@link PetrinetEditorGraphProperties#NODE_ACTIVE_TRANSITION_IDS} gibt der
+ * Wert an, ob die ID der Transition hinzugefügt oder entfernt wurde.
+ *
+ * @see RGraphChangeLog
+ */
+final class RGraphChange {
+    private final AbstractGraphElement element;
+    private final int index;
+    private final PetrinetEditorGraphProperties property;
+    private final String transitionID;
+    private final boolean value;
+
+    /**
+     * Erstellt eine neue {@link RGraphChange}.
+     *
+     * @param element      das geänderte Graphelement.
+     * @param property     die geänderte Eigenschaft.
+     * @param value        der neue Wert.
+     * @param transitionID die ID der hinzugefügten oder entfernten Transition
+     *                     oder <code>null</code>.
+     * @param index        die Position der Transition in der Liste der
+     *                     verbliebenen aktiven Transitionen oder -1.
+     */
+    RGraphChange(AbstractGraphElement element, PetrinetEditorGraphProperties property, boolean value,
+            String transitionID, int index) {
+        this.element = element;
+        this.property = property;
+        this.value = value;
+        this.transitionID = transitionID;
+        this.index = index;
+    }
+
+    /**
+     * Liefert das geänderte Graphelement zurück.
+     *
+     * @return der {@link RGraphNode} oder die {@link RGraphEdge}.
+     */
+    AbstractGraphElement getElement() {
+        return element;
+    }
+
+    /**
+     * Liefert die Position der hinzugefügten oder entfernten Transition zurück.
+     *
+     * @return die Position oder -1.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Liefert die geänderte Eigenschaft zurück.
+     *
+     * @return die Eigenschaft.
+     */
+    PetrinetEditorGraphProperties getProperty() {
+        return property;
+    }
+
+    /**
+     * Liefert die ID der hinzugefügten oder entfernten Transition zurück.
+     *
+     * @return die ID oder <code>null</code>.
+     */
+    String getTransitionID() {
+        return transitionID;
+    }
+
+    /**
+     * Liefert den neuen Wert zurück.
+     *
+     * @return der neue Wert.
+     */
+    boolean getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,217 @@
+package de.pohl.petrinets.model.reachabilitygraph;
+
+import java.util.ArrayList;
+
+/**
+ * Die Aufzeichnung der Entwicklung eines {@link Reachabilitygraph}, auf die
+ * sich die {@link RGraphMemento}-Instanzen beziehen.
+ * <p>
+ * Da Knoten und Kanten nur am Ende hinzugefügt und beim Wiederherstellen eines
+ * früheren Zustandes nur vom Ende her entfernt werden, genügt für die Struktur
+ * eines Zustandes die Anzahl der Knoten und Kanten. Die Aufzeichnung behält
+ * dafür alle jemals erzeugten Knoten und Kanten, auch wenn diese nach einem
+ * Rückgängigmachen nicht mehr im Graphen enthalten sind. Die Änderungen der
+ * Eigenschaften werden nur aufgezeichnet, solange ein gesicherter Zustand sie
+ * benötigen kann. Ihre Positionen werden fortlaufend gezählt, der Cursor gibt
+ * an, wie viele davon auf die Knoten und Kanten angewendet sind.
+ * <p>
+ * Wird nach einem Rückgängigmachen eine neue Änderung vorgenommen, verwirft die
+ * Aufzeichnung alle Elemente und Änderungen hinter dem aktuellen Zustand.
+ */
+final class RGraphChangeLog {
+    // Position der ersten noch enthaltenen Änderung.
+    private int base;
+    private final ArrayList<RGraphChange> changes = new ArrayList<>();
+    private int cursor;
+    // Anzahl der Knoten und Kanten, die aktuell im Graphen enthalten sind.
+    private int edgeCount;
+    private final ArrayList<RGraphEdge> edges = new ArrayList<>();
+    private int nodeCount;
+    private final ArrayList<RGraphNode> nodes = new ArrayList<>();
+    private boolean recording;
+
+    /**
+     * Nimmt eine neu erzeugte Kante auf.
+     *
+     * @param edge die {@link RGraphEdge}.
+     */
+    void appendEdge(RGraphEdge edge) {
+        diverge();
+        edges.add(edge);
+        edgeCount = edges.size();
+    }
+
+    /**
+     * Nimmt einen neu erzeugten Knoten auf.
+     *
+     * @param node der {@link RGraphNode}.
+     */
+    void appendNode(RGraphNode node) {
+        diverge();
+        nodes.add(node);
+        nodeCount = nodes.size();
+    }
+
+    /**
+     * Prüft, ob die Aufzeichnung die Knoten, Kanten und Änderungen eines
+     * Zustandes noch enthält.
+     *
+     * @param nodeCount die Anzahl der {@link RGraphNode} des Zustandes.
+     * @param edgeCount die Anzahl der {@link RGraphEdge} des Zustandes.
+     * @param position  die Anzahl der angewendeten Änderungen des Zustandes.
+     * @return <code>true</code>, wenn der Zustand wiederhergestellt werden kann.
+     */
+    boolean contains(int nodeCount, int edgeCount, int position) {
+        return nodeCount <= nodes.size() && edgeCount <= edges.size() && position >= base
+                && position <= base + changes.size();
+    }
+
+    /**
+     * Verwirft die Änderungen vor einer Position, da kein gesicherter Zustand sie
+     * mehr benötigt.
+     *
+     * @param position die Position der ältesten benötigten Änderung.
+     */
+    void discardBefore(int position) {
+        int count = Math.min(position, cursor) - base;
+        if (count > 0) {
+            changes.subList(0, count).clear();
+            base += count;
+        }
+    }
+
+    /**
+     * Liefert die Position der ältesten noch enthaltenen Änderung zurück.
+     *
+     * @return die Position.
+     */
+    int getBase() {
+        return base;
+    }
+
+    /**
+     * Liefert eine aufgezeichnete Änderung zurück.
+     *
+     * @param position die Position der Änderung.
+     * @return die {@link RGraphChange}.
+     */
+    RGraphChange getChange(int position) {
+        return changes.get(position - base);
+    }
+
+    /**
+     * Liefert die Anzahl der angewendeten Änderungen zurück.
+     *
+     * @return die Position hinter der zuletzt angewendeten Änderung.
+     */
+    int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Liefert eine aufgenommene Kante zurück.
+     *
+     * @param edge die Nummer der Kante.
+     * @return die {@link RGraphEdge}.
+     */
+    RGraphEdge getEdge(int edge) {
+        return edges.get(edge);
+    }
+
+    /**
+     * Liefert die Anzahl der im Graphen enthaltenen Kanten zurück.
+     *
+     * @return die Anzahl der {@link RGraphEdge}.
+     */
+    int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Liefert einen aufgenommenen Knoten zurück.
+     *
+     * @param node die Nummer des Knotens.
+     * @return der {@link RGraphNode}.
+     */
+    RGraphNode getNode(int node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * Liefert die Anzahl der im Graphen enthaltenen Knoten zurück.
+     *
+     * @return die Anzahl der {@link RGraphNode}.
+     */
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Zeichnet eine Änderung auf, sofern die Aufzeichnung aktiv ist.
+     *
+     * @param change die {@link RGraphChange}.
+     */
+    void record(RGraphChange change) {
+        if (recording) {
+            diverge();
+            changes.add(change);
+            cursor++;
+        }
+    }
+
+    /**
+     * Setzt die Anzahl der angewendeten Änderungen.
+     *
+     * @param cursor die Position hinter der zuletzt angewendeten Änderung.
+     */
+    void setCursor(int cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Setzt die Anzahl der im Graphen enthaltenen Knoten und Kanten.
+     *
+     * @param nodeCount die Anzahl der {@link RGraphNode}.
+     * @param edgeCount die Anzahl der {@link RGraphEdge}.
+     */
+    void setElementCounts(int nodeCount, int edgeCount) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Startet die Aufzeichnung der Änderungen, falls diese noch nicht aktiv ist.
+     */
+    void startRecording() {
+        if (!recording) {
+            recording = true;
+            base = cursor;
+        }
+    }
+
+    /**
+     * Beendet die Aufzeichnung und verwirft alle aufgezeichneten Änderungen sowie
+     * die nicht im Graphen enthaltenen Knoten und Kanten.
+     */
+    void stopRecording() {
+        diverge();
+        recording = false;
+        changes.clear();
+        base = cursor;
+    }
+
+    /**
+     * Verwirft alle Knoten, Kanten und Änderungen hinter dem aktuellen Zustand.
+     */
+    private void diverge() {
+        if (nodes.size() > nodeCount) {
+            nodes.subList(nodeCount, nodes.size()).clear();
+        }
+        if (edges.size() > edgeCount) {
+            edges.subList(edgeCount, edges.size()).clear();
+        }
+        if (base + changes.size() > cursor) {
+            changes.subList(cursor - base, changes.size()).clear();
+        }
+    }
+}
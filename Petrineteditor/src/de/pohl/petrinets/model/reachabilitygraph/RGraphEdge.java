@@ -2,6 +2,7 @@ package de.pohl.petrinets.model.reachabilitygraph;
 
 import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
 import de.pohl.petrinets.model.AbstractEdge;
+import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
 import de.pohl.petrinets.model.petrinet.Transition;
 
 /**
@@ -10,6 +11,9 @@ import de.pohl.petrinets.model.petrinet.Transition;
 public class RGraphEdge extends AbstractEdge {
     private boolean elementOfLastTransition;
     private boolean elementOfUnboundedcause;
+    private final int number;
+    private final RGraphNode sourceNode;
+    private final RGraphNode targetNode;
     private String transitionID;
     private String transitionName;
 
@@ -22,27 +26,64 @@ public class RGraphEdge extends AbstractEdge {
         super(rGraphEdge);
         this.elementOfLastTransition = rGraphEdge.elementOfLastTransition;
         this.elementOfUnboundedcause = rGraphEdge.elementOfUnboundedcause;
+        this.number = rGraphEdge.number;
+        this.sourceNode = rGraphEdge.sourceNode;
+        this.targetNode = rGraphEdge.targetNode;
         this.transitionID = rGraphEdge.transitionID;
         this.transitionName = rGraphEdge.transitionName;
     }
 
     /**
      * Erstellt eine {@link RGraphEdge}.
+     * <p>
+     * Die ID der Kante wird erst bei Bedarf aus der ID der {@link Transition} und
+     * den IDs des Quell- und Zielknotens erzeugt.
      *
-     * @param id             die ID der {@link RGraphEdge} als {@link String}.
+     * @param number         die fortlaufende Nummer der {@link RGraphEdge} im
+     *                       {@link AbstractReachabilitygraph}.
      * @param transitionID   die ID der {@link Transition}, auf die die
      *                       {@link RGraphEdge} referenziert als {@link String}.
      * @param transitionName der Name der {@link Transition}, auf die die
      *                       {@link RGraphEdge} referenziert als {@link String}.
-     * @param sourceNodeID   der Ursprungsknoten der {@link RGraphEdge} als
+     * @param sourceNode     der Ursprungsknoten der {@link RGraphEdge} als
      *                       {@link RGraphNode}.
-     * @param targetNodeID   der Zielknoten der {@link RGraphEdge} als
+     * @param targetNode     der Zielknoten der {@link RGraphEdge} als
      *                       {@link RGraphNode}.
      */
-    public RGraphEdge(String id, String transitionID, String transitionName, String sourceNodeID, String targetNodeID) {
-        super(id, sourceNodeID, targetNodeID);
+    public RGraphEdge(int number, String transitionID, String transitionName, RGraphNode sourceNode,
+            RGraphNode targetNode) {
+        super();
+        this.number = number;
         this.transitionID = transitionID;
         this.transitionName = transitionName;
+        this.sourceNode = sourceNode;
+        this.targetNode = targetNode;
+    }
+
+    /**
+     * Erzeugt die ID der {@link RGraphEdge}. Diese setzt sich aus der ID der
+     * geschalteten {@link Transition}, sowie aus den IDs des Quell- und Zielknotens
+     * zusammen.<br>
+     * Anders als in einem {@link AbstractPetrinet} wird eine {@link RGraphEdge} nur
+     * durch diese 3 Eigenschaften eindeutig identifiziert.
+     */
+    @Override
+    protected String createID() {
+        return transitionID + sourceNode.getID() + targetNode.getID();
+    }
+
+    /**
+     * Benachrichtigt die {@link java.beans.PropertyChangeListener} über alle
+     * gesetzten Kennzeichnungen, z.B. nachdem die {@link RGraphEdge} erneut in
+     * einen {@link AbstractReachabilitygraph} eingefügt wurde.
+     */
+    void fireProperties() {
+        if (elementOfLastTransition) {
+            firePropertyChange(PetrinetEditorGraphProperties.EDGE_ELEMENT_OF_LAST_TRANSITION, false, true);
+        }
+        if (elementOfUnboundedcause) {
+            firePropertyChange(PetrinetEditorGraphProperties.EDGE_ELEMENT_OF_UNBOUNDEDCAUSE, false, true);
+        }
     }
 
     /**
@@ -55,6 +96,44 @@ public class RGraphEdge extends AbstractEdge {
         return String.format("[%1$s] %2$s", transitionID, transitionName);
     }
 
+    /**
+     * Liefert die fortlaufende Nummer der {@link RGraphEdge} im
+     * {@link AbstractReachabilitygraph} zurück.
+     *
+     * @return die Nummer der Kante.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Liefert den Quellknoten der {@link RGraphEdge} zurück.
+     *
+     * @return der Quellknoten als {@link RGraphNode}.
+     */
+    public RGraphNode getSourceNode() {
+        return sourceNode;
+    }
+
+    @Override
+    public String getSourceNodeID() {
+        return sourceNode.getID();
+    }
+
+    /**
+     * Liefert den Zielknoten der {@link RGraphEdge} zurück.
+     *
+     * @return der Zielknoten als {@link RGraphNode}.
+     */
+    public RGraphNode getTargetNode() {
+        return targetNode;
+    }
+
+    @Override
+    public String getTargetNodeID() {
+        return targetNode.getID();
+    }
+
     /**
      * Liefert die ID der {@link Transition} zurück, auf die {@link RGraphEdge}
      * referenziert.
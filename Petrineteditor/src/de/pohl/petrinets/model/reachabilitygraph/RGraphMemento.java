@@ -1,7 +1,5 @@
 package de.pohl.petrinets.model.reachabilitygraph;
 
-import java.util.ArrayList;
-
 import de.pohl.petrinets.control.Caretaker;
 import de.pohl.petrinets.control.CaretakerObserver;
 import de.pohl.petrinets.model.Originator;
@@ -12,6 +10,12 @@ import de.pohl.petrinets.model.petrinet.PetrinetMemento;
  * Eine Memento-Klasse für ein {@link AbstractReachabilitygraph} welches den
  * Zustand der des {@link AbstractReachabilitygraph} vor einer Änderung der
  * Markierung des dazugehörigen {@link AbstractPetrinet} erhält.
+ * <p>
+ * Das Memento kopiert keine Knoten und Kanten. Es verweist auf die
+ * Aufzeichnung des {@link Reachabilitygraph} und hält nur die Anzahl der
+ * Knoten und Kanten sowie die Position in den aufgezeichneten Änderungen fest.
+ * Das Sichern eines Zustandes benötigt daher konstante Zeit und konstanten
+ * Speicher.
  *
  * @see <a href="https://www.baeldung.com/java-memento-design-pattern">Memento
  *      Design Pattern (URL im Internet)</a>
@@ -21,57 +25,84 @@ import de.pohl.petrinets.model.petrinet.PetrinetMemento;
  * @see PetrinetMemento
  */
 public class RGraphMemento {
-    private ArrayList<RGraphEdge> edges;
-    private ArrayList<RGraphNode> nodes;
+    // Grob geschätzter Speicherbedarf eines Elementes in Bytes.
+    private static final long CHANGE_SIZE = 40;
+    private static final long EDGE_SIZE = 80;
+    private static final long NODE_SIZE = 160;
+    private final RGraphChangeLog changeLog;
+    private final int cursor;
+    private final int edgeCount;
+    private final int nodeCount;
 
     /**
      * Erstellt eine neue {@link RGraphMemento}.
      *
-     * @param edges die {@link RGraphEdge} des {@link AbstractReachabilitygraph} als
-     *              {@link ArrayList} mit {@link RGraphEdge}-Instanzen.
-     * @param nodes die {@link RGraphNode} des {@link AbstractReachabilitygraph} als
-     *              {@link ArrayList} mit {@link RGraphNode}-Instanzen.
+     * @param changeLog die Aufzeichnung des {@link Reachabilitygraph}.
+     * @param nodeCount die Anzahl der {@link RGraphNode}.
+     * @param edgeCount die Anzahl der {@link RGraphEdge}.
+     * @param cursor    die Anzahl der angewendeten Änderungen.
      */
-    public RGraphMemento(ArrayList<RGraphEdge> edges, ArrayList<RGraphNode> nodes) {
-        this.edges = new ArrayList<>();
-        for (RGraphEdge rGraphEdge : edges) {
-            this.edges.add(new RGraphEdge(rGraphEdge));
-        }
-        this.nodes = new ArrayList<>();
-        for (RGraphNode rGraphNode : nodes) {
-            this.nodes.add(new RGraphNode(rGraphNode));
-        }
+    RGraphMemento(RGraphChangeLog changeLog, int nodeCount, int edgeCount, int cursor) {
+        this.changeLog = changeLog;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.cursor = cursor;
     }
 
     /**
-     * Liefert die im Memento gespeicherten {@link RGraphEdge} des
-     * {@link AbstractReachabilitygraph} zurück.
+     * Schätzt den Speicherbedarf der Knoten, Kanten und Änderungen, die zwischen
+     * diesem und einem anderen Zustand liegen und für das Wiederherstellen beider
+     * Zustände aufbewahrt werden müssen.
      *
-     * @return Die im Memento gespeicherten {@link RGraphEdge} des
-     *         {@link AbstractReachabilitygraph} als {@link ArrayList} mit
-     *         {@link RGraphEdge}-Instanzen.
+     * @param other der andere Zustand als {@link RGraphMemento}.
+     * @return der geschätzte Speicherbedarf in Bytes.
      */
-    public ArrayList<RGraphEdge> getEdges() {
-        ArrayList<RGraphEdge> newEdges = new ArrayList<>();
-        for (RGraphEdge rGraphEdge : edges) {
-            newEdges.add(new RGraphEdge(rGraphEdge));
+    public long estimateSize(RGraphMemento other) {
+        if (other.changeLog != changeLog) {
+            // Zustände verschiedener Graphen teilen keine Elemente.
+            return estimateSize(0, 0, changeLog.getBase()) + other.estimateSize(0, 0, other.changeLog.getBase());
         }
-        return newEdges;
+        return estimateSize(other.nodeCount, other.edgeCount, other.cursor);
     }
 
     /**
-     * Liefert die im Memento gespeicherten {@link RGraphNode} des
-     * {@link AbstractReachabilitygraph} zurück.
+     * Liefert die Anzahl der {@link RGraphEdge} zurück.
      *
-     * @return Die im Memento gespeicherten {@link RGraphNode} des
-     *         {@link AbstractReachabilitygraph} als {@link ArrayList} mit
-     *         {@link RGraphNode}-Instanzen.
+     * @return die Anzahl der {@link RGraphEdge}.
      */
-    public ArrayList<RGraphNode> getNodes() {
-        ArrayList<RGraphNode> newNodes = new ArrayList<>();
-        for (RGraphNode rGraphNode : nodes) {
-            newNodes.add(new RGraphNode(rGraphNode));
-        }
-        return newNodes;
+    int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Liefert die Aufzeichnung zurück, auf die sich das Memento bezieht.
+     *
+     * @return die {@link RGraphChangeLog}.
+     */
+    RGraphChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    /**
+     * Liefert die Anzahl der bei der Sicherung angewendeten Änderungen zurück.
+     *
+     * @return die Position in der {@link RGraphChangeLog}.
+     */
+    int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Liefert die Anzahl der {@link RGraphNode} zurück.
+     *
+     * @return die Anzahl der {@link RGraphNode}.
+     */
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    private long estimateSize(int otherNodeCount, int otherEdgeCount, int otherCursor) {
+        return Math.abs(nodeCount - otherNodeCount) * NODE_SIZE + Math.abs(edgeCount - otherEdgeCount) * EDGE_SIZE
+                + Math.abs(cursor - otherCursor) * CHANGE_SIZE;
     }
 }
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
 import de.pohl.petrinets.model.AbstractNode;
 import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.Marking;
 import de.pohl.petrinets.model.petrinet.Transition;
 
 /**
@@ -14,7 +15,8 @@ public class RGraphNode extends AbstractNode {
     private boolean elementOfLastTransition;
     private boolean elementOfUnboundedcause;
     private boolean initalmarking;
-    private ArrayList<Integer> marking;
+    private Marking marking;
+    private final int number;
     private ArrayList<String> remainingActiveTransitionIDs;
     private boolean sourcemarkingOfUnboundedcause;
     private boolean targetmarkingOfUnboundedcause;
@@ -30,10 +32,8 @@ public class RGraphNode extends AbstractNode {
         this.elementOfUnboundedcause = rGraphNode.elementOfUnboundedcause;
         this.initalmarking = rGraphNode.isInitalmarking();
         this.remainingActiveTransitionIDs = new ArrayList<>();
-        this.marking = new ArrayList<>();
-        if (rGraphNode.marking != null) {
-            this.marking.addAll(rGraphNode.marking);
-        }
+        this.marking = rGraphNode.marking;
+        this.number = rGraphNode.number;
         if (rGraphNode.remainingActiveTransitionIDs != null) {
             this.remainingActiveTransitionIDs.addAll(rGraphNode.remainingActiveTransitionIDs);
         }
@@ -43,13 +43,19 @@ public class RGraphNode extends AbstractNode {
 
     /**
      * Erstellt einen neuen {@link RGraphNode}.
+     * <p>
+     * Die ID des Knotens wird erst bei Bedarf aus der Markierung erzeugt.
      *
-     * @param nodeID die ID des {@link RGraphNode} als {@link String}.
+     * @param number  die fortlaufende Nummer des {@link RGraphNode} im
+     *                {@link AbstractReachabilitygraph}.
+     * @param marking die Markierung des {@link AbstractPetrinet}, die der
+     *                {@link RGraphNode} repräsentiert.
      */
-    public RGraphNode(String nodeID) {
-        super(nodeID);
+    public RGraphNode(int number, Marking marking) {
+        super();
+        this.number = number;
+        this.marking = marking;
         remainingActiveTransitionIDs = new ArrayList<>();
-        marking = new ArrayList<>();
     }
 
     /**
@@ -67,6 +73,56 @@ public class RGraphNode extends AbstractNode {
         firePropertyChange(PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS, oldValue, newValue);
     }
 
+    /**
+     * Fügt dem Knoten eine aktive {@link Transition} an einer Position hinzu, z.B.
+     * beim Wiederherstellen eines Zustandes.
+     *
+     * @param index              die Position.
+     * @param activeTransitionID die ID der aktiven {@link Transition}.
+     */
+    void addRemainingActiveTransitionID(int index, String activeTransitionID) {
+        ArrayList<String> oldValue = new ArrayList<>(remainingActiveTransitionIDs);
+        remainingActiveTransitionIDs.add(index, activeTransitionID);
+        ArrayList<String> newValue = new ArrayList<>(remainingActiveTransitionIDs);
+        firePropertyChange(PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS, oldValue, newValue);
+    }
+
+    /**
+     * Erzeugt die ID des {@link RGraphNode} aus seiner Markierung.
+     */
+    @Override
+    protected String createID() {
+        return marking.toString();
+    }
+
+    /**
+     * Benachrichtigt die {@link java.beans.PropertyChangeListener} über alle
+     * gesetzten Kennzeichnungen und verbliebenen aktiven Transitionen, z.B.
+     * nachdem der {@link RGraphNode} erneut in einen
+     * {@link AbstractReachabilitygraph} eingefügt wurde.
+     */
+    void fireProperties() {
+        if (elementOfLastTransition) {
+            firePropertyChange(PetrinetEditorGraphProperties.NODE_ELEMENT_OF_LAST_TRANSITION, false, true);
+        }
+        if (elementOfUnboundedcause) {
+            firePropertyChange(PetrinetEditorGraphProperties.NODE_ELEMENT_OF_UNBOUNDEDCAUSE, false, true);
+        }
+        if (initalmarking) {
+            firePropertyChange(PetrinetEditorGraphProperties.NODE_INITIALMARKING, false, true);
+        }
+        if (sourcemarkingOfUnboundedcause) {
+            firePropertyChange(PetrinetEditorGraphProperties.NODE_SOURCEMARKING_OF_UNBOUNDEDCAUSE, false, true);
+        }
+        if (targetmarkingOfUnboundedcause) {
+            firePropertyChange(PetrinetEditorGraphProperties.NODE_TARGETMARKIGN_OF_UNBOUNDEDCAUSE, false, true);
+        }
+        if (!remainingActiveTransitionIDs.isEmpty()) {
+            firePropertyChange(PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS, new ArrayList<String>(),
+                    new ArrayList<>(remainingActiveTransitionIDs));
+        }
+    }
+
     /**
      * Erzeugt und liefert das Label des {@link RGraphNode} zurück.
      * <p>
@@ -74,22 +130,27 @@ public class RGraphNode extends AbstractNode {
      */
     @Override
     public String getLabel() {
-        StringBuilder sb = new StringBuilder();
-        for (Integer token : marking) {
-            sb.append(sb.isEmpty() ? token : "|" + token);
-        }
-        return String.format("(%1$s)", sb.toString());
+        return marking.toLabel();
     }
 
     /**
      * Liefert die Markierung des {@link AbstractPetrinet} zurück, die der
      * {@link RGraphNode} repräsentiert.
      *
-     * @return die Markierung des {@link AbstractPetrinet} als {@link ArrayList} mit
-     *         {@link Integer}.
+     * @return die Markierung des {@link AbstractPetrinet} als {@link Marking}.
+     */
+    public Marking getMarking() {
+        return marking;
+    }
+
+    /**
+     * Liefert die fortlaufende Nummer des {@link RGraphNode} im
+     * {@link AbstractReachabilitygraph} zurück.
+     *
+     * @return die Nummer des Knotens.
      */
-    public ArrayList<Integer> getMarking() {
-        return new ArrayList<>(marking);
+    public int getNumber() {
+        return number;
     }
 
     /**
@@ -102,6 +163,18 @@ public class RGraphNode extends AbstractNode {
         return new ArrayList<>(remainingActiveTransitionIDs);
     }
 
+    /**
+     * Liefert die Position einer auf dem Knoten aktiven und noch nicht
+     * geschalteten {@link Transition} zurück.
+     *
+     * @param activeTransitionID die ID der {@link Transition}.
+     * @return die Position oder -1, wenn die {@link Transition} nicht verblieben
+     *         ist.
+     */
+    int indexOfRemainingActiveTransitionID(String activeTransitionID) {
+        return remainingActiveTransitionIDs.indexOf(activeTransitionID);
+    }
+
     /**
      * Gibt an, ob der {@link RGraphNode} ein Element des letzten Schaltvorganges
      * einer {@link Transition} ist.
@@ -167,6 +240,20 @@ public class RGraphNode extends AbstractNode {
         firePropertyChange(PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS, oldValue, newValue);
     }
 
+    /**
+     * Ersetzt die aktiven und noch nicht geschalteten {@link Transition}, z.B.
+     * beim Wiederherstellen eines Zustandes. Die
+     * {@link java.beans.PropertyChangeListener} werden einmal benachrichtigt.
+     *
+     * @param activeTransitionIDs die IDs der aktiven {@link Transition}.
+     */
+    void setRemainingActiveTransitionIDs(ArrayList<String> activeTransitionIDs) {
+        ArrayList<String> oldValue = new ArrayList<>(remainingActiveTransitionIDs);
+        remainingActiveTransitionIDs = new ArrayList<>(activeTransitionIDs);
+        ArrayList<String> newValue = new ArrayList<>(remainingActiveTransitionIDs);
+        firePropertyChange(PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS, oldValue, newValue);
+    }
+
     /**
      * Ändert die Eigenschaft, die den {@link RGraphNode} als Teil des letzten
      * Schaltvorganges einer {@link Transition} kennzeichnet.
@@ -214,9 +301,9 @@ public class RGraphNode extends AbstractNode {
      * {@link RGraphNode} repräsentiert.
      *
      * @param marking die Markierung des {@link AbstractPetrinet} als
-     *                {@link ArrayList} mit {@link Integer}.
+     *                {@link Marking}.
      */
-    public void setMarking(ArrayList<Integer> marking) {
+    public void setMarking(Marking marking) {
         this.marking = marking;
     }
 
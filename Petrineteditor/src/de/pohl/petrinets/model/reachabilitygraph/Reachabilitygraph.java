@@ -1,9 +1,16 @@
 package de.pohl.petrinets.model.reachabilitygraph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 
 import de.pohl.petrinets.control.PetrinetEditorGraphProperties;
+import de.pohl.petrinets.model.AbstractGraphElement;
+import de.pohl.petrinets.model.petrinet.Marking;
 import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
+import de.pohl.petrinets.model.petrinet.MarkingIndex;
 import de.pohl.petrinets.model.petrinet.Transition;
 
 /**
@@ -12,41 +19,97 @@ import de.pohl.petrinets.model.petrinet.Transition;
  * Implementiert einen {@link AbstractReachabilitygraph}.
  */
 public class Reachabilitygraph extends AbstractReachabilitygraph {
+    // Aufzeichnung für das Sichern und Wiederherstellen von Zuständen.
+    private RGraphChangeLog changeLog;
     private ArrayList<RGraphEdge> edges;
     private ArrayList<RGraphNode> nodes;
+    // Quell- und Zielknoten der Kanten nach Kantennummer.
+    private int[] edgeSources;
+    private int[] edgeTargets;
+    // Nummern der ein- und ausgehenden Kanten nach Knotennummer. Die Felder werden
+    // bei Bedarf vergrößert, die Anzahl der belegten Einträge steht in den
+    // Zählerfeldern. Kanten werden nur am Ende angefügt und beim Wiederherstellen
+    // eines früheren Zustandes in umgekehrter Reihenfolge wieder entfernt.
+    private int[][] inboundEdges;
+    private int[] inboundEdgeCounts;
+    private int[][] outboundEdges;
+    private int[] outboundEdgeCounts;
+    // Die Nummern der Knoten nach Markierung, außerhalb des Heaps.
+    private MarkingIndex markingIndex;
+    // Indizes für den Zugriff über die IDs. Da die IDs erst bei Bedarf erzeugt
+    // werden, werden auch diese Indizes erst beim ersten Zugriff über eine ID
+    // ergänzt. Die Zähler geben an, wie viele Elemente bereits enthalten sind.
+    private HashMap<String, RGraphEdge> edgeIndex;
+    private int indexedEdges;
+    private HashMap<String, RGraphNode> nodeIndex;
+    private int indexedNodes;
+    // Die aktuell als letzter Schaltvorgang hervorgehobenen Elemente.
+    private RGraphEdge highlightedEdge;
+    private RGraphNode highlightedNode;
+    // Beim Wiederherstellen erhält jeder Vorgang eine neue Epoche. Ein Knoten oder
+    // eine Kante, dessen Epoche der aktuellen entspricht, besitzt bereits einen
+    // Eintrag in den gesammelten Änderungen an der angegebenen Position.
+    private int restoreEpoch;
+    private int[] nodeEpochs;
+    private int[] nodePendingSlots;
+    private int[] edgeEpochs;
+    private int[] edgePendingSlots;
 
     /**
      * Erstellt einen {@link Reachabilitygraph}.
      */
     public Reachabilitygraph() {
+        this.changeLog = new RGraphChangeLog();
         this.edges = new ArrayList<>();
         this.nodes = new ArrayList<>();
+        this.edgeSources = new int[16];
+        this.edgeTargets = new int[16];
+        this.inboundEdges = new int[16][];
+        this.inboundEdgeCounts = new int[16];
+        this.outboundEdges = new int[16][];
+        this.outboundEdgeCounts = new int[16];
+        this.edgeIndex = new HashMap<>();
+        this.markingIndex = new MarkingIndex();
+        this.nodeIndex = new HashMap<>();
+        this.nodeEpochs = new int[16];
+        this.nodePendingSlots = new int[16];
+        this.edgeEpochs = new int[16];
+        this.edgePendingSlots = new int[16];
     }
 
     @Override
-    public void addInitialMarking(ArrayList<Integer> marking, ArrayList<String> activeTransitionIDs) {
+    public void addInitialMarking(Marking marking, ArrayList<String> activeTransitionIDs) {
         if (nodes.isEmpty()) {
             addNode(marking, activeTransitionIDs, true);
         }
     }
 
     @Override
-    public String addMarking(String transitionID, String transitionName, ArrayList<Integer> oldActualMarking,
-            ArrayList<Integer> newActualMarking, ArrayList<String> activeTransitionIDs, boolean returnExisting) {
-        RGraphNode sourceNode = getNode(oldActualMarking.toString());
-        RGraphNode targetNode = getNode(newActualMarking.toString());
+    public String addMarking(String transitionID, String transitionName, Marking oldActualMarking,
+            Marking newActualMarking, ArrayList<String> activeTransitionIDs, boolean returnExisting) {
+        int edge = addMarkingEdge(transitionID, transitionName, oldActualMarking, newActualMarking,
+                activeTransitionIDs);
+        if (edge < 0 && returnExisting) {
+            edge = findEdge(getNode(oldActualMarking).getNumber(), transitionID,
+                    getNode(newActualMarking).getNumber());
+        }
+        return edge < 0 ? null : edges.get(edge).getID();
+    }
+
+    @Override
+    public int addMarkingEdge(String transitionID, String transitionName, Marking oldActualMarking,
+            Marking newActualMarking, ArrayList<String> activeTransitionIDs) {
+        RGraphNode sourceNode = getNode(oldActualMarking);
+        RGraphNode targetNode = getNode(newActualMarking);
         if (targetNode == null) {
             // Zielknoten und Kante exisitert nicht.
             targetNode = addNode(newActualMarking, activeTransitionIDs, false);
+        } else if (findEdge(sourceNode.getNumber(), transitionID, targetNode.getNumber()) >= 0) {
+            return -1;
         }
-        String edgeID = generateEdgeID(transitionID, sourceNode.getID(), targetNode.getID());
-        if (getEdge(edgeID) == null) {
-            String edge = addEdge(edgeID, transitionID, transitionName, sourceNode, targetNode);
-            sourceNode.removeRemainingActiveTransitionID(transitionID);
-            return edge;
-        }
-        if (returnExisting) return edgeID;
-        return null;
+        int edge = addEdge(transitionID, transitionName, sourceNode, targetNode);
+        changeRemainingActiveTransitionID(sourceNode, transitionID, false);
+        return edge;
     }
 
     @Override
@@ -54,16 +117,50 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
         return edges.size();
     }
 
+    @Override
+    public int countNodeInboundEdges(int node) {
+        return inboundEdgeCounts[node];
+    }
+
+    @Override
+    public int countNodeOutboundEdges(int node) {
+        return outboundEdgeCounts[node];
+    }
+
     @Override
     public int countNodes() {
         return nodes.size();
     }
 
+    @Override
+    public void discardHistory(RGraphMemento oldestState) {
+        if (oldestState == null) {
+            changeLog.stopRecording();
+        } else if (oldestState.getChangeLog() == changeLog) {
+            changeLog.discardBefore(oldestState.getCursor());
+        }
+    }
+
+    @Override
+    public String getEdgeID(int edge) {
+        return edges.get(edge).getID();
+    }
+
+    @Override
+    public int getEdgeSource(int edge) {
+        return edgeSources[edge];
+    }
+
     @Override
     public String getEdgeSourceID(String edgeID) {
         return getEdge(edgeID).getSourceNodeID();
     }
 
+    @Override
+    public int getEdgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
     @Override
     public String getEdgeTargetID(String edgeID) {
         return getEdge(edgeID).getTargetNodeID();
@@ -85,9 +182,24 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
         return this.nodes.get(0).getID();
     }
 
+    @Override
+    public String getNodeID(int node) {
+        return nodes.get(node).getID();
+    }
+
+    @Override
+    public int getNodeInboundEdge(int node, int index) {
+        return inboundEdges[node][index];
+    }
+
     @Override
     public ArrayList<String> getNodeInboundEdgeIDs(String nodeID) {
-        return getNode(nodeID).getInboundEdgeIDs();
+        int node = getNode(nodeID).getNumber();
+        ArrayList<String> edgeIDs = new ArrayList<>(inboundEdgeCounts[node]);
+        for (int i = 0; i < inboundEdgeCounts[node]; i++) {
+            edgeIDs.add(getEdgeID(inboundEdges[node][i]));
+        }
+        return edgeIDs;
     }
 
     @Override
@@ -95,6 +207,11 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
         return getNode(nodeID).getLabel();
     }
 
+    @Override
+    public Marking getNodeMarking(int node) {
+        return nodes.get(node).getMarking();
+    }
+
     /**
      * Liefert die Markierung des angegebenen Knotens im Erreichbarkeitsgraphen
      * zurück.
@@ -103,23 +220,43 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
      * @return Die Markierung.
      */
     @Override
-    public ArrayList<Integer> getNodeMarking(String nodeID) {
+    public Marking getNodeMarking(String nodeID) {
         return getNode(nodeID).getMarking();
     }
 
+    @Override
+    public int getNodeNumber(String nodeID) {
+        RGraphNode node = getNode(nodeID);
+        return node == null ? -1 : node.getNumber();
+    }
+
+    @Override
+    public int getNodeOutboundEdge(int node, int index) {
+        return outboundEdges[node][index];
+    }
+
     @Override
     public ArrayList<String> getNodeOutboundEdges(String nodeID) {
-        return getNode(nodeID).getOutboundEdgeIDs();
+        int node = getNode(nodeID).getNumber();
+        ArrayList<String> edgeIDs = new ArrayList<>(outboundEdgeCounts[node]);
+        for (int i = 0; i < outboundEdgeCounts[node]; i++) {
+            edgeIDs.add(getEdgeID(outboundEdges[node][i]));
+        }
+        return edgeIDs;
     }
 
     @Override
-    public void highlightTransition(String transitionID, ArrayList<Integer> oldActualMarking,
-            ArrayList<Integer> newActualMarking) {
-        String nodeID = getMarkingNodeID(newActualMarking);
-        String edgeID = generateEdgeID(transitionID, getMarkingNodeID(oldActualMarking),
-                getMarkingNodeID(newActualMarking));
-        toggleHighlightNode(nodeID);
-        toggleHighlightEdge(edgeID);
+    public void highlightTransition(String transitionID, Marking oldActualMarking,
+            Marking newActualMarking) {
+        RGraphNode sourceNode = getNode(oldActualMarking);
+        RGraphNode targetNode = getNode(newActualMarking);
+        RGraphEdge edge = null;
+        if (sourceNode != null && targetNode != null) {
+            int edgeNumber = findEdge(sourceNode.getNumber(), transitionID, targetNode.getNumber());
+            edge = edgeNumber < 0 ? null : edges.get(edgeNumber);
+        }
+        toggleHighlightNode(targetNode);
+        toggleHighlightEdge(edge);
     }
 
     /**
@@ -134,96 +271,97 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
         return getNode(nodeID) != null;
     }
 
+    /**
+     * Stellt einen gesicherten Zustand wieder her.
+     * <p>
+     * Die aufgezeichneten Änderungen zwischen dem aktuellen und dem gesicherten
+     * Zustand werden zunächst je Knoten und Kante zu einem Zielzustand
+     * zusammengefasst. Danach wird jede betroffene Eigenschaft höchstens einmal
+     * geändert, unveränderte Knoten und Kanten werden nicht berührt. Beim
+     * Zurückgehen werden zuerst die Eigenschaften gesetzt und danach die Knoten
+     * und Kanten entfernt, beim Vorwärtsgehen zuerst die Knoten und Kanten
+     * eingefügt und danach die Eigenschaften gesetzt. So betreffen alle
+     * Benachrichtigungen nur Elemente, die im Graphen enthalten sind.
+     * <p>
+     * Stammt der Zustand aus einem anderen {@link Reachabilitygraph}, z.B. nach
+     * einer Reinitialisierung, werden dessen Knoten und Kanten übernommen.
+     *
+     * @throws IllegalStateException wenn die für den Zustand benötigten
+     *                               Änderungen bereits verworfen wurden, z.B.
+     *                               weil nach einem Rückgängigmachen eine neue
+     *                               Änderung vorgenommen wurde.
+     */
     @Override
     public void restoreState(RGraphMemento saveState) {
-        ArrayList<RGraphEdge> saveStateEdges = saveState.getEdges();
-        ArrayList<RGraphNode> saveStateNodes = saveState.getNodes();
-        boolean structuralChanges = hasStructuralChanges(saveStateEdges, saveStateNodes);
-        if (nodes.size() == 1) {
-            // Es gibt nur den Wurzelknoten
-            if (!nodes.get(0).getID().equals(saveStateNodes.get(0).getID())) {
-                // Stimmen die IDs der Wurzelknoten nicht überein, hat sich die
-                // Anfangsmarkierung des Petrinetzes geändert.
-                // In diesem Fall kann der Wurzelknoten gelöscht werden und dieser wird im
-                // nachfolgenen Prozess wiederhergestellt.
-                RGraphNode oldNode = nodes.get(0);
-                nodes.remove(0);
-                this.firePropertyChange(PetrinetEditorGraphProperties.NODE, oldNode, null);
-            }
+        if (saveState.getChangeLog() != changeLog) {
+            adoptChangeLog(saveState.getChangeLog());
         }
-        if (structuralChanges) {
-            if (nodes.size() < saveStateNodes.size()) {
-                restoreDeletedNodes(saveStateNodes);
-            }
-            if (edges.size() < saveStateEdges.size()) {
-                restoreDeletedEdges(saveStateEdges);
-            }
-            if (edges.size() > saveStateEdges.size()) {
-                removeAddedEdges(saveStateEdges);
-            }
-            if (nodes.size() > saveStateNodes.size()) {
-                removeAddedNodes(saveStateNodes);
-            }
+        int cursor = changeLog.getCursor();
+        int targetCursor = saveState.getCursor();
+        if (!changeLog.contains(saveState.getNodeCount(), saveState.getEdgeCount(), targetCursor)) {
+            throw new IllegalStateException("Der Zustand des Erreichbarkeitsgraphen ist nicht mehr verfügbar.");
+        }
+        restoreEpoch++;
+        ArrayList<PendingState> pendingStates = new ArrayList<>();
+        for (int position = cursor - 1; position >= targetCursor; position--) {
+            collectChange(pendingStates, changeLog.getChange(position), false);
         }
-        restoreNodeProperties(saveStateNodes);
-        restoreEdgeProperties(saveStateEdges);
+        for (int position = cursor; position < targetCursor; position++) {
+            collectChange(pendingStates, changeLog.getChange(position), true);
+        }
+        if (targetCursor < cursor) {
+            applyPendingStates(pendingStates);
+            restoreElements(saveState.getNodeCount(), saveState.getEdgeCount());
+        } else {
+            restoreElements(saveState.getNodeCount(), saveState.getEdgeCount());
+            applyPendingStates(pendingStates);
+        }
+        changeLog.setCursor(targetCursor);
     }
 
     @Override
     public RGraphMemento saveState() {
-        return new RGraphMemento(edges, nodes);
+        changeLog.startRecording();
+        return new RGraphMemento(changeLog, nodes.size(), edges.size(), changeLog.getCursor());
     }
 
     @Override
     public void setUnboundedCause(ArrayList<String> unboundedCauseEdgeIDs, String sourcemarkingNodeID,
             String targetmarkingNodeID) {
         resetUnboundedCauseFlag();
-        for (String edgeID : unboundedCauseEdgeIDs) {
-            RGraphEdge edge = getEdge(edgeID);
-            RGraphNode sourceNode = getNode(edge.getSourceNodeID());
-            sourceNode.setElementOfUnboundedcause(true);
-            edge.setElementOfUnboundedcause(true);
-            if (unboundedCauseEdgeIDs.indexOf(edgeID) == unboundedCauseEdgeIDs.size() - 1) {
-                RGraphNode targetNode = getNode(edge.getTargetNodeID());
-                targetNode.setElementOfUnboundedcause(true);
+        for (int i = 0; i < unboundedCauseEdgeIDs.size(); i++) {
+            RGraphEdge edge = getEdge(unboundedCauseEdgeIDs.get(i));
+            setProperty(edge.getSourceNode(), PetrinetEditorGraphProperties.NODE_ELEMENT_OF_UNBOUNDEDCAUSE, true);
+            setProperty(edge, PetrinetEditorGraphProperties.EDGE_ELEMENT_OF_UNBOUNDEDCAUSE, true);
+            if (i == unboundedCauseEdgeIDs.size() - 1) {
+                setProperty(edge.getTargetNode(), PetrinetEditorGraphProperties.NODE_ELEMENT_OF_UNBOUNDEDCAUSE, true);
             }
         }
-        RGraphNode sourcemarkingNode = getNode(sourcemarkingNodeID);
-        RGraphNode targetmarkingNode = getNode(targetmarkingNodeID);
-        sourcemarkingNode.setSourcemarkingOfUnboundedcause(true);
-        targetmarkingNode.setTargetmarkingOfUnboundedcause(true);
+        setProperty(getNode(sourcemarkingNodeID), PetrinetEditorGraphProperties.NODE_SOURCEMARKING_OF_UNBOUNDEDCAUSE,
+                true);
+        setProperty(getNode(targetmarkingNodeID), PetrinetEditorGraphProperties.NODE_TARGETMARKIGN_OF_UNBOUNDEDCAUSE,
+                true);
     }
 
     /**
-     * Fügt eine Kante zum {@link Reachabilitygraph} hinzu, sofern diese noch nicht
-     * exisitert.<br>
-     * Dies ist genau dann der Fall, wenn es keinen durch eine Transition
-     * ausgelösten Übergang von einer Ursprungsmarkierung zu einer Zielmarkierung
+     * Fügt eine Kante zum {@link Reachabilitygraph} hinzu.<br>
+     * Der Aufrufer stellt sicher, dass es noch keinen durch die Transition
+     * ausgelösten Übergang von der Ursprungsmarkierung zu der Zielmarkierung
      * gibt.
      *
-     * @param edgeID         die ID der {@link RGraphEdge} als {@link String}.
      * @param transitionID   die ID der {@link Transition}, auf die die
      *                       {@link RGraphEdge} referenziert als {@link String}.
      * @param transitionName der Name der {@link Transition}, auf die die
      *                       {@link RGraphEdge} referenziert als {@link String}.
      * @param sourceNode     der Quellknoten der Kante als {@link RGraphNode}.
      * @param targetNode     der Zielknoten der Kante als {@link RGraphNode}.
-     * @return Die neue {@link RGraphEdge} des {@link Reachabilitygraph} oder
-     *         <code>null</code>, wenn diese bereits existiert.
+     * @return Die Nummer der neuen {@link RGraphEdge}.
      */
-    private String addEdge(String edgeID, String transitionID, String transitionName, RGraphNode sourceNode,
-            RGraphNode targetNode) {
-        if (getEdge(edgeID) == null) {
-            RGraphEdge newEdge = new RGraphEdge(edgeID, transitionID, transitionName, sourceNode.getID(),
-                    targetNode.getID());
-            forewardGraphPCSToGraphElement(newEdge);
-            this.edges.add(newEdge);
-            sourceNode.addOutbound(newEdge.getID());
-            targetNode.addInbound(newEdge.getID());
-            this.firePropertyChange(PetrinetEditorGraphProperties.EDGE, null, newEdge);
-            return edgeID;
-        }
-        return null;
+    private int addEdge(String transitionID, String transitionName, RGraphNode sourceNode, RGraphNode targetNode) {
+        RGraphEdge newEdge = new RGraphEdge(edges.size(), transitionID, transitionName, sourceNode, targetNode);
+        changeLog.appendEdge(newEdge);
+        insertEdge(newEdge);
+        return newEdge.getNumber();
     }
 
     /**
@@ -231,7 +369,7 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
      *
      * @param marking             die Markierung des {@link AbstractPetrinet}, die
      *                            der {@link RGraphNode} repräsentiert als
-     *                            {@link ArrayList} mit {@link Integer}.
+     *                            {@link Marking}.
      * @param activeTransitionIDs eine {@link ArrayList} mit {@link String}-Werten
      *                            der IDs der auf der Markierung aktiven
      *                            {@link Transition}.
@@ -240,18 +378,16 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
      * @return Der neue {@link RGraphNode} des {@link Reachabilitygraph} oder
      *         <code>null</code>, wenn dieser bereits existiert.
      */
-    private RGraphNode addNode(ArrayList<Integer> marking, ArrayList<String> activeTransitionIDs, boolean initialNode) {
+    private RGraphNode addNode(Marking marking, ArrayList<String> activeTransitionIDs, boolean initialNode) {
         if (getNode(marking) == null) {
-            RGraphNode newNode = new RGraphNode(marking.toString());
-            forewardGraphPCSToGraphElement(newNode);
-            this.nodes.add(newNode);
-            newNode.setMarking(marking);
-            this.firePropertyChange(PetrinetEditorGraphProperties.NODE, null, newNode);
+            RGraphNode newNode = new RGraphNode(nodes.size(), marking);
+            changeLog.appendNode(newNode);
+            insertNode(newNode);
             if (initialNode) {
-                newNode.setInitalmarking(true);
+                setProperty(newNode, PetrinetEditorGraphProperties.NODE_INITIALMARKING, true);
             }
             for (String activeTransitionID : activeTransitionIDs) {
-                newNode.addRemainingActiveTransitionID(activeTransitionID);
+                changeRemainingActiveTransitionID(newNode, activeTransitionID, true);
             }
             return newNode;
         }
@@ -259,151 +395,379 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
     }
 
     /**
-     * Erzeugt die IDs für {@link RGraphEdge}. Diese setzt sich aus der ID der
-     * geschalteten {@link Transition}, sowie aus den IDs des Quell- und Zielknotens
-     * zusammen.<br>
+     * Übernimmt die Knoten und Kanten aus der Aufzeichnung eines anderen
+     * {@link Reachabilitygraph} in dem Zustand, in dem dieser sie hinterlassen
+     * hat. Die bisherigen Knoten und Kanten werden entfernt.
+     *
+     * @param newChangeLog die zu übernehmende {@link RGraphChangeLog}.
+     */
+    private void adoptChangeLog(RGraphChangeLog newChangeLog) {
+        removeEdges(0);
+        removeNodes(0);
+        changeLog = newChangeLog;
+        int nodeCount = changeLog.getNodeCount();
+        int edgeCount = changeLog.getEdgeCount();
+        changeLog.setElementCounts(0, 0);
+        restoreElements(nodeCount, edgeCount);
+    }
+
+    /**
+     * Fügt eine Kantennummer an ein Feld an und vergrößert dieses bei Bedarf.
+     *
+     * @param edgeNumbers das Feld oder <code>null</code>.
+     * @param count       die Anzahl der belegten Einträge.
+     * @param edge        die Nummer der Kante.
+     * @return das Feld mit der angefügten Kantennummer.
+     */
+    private static int[] append(int[] edgeNumbers, int count, int edge) {
+        if (edgeNumbers == null) {
+            edgeNumbers = new int[2];
+        } else if (count == edgeNumbers.length) {
+            edgeNumbers = Arrays.copyOf(edgeNumbers, count * 2);
+        }
+        edgeNumbers[count] = edge;
+        return edgeNumbers;
+    }
+
+    /**
+     * Wendet eine aufgezeichnete Änderung an.
+     *
+     * @param change die {@link RGraphChange}.
+     */
+    private void applyChange(RGraphChange change) {
+        if (change.getProperty() == PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS) {
+            RGraphNode node = (RGraphNode) change.getElement();
+            if (change.getValue()) {
+                node.addRemainingActiveTransitionID(change.getIndex(), change.getTransitionID());
+            } else {
+                node.removeRemainingActiveTransitionID(change.getTransitionID());
+            }
+        } else {
+            setPropertyValue(change.getElement(), change.getProperty(), change.getValue());
+        }
+    }
+
+    /**
+     * Setzt die gesammelten Zielzustände der Knoten und Kanten. Eine Eigenschaft
+     * wird nur geändert, wenn sich ihr Wert vom aktuellen unterscheidet.
+     *
+     * @param pendingStates die gesammelten {@link PendingState}.
+     */
+    private void applyPendingStates(ArrayList<PendingState> pendingStates) {
+        for (PendingState pendingState : pendingStates) {
+            AbstractGraphElement element = pendingState.element;
+            for (Map.Entry<PetrinetEditorGraphProperties, Boolean> flag : pendingState.flags.entrySet()) {
+                if (getProperty(element, flag.getKey()) != flag.getValue()) {
+                    setPropertyValue(element, flag.getKey(), flag.getValue());
+                }
+            }
+            ArrayList<String> activeTransitionIDs = pendingState.activeTransitionIDs;
+            if (activeTransitionIDs != null
+                    && !activeTransitionIDs.equals(((RGraphNode) element).getRemainingActiveTransitionIDs())) {
+                ((RGraphNode) element).setRemainingActiveTransitionIDs(activeTransitionIDs);
+            }
+        }
+    }
+
+    /**
+     * Fügt einem Knoten die ID einer verbliebenen aktiven {@link Transition} hinzu
+     * oder entfernt sie und zeichnet die Änderung auf.
+     *
+     * @param node               der {@link RGraphNode}.
+     * @param activeTransitionID die ID der {@link Transition}.
+     * @param add                <code>true</code> zum Hinzufügen,
+     *                           <code>false</code> zum Entfernen.
+     */
+    private void changeRemainingActiveTransitionID(RGraphNode node, String activeTransitionID, boolean add) {
+        int index = node.indexOfRemainingActiveTransitionID(activeTransitionID);
+        if ((index < 0) == add) {
+            if (add) {
+                index = node.getRemainingActiveTransitionIDs().size();
+            }
+            RGraphChange change = new RGraphChange(node, PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS,
+                    add, activeTransitionID, index);
+            changeLog.record(change);
+            applyChange(change);
+        }
+    }
+
+    /**
+     * Fasst eine aufgezeichnete Änderung in dem Zielzustand des betroffenen
+     * Knotens oder der betroffenen Kante zusammen.
+     * <p>
+     * Beim Zurückgehen werden die Änderungen von der jüngsten zur ältesten
+     * gesammelt, beim Vorwärtsgehen von der ältesten zur jüngsten. Der zuletzt
+     * gesammelte Wert einer Kennzeichnung ist daher der Zielwert.
+     *
+     * @param pendingStates die bisher gesammelten {@link PendingState}.
+     * @param change        die {@link RGraphChange}.
+     * @param forward       wenn <code>true</code>, wird der neue Wert gesammelt,
+     *                      sonst der alte.
+     */
+    private void collectChange(ArrayList<PendingState> pendingStates, RGraphChange change, boolean forward) {
+        PendingState pendingState = getPendingState(pendingStates, change.getElement());
+        boolean value = change.getValue() == forward;
+        if (change.getProperty() == PetrinetEditorGraphProperties.NODE_ACTIVE_TRANSITION_IDS) {
+            if (pendingState.activeTransitionIDs == null) {
+                pendingState.activeTransitionIDs = new ArrayList<>(
+                        ((RGraphNode) change.getElement()).getRemainingActiveTransitionIDs());
+            }
+            if (value) {
+                pendingState.activeTransitionIDs.add(change.getIndex(), change.getTransitionID());
+            } else {
+                pendingState.activeTransitionIDs.remove(change.getTransitionID());
+            }
+        } else {
+            pendingState.flags.put(change.getProperty(), value);
+        }
+    }
+
+    /**
+     * Sucht die Kante, die den durch eine {@link Transition} ausgelösten Übergang
+     * von einem Quell- zu einem Zielknoten repräsentiert.<br>
      * Anders als in einem {@link AbstractPetrinet} wird eine {@link RGraphEdge} nur
-     * durch diese 3 Eigenschaften eindeutig identifiziert.
+     * durch diese 3 Eigenschaften eindeutig identifiziert. Es werden nur die
+     * ausgehenden Kanten des Quellknotens durchsucht.
      *
+     * @param source       die Nummer des Quellknotens.
      * @param transitionID die ID der geschalteten {@link Transition} als
      *                     {@link String}.
-     * @param sourceNodeID die ID des Quellknotens als {@link String}.
-     * @param targetNodeID die ID des Zielknotens als {@link String}.
-     * @return Eine eindeutige ID einer {@link RGraphEdge} als {@link String}.
+     * @param target       die Nummer des Zielknotens.
+     * @return die Nummer der Kante oder -1, wenn diese nicht existiert.
      */
-    private String generateEdgeID(String transitionID, String sourceNodeID, String targetNodeID) {
-        return transitionID + sourceNodeID + targetNodeID;
+    private int findEdge(int source, String transitionID, int target) {
+        int[] outbound = outboundEdges[source];
+        for (int i = 0; i < outboundEdgeCounts[source]; i++) {
+            int edge = outbound[i];
+            if (edgeTargets[edge] == target && edges.get(edge).getTransitionID().equals(transitionID)) {
+                return edge;
+            }
+        }
+        return -1;
     }
 
     /**
      * Liefert eine {@link RGraphEdge} des {@link Reachabilitygraph} zurück.
+     * <p>
+     * Noch nicht im Index enthaltene Kanten werden zuvor aufgenommen.
      *
      * @param edgeID die ID der gesuchten {@link RGraphEdge} als {@link String}.
      * @return Die gesuchte {@link RGraphEdge} oder <code>null</code>, wenn diese
      *         nicht existiert.
      */
     private RGraphEdge getEdge(String edgeID) {
-        for (RGraphEdge edge : edges) {
-            if (edge.getID().equals(edgeID)) {
-                return edge;
-            }
+        for (; indexedEdges < edges.size(); indexedEdges++) {
+            RGraphEdge edge = edges.get(indexedEdges);
+            edgeIndex.put(edge.getID(), edge);
         }
-        return null;
-    }
-
-    /**
-     * Liefert die ID eines {@link RGraphNode}, der die angegebene Markierung
-     * enthält.
-     *
-     * @param marking die Markierung des Knotens, dessen ID gesucht wird als
-     *                {@link ArrayList} mit {@link Integer}.
-     * @return Die ID des {@link RGraphEdge} als String oder <code>null</code>, wenn
-     *         dieser nicht existiert.
-     */
-    private String getMarkingNodeID(ArrayList<Integer> marking) {
-        return getNode(marking).getID();
+        return edgeIndex.get(edgeID);
     }
 
     /**
      * Gibt den gesuchten {@link RGraphNode} des {@link AbstractReachabilitygraph}
      * zurück.
      *
-     * @param marking die Markierung als {@link ArrayList} mit {@link Integer} des
-     *                gesuchten Knotens.
+     * @param marking die Markierung als {@link Marking} des gesuchten Knotens.
      * @return der gesuchte {@link RGraphNode} oder <code>null</code>, wenn
      *         gesuchter {@link RGraphNode} nicht exisitert.
      */
-    private RGraphNode getNode(ArrayList<Integer> marking) {
-        for (RGraphNode node : nodes) {
-            if (node.getMarking().equals(marking)) {
-                return node;
-            }
-        }
-        return null;
+    private RGraphNode getNode(Marking marking) {
+        int node = markingIndex.get(marking);
+        return node < 0 ? null : nodes.get(node);
     }
 
     /**
      * Liefert einen {@link RGraphNode} des {@link Reachabilitygraph} zurück.
+     * <p>
+     * Noch nicht im Index enthaltene Knoten werden zuvor aufgenommen.
      *
      * @param nodeID die ID des gesuchten {@link RGraphEdge} als {@link String}.
      * @return der gesuchte {@link RGraphNode} oder <code>null</code>, wenn
      *         gesuchter {@link RGraphNode} nicht exisitert.
      */
     private RGraphNode getNode(String nodeID) {
-        for (RGraphNode node : nodes) {
-            if (node.getID().equals(nodeID)) {
-                return node;
-            }
+        for (; indexedNodes < nodes.size(); indexedNodes++) {
+            RGraphNode node = nodes.get(indexedNodes);
+            nodeIndex.put(node.getID(), node);
         }
-        return null;
+        return nodeIndex.get(nodeID);
     }
 
     /**
-     * Prüft, sich die Struktur des {@link Reachabilitygraph} im Vergleich zu einem
-     * {@link RGraphMemento} geändert hat.
+     * Liefert den gesammelten Zielzustand eines Knotens oder einer Kante zurück
+     * und legt ihn an, wenn das Element in der aktuellen Epoche noch nicht erfasst
+     * wurde.
      *
-     * @param saveStateEdges die Kanten des {@link RGraphMemento}.
-     * @param saveStateNodes die Knoten des {@link RGraphMemento}.
-     * @return <code>true</code>, wenn sich die Struktur geändert hat.
+     * @param pendingStates die bisher gesammelten {@link PendingState}.
+     * @param element       der {@link RGraphNode} oder die {@link RGraphEdge}.
+     * @return der {@link PendingState} des Elementes.
      */
-    private boolean hasStructuralChanges(ArrayList<RGraphEdge> saveStateEdges, ArrayList<RGraphNode> saveStateNodes) {
-        if ((this.edges != null) && (saveStateEdges != null)) {
-            if (this.edges.size() != saveStateEdges.size()) {
-                return true;
-            } else {
-                for (int i = 0; i < this.edges.size(); i++) {
-                    RGraphEdge edge = edges.get(i);
-                    RGraphEdge savedEdge = saveStateEdges.get(i);
-                    if (!edge.getID().equals(savedEdge.getID())) return true;
-                }
+    private PendingState getPendingState(ArrayList<PendingState> pendingStates, AbstractGraphElement element) {
+        int slot = pendingStates.size();
+        if (element instanceof RGraphNode) {
+            int number = ((RGraphNode) element).getNumber();
+            if (number >= nodeEpochs.length) {
+                nodeEpochs = Arrays.copyOf(nodeEpochs, Math.max(number + 1, nodeEpochs.length * 2));
+                nodePendingSlots = Arrays.copyOf(nodePendingSlots, nodeEpochs.length);
             }
-        }
-        if ((this.nodes != null) && (saveStateNodes != null)) {
-            if (this.nodes.size() != saveStateNodes.size()) {
-                return true;
-            } else {
-                for (int i = 0; i < this.nodes.size(); i++) {
-                    RGraphNode node = nodes.get(i);
-                    RGraphNode savedNode = saveStateNodes.get(i);
-                    if (!node.getID().equals(savedNode.getID())) return true;
-                }
+            if (nodeEpochs[number] == restoreEpoch) {
+                return pendingStates.get(nodePendingSlots[number]);
+            }
+            nodeEpochs[number] = restoreEpoch;
+            nodePendingSlots[number] = slot;
+        } else {
+            int number = ((RGraphEdge) element).getNumber();
+            if (number >= edgeEpochs.length) {
+                edgeEpochs = Arrays.copyOf(edgeEpochs, Math.max(number + 1, edgeEpochs.length * 2));
+                edgePendingSlots = Arrays.copyOf(edgePendingSlots, edgeEpochs.length);
+            }
+            if (edgeEpochs[number] == restoreEpoch) {
+                return pendingStates.get(edgePendingSlots[number]);
             }
+            edgeEpochs[number] = restoreEpoch;
+            edgePendingSlots[number] = slot;
         }
-        return false;
+        PendingState pendingState = new PendingState(element);
+        pendingStates.add(pendingState);
+        return pendingState;
     }
 
     /**
-     * Löscht {@link RGraphEdge}, die beim vorangegangenen Schalten einer Transition
-     * entstanden sind.
+     * Liefert den Wert einer Kennzeichnung eines Knotens oder einer Kante zurück.
      *
-     * @param saveStateEdges eine {@link ArrayList} mit {@link RGraphEdge}-Instanzen
-     *                       aus einem {@link RGraphMemento}.
+     * @param element  der {@link RGraphNode} oder die {@link RGraphEdge}.
+     * @param property die Kennzeichnung.
+     * @return der Wert der Kennzeichnung.
      */
-    private void removeAddedEdges(ArrayList<RGraphEdge> saveStateEdges) {
-        // Es wurden Kanten hinzugefügt. Neue Kanten müssen entfernt werden.
-        ArrayList<RGraphEdge> diffEdges = new ArrayList<>(edges);
-        diffEdges.subList(0, saveStateEdges.size()).clear();
+    private boolean getProperty(AbstractGraphElement element, PetrinetEditorGraphProperties property) {
+        switch (property) {
+        case EDGE_ELEMENT_OF_LAST_TRANSITION:
+            return ((RGraphEdge) element).isElementOfLastTransition();
+        case EDGE_ELEMENT_OF_UNBOUNDEDCAUSE:
+            return ((RGraphEdge) element).isElementOfUnboundedcause();
+        case NODE_ELEMENT_OF_LAST_TRANSITION:
+            return ((RGraphNode) element).isElementOfLastTransition();
+        case NODE_ELEMENT_OF_UNBOUNDEDCAUSE:
+            return ((RGraphNode) element).isElementOfUnboundedcause();
+        case NODE_INITIALMARKING:
+            return ((RGraphNode) element).isInitalmarking();
+        case NODE_SOURCEMARKING_OF_UNBOUNDEDCAUSE:
+            return ((RGraphNode) element).isSourcemarkingOfUnboundedcause();
+        case NODE_TARGETMARKIGN_OF_UNBOUNDEDCAUSE:
+            return ((RGraphNode) element).isTargetmarkingOfUnboundedcause();
+        default:
+            throw new IllegalArgumentException(
+                    "Die Eigenschaft " + property + " ist keine Kennzeichnung des Erreichbarkeitsgraphen.");
+        }
+    }
+
+    /**
+     * Fügt eine neue oder zuvor entfernte Kante in den {@link Reachabilitygraph}
+     * ein. Die Nummer der Kante muss der Anzahl der Kanten entsprechen.
+     *
+     * @param edge die {@link RGraphEdge}.
+     */
+    private void insertEdge(RGraphEdge edge) {
+        int number = edge.getNumber();
+        forewardGraphPCSToGraphElement(edge);
+        this.edges.add(edge);
+        if (number == edgeSources.length) {
+            edgeSources = Arrays.copyOf(edgeSources, number * 2);
+            edgeTargets = Arrays.copyOf(edgeTargets, number * 2);
+        }
+        int source = edge.getSourceNode().getNumber();
+        int target = edge.getTargetNode().getNumber();
+        edgeSources[number] = source;
+        edgeTargets[number] = target;
+        outboundEdges[source] = append(outboundEdges[source], outboundEdgeCounts[source]++, number);
+        inboundEdges[target] = append(inboundEdges[target], inboundEdgeCounts[target]++, number);
+        this.firePropertyChange(PetrinetEditorGraphProperties.EDGE, null, edge);
+        if (edge.isElementOfLastTransition()) {
+            highlightedEdge = edge;
+        }
+        edge.fireProperties();
+    }
+
+    /**
+     * Fügt einen neuen oder zuvor entfernten Knoten in den
+     * {@link Reachabilitygraph} ein. Die Nummer des Knotens muss der Anzahl der
+     * Knoten entsprechen.
+     *
+     * @param node der {@link RGraphNode}.
+     */
+    private void insertNode(RGraphNode node) {
+        int number = node.getNumber();
+        forewardGraphPCSToGraphElement(node);
+        this.nodes.add(node);
+        if (number == inboundEdgeCounts.length) {
+            inboundEdges = Arrays.copyOf(inboundEdges, number * 2);
+            inboundEdgeCounts = Arrays.copyOf(inboundEdgeCounts, number * 2);
+            outboundEdges = Arrays.copyOf(outboundEdges, number * 2);
+            outboundEdgeCounts = Arrays.copyOf(outboundEdgeCounts, number * 2);
+        }
+        inboundEdgeCounts[number] = 0;
+        outboundEdgeCounts[number] = 0;
+        this.markingIndex.putIfAbsent(node.getMarking(), number);
+        this.firePropertyChange(PetrinetEditorGraphProperties.NODE, null, node);
+        if (node.isElementOfLastTransition()) {
+            highlightedNode = node;
+        }
+        node.fireProperties();
+    }
+
+    /**
+     * Löscht alle {@link RGraphEdge} ab einer Kantennummer. Dies sind die Kanten,
+     * die nach dieser Kante hinzugefügt wurden, z.B. beim vorangegangenen
+     * Schalten einer Transition. Die Kanten bleiben in der
+     * {@link RGraphChangeLog} erhalten.
+     *
+     * @param fromEdge die Nummer der ersten zu löschenden Kante.
+     */
+    private void removeEdges(int fromEdge) {
+        ArrayList<RGraphEdge> diffEdges = new ArrayList<>(edges.subList(fromEdge, edges.size()));
+        // Die jüngste Kante steht in den Feldern ihres Quell- und Zielknotens immer
+        // an letzter Stelle.
+        for (int edge = edges.size() - 1; edge >= fromEdge; edge--) {
+            outboundEdgeCounts[edgeSources[edge]]--;
+            inboundEdgeCounts[edgeTargets[edge]]--;
+        }
+        edges.subList(fromEdge, edges.size()).clear();
         for (RGraphEdge diffEdge : diffEdges) {
-            edges.removeIf(n -> (n.getID().equals(diffEdge.getID())));
+            if (diffEdge.getNumber() < indexedEdges) {
+                edgeIndex.remove(diffEdge.getID());
+            }
+            if (diffEdge == highlightedEdge) {
+                highlightedEdge = null;
+            }
             this.firePropertyChange(PetrinetEditorGraphProperties.EDGE, diffEdge, null);
         }
+        indexedEdges = Math.min(indexedEdges, fromEdge);
+        changeLog.setElementCounts(nodes.size(), edges.size());
     }
 
     /**
-     * Löscht {@link RGraphNode}, die beim vorangegangenen Schalten einer Transition
-     * entstanden sind.
+     * Löscht alle {@link RGraphNode} ab einer Knotennummer. Dies sind die Knoten,
+     * die nach diesem Knoten hinzugefügt wurden, z.B. beim vorangegangenen
+     * Schalten einer Transition. Deren Kanten müssen zuvor gelöscht worden sein.
+     * Die Knoten bleiben in der {@link RGraphChangeLog} erhalten.
      *
-     * @param saveStateNodes eine {@link ArrayList} mit {@link RGraphNode}-Instanzen
-     *                       aus einem {@link RGraphMemento}.
+     * @param fromNode die Nummer des ersten zu löschenden Knotens.
      */
-    private void removeAddedNodes(ArrayList<RGraphNode> saveStateNodes) {
-        // Es wurden Knoten hinzugefügt. Neue Knoten müssen entfernt werden.
-        ArrayList<RGraphNode> diffNodes = new ArrayList<>(nodes);
-        diffNodes.subList(0, saveStateNodes.size()).clear();
+    private void removeNodes(int fromNode) {
+        ArrayList<RGraphNode> diffNodes = new ArrayList<>(nodes.subList(fromNode, nodes.size()));
+        nodes.subList(fromNode, nodes.size()).clear();
         for (RGraphNode diffNode : diffNodes) {
-            nodes.removeIf(n -> (n.getID().equals(diffNode.getID())));
+            markingIndex.remove(diffNode.getMarking());
+            if (diffNode.getNumber() < indexedNodes) {
+                nodeIndex.remove(diffNode.getID());
+            }
+            if (diffNode == highlightedNode) {
+                highlightedNode = null;
+            }
             this.firePropertyChange(PetrinetEditorGraphProperties.NODE, diffNode, null);
         }
+        indexedNodes = Math.min(indexedNodes, fromNode);
+        changeLog.setElementCounts(nodes.size(), edges.size());
     }
 
     /**
@@ -411,111 +775,155 @@ public class Reachabilitygraph extends AbstractReachabilitygraph {
      * sind, zurück.
      */
     private void resetUnboundedCauseFlag() {
-        for (RGraphEdge edge : edges) {
-            RGraphNode sourceNode = getNode(edge.getSourceNodeID());
-            sourceNode.setElementOfUnboundedcause(false);
-            edge.setElementOfUnboundedcause(false);
-            if (edges.indexOf(edge) == edges.size() - 1) {
-                RGraphNode targetNode = getNode(edge.getTargetNodeID());
-                targetNode.setElementOfUnboundedcause(false);
+        for (int i = 0; i < edges.size(); i++) {
+            RGraphEdge edge = edges.get(i);
+            setProperty(nodes.get(edgeSources[i]), PetrinetEditorGraphProperties.NODE_ELEMENT_OF_UNBOUNDEDCAUSE, false);
+            setProperty(edge, PetrinetEditorGraphProperties.EDGE_ELEMENT_OF_UNBOUNDEDCAUSE, false);
+            if (i == edges.size() - 1) {
+                setProperty(nodes.get(edgeTargets[i]), PetrinetEditorGraphProperties.NODE_ELEMENT_OF_UNBOUNDEDCAUSE,
+                        false);
             }
         }
     }
 
     /**
-     * Stellt zuvor entfernte {@link RGraphEdge} wieder her.
+     * Stellt die Anzahl der Knoten und Kanten eines gesicherten Zustandes her.
+     * Überzählige Kanten und Knoten werden entfernt, fehlende aus der
+     * {@link RGraphChangeLog} wieder eingefügt.
      *
-     * @param saveStateEdges Eine {@link ArrayList} mit {@link RGraphEdge}-Instanzen
-     *                       aus einem {@link RGraphMemento}.
+     * @param nodeCount die Anzahl der {@link RGraphNode}.
+     * @param edgeCount die Anzahl der {@link RGraphEdge}.
      */
-    private void restoreDeletedEdges(ArrayList<RGraphEdge> saveStateEdges) {
-        // Es wurden Kanten entfernt. Alte Kanten müssen hinzugefügt werden.
-        ArrayList<RGraphEdge> diffEdges = new ArrayList<>(saveStateEdges);
-        diffEdges.subList(0, edges.size()).clear();
-        for (RGraphEdge diffEdge : diffEdges) {
-            RGraphNode sourceNode = getNode(diffEdge.getSourceNodeID());
-            RGraphNode targetNode = getNode(diffEdge.getTargetNodeID());
-            addEdge(diffEdge.getID(), diffEdge.getTransitionID(), diffEdge.getTransitionName(), sourceNode, targetNode);
+    private void restoreElements(int nodeCount, int edgeCount) {
+        if (edges.size() > edgeCount) {
+            removeEdges(edgeCount);
         }
+        if (nodes.size() > nodeCount) {
+            removeNodes(nodeCount);
+        }
+        while (nodes.size() < nodeCount) {
+            insertNode(changeLog.getNode(nodes.size()));
+        }
+        while (edges.size() < edgeCount) {
+            insertEdge(changeLog.getEdge(edges.size()));
+        }
+        changeLog.setElementCounts(nodes.size(), edges.size());
     }
 
     /**
-     * Stellt zuvor entfernte {@link RGraphNode} wieder her.
+     * Ändert eine Kennzeichnung eines Knotens oder einer Kante und zeichnet die
+     * Änderung auf, sofern sich der Wert ändert.
      *
-     * @param saveStateNodes eine {@link ArrayList} mit {@link RGraphNode}-Instanzen
-     *                       aus einem {@link RGraphMemento}.
+     * @param element  der {@link RGraphNode} oder die {@link RGraphEdge}.
+     * @param property die Kennzeichnung.
+     * @param value    der neue Wert.
      */
-    private void restoreDeletedNodes(ArrayList<RGraphNode> saveStateNodes) {
-        // Es wurden Knoten entfernt. Alte Knoten müssen hinzugefügt werden.
-        ArrayList<RGraphNode> diffNodes = new ArrayList<>(saveStateNodes);
-        diffNodes.subList(0, nodes.size()).clear();
-        for (RGraphNode diffNode : diffNodes) {
-            addNode(diffNode.getMarking(), diffNode.getRemainingActiveTransitionIDs(), diffNode.isInitalmarking());
+    private void setProperty(AbstractGraphElement element, PetrinetEditorGraphProperties property, boolean value) {
+        if (getProperty(element, property) != value) {
+            RGraphChange change = new RGraphChange(element, property, value, null, -1);
+            changeLog.record(change);
+            applyChange(change);
         }
     }
 
     /**
-     * Stellt die Eigenschaften der {@link RGraphEdge}-Instanzen auf einen früheren
-     * Zustand wieder her.
+     * Setzt eine Kennzeichnung eines Knotens oder einer Kante, ohne die Änderung
+     * aufzuzeichnen. Die Hervorhebung des letzten Schaltvorganges wird dabei
+     * mitgeführt.
      *
-     * @param saveStateEdges eine {@link ArrayList} mit {@link RGraphEdge}-Instanzen
-     *                       aus einem {@link RGraphMemento}.
+     * @param element  der {@link RGraphNode} oder die {@link RGraphEdge}.
+     * @param property die Kennzeichnung.
+     * @param value    der neue Wert.
      */
-    private void restoreEdgeProperties(ArrayList<RGraphEdge> saveStateEdges) {
-        for (RGraphEdge savedEdge : saveStateEdges) {
-            for (RGraphEdge edge : edges) {
-                if (edge.getID().equals(savedEdge.getID())) {
-                    edge.setElementOfLastTransition(savedEdge.isElementOfLastTransition());
-                    edge.setElementOfUnboundedcause(savedEdge.isElementOfUnboundedcause());
-                    edge.setTransitionName(savedEdge.getTransitionName());
-                    break;
-                }
+    private void setPropertyValue(AbstractGraphElement element, PetrinetEditorGraphProperties property,
+            boolean value) {
+        switch (property) {
+        case EDGE_ELEMENT_OF_LAST_TRANSITION:
+            RGraphEdge edge = (RGraphEdge) element;
+            edge.setElementOfLastTransition(value);
+            if (value) {
+                highlightedEdge = edge;
+            } else if (edge == highlightedEdge) {
+                highlightedEdge = null;
             }
+            break;
+        case EDGE_ELEMENT_OF_UNBOUNDEDCAUSE:
+            ((RGraphEdge) element).setElementOfUnboundedcause(value);
+            break;
+        case NODE_ELEMENT_OF_LAST_TRANSITION:
+            RGraphNode node = (RGraphNode) element;
+            node.setElementOfLastTransition(value);
+            if (value) {
+                highlightedNode = node;
+            } else if (node == highlightedNode) {
+                highlightedNode = null;
+            }
+            break;
+        case NODE_ELEMENT_OF_UNBOUNDEDCAUSE:
+            ((RGraphNode) element).setElementOfUnboundedcause(value);
+            break;
+        case NODE_INITIALMARKING:
+            ((RGraphNode) element).setInitalmarking(value);
+            break;
+        case NODE_SOURCEMARKING_OF_UNBOUNDEDCAUSE:
+            ((RGraphNode) element).setSourcemarkingOfUnboundedcause(value);
+            break;
+        case NODE_TARGETMARKIGN_OF_UNBOUNDEDCAUSE:
+            ((RGraphNode) element).setTargetmarkingOfUnboundedcause(value);
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    "Die Eigenschaft " + property + " kann im Erreichbarkeitsgraphen nicht geändert werden.");
         }
     }
 
     /**
-     * Stellt die Eigenschaften der {@link RGraphNode}-Instanzen des Graphen auf
-     * einen früheren Zustand wieder her.
+     * Schaltet die Hervorhebung einer {@link RGraphEdge} um.
+     * <p>
+     * Es wird nur die Hervorhebung der zuvor hervorgehobenen {@link RGraphEdge}
+     * entfernt, sodass nicht alle Kanten durchlaufen werden müssen.
      *
-     * @param saveStateNodes eine {@link ArrayList} mit {@link RGraphNode}-Instanzen
-     *                       aus einem {@link RGraphMemento}.
+     * @param edge die {@link RGraphEdge} oder <code>null</code>.
      */
-    private void restoreNodeProperties(ArrayList<RGraphNode> saveStateNodes) {
-        for (RGraphNode savedNode : saveStateNodes) {
-            for (RGraphNode node : nodes) {
-                if (node.getID().equals(savedNode.getID())) {
-                    node.setElementOfLastTransition(savedNode.isElementOfLastTransition());
-                    node.setElementOfUnboundedcause(savedNode.isElementOfUnboundedcause());
-                    node.setInitalmarking(savedNode.isInitalmarking());
-                    node.setMarking(savedNode.getMarking());
-                    node.setSourcemarkingOfUnboundedcause(savedNode.isSourcemarkingOfUnboundedcause());
-                    node.setTargetmarkingOfUnboundedcause(savedNode.isTargetmarkingOfUnboundedcause());
-                    break;
-                }
-            }
+    private void toggleHighlightEdge(RGraphEdge edge) {
+        if (highlightedEdge != null && highlightedEdge != edge) {
+            setProperty(highlightedEdge, PetrinetEditorGraphProperties.EDGE_ELEMENT_OF_LAST_TRANSITION, false);
+        }
+        if (edge != null) {
+            setProperty(edge, PetrinetEditorGraphProperties.EDGE_ELEMENT_OF_LAST_TRANSITION, true);
         }
     }
 
     /**
-     * Schaltet die Hervorhebung einer {@link RGraphEdge} um.
+     * Schaltet die Hervorhebung eines {@link RGraphNode} um.
+     * <p>
+     * Es wird nur die Hervorhebung des zuvor hervorgehobenen {@link RGraphNode}
+     * entfernt, sodass nicht alle Knoten durchlaufen werden müssen.
      *
-     * @param edgeID die ID der {@link RGraphEdge} als {@link String}.
+     * @param node der {@link RGraphNode} oder <code>null</code>.
      */
-    private void toggleHighlightEdge(String edgeID) {
-        for (RGraphEdge rGraphEdge : edges) {
-            rGraphEdge.setElementOfLastTransition(rGraphEdge.getID().equals(edgeID));
+    private void toggleHighlightNode(RGraphNode node) {
+        if (highlightedNode != null && highlightedNode != node) {
+            setProperty(highlightedNode, PetrinetEditorGraphProperties.NODE_ELEMENT_OF_LAST_TRANSITION, false);
+        }
+        if (node != null) {
+            setProperty(node, PetrinetEditorGraphProperties.NODE_ELEMENT_OF_LAST_TRANSITION, true);
         }
     }
 
     /**
-     * Schaltet die Hervorhebung eines {@link RGraphNode} um.
-     *
-     * @param nodeID die ID des {@link RGraphNode} als {@link String}.
+     * Der beim Wiederherstellen eines Zustandes gesammelte Zielzustand eines
+     * Knotens oder einer Kante.
      */
-    private void toggleHighlightNode(String nodeID) {
-        for (RGraphNode rGraphNode : nodes) {
-            rGraphNode.setElementOfLastTransition(rGraphNode.getID().equals(nodeID));
+    private static final class PendingState {
+        private final AbstractGraphElement element;
+        private final EnumMap<PetrinetEditorGraphProperties, Boolean> flags;
+        // Nur belegt, wenn sich die verbliebenen aktiven Transitionen ändern.
+        private ArrayList<String> activeTransitionIDs;
+
+        private PendingState(AbstractGraphElement element) {
+            this.element = element;
+            this.flags = new EnumMap<>(PetrinetEditorGraphProperties.class);
         }
     }
 }
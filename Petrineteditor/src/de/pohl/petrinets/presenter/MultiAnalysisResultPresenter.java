@@ -38,23 +38,206 @@ public class MultiAnalysisResultPresenter {
         singleAnalysisResults.add(resultPresenter);
     }
 
+    /**
+     * Liefert die Anzahl der Einzelergebnisse.
+     *
+     * @return die Anzahl der Einzelergebnisse.
+     */
+    public int countResults() {
+        return singleAnalysisResults.size();
+    }
+
+    /**
+     * Liefert die Anzahl der Einzelergebnisse, bei denen die Analyse vorzeitig
+     * beendet wurde.
+     *
+     * @return die Anzahl der unvollständigen Einzelergebnisse.
+     * @see SingleAnalysisResultPresenter#isIncomplete()
+     */
+    public int countIncompleteResults() {
+        int count = 0;
+        for (SingleAnalysisResultPresenter singleAnalysisResult : singleAnalysisResults) {
+            if (singleAnalysisResult.isIncomplete()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Liefert die Anzahl der Einzelergebnisse, bei denen das Petrinetz
+     * unbeschränkt ist.
+     *
+     * @return die Anzahl der unbeschränkten Petrinetze.
+     */
+    public int countUnboundedResults() {
+        int count = 0;
+        for (SingleAnalysisResultPresenter singleAnalysisResult : singleAnalysisResults) {
+            if (singleAnalysisResult.isUnbounded()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Erzeugt das Gesamtergebnis der Durchführung der Beschränktheitsanalyse für
+     * eine Menge von Petrinetz Dateien in einem {@link ResultFormat}.
+     *
+     * @param resultFormat das {@link ResultFormat}.
+     * @return Das Gesamtergebnis als {@link String}.
+     */
+    public String createResults(ResultFormat resultFormat) {
+        switch (resultFormat) {
+        case CSV:
+            return createCSVResults();
+        case JSON:
+            return createJSONResults();
+        default:
+            return createTextResults();
+        }
+    }
+
     /**
      * Läst das Gesamtergebnis der Durchführung der Beschränktheitsanalyse für eine
      * Menge von Petrinetz Dateien erzeugen und gibt diese über die im Konstruktor
      * angegebene {@link PetrinetView} aus.
      */
     public void printResults() {
+        petrinetControllerView.printInMessageView(createTextResults(), false);
+    }
+
+    /**
+     * Erzeugt das Gesamtergebnis als Tabelle mit fester Spaltenbreite.
+     *
+     * @return Das Gesamtergebnis als {@link String}.
+     */
+    private String createTextResults() {
         String format = " %1$-60s| %2$-12s| %3$-40s%n";
         StringBuilder resultStringBuilder = new StringBuilder();
         resultStringBuilder.append(createHeader(format));
         for (SingleAnalysisResultPresenter singleAnalysisResult : singleAnalysisResults) {
             if (singleAnalysisResult.isUnbounded()) {
                 resultStringBuilder.append(createIsUnboundedResult(format, singleAnalysisResult));
+            } else if (singleAnalysisResult.isIncomplete()) {
+                resultStringBuilder.append(createIncompleteResult(format, singleAnalysisResult));
             } else {
                 resultStringBuilder.append(createIsBoundedResult(format, singleAnalysisResult));
             }
         }
-        petrinetControllerView.printInMessageView(resultStringBuilder.toString(), false);
+        return resultStringBuilder.toString();
+    }
+
+    /**
+     * Erzeugt das Gesamtergebnis als kommaseparierte Werte mit einer Kopfzeile.
+     *
+     * @return Das Gesamtergebnis als {@link String}.
+     */
+    private String createCSVResults() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("datei,beschraenkt,knoten,kanten,pfadlaenge,pfad,m,m_strich,grund,zeit_ms,verklemmung\n");
+        for (SingleAnalysisResultPresenter result : singleAnalysisResults) {
+            boolean unbounded = result.isUnbounded();
+            String[] values = { result.getPNMLFileName(), getBoundedValue(result, "ja", "nein", "unbekannt"),
+                    result.getNodecount().toString(), result.getEdgecount().toString(),
+                    unbounded ? Integer.toString(result.getPathlength()) : "",
+                    unbounded ? String.join(" ", result.getEdgePathTransitionIDs()) : "",
+                    unbounded ? result.getM1Label() : "", unbounded ? result.getM2Label() : "",
+                    result.isIncomplete() ? result.getIncompleteReason() : "",
+                    Long.toString(result.getAnalysisDuration() / 1_000_000L),
+                    result.getDeadlockLabel() != null ? result.getDeadlockLabel() : "" };
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(escapeCSV(values[i]));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Erzeugt das Gesamtergebnis als JSON-Array mit einem Objekt pro Datei.
+     *
+     * @return Das Gesamtergebnis als {@link String}.
+     */
+    private String createJSONResults() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < singleAnalysisResults.size(); i++) {
+            SingleAnalysisResultPresenter result = singleAnalysisResults.get(i);
+            sb.append(i > 0 ? ",\n  {" : "\n  {");
+            sb.append("\"datei\": ").append(escapeJSON(result.getPNMLFileName()));
+            sb.append(", \"beschraenkt\": ").append(getBoundedValue(result, "true", "false", "null"));
+            sb.append(", \"knoten\": ").append(result.getNodecount());
+            sb.append(", \"kanten\": ").append(result.getEdgecount());
+            if (result.isUnbounded()) {
+                sb.append(", \"pfad\": [");
+                ArrayList<String> transitionIDs = result.getEdgePathTransitionIDs();
+                for (int j = 0; j < transitionIDs.size(); j++) {
+                    sb.append(j > 0 ? ", " : "").append(escapeJSON(transitionIDs.get(j)));
+                }
+                sb.append("], \"m\": ").append(escapeJSON(result.getM1Label()));
+                sb.append(", \"mStrich\": ").append(escapeJSON(result.getM2Label()));
+            }
+            if (result.isIncomplete()) {
+                sb.append(", \"grund\": ").append(escapeJSON(result.getIncompleteReason()));
+            }
+            if (result.getDeadlockLabel() != null) {
+                sb.append(", \"verklemmung\": ").append(escapeJSON(result.getDeadlockLabel()));
+            }
+            sb.append(", \"zeitMs\": ").append(result.getAnalysisDuration() / 1_000_000L).append('}');
+        }
+        return sb.append(singleAnalysisResults.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    /**
+     * Wählt abhängig vom Ergebnis einen von drei Werten aus.
+     */
+    private static String getBoundedValue(SingleAnalysisResultPresenter result, String bounded, String unbounded,
+            String unknown) {
+        if (result.isUnbounded()) return unbounded;
+        return result.isIncomplete() ? unknown : bounded;
+    }
+
+    /**
+     * Setzt einen Wert in Anführungszeichen, wenn er Trennzeichen,
+     * Anführungszeichen oder Zeilenumbrüche enthält.
+     */
+    private static String escapeCSV(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Erzeugt ein JSON-Zeichenkettenliteral.
+     */
+    private static String escapeJSON(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
     }
 
     /**
@@ -98,6 +281,29 @@ public class MultiAnalysisResultPresenter {
         return stringBuilder.toString();
     }
 
+    /**
+     * Bereitet ein Einzelergebnis für den Fall einer vorzeitig beendeten Analyse
+     * für das Gesamtergebnis auf. Der Grund der Beendigung wird mit ausgegeben.
+     *
+     * @param format               die Formatierung als {@link String}.
+     * @param singleAnalysisResult ein {@link SingleAnalysisResultPresenter} mit dem
+     *                             Einzelergebnis einer Analyse.
+     * @return Das aufbereitete Einzelergebnis als {@link String}.
+     * @see {@link Formatter}
+     */
+    private String createIncompleteResult(String format, SingleAnalysisResultPresenter singleAnalysisResult) {
+        StringBuilder stringBuilder = new StringBuilder();
+        Formatter formatter = new Formatter(stringBuilder);
+        String bounded = "unbekannt";
+        String nodeCount = Integer.toString(singleAnalysisResult.getNodecount());
+        String edgeCount = Integer.toString(singleAnalysisResult.getEdgecount());
+        String details = String.format(" %1$-2s/%2$3s (%3$s)", nodeCount, edgeCount,
+                singleAnalysisResult.getIncompleteReason());
+        formatter.format(format, singleAnalysisResult.getPNMLFileName(), bounded, details);
+        formatter.close();
+        return stringBuilder.toString();
+    }
+
     /**
      * Bereitet ein Einzelergebnis für den Fall der Unbeschräntkeit für das
      * Gesamtergebnis auf.
@@ -10,6 +10,9 @@ import de.pohl.petrinets.control.*;
 import de.pohl.petrinets.control.implementations.MultiPetrinetController;
 import de.pohl.petrinets.control.implementations.SinglePetrinetController;
 import de.pohl.petrinets.control.implementations.usecases.*;
+import de.pohl.petrinets.logging.LogLevel;
+import de.pohl.petrinets.logging.LogManager;
+import de.pohl.petrinets.logging.Logger;
 import de.pohl.petrinets.view.PetrinetEditorView;
 import de.pohl.petrinets.view.gui.PetrinetEditorFrame;
 import de.pohl.petrinets.view.gui.components.PetrinetViewArea;
@@ -26,6 +29,7 @@ import de.pohl.petrinets.view.gui.dialog.PNMLFileChooser;
  * auftreten können. Dazu gehört z.B. das Anklicken von MenuItems.
  */
 public class PetrinetEditorPresenter implements PetrinetEditorViewListener, CaretakerObserver {
+    private static final Logger LOGGER = Logger.getLogger(PetrinetEditorPresenter.class);
     private PetrinetEditorView petrinetEditorView;
     private AbstractPetrinetController petrinetController;
     private ArrayList<AbstractPetrinetController> petrinetControllers = new ArrayList<>();
@@ -42,6 +46,7 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
         petrinetEditorView = new PetrinetEditorFrame(title, this);
         setPetrinetActionActivationStates(false);
         petrinetEditorView.setCloseTabActionState(false);
+        petrinetEditorView.setCancelBatchActionState(false);
         printSysProperties();
     }
 
@@ -52,8 +57,11 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
             if (petrinetController instanceof SinglePetrinetController) {
                 ((SinglePetrinetController) petrinetController).setPermanentAnalysis(permanentAnalysis);
                 setPetrinetActionActivationStates(true);
+                petrinetEditorView.setCancelBatchActionState(false);
             } else {
                 setPetrinetActionActivationStates(false);
+                petrinetEditorView.setCancelBatchActionState(
+                        ((MultiPetrinetController) petrinetController).isRunning());
             }
             petrinetController.select();
         }
@@ -69,6 +77,7 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
             Thread multiAnalyseThread = new Thread(multiPetrinetController);
             multiAnalyseThread.start();
             petrinetEditorView.setCloseTabActionState(true);
+            petrinetEditorView.setCancelBatchActionState(true);
         }
     }
 
@@ -85,10 +94,21 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
         }
     }
 
+    @Override
+    public void onCancelBatchAnalysisClick() {
+        if (petrinetController instanceof MultiPetrinetController) {
+            ((MultiPetrinetController) petrinetController).cancel();
+            petrinetEditorView.setCancelBatchActionState(false);
+        }
+    }
+
     @Override
     public void onCloseTabClick() {
         int index = petrinetControllers.indexOf(petrinetController);
         if (index != -1) {
+            if (petrinetController instanceof MultiPetrinetController) {
+                ((MultiPetrinetController) petrinetController).cancel();
+            }
             petrinetController = null;
             petrinetControllers.remove(index);
             petrinetEditorView.removeTab(index);
@@ -239,6 +259,12 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
         }
     }
 
+    @Override
+    public void toggleTraceLogging(boolean status) {
+        LogManager.setLevel(status ? LogLevel.TRACE : LogLevel.INFO);
+        LOGGER.info("Ablaufverfolgung %1$s.", status ? "eingeschaltet" : "ausgeschaltet");
+    }
+
     @Override
     public void update(boolean hasUndoStack, boolean hasRedoStack) {
         petrinetEditorView.setUndoActivationState(hasUndoStack);
@@ -275,6 +301,7 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
         PetrinetViewArea petrinetControllerView = new PetrinetViewArea();
         MultiPetrinetController multiPetrinetController = new MultiPetrinetController(pnmlFiles, petrinetControllerView,
                 petrinetEditorView);
+        multiPetrinetController.setAnalysisResultCache(AnalysisResultCache.getDefault());
         petrinetControllers.add(multiPetrinetController);
         petrinetEditorView.addTab(petrinetControllerView, "Batchjob");
         return multiPetrinetController;
@@ -290,6 +317,7 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
         PetrinetViewArea petrinetControllerView = new PetrinetViewArea();
         petrinetController = new SinglePetrinetController(pnmlFile, petrinetControllerView, petrinetEditorView,
                 petrinetEditorView, this);
+        petrinetController.setAnalysisResultCache(AnalysisResultCache.getDefault());
         petrinetControllers.add(petrinetController);
         PNMLFileOpener pnmlFileOpener = new PNMLFileOpener(pnmlFile);
         pnmlFileOpener.openForVisualRepresentation((SinglePetrinetController) petrinetController);
@@ -298,15 +326,11 @@ public class PetrinetEditorPresenter implements PetrinetEditorViewListener, Care
     }
 
     /**
-     * Gibt Systemeigenschaften auf der Konsole aus.
+     * Gibt Systemeigenschaften über den {@link Logger} aus.
      */
     private void printSysProperties() {
-        // System Properties ausgegeben
-        System.out.println("Besonders wichtige System Properties");
-        System.out.println("------------------------------------");
-        System.out.println("java.version = " + getJavaVersion());
-        System.out.println("user.dir     = " + getUserWorkingDirectory());
-        System.out.println();
+        LOGGER.info("java.version = %1$s", getJavaVersion());
+        LOGGER.info("user.dir     = %1$s", getUserWorkingDirectory());
     }
 
     /**
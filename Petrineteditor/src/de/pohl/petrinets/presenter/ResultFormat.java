@@ -0,0 +1,23 @@
+package de.pohl.petrinets.presenter;
+
+/**
+ * Aufzählungsklasse mit den Ausgabeformaten für das Gesamtergebnis einer
+ * Durchführung der Beschränktheitsanalyse für eine Menge von Petrinetz Dateien.
+ *
+ * @see MultiAnalysisResultPresenter#createResults(ResultFormat)
+ */
+public enum ResultFormat {
+    /**
+     * Eine Tabelle mit fester Spaltenbreite, wie sie im Nachrichtenbereich
+     * ausgegeben wird.
+     */
+    TEXT,
+    /**
+     * Kommaseparierte Werte mit einer Kopfzeile.
+     */
+    CSV,
+    /**
+     * Ein JSON-Array mit einem Objekt pro Datei.
+     */
+    JSON
+}
@@ -2,6 +2,7 @@ package de.pohl.petrinets.presenter;
 
 import java.util.ArrayList;
 import java.util.Formatter;
+import java.util.Locale;
 
 import de.pohl.petrinets.control.implementations.usecases.RGraphBFS;
 import de.pohl.petrinets.model.petrinet.Transition;
@@ -16,13 +17,26 @@ import de.pohl.petrinets.view.*;
  * {@link PetrinetEditorView} als Dialog ausgibt.
  */
 public class SingleAnalysisResultPresenter {
+    private long analysisDuration;
     private ArrayList<String> edgePath;
+    // Die IDs der Transitionen und die Beschriftungen von m und m', kopiert, damit
+    // das Ergebnis ohne den Erreichbarkeitsgraphen ausgegeben werden kann.
+    private ArrayList<String> edgePathTransitionIDs;
+    private String m1Label;
+    private String m2Label;
+    private String incompleteReason;
+    // Die Beschriftung der ersten Verklemmung einer Bitstate-Suche oder null
+    private String deadlockLabel;
     private boolean isUnbounded;
     private String pnmlFileName;
     private PetrinetView petrinetControllerView;
     private AbstractReachabilitygraph rGraphModel;
     private String m1;
     private String m2;
+    // Die Größe des Erreichbarkeitsgraphen aus einem früheren Analyseergebnis
+    // oder -1, wenn sie dem rGraphModel entspricht.
+    private int nodeCount = -1;
+    private int edgeCount = -1;
 
     /**
      * Erstellt einen neuen {@link SingleAnalysisResultPresenter} für die Ausgabe
@@ -42,13 +56,23 @@ public class SingleAnalysisResultPresenter {
         this.petrinetControllerView = petrinetControllerView;
     }
 
+    /**
+     * Liefert die Dauer der Analyse.
+     *
+     * @return die Dauer in Nanosekunden.
+     */
+    public long getAnalysisDuration() {
+        return analysisDuration;
+    }
+
     /**
      * Liefert die Anzahl der Kanten des Erreichbarkeitsgraphen.
      *
      * @return Die Anzahl der Kanten als {@link Integer}.
+     * @see #setGraphSize(int, int)
      */
     public Integer getEdgecount() {
-        return rGraphModel.countEdges();
+        return edgeCount >= 0 || rGraphModel == null ? edgeCount : rGraphModel.countEdges();
     }
 
     /**
@@ -64,12 +88,18 @@ public class SingleAnalysisResultPresenter {
      * @see #setResultPetrinetIsUndbounded(ArrayList, boolean)
      */
     public String getEdgePathAsFormattedString() {
-        StringBuilder sb = new StringBuilder();
-        for (String edge : edgePath) {
-            String transitionID = rGraphModel.getEdgeTransitionID(edge);
-            sb.append(sb.isEmpty() ? transitionID : "," + transitionID);
-        }
-        return String.format("(%1$s)", sb.toString());
+        return String.format("(%1$s)", String.join(",", getEdgePathTransitionIDs()));
+    }
+
+    /**
+     * Liefert die IDs der {@link Transition}, auf die die Kanten des Pfades der
+     * Unbeschränktheit referenzieren.
+     *
+     * @return Eine {@link ArrayList} mit den IDs der {@link Transition}.
+     * @see #getEdgePathAsFormattedString()
+     */
+    public ArrayList<String> getEdgePathTransitionIDs() {
+        return new ArrayList<>(edgePathTransitionIDs);
     }
 
     /**
@@ -78,7 +108,7 @@ public class SingleAnalysisResultPresenter {
      * @return Ein {@link String} mit der Beschriftung von m.
      */
     public String getM1Label() {
-        return rGraphModel.getNodeLabel(m1);
+        return m1Label;
     }
 
     /**
@@ -87,16 +117,17 @@ public class SingleAnalysisResultPresenter {
      * @return Ein {@link String} mit der Beschriftung von m'.
      */
     public String getM2Label() {
-        return rGraphModel.getNodeLabel(m2);
+        return m2Label;
     }
 
     /**
      * Liefert die Anzahl der Knoten des Erreichbarkeitsgraphen.
      *
      * @return Die Anzahl der Knoten als {@link Integer}.
+     * @see #setGraphSize(int, int)
      */
     public Integer getNodecount() {
-        return rGraphModel.countNodes();
+        return nodeCount >= 0 || rGraphModel == null ? nodeCount : rGraphModel.countNodes();
     }
 
     /**
@@ -131,9 +162,41 @@ public class SingleAnalysisResultPresenter {
     }
 
     /**
-     * Lässt das Ergebnis der Durchführung der Beschränktheitsanalyse für ein
-     * Petrinetz aufbereiten und ausgeben.
+     * Liefert den Grund, aus dem die Beschränktheitsanalyse vorzeitig beendet
+     * wurde.
+     *
+     * @return Der Grund als {@link String} oder <code>null</code>, wenn ein
+     *         Ergebnis vorliegt.
+     * @see #isIncomplete()
+     */
+    public String getIncompleteReason() {
+        return this.incompleteReason;
+    }
+
+    /**
+     * Liefert die Beschriftung der ersten Verklemmung, die eine Bitstate-Suche
+     * gefunden hat. Sie steht nicht im Grund, da sie für Petrinetze mit vielen
+     * Stellen sehr lang werden kann.
+     *
+     * @return Die Beschriftung als {@link String} oder <code>null</code>, wenn
+     *         keine Verklemmung gefunden wurde.
+     * @see #setResultBitstate(double, double, long, String)
+     */
+    public String getDeadlockLabel() {
+        return this.deadlockLabel;
+    }
+
+    /**
+     * Gibt an, ob die Beschränktheitsanalyse vorzeitig beendet wurde, z.B. wegen
+     * einer Tiefen- oder Zustandsgrenze, einer Zeitüberschreitung oder eines
+     * Abbruchs, und damit kein Ergebnis vorliegt.
+     *
+     * @return <code>true</code>, wenn kein Ergebnis vorliegt.
      */
+    public boolean isIncomplete() {
+        return this.incompleteReason != null;
+    }
+
     /**
      * Lässt das Ergebnis der Durchführung der Beschränktheitsanalyse für ein
      * Petrinetz aufbereiten und ausgeben.
@@ -152,11 +215,113 @@ public class SingleAnalysisResultPresenter {
         }
     }
 
+    /**
+     * Übernimmt die Größe des {@link AbstractReachabilitygraph} und gibt ihn frei.
+     * Danach liefert der {@link SingleAnalysisResultPresenter} das Ergebnis ohne
+     * den {@link AbstractReachabilitygraph}, der z.B. geschlossen werden kann.
+     */
+    public void detachReachabilitygraph() {
+        if (rGraphModel != null) {
+            setGraphSize(getNodecount(), getEdgecount());
+            rGraphModel = null;
+        }
+    }
+
+    /**
+     * Legt die Dauer der Analyse fest.
+     *
+     * @param analysisDuration die Dauer in Nanosekunden.
+     */
+    public void setAnalysisDuration(long analysisDuration) {
+        this.analysisDuration = analysisDuration;
+    }
+
+    /**
+     * Legt die Größe des Erreichbarkeitsgraphen fest, wenn das Ergebnis aus einer
+     * früheren Analyse übernommen wurde und der {@link AbstractReachabilitygraph}
+     * nicht vollständig aufgebaut ist.
+     *
+     * @param nodeCount die Anzahl der Knoten.
+     * @param edgeCount die Anzahl der Kanten.
+     */
+    public void setGraphSize(int nodeCount, int edgeCount) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+    }
+
     /**
      * Setzt das Analyseergebnis auf Beschränkt.
      */
     public void setResultPetrinetIsBounded() {
         this.isUnbounded = false;
+        this.incompleteReason = null;
+    }
+
+    /**
+     * Setzt das Analyseergebnis auf unvollständig, da eine Bitstate-Suche keine
+     * Unbeschränktheit gefunden hat. Durch Kollisionen können Markierungen
+     * ausgelassen worden sein, der Grund enthält daher die geschätzte Abdeckung
+     * des Zustandsraumes und die Anzahl der gefundenen Verklemmungen. Die erste
+     * Verklemmung liefert {@link #getDeadlockLabel()}.
+     *
+     * @param coverage            der geschätzte Anteil der erkundeten
+     *                            Markierungen zwischen 0 und 1.
+     * @param omissionProbability die geschätzte Wahrscheinlichkeit, dass
+     *                            mindestens eine Markierung ausgelassen wurde.
+     * @param deadlockCount       die Anzahl der gefundenen Verklemmungen.
+     * @param firstDeadlockLabel  die Beschriftung der ersten Verklemmung oder
+     *                            <code>null</code>.
+     */
+    public void setResultBitstate(double coverage, double omissionProbability, long deadlockCount,
+            String firstDeadlockLabel) {
+        String findings = deadlockCount == 0 ? "ohne Unbeschränktheit und Verklemmung"
+                : String.format("ohne Unbeschränktheit, %1$d Verklemmung(en)", deadlockCount);
+        this.deadlockLabel = firstDeadlockLabel;
+        setResultIncomplete(String.format(Locale.ROOT,
+                "Bitstate-Suche %1$s, Abdeckung ca. %2$.4f %%, Auslassungswahrscheinlichkeit %3$.2g", findings,
+                coverage * 100, omissionProbability));
+    }
+
+    /**
+     * Setzt das Analyseergebnis auf unvollständig, da die Analyse abgebrochen
+     * wurde.
+     */
+    public void setResultCancelled() {
+        setResultIncomplete("abgebrochen");
+    }
+
+    /**
+     * Setzt das Analyseergebnis auf unvollständig, da die Analyse mit einem Fehler
+     * beendet wurde.
+     */
+    public void setResultFailed() {
+        setResultIncomplete("Fehler");
+    }
+
+    /**
+     * Setzt das Analyseergebnis auf unvollständig, da die Erkundung des
+     * Zustandsraumes wegen einer Tiefen- oder Zustandsgrenze beendet wurde.
+     */
+    public void setResultLimitReached() {
+        setResultIncomplete("Grenze erreicht");
+    }
+
+    /**
+     * Setzt das Analyseergebnis auf unvollständig, da die für die Analyse
+     * vorgesehene Zeit überschritten wurde.
+     */
+    public void setResultTimedOut() {
+        setResultIncomplete("Zeitüberschreitung");
+    }
+
+    /**
+     * Setzt das Analyseergebnis auf unvollständig.
+     *
+     * @param reason der Grund für die vorzeitige Beendigung als {@link String}.
+     */
+    private void setResultIncomplete(String reason) {
+        this.isUnbounded = false;
+        this.incompleteReason = reason;
     }
 
     /**
@@ -178,12 +343,19 @@ public class SingleAnalysisResultPresenter {
         this.m1 = rGraphModel.getEdgeSourceID(edgePath.get(0));
         this.m2 = rGraphModel.getEdgeTargetID(edgePath.get(edgePath.size() - 1));
         this.isUnbounded = true;
+        this.incompleteReason = null;
         if (addPathToM1) {
             this.edgePath = new RGraphBFS(rGraphModel).run(m1);
             this.edgePath.addAll(edgePath);
         } else {
             this.edgePath = edgePath;
         }
+        this.edgePathTransitionIDs = new ArrayList<>(this.edgePath.size());
+        for (String edge : this.edgePath) {
+            edgePathTransitionIDs.add(rGraphModel.getEdgeTransitionID(edge));
+        }
+        this.m1Label = rGraphModel.getNodeLabel(m1);
+        this.m2Label = rGraphModel.getNodeLabel(m2);
     }
 
     /**
@@ -191,7 +363,9 @@ public class SingleAnalysisResultPresenter {
      * dieses zu visualisieren.
      */
     private void forewardResultToGraph() {
-        rGraphModel.setUnboundedCause(edgePath, m1, m2);
+        if (rGraphModel != null) {
+            rGraphModel.setUnboundedCause(edgePath, m1, m2);
+        }
     }
 
     /**
@@ -218,6 +392,30 @@ public class SingleAnalysisResultPresenter {
         petrinetControllerView.printInMessageView(stringBuilder.toString(), false);
     }
 
+    /**
+     * Erzeugt und präsentiert die Ausgabe für den Fall, dass die Analyse
+     * vorzeitig beendet wurde und lässt diese durch eine {@link PetrinetView}
+     * ausgeben.
+     *
+     * @see {@link Formatter}
+     */
+    private void printIncompleteResult() {
+        String layout = "%1$-20s %2$s%n";
+        StringBuilder stringBuilder = new StringBuilder();
+        Formatter formatter = new Formatter(stringBuilder);
+        formatter.format("Analyseergebnis: unbekannt (%1$s)%n", incompleteReason);
+        formatter.format("------------------------------%n");
+        formatter.format(layout, "Dateiname:", pnmlFileName);
+        formatter.format(layout, "Anzahl der Knoten:", Integer.toString(getNodecount()));
+        formatter.format(layout, "Anzahl der Kanten", Integer.toString(getEdgecount()));
+        if (deadlockLabel != null) {
+            formatter.format(layout, "Verklemmung:", deadlockLabel);
+        }
+        formatter.format("------------------------------");
+        formatter.close();
+        petrinetControllerView.printInMessageView(stringBuilder.toString(), false);
+    }
+
     /**
      * Erzeugt und präsentiert die Ausgabe für den Fall, dass das Petrinetz
      * unbeschränkt ist und lässt diese durch eine {@link PetrinetAnalyseResultView}
@@ -253,6 +451,8 @@ public class SingleAnalysisResultPresenter {
         if (isUnbounded) {
             forewardResultToGraph();
             printIsUnboundedResult();
+        } else if (isIncomplete()) {
+            printIncompleteResult();
         } else {
             printIsBoundedResult();
         }
@@ -265,7 +465,11 @@ public class SingleAnalysisResultPresenter {
      */
     private void showResultDialog(AnalysisResultDialogView analysisResultDialogView) {
         StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("Das Petrinetz ist " + (isUnbounded ? "unbeschränkt." : "beschränkt."));
+        if (isIncomplete()) {
+            stringBuilder.append("Die Analyse wurde vorzeitig beendet (" + incompleteReason + ").");
+        } else {
+            stringBuilder.append("Das Petrinetz ist " + (isUnbounded ? "unbeschränkt." : "beschränkt."));
+        }
         analysisResultDialogView.showUnboundAnalysisResultDialog(stringBuilder.toString());
     }
 }
@@ -48,6 +48,15 @@ public interface PetrinetEditorView extends AnalysisResultDialogView, PetrinetSt
      */
     void setAnalyseSingleActivationState(boolean state);
 
+    /**
+     * Aktiviert oder deaktiviert den Menüeintrag zum Abbrechen der Analyse
+     * mehrerer PNML-Dateien.
+     *
+     * @param state wenn <code>true</code>, wird der Eintrag aktiviert.<br>
+     *              wenn <code>false</code>, wird der Eintrag deaktiviert.
+     */
+    void setCancelBatchActionState(boolean state);
+
     /**
      * Aktiviert oder deaktiviert den Menüeitnrag zum Schließen des Tabs der TDI.
      *
@@ -56,6 +56,11 @@ public class PetrinetEditorFrame extends JFrame implements PetrinetEditorView {
         toolBar.setAnalyseSingleActivationState(state);
     }
 
+    @Override
+    public void setCancelBatchActionState(boolean state) {
+        menuBar.setCancelBatchActionState(state);
+    }
+
     @Override
     public void setCloseTabActionState(boolean state) {
         menuBar.setCloseTabActionState(state);
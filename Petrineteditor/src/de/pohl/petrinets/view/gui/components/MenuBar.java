@@ -15,9 +15,11 @@ public class MenuBar extends JMenuBar {
     private JMenu helpMenu;
     private JMenu fileMenu;
     private JMenuItem fileAnalyseMultiple;
+    private JMenuItem fileCancelBatch;
     private JMenuItem closeTab;
     private JMenuItem fileExit;
     private JMenuItem helpInfo;
+    private JCheckBoxMenuItem helpTrace;
     private JMenuItem fileOpen;
     private JMenuItem fileReload;
 
@@ -32,6 +34,17 @@ public class MenuBar extends JMenuBar {
         this.addMenus();
     }
 
+    /**
+     * Aktiviert oder deaktiviert den Menüeintrag zum Abbrechen der Analyse
+     * mehrerer PNML-Dateien.
+     *
+     * @param state wenn <code>true</code>, wird der Eintrag aktiviert.<br>
+     *              wenn <code>false</code>, wird der Eintrag deaktiviert.
+     */
+    public void setCancelBatchActionState(boolean state) {
+        fileCancelBatch.setEnabled(state);
+    }
+
     /**
      * Aktiviert oder deaktiviert den Menüeitnrag zum Schließen des Tabs der TDI.
      *
@@ -73,6 +86,7 @@ public class MenuBar extends JMenuBar {
         fileMenu.add(newReloadMenuItem());
         fileMenu.addSeparator();
         fileMenu.add(newAnalyseMultipleMenuItem());
+        fileMenu.add(newCancelBatchMenuItem());
         fileMenu.addSeparator();
         fileMenu.add(newCloseTabMenuItem());
         fileMenu.addSeparator();
@@ -89,6 +103,7 @@ public class MenuBar extends JMenuBar {
         helpMenu = new JMenu("Hilfe");
         helpMenu.setMnemonic(KeyEvent.VK_H);
         helpMenu.add(newInfoMenuItem());
+        helpMenu.add(newTraceMenuItem());
         return helpMenu;
     }
 
@@ -102,6 +117,17 @@ public class MenuBar extends JMenuBar {
         return fileAnalyseMultiple;
     }
 
+    /**
+     * Erstellt das Menü-Item zum Abbrechen der Analyse mehrerer PNML-Dateien.
+     *
+     * @return Ein {@link JMenuItem} zum Abbrechen der Analyse mehrerer
+     *         PNML-Dateien.
+     */
+    private JMenuItem newCancelBatchMenuItem() {
+        fileCancelBatch = new JMenuItem(new CancelBatchAnalysisAction(listener));
+        return fileCancelBatch;
+    }
+
     /**
      * Erstellt das Menü-Item zum Schließen eines Tabs der TDI.
      *
@@ -132,6 +158,17 @@ public class MenuBar extends JMenuBar {
         return helpInfo;
     }
 
+    /**
+     * Erstellt das Menü-Item zum Umschalten der Ablaufverfolgung.
+     *
+     * @return Ein {@link JCheckBoxMenuItem} zum Umschalten der Ablaufverfolgung.
+     */
+    private JMenuItem newTraceMenuItem() {
+        helpTrace = new JCheckBoxMenuItem();
+        helpTrace.setAction(new ToggleTraceLoggingAction(listener, helpTrace));
+        return helpTrace;
+    }
+
     /**
      * Erstellt das Menü-Item zum Öffnen einer PNML-Datei.
      *
@@ -10,6 +10,7 @@ import org.graphstream.ui.swing_viewer.SwingViewer;
 import org.graphstream.ui.swing_viewer.ViewPanel;
 import org.graphstream.ui.view.*;
 
+import de.pohl.petrinets.logging.Logger;
 import de.pohl.petrinets.model.petrinet.AbstractPetrinet;
 import de.pohl.petrinets.view.model.PetrinetViewModel;
 
@@ -23,6 +24,7 @@ import de.pohl.petrinets.view.model.PetrinetViewModel;
  * Initialiserung ausschließlich über diese Datenbindung.
  */
 public class PetrinetPanel extends JPanel {
+    private static final Logger LOGGER = Logger.getLogger(PetrinetPanel.class);
     private ViewerPipe viewerPipe;
     // In diesem Panel wird der Graph mittels GraphStream angezeigt.
     private ViewPanel viewPanel;
@@ -68,13 +70,13 @@ public class PetrinetPanel extends JPanel {
         viewPanel.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent me) {
-                System.out.println("DemoFrame - mousePressed: " + me);
+                LOGGER.trace("mousePressed: %1$s", me);
                 viewerPipe.pump();
             }
 
             @Override
             public void mouseReleased(MouseEvent me) {
-                System.out.println("DemoFrame - mouseReleased: " + me);
+                LOGGER.trace("mouseReleased: %1$s", me);
                 viewerPipe.pump();
             }
         });
@@ -10,6 +10,7 @@ import org.graphstream.ui.swing_viewer.SwingViewer;
 import org.graphstream.ui.swing_viewer.ViewPanel;
 import org.graphstream.ui.view.*;
 
+import de.pohl.petrinets.logging.Logger;
 import de.pohl.petrinets.model.reachabilitygraph.AbstractReachabilitygraph;
 import de.pohl.petrinets.view.model.RGraphViewModel;
 
@@ -20,9 +21,12 @@ import de.pohl.petrinets.view.model.RGraphViewModel;
  * {@link MultiGraph}-Instanz, mit der ein {@link SwingViewer} initialisiert
  * wird.<br>
  * Die Kommunikation zwischen der View und dem Viewmodel erfolgt nach der
- * Initialiserung ausschließlich über diese Datenbindung.
+ * Initialiserung ausschließlich über diese Datenbindung. Nur der Zoomfaktor
+ * wird dem {@link RGraphViewModel} übergeben, damit dieses die Detailstufe der
+ * Darstellung anpassen kann.
  */
 public class RGraphPanel extends JPanel {
+    private static final Logger LOGGER = Logger.getLogger(RGraphPanel.class);
     private ViewerPipe viewerPipe;
     // In diesem Panel wird der Graph mittels GraphStream angezeigt.
     private ViewPanel viewPanel;
@@ -36,27 +40,26 @@ public class RGraphPanel extends JPanel {
      */
     public RGraphPanel(RGraphViewModel reachabilitygraphVM, ViewerListener listener) {
         super(new BorderLayout());
-        this.initPanelGraph(reachabilitygraphVM.getGraph(), listener);
+        this.initPanelGraph(reachabilitygraphVM, listener);
         this.add(viewPanel, BorderLayout.CENTER);
     }
 
     /**
      * Erzeuge und initialisiere ein Panel zur Anzeige des Graphen
      *
-     * @param graph    einen {@link MultiGraph}, an den die View gebunden werden
-     *                 soll.
-     * @param listener ein {@link ViewerListener}, der auf Aktionen reagiert.
+     * @param reachabilitygraphVM das {@link RGraphViewModel}, an dessen
+     *                            {@link MultiGraph} die View gebunden werden
+     *                            soll.
+     * @param listener            ein {@link ViewerListener}, der auf Aktionen
+     *                            reagiert.
      */
-    private void initPanelGraph(MultiGraph graph, ViewerListener listener) {
+    private void initPanelGraph(RGraphViewModel reachabilitygraphVM, ViewerListener listener) {
         // Erzeuge Viewer mit passendem Threading-Model für Zusammenspiel mit
         // Swing
-        SwingViewer viewer = new SwingViewer(graph, Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
-        // bessere Darstellungsqualität und Antialiasing (Kantenglättung) aktivieren
-        graph.setAttribute("ui.quality");
-        graph.setAttribute("ui.antialias");
-        // Das Auto-Layout für den Erreichbarkeitsgraphen aktivieren, da keine
-        // Koordinaten vorhanden sind.
-        viewer.enableAutoLayout();
+        SwingViewer viewer = new SwingViewer(reachabilitygraphVM.getGraph(),
+                Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);
+        // Kein Auto-Layout aktivieren, da das RGraphViewModel die Koordinaten der
+        // Knoten vorgibt.
         // Eine DefaultView zum Viewer hinzufügen
         viewPanel = (ViewPanel) viewer.addDefaultView(false);
         // ViewerPipe, für Ereignisse über den Viewer
@@ -70,13 +73,13 @@ public class RGraphPanel extends JPanel {
         viewPanel.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent me) {
-                System.out.println("DemoFrame - mousePressed: " + me);
+                LOGGER.trace("mousePressed: %1$s", me);
                 viewerPipe.pump();
             }
 
             @Override
             public void mouseReleased(MouseEvent me) {
-                System.out.println("DemoFrame - mouseReleased: " + me);
+                LOGGER.trace("mouseReleased: %1$s", me);
                 viewerPipe.pump();
             }
         });
@@ -95,6 +98,8 @@ public class RGraphPanel extends JPanel {
                     zoomLevel += 0.1;
                 }
                 viewPanel.getCamera().setViewPercent(zoomLevel);
+                // Detailstufe an den Zoomfaktor anpassen
+                reachabilitygraphVM.setViewPercent(zoomLevel);
             }
         });
     }
@@ -5,6 +5,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.graphstream.graph.Edge;
 import org.graphstream.graph.Node;
@@ -62,7 +63,14 @@ public class PetrinetViewModel implements PropertyChangeListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         String evtPropertyName = evt.getPropertyName();
-        if (evtPropertyName.equals(PetrinetEditorGraphProperties.TRANSITION.toString())) {
+        if (evtPropertyName.equals(PetrinetEditorGraphProperties.CHANGE_BATCH.toString())) {
+            // Die zusammengefassten Änderungen werden in einem Durchlauf übernommen.
+            @SuppressWarnings("unchecked")
+            List<PropertyChangeEvent> changes = (List<PropertyChangeEvent>) evt.getNewValue();
+            for (PropertyChangeEvent change : changes) {
+                propertyChange(change);
+            }
+        } else if (evtPropertyName.equals(PetrinetEditorGraphProperties.TRANSITION.toString())) {
             // Neue Transition wurde hinzugefügt.
             String transitionID = (String) evt.getNewValue();
             addTransition(transitionID);
@@ -0,0 +1,315 @@
+package de.pohl.petrinets.view.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Ein Schichtenlayout für die Darstellung eines Erreichbarkeitsgraphen.
+ * <p>
+ * Die Knoten werden nach ihrer Schalttiefe, d.h. ihrem Abstand zum Wurzelknoten
+ * bei einer Breitensuche, in Schichten angeordnet. Jeder Knoten belegt in seiner
+ * Schicht einen ganzzahligen Platz.
+ * <p>
+ * Das Layout wird inkrementell fortgeschrieben: Ein neuer Knoten wird beim
+ * Einfügen seiner ersten Kante eine Schicht unter dem Ursprungsknoten auf dem
+ * freien Platz angeordnet, der dem Platz des Ursprungsknotens am nächsten
+ * liegt. Bereits angeordnete Knoten behalten ihre Position. Erst wenn Knoten
+ * entfernt werden, der Wurzelknoten wechselt oder {@link #invalidate()}
+ * aufgerufen wird, wird das Layout vollständig neu berechnet. Dabei werden die
+ * Knoten innerhalb einer Schicht nach dem Mittelwert der Plätze ihrer Vorgänger
+ * in der darüberliegenden Schicht sortiert, um Kantenkreuzungen zu verringern.
+ * <p>
+ * Das Layout ist deterministisch und hängt nur von der Struktur des Graphen und
+ * der Reihenfolge ab, in der die Knoten und Kanten hinzugefügt wurden.
+ */
+class RGraphLayeredLayout {
+    /**
+     * Der Abstand zweier Schichten.
+     */
+    static final double LAYER_DISTANCE = 1.0;
+    /**
+     * Der Abstand zweier Plätze innerhalb einer Schicht.
+     */
+    static final double NODE_DISTANCE = 2.0;
+    // Die Nachfolger der Knoten in der Reihenfolge des Hinzufügens.
+    private final LinkedHashMap<String, ArrayList<String>> successors = new LinkedHashMap<>();
+    // Schicht und Platz der bereits angeordneten Knoten
+    private final HashMap<String, int[]> placements = new HashMap<>();
+    // Die belegten Plätze je Schicht
+    private final ArrayList<HashSet<Integer>> occupiedSlots = new ArrayList<>();
+    // Knoten, deren Position seit dem letzten Abruf neu ist
+    private final LinkedHashSet<String> movedNodeIDs = new LinkedHashSet<>();
+    private String rootID;
+    private boolean outdated;
+
+    /**
+     * Fügt dem Layout eine Kante hinzu. Ist der Zielknoten noch nicht angeordnet,
+     * wird er zusammen mit seinen noch nicht angeordneten Nachfolgern unterhalb
+     * des Ursprungsknotens angeordnet.
+     *
+     * @param sourceID die ID des Ursprungsknotens.
+     * @param targetID die ID des Zielknotens.
+     */
+    void addEdge(String sourceID, String targetID) {
+        successors.get(sourceID).add(targetID);
+        if (!outdated && placements.containsKey(sourceID) && !placements.containsKey(targetID)) {
+            placeSuccessors(sourceID);
+        }
+    }
+
+    /**
+     * Fügt dem Layout einen Knoten hinzu. Der erste Knoten wird als Wurzelknoten
+     * angeordnet, solange mit {@link #setRoot(String)} kein anderer festgelegt
+     * wurde.
+     *
+     * @param nodeID die ID des Knotens.
+     */
+    void addNode(String nodeID) {
+        successors.putIfAbsent(nodeID, new ArrayList<>());
+        if (rootID == null) {
+            rootID = nodeID;
+        }
+        if (!outdated && nodeID.equals(rootID) && !placements.containsKey(nodeID)) {
+            place(nodeID, 0, 0);
+            placeSuccessors(nodeID);
+        }
+    }
+
+    /**
+     * Bestimmt die Schichten des Layouts durch eine Breitensuche.
+     * <p>
+     * Knoten, die vom Wurzelknoten aus nicht erreichbar sind, bilden eine
+     * zusätzliche Schicht unterhalb der übrigen Schichten.
+     *
+     * @return die IDs der Knoten je Schicht in der Reihenfolge der Breitensuche.
+     */
+    ArrayList<ArrayList<String>> computeLayers() {
+        ArrayList<ArrayList<String>> layers = new ArrayList<>();
+        if (successors.isEmpty()) {
+            return layers;
+        }
+        String root = successors.containsKey(rootID) ? rootID : successors.keySet().iterator().next();
+        HashMap<String, Integer> depths = new HashMap<>();
+        ArrayDeque<String> queue = new ArrayDeque<>();
+        depths.put(root, 0);
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            String nodeID = queue.poll();
+            int depth = depths.get(nodeID);
+            if (depth == layers.size()) {
+                layers.add(new ArrayList<>());
+            }
+            layers.get(depth).add(nodeID);
+            for (String successorID : successors.get(nodeID)) {
+                if (!depths.containsKey(successorID)) {
+                    depths.put(successorID, depth + 1);
+                    queue.add(successorID);
+                }
+            }
+        }
+        ArrayList<String> unreachable = new ArrayList<>();
+        for (String nodeID : successors.keySet()) {
+            if (!depths.containsKey(nodeID)) {
+                unreachable.add(nodeID);
+            }
+        }
+        if (!unreachable.isEmpty()) {
+            layers.add(unreachable);
+        }
+        return layers;
+    }
+
+    /**
+     * Verwirft die inkrementell bestimmten Positionen. Beim nächsten Aufruf von
+     * {@link #takeMovedPositions()} wird das Layout vollständig neu berechnet.
+     */
+    void invalidate() {
+        outdated = true;
+    }
+
+    /**
+     * Entfernt eine Kante aus dem Layout. Die Positionen der Knoten bleiben
+     * erhalten.
+     *
+     * @param sourceID die ID des Ursprungsknotens.
+     * @param targetID die ID des Zielknotens.
+     */
+    void removeEdge(String sourceID, String targetID) {
+        ArrayList<String> nodeSuccessors = successors.get(sourceID);
+        if (nodeSuccessors != null) {
+            nodeSuccessors.remove(targetID);
+        }
+    }
+
+    /**
+     * Entfernt einen Knoten aus dem Layout. Seine Kanten müssen zuvor entfernt
+     * worden sein. Das Layout wird danach vollständig neu berechnet.
+     *
+     * @param nodeID die ID des Knotens.
+     */
+    void removeNode(String nodeID) {
+        successors.remove(nodeID);
+        placements.remove(nodeID);
+        movedNodeIDs.remove(nodeID);
+        if (nodeID.equals(rootID)) {
+            rootID = null;
+        }
+        outdated = true;
+    }
+
+    /**
+     * Legt den Wurzelknoten fest. Weicht er vom bisherigen Wurzelknoten ab, wird
+     * das Layout vollständig neu berechnet.
+     *
+     * @param nodeID die ID des Wurzelknotens.
+     */
+    void setRoot(String nodeID) {
+        if (!nodeID.equals(rootID)) {
+            rootID = nodeID;
+            outdated = true;
+        }
+    }
+
+    /**
+     * Liefert die Positionen aller Knoten, die seit dem letzten Aufruf angeordnet
+     * wurden. Ist das Layout veraltet, wird es zuvor vollständig neu berechnet
+     * und die Positionen aller Knoten werden geliefert.
+     *
+     * @return die Positionen als Feld <code>{x, y}</code> nach der ID der Knoten.
+     */
+    HashMap<String, double[]> takeMovedPositions() {
+        if (outdated) {
+            relayout();
+        }
+        HashMap<String, double[]> positions = new HashMap<>();
+        for (String nodeID : movedNodeIDs) {
+            int[] placement = placements.get(nodeID);
+            positions.put(nodeID,
+                    new double[] { placement[1] * NODE_DISTANCE, -placement[0] * LAYER_DISTANCE });
+        }
+        movedNodeIDs.clear();
+        return positions;
+    }
+
+    /**
+     * Ordnet einen Knoten auf einem Platz an.
+     *
+     * @param nodeID die ID des Knotens.
+     * @param layer  die Schicht.
+     * @param slot   der Platz innerhalb der Schicht.
+     */
+    private void place(String nodeID, int layer, int slot) {
+        while (occupiedSlots.size() <= layer) {
+            occupiedSlots.add(new HashSet<>());
+        }
+        occupiedSlots.get(layer).add(slot);
+        placements.put(nodeID, new int[] { layer, slot });
+        movedNodeIDs.add(nodeID);
+    }
+
+    /**
+     * Ordnet die noch nicht angeordneten Nachfolger eines Knotens und deren
+     * Nachfolger in Breitensuche an. Jeder Knoten erhält den freien Platz, der
+     * dem Platz seines Vorgängers am nächsten liegt.
+     *
+     * @param nodeID die ID des bereits angeordneten Knotens.
+     */
+    private void placeSuccessors(String nodeID) {
+        ArrayDeque<String> queue = new ArrayDeque<>();
+        queue.add(nodeID);
+        while (!queue.isEmpty()) {
+            String parentID = queue.poll();
+            int[] parent = placements.get(parentID);
+            for (String successorID : successors.get(parentID)) {
+                if (!placements.containsKey(successorID)) {
+                    int layer = parent[0] + 1;
+                    place(successorID, layer, nearestFreeSlot(layer, parent[1]));
+                    queue.add(successorID);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sucht den freien Platz einer Schicht, der einem gewünschten Platz am
+     * nächsten liegt. Bei gleichem Abstand wird der rechte Platz gewählt.
+     *
+     * @param layer die Schicht.
+     * @param slot  der gewünschte Platz.
+     * @return der freie Platz.
+     */
+    private int nearestFreeSlot(int layer, int slot) {
+        if (layer >= occupiedSlots.size()) {
+            return slot;
+        }
+        HashSet<Integer> occupied = occupiedSlots.get(layer);
+        for (int distance = 0;; distance++) {
+            if (!occupied.contains(slot + distance)) {
+                return slot + distance;
+            }
+            if (!occupied.contains(slot - distance - 1)) {
+                return slot - distance - 1;
+            }
+        }
+    }
+
+    /**
+     * Berechnet das Layout vollständig neu. Die Schichten werden von oben nach
+     * unten nach dem Mittelwert der Plätze der Vorgänger sortiert und um den
+     * Platz 0 zentriert.
+     */
+    private void relayout() {
+        placements.clear();
+        occupiedSlots.clear();
+        movedNodeIDs.clear();
+        ArrayList<ArrayList<String>> layers = computeLayers();
+        HashMap<String, Integer> depths = new HashMap<>();
+        for (int depth = 0; depth < layers.size(); depth++) {
+            for (String nodeID : layers.get(depth)) {
+                depths.put(nodeID, depth);
+            }
+        }
+        // Vorgänger in der darüberliegenden Schicht bestimmen.
+        HashMap<String, ArrayList<String>> parents = new HashMap<>();
+        for (String nodeID : successors.keySet()) {
+            int depth = depths.get(nodeID);
+            for (String successorID : successors.get(nodeID)) {
+                if (depths.get(successorID) == depth + 1) {
+                    parents.computeIfAbsent(successorID, k -> new ArrayList<>()).add(nodeID);
+                }
+            }
+        }
+        for (int depth = 0; depth < layers.size(); depth++) {
+            ArrayList<String> layer = layers.get(depth);
+            if (depth > 0) {
+                HashMap<String, Double> barycenters = new HashMap<>();
+                for (int i = 0; i < layer.size(); i++) {
+                    String nodeID = layer.get(i);
+                    ArrayList<String> nodeParents = parents.get(nodeID);
+                    double barycenter = i;
+                    if (nodeParents != null) {
+                        barycenter = 0;
+                        for (String parentID : nodeParents) {
+                            barycenter += placements.get(parentID)[1];
+                        }
+                        barycenter /= nodeParents.size();
+                    }
+                    barycenters.put(nodeID, barycenter);
+                }
+                // Die Sortierung ist stabil, gleiche Mittelwerte behalten die
+                // Reihenfolge der Breitensuche.
+                layer.sort(Comparator.comparingDouble(barycenters::get));
+            }
+            int offset = (layer.size() - 1) / 2;
+            for (int i = 0; i < layer.size(); i++) {
+                place(layer.get(i), depth, i - offset);
+            }
+        }
+        outdated = false;
+    }
+}
@@ -4,6 +4,13 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.graphstream.graph.*;
 import org.graphstream.graph.implementations.MultiGraph;
@@ -21,14 +28,72 @@ import de.pohl.petrinets.model.reachabilitygraph.*;
  * <p>
  * Implementiert {@link PropertyChangeListener} und reagiert so auf
  * Eigenschaftsänderungen eines {@link AbstractReachabilitygraph}.
+ * <p>
+ * Die Positionen der Knoten bestimmt ein {@link RGraphLayeredLayout}. Sie werden
+ * als <code>xyz</code>-Attribut gesetzt, so dass die View kein Auto-Layout
+ * benötigt.
+ * <p>
+ * Die Darstellung wird abhängig von der Anzahl der Knoten und dem
+ * Zoomfaktor der View in einer {@link DetailLevel} vereinfacht.
  */
 public class RGraphViewModel implements PropertyChangeListener {
     // Layout des Graphen
     private static String CSS_FILE = "url(" + RGraphViewModel.class.getResource("/Reachabilitygraph.css") + ")";
+    // Ab dieser Anzahl neuer Knoten wird das Layout nach einem Änderungsstapel
+    // vollständig neu berechnet.
+    private static final int BULK_LOAD_THRESHOLD = 20;
+    // Ab dieser geschätzten Anzahl sichtbarer Knoten wird die Darstellung
+    // reduziert bzw. auf die Schichten zusammengefasst.
+    private static final double REDUCED_VISIBLE_NODES = 200;
+    private static final double OVERVIEW_VISIBLE_NODES = 2000;
+    // Einzelne Änderungen in der Übersicht werden gesammelt. Die Sammelknoten
+    // werden sofort neu aufgebaut, wenn sich ein Zehntel des Graphen geändert
+    // hat, spätestens aber nach der Verzögerung.
+    private static final int OVERVIEW_REFRESH_FRACTION = 10;
+    private static final long OVERVIEW_REFRESH_DELAY = 500;
+    // Ein gemeinsamer Thread für den verzögerten Aufbau der Sammelknoten.
+    private static final ScheduledExecutorService OVERVIEW_SCHEDULER = Executors
+            .newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "RGraphViewModel-Overview");
+                thread.setDaemon(true);
+                return thread;
+            });
+    // Präfix der IDs der Sammelknoten und -kanten
+    private static final String AGGREGATE_ID_PREFIX = "#Schicht ";
     // Anzeigedatenmodell der View
     private MultiGraph graph;
     // Der SpriteManager des Graphen
     private SpriteManager spriteMan;
+    // Schichtenlayout, das die Positionen der Knoten bestimmt
+    private RGraphLayeredLayout layout;
+    // Detailstufe der Darstellung
+    private DetailLevel detailLevel;
+    private double viewPercent = 1;
+    private ArrayList<String> aggregateIDs = new ArrayList<>();
+    private boolean overviewOutdated;
+    private int overviewPendingChanges;
+    private boolean overviewRefreshScheduled;
+
+    /**
+     * Die Detailstufen der Darstellung des Erreichbarkeitsgraphen.
+     */
+    public enum DetailLevel {
+        /**
+         * Alle Knoten, Kanten und Beschriftungen in hoher Qualität mit
+         * Kantenglättung.
+         */
+        FULL,
+        /**
+         * Ohne Kantenbeschriftungen, ohne Kennzeichnung der verbliebenen aktiven
+         * Transitionen und ohne Kantenglättung.
+         */
+        REDUCED,
+        /**
+         * Wie {@link #REDUCED}, zusätzlich werden die Knoten jeder Schicht zu
+         * einem Sammelknoten zusammengefasst.
+         */
+        OVERVIEW
+    }
 
     /**
      * Erstellt ein neues {@link RGraphViewModel}.
@@ -39,6 +104,20 @@ public class RGraphViewModel implements PropertyChangeListener {
         this.graph = new MultiGraph(pnmlFileName);
         this.graph.setAttribute("ui.stylesheet", CSS_FILE);
         this.spriteMan = new SpriteManager(graph);
+        this.layout = new RGraphLayeredLayout();
+        // bessere Darstellungsqualität und Antialiasing (Kantenglättung) aktivieren
+        this.graph.setAttribute("ui.quality");
+        this.graph.setAttribute("ui.antialias");
+        this.detailLevel = DetailLevel.FULL;
+    }
+
+    /**
+     * Liefert die aktuelle Detailstufe der Darstellung zurück.
+     *
+     * @return die {@link DetailLevel}.
+     */
+    public synchronized DetailLevel getDetailLevel() {
+        return detailLevel;
     }
 
     /**
@@ -56,11 +135,56 @@ public class RGraphViewModel implements PropertyChangeListener {
     /**
      * Diese Methode wird aufgerufen, wenn sich eine Eigenschaft eines
      * {@link AbstractReachabilitygraph} geändert hat.
+     * <p>
+     * In der {@link DetailLevel#OVERVIEW} werden die Sammelknoten nach einem
+     * Änderungsstapel sofort, nach einzelnen Änderungen aber nur gedrosselt neu
+     * aufgebaut. Sonst würde jede Änderung während einer nicht abgekoppelten
+     * Simulation den gesamten Graphen durchlaufen. Noch nicht berücksichtigte
+     * Änderungen werden nach einer kurzen Verzögerung übernommen.
      */
     @Override
-    public void propertyChange(PropertyChangeEvent evt) {
+    public synchronized void propertyChange(PropertyChangeEvent evt) {
+        applyChange(evt);
+        applyPositions();
+        DetailLevel previousLevel = detailLevel;
+        updateDetailLevel();
+        if (overviewOutdated && (previousLevel != detailLevel || isOverviewRefreshDue()
+                || evt.getPropertyName().equals(PetrinetEditorGraphProperties.CHANGE_BATCH.toString()))) {
+            refreshOverview();
+        } else if (overviewOutdated && !overviewRefreshScheduled) {
+            overviewRefreshScheduled = true;
+            OVERVIEW_SCHEDULER.schedule(this::refreshDeferredOverview, OVERVIEW_REFRESH_DELAY,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Übergibt den Zoomfaktor der View. Die Detailstufe wird daran angepasst.
+     *
+     * @param viewPercent der Anteil des Graphen, den die Kamera der View zeigt.
+     *                    Werte größer 1 bedeuten, dass herausgezoomt wurde.
+     */
+    public synchronized void setViewPercent(double viewPercent) {
+        this.viewPercent = viewPercent;
+        updateDetailLevel();
+        if (overviewOutdated) {
+            refreshOverview();
+        }
+    }
+
+    /**
+     * Übernimmt eine Eigenschaftsänderung des {@link AbstractReachabilitygraph}.
+     *
+     * @param evt das {@link PropertyChangeEvent}.
+     */
+    private void applyChange(PropertyChangeEvent evt) {
         String evtPropertyName = evt.getPropertyName();
-        if (evtPropertyName.equals(PetrinetEditorGraphProperties.EDGE.toString())) {
+        if (evtPropertyName.equals(PetrinetEditorGraphProperties.CHANGE_BATCH.toString())) {
+            // Die zusammengefassten Änderungen werden in einem Durchlauf übernommen.
+            @SuppressWarnings("unchecked")
+            List<PropertyChangeEvent> changes = (List<PropertyChangeEvent>) evt.getNewValue();
+            applyChangeBatch(changes);
+        } else if (evtPropertyName.equals(PetrinetEditorGraphProperties.EDGE.toString())) {
             if (evt.getNewValue() != null) {
                 // Neue Kante wurde hinzugefügt.
                 RGraphEdge edge = (RGraphEdge) evt.getNewValue();
@@ -150,6 +274,7 @@ public class RGraphViewModel implements PropertyChangeListener {
             boolean isInitialnode = (boolean) evt.getNewValue();
             String nodeID = ((RGraphNode) evt.getSource()).getID();
             if (isInitialnode) {
+                layout.setRoot(nodeID);
                 addElementUiClassAttribute(nodeID, "initial", true);
             } else {
                 removeElementUiClassAttribute(nodeID, "initial");
@@ -179,11 +304,54 @@ public class RGraphViewModel implements PropertyChangeListener {
      */
     private void addEdge(String id, String sourceID, String targetID, String label) {
         graph.addEdge(id, sourceID, targetID, true);
+        layout.addEdge(sourceID, targetID);
         Sprite edgeSprite = spriteMan.addSprite(id);
         edgeSprite.attachToEdge(id);
         edgeSprite.setPosition(0.5);
         edgeSprite.setAttribute("ui.label", label);
         edgeSprite.setAttribute("ui.class", "edgeLabel");
+        setHidden(edgeSprite, detailLevel != DetailLevel.FULL);
+        if (detailLevel == DetailLevel.OVERVIEW) {
+            setHidden(graph.getEdge(id), true);
+            markOverviewOutdated();
+        }
+    }
+
+    /**
+     * Übernimmt einen Stapel zusammengefasster Änderungen.
+     * <p>
+     * Werden dabei viele Knoten eingefügt, z.B. nach einer Analyse, wird das
+     * {@link RGraphLayeredLayout} anschließend vollständig neu berechnet, statt
+     * jeden Knoten einzeln anzuordnen.
+     *
+     * @param changes die {@link PropertyChangeEvent} des Stapels.
+     */
+    private void applyChangeBatch(List<PropertyChangeEvent> changes) {
+        String nodeProperty = PetrinetEditorGraphProperties.NODE.toString();
+        int addedNodes = 0;
+        for (PropertyChangeEvent change : changes) {
+            if (change.getPropertyName().equals(nodeProperty) && change.getNewValue() != null) {
+                addedNodes++;
+            }
+        }
+        if (addedNodes >= BULK_LOAD_THRESHOLD) {
+            layout.invalidate();
+        }
+        for (PropertyChangeEvent change : changes) {
+            applyChange(change);
+        }
+    }
+
+    /**
+     * Überträgt die Positionen der seit dem letzten Aufruf angeordneten Knoten
+     * des {@link RGraphLayeredLayout} als <code>xyz</code>-Attribut in den
+     * {@link MultiGraph}.
+     */
+    private void applyPositions() {
+        for (Map.Entry<String, double[]> position : layout.takeMovedPositions().entrySet()) {
+            Node node = graph.getNode(position.getKey());
+            node.setAttribute("xyz", position.getValue()[0], position.getValue()[1], 0);
+        }
     }
 
     /**
@@ -224,14 +392,20 @@ public class RGraphViewModel implements PropertyChangeListener {
     private void addNode(String nodeID, String nodeLabel) {
         Node node = graph.addNode(nodeID);
         node.setAttribute("ui.label", nodeLabel);
-        if (graph.nodes().count() == 0) {
-            graph.getReplayController().replay();
+        layout.addNode(nodeID);
+        if (detailLevel == DetailLevel.OVERVIEW) {
+            setHidden(node, true);
+            markOverviewOutdated();
         }
     }
 
     private void removeEdge(String id) {
         spriteMan.removeSprite(id);
-        graph.removeEdge(id);
+        Edge edge = graph.removeEdge(id);
+        layout.removeEdge(edge.getSourceNode().getId(), edge.getTargetNode().getId());
+        if (detailLevel == DetailLevel.OVERVIEW) {
+            markOverviewOutdated();
+        }
     }
 
     /**
@@ -257,6 +431,87 @@ public class RGraphViewModel implements PropertyChangeListener {
     private void removeNode(String nodeID) {
         spriteMan.removeSprite(nodeID);
         graph.removeNode(nodeID);
+        layout.removeNode(nodeID);
+        if (detailLevel == DetailLevel.OVERVIEW) {
+            markOverviewOutdated();
+        }
+    }
+
+    /**
+     * Gibt an, ob sich seit dem letzten Aufbau der Sammelknoten genügend
+     * geändert hat, um sie sofort erneut aufzubauen.
+     */
+    private boolean isOverviewRefreshDue() {
+        long graphSize = graph.getNodeCount() + graph.getEdgeCount();
+        return (long) overviewPendingChanges * OVERVIEW_REFRESH_FRACTION >= graphSize;
+    }
+
+    /**
+     * Baut die Sammelknoten verzögert auf, falls seit dem Einplanen weitere
+     * Änderungen nicht berücksichtigt wurden.
+     */
+    private synchronized void refreshDeferredOverview() {
+        overviewRefreshScheduled = false;
+        if (overviewOutdated) {
+            refreshOverview();
+        }
+    }
+
+    /**
+     * Merkt eine Änderung des Graphen vor, die in den Sammelknoten noch nicht
+     * berücksichtigt ist.
+     */
+    private void markOverviewOutdated() {
+        overviewOutdated = true;
+        overviewPendingChanges++;
+    }
+
+    /**
+     * Fasst die Knoten jeder Schicht des {@link RGraphLayeredLayout} zu einem
+     * Sammelknoten zusammen. Die Sammelknoten sind mit Sammelkanten verbunden,
+     * wenn zwischen den Knoten ihrer Schichten eine Kante existiert.
+     */
+    private void refreshOverview() {
+        removeAggregates();
+        ArrayList<ArrayList<String>> layers = layout.computeLayers();
+        HashMap<String, Integer> depths = new HashMap<>();
+        for (int depth = 0; depth < layers.size(); depth++) {
+            String aggregateID = AGGREGATE_ID_PREFIX + depth;
+            Node aggregate = graph.addNode(aggregateID);
+            aggregate.setAttribute("ui.label", layers.get(depth).size() + " Zustände");
+            aggregate.setAttribute("ui.class", "aggregate");
+            aggregate.setAttribute("xyz", 0, -depth * RGraphLayeredLayout.LAYER_DISTANCE, 0);
+            aggregateIDs.add(aggregateID);
+            for (String nodeID : layers.get(depth)) {
+                depths.put(nodeID, depth);
+            }
+        }
+        LinkedHashSet<String> aggregateEdges = new LinkedHashSet<>();
+        graph.edges().forEach(edge -> {
+            int sourceDepth = depths.get(edge.getSourceNode().getId());
+            int targetDepth = depths.get(edge.getTargetNode().getId());
+            if (sourceDepth != targetDepth) {
+                aggregateEdges.add(sourceDepth + ">" + targetDepth);
+            }
+        });
+        for (String aggregateEdge : aggregateEdges) {
+            String[] depthPair = aggregateEdge.split(">");
+            Edge edge = graph.addEdge(AGGREGATE_ID_PREFIX + aggregateEdge, AGGREGATE_ID_PREFIX + depthPair[0],
+                    AGGREGATE_ID_PREFIX + depthPair[1], true);
+            edge.setAttribute("ui.class", "aggregate");
+        }
+        overviewOutdated = false;
+        overviewPendingChanges = 0;
+    }
+
+    /**
+     * Entfernt die Sammelknoten und damit auch die Sammelkanten.
+     */
+    private void removeAggregates() {
+        for (String aggregateID : aggregateIDs) {
+            graph.removeNode(aggregateID);
+        }
+        aggregateIDs.clear();
     }
 
     /**
@@ -286,6 +541,67 @@ public class RGraphViewModel implements PropertyChangeListener {
             nodeSprite = spriteMan.addSprite(nodeID);
             nodeSprite.attachToNode(nodeID);
             nodeSprite.setAttribute("ui.class", "remainingTransitions");
+            setHidden(nodeSprite, detailLevel != DetailLevel.FULL);
+        }
+    }
+
+    /**
+     * Wechselt die Detailstufe der Darstellung.
+     *
+     * @param level die neue {@link DetailLevel}.
+     */
+    private void setDetailLevel(DetailLevel level) {
+        boolean details = level == DetailLevel.FULL;
+        if (details != (detailLevel == DetailLevel.FULL)) {
+            for (Sprite sprite : spriteMan) {
+                setHidden(sprite, !details);
+            }
+            if (details) {
+                graph.setAttribute("ui.quality");
+                graph.setAttribute("ui.antialias");
+            } else {
+                graph.removeAttribute("ui.quality");
+                graph.removeAttribute("ui.antialias");
+            }
+        }
+        boolean overview = level == DetailLevel.OVERVIEW;
+        if (overview != (detailLevel == DetailLevel.OVERVIEW)) {
+            removeAggregates();
+            graph.nodes().forEach(node -> setHidden(node, overview));
+            graph.edges().forEach(edge -> setHidden(edge, overview));
+            overviewOutdated = overview;
+        }
+        detailLevel = level;
+    }
+
+    /**
+     * Blendet ein {@link Element} aus oder ein.
+     *
+     * @param element das {@link Element}.
+     * @param hidden  <code>true</code>, wenn das {@link Element} ausgeblendet
+     *                werden soll.
+     */
+    private void setHidden(Element element, boolean hidden) {
+        if (hidden) {
+            element.setAttribute("ui.hide");
+        } else {
+            element.removeAttribute("ui.hide");
+        }
+    }
+
+    /**
+     * Bestimmt die Detailstufe aus der Anzahl der Knoten und dem Zoomfaktor. Die
+     * Anzahl der sichtbaren Knoten wird dabei über die Fläche geschätzt, die die
+     * Kamera zeigt.
+     */
+    private void updateDetailLevel() {
+        double visibleNodes = (graph.getNodeCount() - aggregateIDs.size()) * viewPercent * viewPercent;
+        if (visibleNodes >= OVERVIEW_VISIBLE_NODES) {
+            setDetailLevel(DetailLevel.OVERVIEW);
+        } else if (visibleNodes >= REDUCED_VISIBLE_NODES) {
+            setDetailLevel(DetailLevel.REDUCED);
+        } else {
+            setDetailLevel(DetailLevel.FULL);
         }
     }
 }